@@ -265,6 +265,9 @@ INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`,
 INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('19', 'loadBalance', 'LOAD_BALANCE', 'roundRobin', 'roundRobin', 'roundRobin', 2, 1, '2021-03-08 19:11:35', '2021-03-08 19:11:35');
 INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('20', 'loadBalance', 'LOAD_BALANCE', 'random', 'random', 'random', 1, 1, '2021-03-08 19:10:17', '2021-03-08 19:10:17');
 INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('21', 'loadBalance', 'LOAD_BALANCE', 'hash', 'hash', 'hash', 0, 1, '2021-03-08 19:09:10', '2021-03-08 19:09:10');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('59', 'loadBalance', 'LOAD_BALANCE', 'leastActive', 'leastActive', 'leastActive', 3, 1, '2021-07-01 10:00:00', '2021-07-01 10:00:00');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('60', 'loadBalance', 'LOAD_BALANCE', 'p2c', 'p2c', 'p2c', 4, 1, '2021-07-01 10:00:00', '2021-07-01 10:00:00');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('61', 'loadBalance', 'LOAD_BALANCE', 'peakEwma', 'peakEwma', 'peakEwma', 5, 1, '2021-07-01 10:00:00', '2021-07-01 10:00:00');
 INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('22', 'status', 'DIVIDE_STATUS', 'close', 'false', 'close', 1, 1, '2021-03-08 14:21:58', '2021-03-08 14:21:58');
 INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('23', 'status', 'DIVIDE_STATUS', 'open', 'true', 'open', 0, 1, '2021-03-08 14:21:32', '2021-03-08 14:21:32');
 INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('24', 'multiRuleHandle', 'MULTI_RULE_HANDLE', 'multiple rule', '1', 'multiple rule', 1, 1, '2021-03-08 13:40:38', '2021-03-08 13:40:38');
@@ -291,6 +294,15 @@ INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`,
 INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('47', 'paramType', 'PARAM_TYPE', 'req_method', 'req_method', 'req_method', 7, 1, '2021-05-30 19:40:41', '2021-05-30 20:15:23');
 INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('48','keyResolverName','WHOLE_KEY_RESOLVER','whole','WHOLE_KEY_RESOLVER','Rate limit by all request',0,1,'2021-06-12 19:28:44','2021-06-12 19:28:44');
 INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('49','keyResolverName','REMOTE_ADDRESS_KEY_RESOLVER','remoteAddress','REMOTE_ADDRESS_KEY_RESOLVER','Rate limit by remote address',1,1,'2021-06-12 19:28:44','2021-06-12 19:28:44');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('53','keyResolverName','HEADER_KEY_RESOLVER','header','HEADER_KEY_RESOLVER','Rate limit by the header named by keyResolverArgs',2,1,'2021-07-01 10:00:00','2021-07-01 10:00:00');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('54','keyResolverName','QUERY_KEY_RESOLVER','query','QUERY_KEY_RESOLVER','Rate limit by the query param named by keyResolverArgs',3,1,'2021-07-01 10:00:00','2021-07-01 10:00:00');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('55','keyResolverName','PATH_KEY_RESOLVER','path','PATH_KEY_RESOLVER','Rate limit by the variables of the path template in keyResolverArgs, or by the whole path',4,1,'2021-07-01 10:00:00','2021-07-01 10:00:00');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('56','keyResolverName','APP_KEY_RESOLVER','appKey','APP_KEY_RESOLVER','Rate limit by the appKey of the sign plugin',5,1,'2021-07-01 10:00:00','2021-07-01 10:00:00');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('57','keyResolverName','JWT_CLAIM_KEY_RESOLVER','jwtClaim','JWT_CLAIM_KEY_RESOLVER','Rate limit by the jwt claim named by keyResolverArgs, sub by default',6,1,'2021-07-01 10:00:00','2021-07-01 10:00:00');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('58','keyResolverName','COMPOSITE_KEY_RESOLVER','composite','COMPOSITE_KEY_RESOLVER','Rate limit by the resolvers listed in keyResolverArgs, e.g. HEADER_KEY_RESOLVER:X-Tenant,REMOTE_ADDRESS_KEY_RESOLVER',7,1,'2021-07-01 10:00:00','2021-07-01 10:00:00');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('50','engine','RATE_LIMITER_ENGINE_REDIS','redis','redis','Rate limit by redis, shared by all the gateway nodes',0,1,'2021-07-01 10:00:00','2021-07-01 10:00:00');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('51','engine','RATE_LIMITER_ENGINE_LOCAL','local','local','Rate limit in the memory of each gateway node',1,1,'2021-07-01 10:00:00','2021-07-01 10:00:00');
+INSERT INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('52','engine','RATE_LIMITER_ENGINE_HYBRID','hybrid','hybrid','Rate limit by tokens each gateway node leases from redis',2,1,'2021-07-01 10:00:00','2021-07-01 10:00:00');
 
 /*plugin*/
 INSERT INTO `plugin` (`id`, `name`, `role`, `enabled`, `date_created`, `date_updated`) VALUES ('1','sign','1', '0', '2018-06-14 10:17:35', '2018-06-14 10:17:35');
@@ -382,6 +394,10 @@ INSERT INTO plugin_handle (`id`, `plugin_id`, `field`, `label`, `data_type`, `ty
 /*insert plugin_handle data for plugin rate_limiter*/
 INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('43','4' ,'algorithmName','algorithmName','3', 2, 1, '{"required":"1","defaultValue":"slidingWindow","rule":""}', '2020-11-09 01:19:10', '2020-11-09 01:19:10');
 INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('82','4' ,'keyResolverName','keyResolverName','3', 2, 4, '{"required":"1","defaultValue":"WHOLE_KEY_RESOLVER","rule":""}', '2021-06-12 19:17:10', '2021-06-12 19:17:10');
+INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('132','4' ,'engine','engine','3', 2, 5, '{"required":"0","defaultValue":"redis","rule":""}', '2021-07-01 10:00:00', '2021-07-01 10:00:00');
+INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('133','4' ,'leaseSize','leaseSize', 1, 2, 6, '{"required":"0","defaultValue":"0","rule":""}', '2021-07-01 10:00:00', '2021-07-01 10:00:00');
+INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('134','4' ,'keyResolverArgs','keyResolverArgs', 2, 2, 7, '{"required":"0","defaultValue":"","rule":""}', '2021-07-01 10:00:00', '2021-07-01 10:00:00');
+INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('135','4' ,'permitTtl','permitTtl', 1, 2, 8, '{"required":"0","defaultValue":"60","rule":""}', '2021-07-01 10:00:00', '2021-07-01 10:00:00');
 
 /*insert mode data for rate_limiter plugin*/
 INSERT INTO shenyu_dict (`id`, `type`, `dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('12', 'mode', 'MODE', 'cluster', 'cluster', 'cluster', 0, 1, '2020-12-25 00:00:00', '2020-12-25 00:00:00');
@@ -403,6 +419,10 @@ INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`
 INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('55', '5', 'multiRuleHandle', 'multiRuleHandle', 3, 3, 1, null, '2021-03-08 13:37:12', '2021-03-09 10:32:51');
 INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('80', '5', 'headerMaxSize', 'headerMaxSize', 1, 2, 3, '{"defaultValue":"10240","rule":""}', '2021-04-29 12:28:45', '2021-04-29 12:28:52');
 INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('81', '5', 'requestMaxSize', 'requestMaxSize', 1, 2, 4, '{"defaultValue":"102400","rule":""}', '2021-04-29 14:24:13', '2021-04-29 14:24:16');
+INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('86', '5', 'retryStatus', 'retryStatus', 2, 2, 5, '{"required":"0","defaultValue":"","placeholder":"502,503","rule":""}', '2021-06-01 10:00:00', '2021-06-01 10:00:00');
+INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('87', '5', 'retryNonIdempotent', 'retryNonIdempotent', 2, 2, 6, '{"required":"0","defaultValue":"false","rule":""}', '2021-06-01 10:00:00', '2021-06-01 10:00:00');
+INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('88', '5', 'hedge', 'hedge', 2, 2, 7, '{"required":"0","defaultValue":"false","rule":""}', '2021-06-01 10:00:00', '2021-06-01 10:00:00');
+INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('89', '5', 'hedgeDelay', 'hedgeDelay', 1, 2, 8, '{"required":"0","defaultValue":"0","placeholder":"0 follows the p95 latency","rule":""}', '2021-06-01 10:00:00', '2021-06-01 10:00:00');
 
 /*insert plugin_handle data for tars*/
 INSERT INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('56', '13', 'upstreamHost', 'host', 2, 1, 0, null, '2021-03-06 21:23:41', '2021-03-09 10:32:51');
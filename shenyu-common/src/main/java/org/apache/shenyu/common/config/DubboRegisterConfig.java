@@ -36,4 +36,14 @@ public class DubboRegisterConfig implements Serializable {
     private String group;
 
     private String protocol;
+
+    /**
+     * the max count of cached references, 1000 when not set.
+     */
+    private Integer referenceCacheSize;
+
+    /**
+     * the seconds a reference stays cached after its last use, references are only evicted by size when not set.
+     */
+    private Integer referenceCacheExpireSeconds;
 }
@@ -177,6 +177,16 @@ public interface Constants {
      */
     String HTTP_RETRY = "httpRetry";
 
+    /**
+     * The constant HTTP_RETRY_CONTEXT, the retry state of the http request.
+     */
+    String HTTP_RETRY_CONTEXT = "httpRetryContext";
+
+    /**
+     * The constant HTTP_HEDGE_CONTEXT, the hedging state of the http request.
+     */
+    String HTTP_HEDGE_CONTEXT = "httpHedgeContext";
+
     /**
      * Original response Content-Type attribute name.
      */
@@ -187,6 +197,16 @@ public interface Constants {
      */
     String HTTP_URL = "httpUrl";
 
+    /**
+     * The constant HTTP_UPSTREAM, the upstream url the http url is built on.
+     */
+    String HTTP_UPSTREAM = "httpUpstream";
+
+    /**
+     * The constant HTTP_UPSTREAM_POOL, the connection pool config of the upstream.
+     */
+    String HTTP_UPSTREAM_POOL = "httpUpstreamPool";
+
     /**
      * The constant PARAM_TRANSFORM.
      */
@@ -76,4 +76,14 @@ public final class DubboParamConstants {
      * The constant url.
      */
     public static final String URL = "url";
+
+    /**
+     * The constant SERIALIZATION.
+     */
+    public static final String SERIALIZATION = "serialization";
+
+    /**
+     * The generic serialization passing each parameter and the result as json, read by the provider into protobuf messages.
+     */
+    public static final String GENERIC_SERIALIZATION_PROTOBUF_JSON = "protobuf-json";
 }
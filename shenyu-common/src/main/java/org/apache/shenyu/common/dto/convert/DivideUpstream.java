@@ -69,4 +69,9 @@ public class DivideUpstream implements Serializable {
      */
     private int warmup;
 
+    /**
+     * the connection pool of this upstream, null to use the shared pool.
+     */
+    private UpstreamPoolConfig poolConfig;
+
 }
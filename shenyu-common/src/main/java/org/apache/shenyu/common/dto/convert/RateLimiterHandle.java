@@ -54,4 +54,24 @@ public class RateLimiterHandle {
      * key resolver name.
      */
     private String keyResolverName;
+
+    /**
+     * key resolver args, e.g. the header name of the header key resolver.
+     */
+    private String keyResolverArgs;
+
+    /**
+     * engine, redis or local.
+     */
+    private String engine;
+
+    /**
+     * lease size, tokens leased from redis at a time by each node of the hybrid engine.
+     */
+    private double leaseSize;
+
+    /**
+     * permit ttl, seconds a permit of the concurrent algorithm is held at most, longer than the timeout of the requests.
+     */
+    private long permitTtl = 60;
 }
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.dto.convert;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * upstream connection pool config, a value not greater than 0 falls back to the http client pool setting.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+public class UpstreamPoolConfig implements Serializable {
+
+    private static final long serialVersionUID = -3261357415245719024L;
+
+    /**
+     * the max connections of the upstream own pool, not greater than 0 to share the http client pool.
+     */
+    private int maxConnections;
+
+    /**
+     * the max count of the acquires waiting for a connection, opened or released.
+     */
+    private int pendingAcquireMaxCount;
+
+    /**
+     * the max time in millis a connection stays idle in the pool.
+     */
+    private long maxIdleTime;
+
+    /**
+     * the max time in millis a connection is reused from its creation.
+     */
+    private long maxLifeTime;
+}
@@ -44,6 +44,26 @@ public class DivideRuleHandle implements RuleHandle {
      */
     private int retry;
 
+    /**
+     * the comma separated response statuses retried on another upstream, such as "502,503".
+     */
+    private String retryStatus = "";
+
+    /**
+     * whether the non-idempotent methods are retried once the request may have reached the upstream.
+     */
+    private boolean retryNonIdempotent;
+
+    /**
+     * whether a slow GET request is hedged with a second request to another upstream.
+     */
+    private boolean hedge;
+
+    /**
+     * the hedge delay in millis, 0 to follow the p95 latency of the rule.
+     */
+    private long hedgeDelay;
+
     /**
      * timeout is required.
      */
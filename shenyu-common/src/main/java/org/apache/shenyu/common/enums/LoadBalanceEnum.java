@@ -40,7 +40,22 @@ public enum LoadBalanceEnum {
     /**
      * Round robin load balance enum.
      */
-    ROUND_ROBIN(3, "roundRobin", true);
+    ROUND_ROBIN(3, "roundRobin", true),
+
+    /**
+     * Least active load balance enum.
+     */
+    LEAST_ACTIVE(4, "leastActive", true),
+
+    /**
+     * Power of two choices load balance enum.
+     */
+    P2C(5, "p2c", true),
+
+    /**
+     * Peak ewma load balance enum.
+     */
+    PEAK_EWMA(6, "peakEwma", true);
 
     private final int code;
 
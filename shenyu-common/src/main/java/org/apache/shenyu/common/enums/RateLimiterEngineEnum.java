@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * The enum Rate limiter engine enum.
+ */
+@RequiredArgsConstructor
+@Getter
+public enum RateLimiterEngineEnum {
+
+    /**
+     * Redis rate limiter engine enum, shared by all the gateway nodes.
+     */
+    REDIS("redis"),
+
+    /**
+     * Local rate limiter engine enum, kept in the memory of each gateway node.
+     */
+    LOCAL("local"),
+
+    /**
+     * Hybrid rate limiter engine enum, serving from tokens each gateway node leases from redis in batches.
+     */
+    HYBRID("hybrid");
+
+    /**
+     * Rate limiter engine name.
+     */
+    private final String name;
+
+    /**
+     * Acquire by name rate limiter engine enum.
+     *
+     * @param name rateLimiterEngineName
+     * @return RateLimiterEngineEnum
+     */
+    public static RateLimiterEngineEnum acquireByName(final String name) {
+        return Arrays.stream(RateLimiterEngineEnum.values())
+                .filter(e -> e.getName().equals(name)).findFirst()
+                .orElse(RateLimiterEngineEnum.REDIS);
+    }
+}
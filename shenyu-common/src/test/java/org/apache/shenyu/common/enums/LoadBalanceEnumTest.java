@@ -45,4 +45,25 @@ public final class LoadBalanceEnumTest {
         Assert.assertEquals("roundRobin", LoadBalanceEnum.ROUND_ROBIN.getName());
         Assert.assertTrue(LoadBalanceEnum.ROUND_ROBIN.isSupport());
     }
+
+    @Test
+    public void testLeastActiveLoadBalance() {
+        Assert.assertEquals(4, LoadBalanceEnum.LEAST_ACTIVE.getCode());
+        Assert.assertEquals("leastActive", LoadBalanceEnum.LEAST_ACTIVE.getName());
+        Assert.assertTrue(LoadBalanceEnum.LEAST_ACTIVE.isSupport());
+    }
+
+    @Test
+    public void testP2cLoadBalance() {
+        Assert.assertEquals(5, LoadBalanceEnum.P2C.getCode());
+        Assert.assertEquals("p2c", LoadBalanceEnum.P2C.getName());
+        Assert.assertTrue(LoadBalanceEnum.P2C.isSupport());
+    }
+
+    @Test
+    public void testPeakEwmaLoadBalance() {
+        Assert.assertEquals(6, LoadBalanceEnum.PEAK_EWMA.getCode());
+        Assert.assertEquals("peakEwma", LoadBalanceEnum.PEAK_EWMA.getName());
+        Assert.assertTrue(LoadBalanceEnum.PEAK_EWMA.isSupport());
+    }
 }
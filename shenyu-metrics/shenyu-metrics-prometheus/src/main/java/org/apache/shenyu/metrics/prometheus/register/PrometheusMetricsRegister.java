@@ -42,35 +42,35 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
     
     @Override
     public void registerCounter(final String name, final String[] labelNames, final String document) {
-        if (!COUNTER_MAP.containsKey(name)) {
+        COUNTER_MAP.computeIfAbsent(name, key -> {
             Counter.Builder builder = Counter.build().name(name).help(document);
             if (null != labelNames) {
                 builder.labelNames(labelNames);
             }
-            COUNTER_MAP.put(name, builder.register());
-        }
+            return builder.register();
+        });
     }
     
     @Override
     public void registerGauge(final String name, final String[] labelNames, final String document) {
-        if (!GAUGE_MAP.containsKey(name)) {
+        GAUGE_MAP.computeIfAbsent(name, key -> {
             Gauge.Builder builder = Gauge.build().name(name).help(document);
             if (null != labelNames) {
                 builder.labelNames(labelNames);
             }
-            GAUGE_MAP.put(name, builder.register());
-        }
+            return builder.register();
+        });
     }
     
     @Override
     public void registerHistogram(final String name, final String[] labelNames, final String document) {
-        if (!HISTOGRAM_MAP.containsKey(name)) {
+        HISTOGRAM_MAP.computeIfAbsent(name, key -> {
             Histogram.Builder builder = Histogram.build().name(name).help(document);
             if (null != labelNames) {
                 builder.labelNames(labelNames);
             }
-            HISTOGRAM_MAP.put(name, builder.register());
-        }
+            return builder.register();
+        });
     }
     
     @Override
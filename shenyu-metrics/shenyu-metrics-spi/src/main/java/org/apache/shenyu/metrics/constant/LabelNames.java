@@ -36,4 +36,49 @@ public final class LabelNames {
      * The constant EXECUTE_LATENCY_NAME.
      */
     public static final String EXECUTE_LATENCY_NAME = "shenyu_execute_latency_millis";
+    
+    /**
+     * The constant SCHEDULER_QUEUE_DEPTH.
+     */
+    public static final String SCHEDULER_QUEUE_DEPTH = "shenyu_scheduler_queue_depth";
+    
+    /**
+     * The constant UPSTREAM_EJECTION_TOTAL.
+     */
+    public static final String UPSTREAM_EJECTION_TOTAL = "shenyu_upstream_ejection_total";
+    
+    /**
+     * The constant UPSTREAM_POOL_ACTIVE_CONNECTIONS.
+     */
+    public static final String UPSTREAM_POOL_ACTIVE_CONNECTIONS = "shenyu_upstream_pool_active_connections";
+    
+    /**
+     * The constant UPSTREAM_POOL_IDLE_CONNECTIONS.
+     */
+    public static final String UPSTREAM_POOL_IDLE_CONNECTIONS = "shenyu_upstream_pool_idle_connections";
+    
+    /**
+     * The constant UPSTREAM_POOL_PENDING_ACQUIRE.
+     */
+    public static final String UPSTREAM_POOL_PENDING_ACQUIRE = "shenyu_upstream_pool_pending_acquire";
+    
+    /**
+     * The constant UPSTREAM_POOL_ACQUIRE_LATENCY.
+     */
+    public static final String UPSTREAM_POOL_ACQUIRE_LATENCY = "shenyu_upstream_pool_acquire_latency_millis";
+    
+    /**
+     * The constant DUBBO_REFERENCE_CACHE_TOTAL.
+     */
+    public static final String DUBBO_REFERENCE_CACHE_TOTAL = "shenyu_dubbo_reference_cache_total";
+    
+    /**
+     * The constant DUBBO_REFERENCE_BUILD_LATENCY.
+     */
+    public static final String DUBBO_REFERENCE_BUILD_LATENCY = "shenyu_dubbo_reference_build_latency_millis";
+    
+    /**
+     * The constant RATE_LIMITER_LEASE_TOTAL.
+     */
+    public static final String RATE_LIMITER_LEASE_TOTAL = "shenyu_rate_limiter_lease_total";
 }
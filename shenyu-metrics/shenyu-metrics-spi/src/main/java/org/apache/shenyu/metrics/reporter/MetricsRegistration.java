@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.metrics.reporter;
+
+import org.apache.shenyu.metrics.spi.MetricsRegister;
+
+import java.util.Objects;
+
+/**
+ * The registration of the metrics a component reports. The metrics register is set only once the monitor plugin starts,
+ * so the metrics are registered lazily on the first report after it is set, and only once per register.
+ */
+public final class MetricsRegistration {
+    
+    private final Runnable registration;
+    
+    private volatile MetricsRegister registered;
+    
+    /**
+     * Instantiates a new metrics registration.
+     *
+     * @param registration registers the metrics through {@link MetricsReporter}
+     */
+    public MetricsRegistration(final Runnable registration) {
+        this.registration = registration;
+    }
+    
+    /**
+     * Register the metrics if the current metrics register does not have them yet,
+     * the concurrent callers wait for the registration so the metrics exist once this returns.
+     */
+    public void ensureRegistered() {
+        MetricsRegister current = MetricsReporter.getMetricsRegister();
+        if (Objects.isNull(current) || registered == current) {
+            return;
+        }
+        synchronized (this) {
+            if (registered != current) {
+                registration.run();
+                registered = current;
+            }
+        }
+    }
+}
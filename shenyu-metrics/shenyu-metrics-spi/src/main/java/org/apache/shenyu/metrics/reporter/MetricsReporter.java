@@ -29,7 +29,7 @@ import java.util.Optional;
  */
 public final class MetricsReporter {
     
-    private static MetricsRegister metricsRegister;
+    private static volatile MetricsRegister metricsRegister;
     
     /**
      * Register.
@@ -40,6 +40,15 @@ public final class MetricsReporter {
         MetricsReporter.metricsRegister = metricsRegister;
     }
     
+    /**
+     * Get the metrics register, null until the monitor plugin starts.
+     *
+     * @return the metrics register
+     */
+    static MetricsRegister getMetricsRegister() {
+        return metricsRegister;
+    }
+    
     /**
      * Register metrics.
      *
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.metrics.reporter;
+
+import org.apache.shenyu.metrics.spi.MetricsRegister;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * MetricsRegistrationTest.
+ */
+public final class MetricsRegistrationTest {
+
+    @After
+    public void tearDown() {
+        MetricsReporter.register(null);
+    }
+
+    @Test
+    public void ensureRegisteredTest() {
+        AtomicInteger registrations = new AtomicInteger();
+        MetricsRegistration registration = new MetricsRegistration(registrations::incrementAndGet);
+        registration.ensureRegistered();
+        assertThat(registrations.get(), is(0));
+        MetricsReporter.register(mock(MetricsRegister.class));
+        registration.ensureRegistered();
+        registration.ensureRegistered();
+        assertThat(registrations.get(), is(1));
+        MetricsReporter.register(mock(MetricsRegister.class));
+        registration.ensureRegistered();
+        assertThat(registrations.get(), is(2));
+    }
+}
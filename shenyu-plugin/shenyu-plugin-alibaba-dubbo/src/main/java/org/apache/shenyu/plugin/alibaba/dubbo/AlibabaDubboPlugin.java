@@ -17,8 +17,11 @@
 
 package org.apache.shenyu.plugin.alibaba.dubbo;
 
+import com.alibaba.dubbo.config.ReferenceConfig;
+import com.alibaba.dubbo.rpc.service.GenericService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.plugin.alibaba.dubbo.cache.ApplicationConfigCache;
 import org.apache.shenyu.plugin.alibaba.dubbo.proxy.AlibabaDubboProxyService;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.MetaData;
@@ -36,8 +39,10 @@ import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Alibaba dubbo plugin.
@@ -74,14 +79,22 @@ public class AlibabaDubboPlugin extends AbstractShenyuPlugin {
             Object error = ShenyuResultWrap.error(ShenyuResultEnum.DUBBO_HAVE_BODY_PARAM.getCode(), ShenyuResultEnum.DUBBO_HAVE_BODY_PARAM.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
         }
-        Object result = alibabaDubboProxyService.genericInvoker(param, metaData);
-        if (Objects.nonNull(result)) {
-            exchange.getAttributes().put(Constants.RPC_RESULT, result);
-        } else {
-            exchange.getAttributes().put(Constants.RPC_RESULT, Constants.DUBBO_RPC_RESULT_EMPTY);
+        CompletableFuture<ReferenceConfig<GenericService>> future = ApplicationConfigCache.getInstance().obtainAsync(metaData);
+        Mono<ReferenceConfig<GenericService>> referenceMono = Mono.fromFuture(future);
+        if (!future.isDone()) {
+            // a missing reference is built on the reference threads, the blocking invocation leaves them once it is ready
+            referenceMono = referenceMono.publishOn(Schedulers.boundedElastic());
         }
-        exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
-        return chain.execute(exchange);
+        return referenceMono.flatMap(reference -> {
+            Object result = alibabaDubboProxyService.genericInvoker(param, metaData, reference);
+            if (Objects.nonNull(result)) {
+                exchange.getAttributes().put(Constants.RPC_RESULT, result);
+            } else {
+                exchange.getAttributes().put(Constants.RPC_RESULT, Constants.DUBBO_RPC_RESULT_EMPTY);
+            }
+            exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
+            return chain.execute(exchange);
+        });
     }
 
     /**
@@ -107,6 +120,11 @@ public class AlibabaDubboPlugin extends AbstractShenyuPlugin {
         return !Objects.equals(shenyuContext.getRpcType(), RpcTypeEnum.DUBBO.getName());
     }
 
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.DUBBO;
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.DUBBO.getCode();
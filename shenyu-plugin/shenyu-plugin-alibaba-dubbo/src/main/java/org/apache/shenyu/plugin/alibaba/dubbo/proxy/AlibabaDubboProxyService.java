@@ -27,11 +27,8 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.ParamCheckUtils;
-import org.apache.shenyu.plugin.alibaba.dubbo.cache.ApplicationConfigCache;
 import org.apache.shenyu.plugin.api.param.BodyParamResolveService;
 
-import java.util.Objects;
-
 /**
  * Alibaba dubbo proxy service is  use GenericService.
  */
@@ -54,15 +51,11 @@ public class AlibabaDubboProxyService {
      *
      * @param body     the body
      * @param metaData the meta data
+     * @param reference the reference of the meta data
      * @return the object
      * @throws ShenyuException the shenyu exception
      */
-    public Object genericInvoker(final String body, final MetaData metaData) throws ShenyuException {
-        ReferenceConfig<GenericService> reference = ApplicationConfigCache.getInstance().get(metaData.getPath());
-        if (Objects.isNull(reference) || StringUtils.isEmpty(reference.getInterface())) {
-            ApplicationConfigCache.getInstance().invalidate(metaData.getPath());
-            reference = ApplicationConfigCache.getInstance().initRef(metaData);
-        }
+    public Object genericInvoker(final String body, final MetaData metaData, final ReferenceConfig<GenericService> reference) throws ShenyuException {
         GenericService genericService = reference.get();
         try {
             Pair<String[], Object[]> pair;
@@ -17,6 +17,10 @@
 
 package org.apache.shenyu.plugin.alibaba.dubbo;
 
+import com.alibaba.dubbo.config.ReferenceConfig;
+import com.alibaba.dubbo.rpc.service.GenericService;
+import com.google.common.cache.LoadingCache;
+import org.apache.shenyu.plugin.alibaba.dubbo.cache.ApplicationConfigCache;
 import org.apache.shenyu.plugin.alibaba.dubbo.proxy.AlibabaDubboProxyService;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.MetaData;
@@ -28,6 +32,7 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -36,20 +41,31 @@ import org.mockito.MockedStatic;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
  * Test case for AlibabaDubboPlugin.
  */
 @RunWith(MockitoJUnitRunner.Silent.class)
+@SuppressWarnings("unchecked")
 public final class AlibabaDubboPluginTest {
     @Mock
     private AlibabaDubboProxyService mockAlibabaDubboProxyService;
@@ -67,8 +83,16 @@ public final class AlibabaDubboPluginTest {
         metaData.setServiceName("org.apache.shenyu.test.dubbo.api.service.DubboTestService");
         metaData.setMethodName("findAll");
         metaData.setRpcType(RpcTypeEnum.DUBBO.getName());
-        when(mockAlibabaDubboProxyService.genericInvoker(null, metaData)).thenReturn(Mono.empty());
+        when(mockAlibabaDubboProxyService.genericInvoker(isNull(), eq(metaData), any())).thenReturn(Mono.empty());
         alibabaDubboPluginUnderTest = new AlibabaDubboPlugin(mockAlibabaDubboProxyService);
+        ReferenceConfig<GenericService> reference = mock(ReferenceConfig.class);
+        when(reference.getInterface()).thenReturn(metaData.getServiceName());
+        ((LoadingCache<String, ReferenceConfig<GenericService>>) ReflectionTestUtils.getField(ApplicationConfigCache.getInstance(), "cache")).put(metaData.getPath(), reference);
+    }
+
+    @After
+    public void tearDown() {
+        ApplicationConfigCache.getInstance().invalidateAll();
     }
 
     @Test
@@ -114,6 +138,35 @@ public final class AlibabaDubboPluginTest {
         StepVerifier.create(voidMono).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void testInvokeOffReferenceThreads() throws InterruptedException {
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build());
+        ShenyuContext context = mock(ShenyuContext.class);
+        when(context.getRpcType()).thenReturn(RpcTypeEnum.DUBBO.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, context);
+        exchange.getAttributes().put(Constants.META_DATA, metaData);
+        ShenyuPluginChain chain = mock(ShenyuPluginChain.class);
+        when(chain.execute(exchange)).thenReturn(Mono.empty());
+        AtomicReference<String> invokerThread = new AtomicReference<>();
+        when(mockAlibabaDubboProxyService.genericInvoker(isNull(), eq(metaData), any())).thenAnswer(invocation -> {
+            invokerThread.set(Thread.currentThread().getName());
+            return Mono.empty();
+        });
+        ApplicationConfigCache.getInstance().invalidateAll();
+        CompletableFuture<ReferenceConfig<GenericService>> building = new CompletableFuture<>();
+        ((Map<String, CompletableFuture<ReferenceConfig<GenericService>>>) ReflectionTestUtils.getField(ApplicationConfigCache.getInstance(), "building"))
+                .put(metaData.getPath(), building);
+        ReferenceConfig<GenericService> reference = mock(ReferenceConfig.class);
+        Thread referenceThread = new Thread(() -> building.complete(reference), "shenyu-alibaba-dubbo-reference-test");
+
+        Mono<Void> voidMono = alibabaDubboPluginUnderTest.doExecute(exchange, chain, mock(SelectorData.class), mock(RuleData.class));
+
+        StepVerifier.create(voidMono).expectSubscription().then(referenceThread::start).verifyComplete();
+        referenceThread.join();
+        assertNotEquals(referenceThread.getName(), invokerThread.get());
+        verify(mockAlibabaDubboProxyService).genericInvoker(isNull(), eq(metaData), eq(reference));
+    }
+
     @Test
     public void testAlibabaDubboPluginMetaDataNull() {
         final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build());
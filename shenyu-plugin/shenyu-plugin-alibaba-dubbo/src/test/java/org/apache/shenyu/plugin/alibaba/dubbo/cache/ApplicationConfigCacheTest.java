@@ -17,7 +17,10 @@
 
 package org.apache.shenyu.plugin.alibaba.dubbo.cache;
 
+import com.alibaba.dubbo.config.ReferenceConfig;
 import com.alibaba.dubbo.config.RegistryConfig;
+import com.alibaba.dubbo.rpc.service.GenericService;
+import com.google.common.cache.LoadingCache;
 import lombok.SneakyThrows;
 import org.apache.shenyu.common.config.DubboRegisterConfig;
 import org.apache.shenyu.common.dto.MetaData;
@@ -31,17 +34,25 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 
 /**
  * The Test Case For ApplicationConfigCache.
  */
 @RunWith(MockitoJUnitRunner.class)
+@SuppressWarnings("unchecked")
 public final class ApplicationConfigCacheTest {
 
     private ApplicationConfigCache applicationConfigCache;
@@ -121,6 +132,54 @@ public final class ApplicationConfigCacheTest {
         this.applicationConfigCache.invalidateAll();
     }
 
+    @Test
+    public void testObtainAsyncCached() {
+        ReferenceConfig<GenericService> reference = mock(ReferenceConfig.class);
+        when(reference.getInterface()).thenReturn("org.apache.shenyu.test.dubbo.api.service.DubboTestService");
+        LoadingCache<String, ReferenceConfig<GenericService>> cache = (LoadingCache<String, ReferenceConfig<GenericService>>) ReflectionTestUtils.getField(this.applicationConfigCache, "cache");
+        cache.put("/cached", reference);
+        MetaData metaData = MetaData.builder().path("/cached").build();
+        CompletableFuture<ReferenceConfig<GenericService>> future = this.applicationConfigCache.obtainAsync(metaData);
+        assertTrue(future.isDone());
+        assertSame(reference, future.join());
+        this.applicationConfigCache.invalidate("/cached");
+    }
+
+    @Test
+    public void testObtainAsyncInFlight() {
+        CompletableFuture<ReferenceConfig<GenericService>> inFlight = new CompletableFuture<>();
+        Map<String, CompletableFuture<ReferenceConfig<GenericService>>> building =
+                (Map<String, CompletableFuture<ReferenceConfig<GenericService>>>) ReflectionTestUtils.getField(this.applicationConfigCache, "building");
+        building.put("/building", inFlight);
+        MetaData metaData = MetaData.builder().path("/building").build();
+        assertSame(inFlight, this.applicationConfigCache.initRefAsync(metaData));
+        CompletableFuture<ReferenceConfig<GenericService>> obtained = this.applicationConfigCache.obtainAsync(metaData);
+        obtained.cancel(true);
+        assertFalse(inFlight.isCancelled());
+        CompletableFuture<ReferenceConfig<GenericService>> refreshed = this.applicationConfigCache.refreshAsync(metaData);
+        assertNotSame(inFlight, refreshed);
+        assertFalse(refreshed.isDone());
+        this.applicationConfigCache.invalidate("/building");
+        assertTrue(building.isEmpty());
+    }
+
+    @Test
+    public void testInitCacheSize() {
+        final Object cache = ReflectionTestUtils.getField(this.applicationConfigCache, "cache");
+        DubboRegisterConfig dubboRegisterConfig = new DubboRegisterConfig();
+        dubboRegisterConfig.setRegister("zookeeper://127.0.0.1:2181");
+        dubboRegisterConfig.setProtocol("dubbo");
+        this.applicationConfigCache.init(dubboRegisterConfig);
+        assertSame(cache, ReflectionTestUtils.getField(this.applicationConfigCache, "cache"));
+        dubboRegisterConfig.setReferenceCacheSize(5000);
+        dubboRegisterConfig.setReferenceCacheExpireSeconds(600);
+        this.applicationConfigCache.init(dubboRegisterConfig);
+        assertNotSame(cache, ReflectionTestUtils.getField(this.applicationConfigCache, "cache"));
+        dubboRegisterConfig.setReferenceCacheSize(null);
+        dubboRegisterConfig.setReferenceCacheExpireSeconds(null);
+        this.applicationConfigCache.init(dubboRegisterConfig);
+    }
+
     @SneakyThrows
     @Test
     public void testBuildLoadBalanceName() {
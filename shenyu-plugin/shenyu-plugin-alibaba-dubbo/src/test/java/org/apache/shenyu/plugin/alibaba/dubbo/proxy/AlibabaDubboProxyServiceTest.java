@@ -25,7 +25,6 @@ import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
 import org.apache.shenyu.plugin.alibaba.dubbo.cache.ApplicationConfigCache;
@@ -35,7 +34,6 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.MockedStatic;
 import org.mockito.junit.MockitoJUnitRunner;
 
 /**
@@ -75,14 +73,9 @@ public final class AlibabaDubboProxyServiceTest {
         GenericService genericService = mock(GenericService.class);
         when(referenceConfig.get()).thenReturn(genericService);
         when(genericService.$invoke(METHOD_NAME, LEFT, RIGHT)).thenReturn(null);
-        try (MockedStatic<ApplicationConfigCache> applicationConfigCacheMockedStatic = mockStatic(ApplicationConfigCache.class)) {
-            ApplicationConfigCache applicationConfigCache = mock(ApplicationConfigCache.class);
-            applicationConfigCacheMockedStatic.when(() -> ApplicationConfigCache.getInstance()).thenReturn(applicationConfigCache);
-            when(applicationConfigCache.initRef(metaData)).thenReturn(referenceConfig);
 
-            AlibabaDubboProxyService alibabaDubboProxyService = new AlibabaDubboProxyService(new BodyParamResolveServiceImpl());
-            Assert.assertNull(alibabaDubboProxyService.genericInvoker("", metaData));
-        }
+        AlibabaDubboProxyService alibabaDubboProxyService = new AlibabaDubboProxyService(new BodyParamResolveServiceImpl());
+        Assert.assertNull(alibabaDubboProxyService.genericInvoker("", metaData, referenceConfig));
     }
 
     class BodyParamResolveServiceImpl implements BodyParamResolveService {
@@ -100,6 +100,11 @@ public class ApacheDubboPlugin extends AbstractShenyuPlugin {
         return !Objects.equals(shenyuContext.getRpcType(), RpcTypeEnum.DUBBO.getName());
     }
 
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.DUBBO;
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.DUBBO.getCode();
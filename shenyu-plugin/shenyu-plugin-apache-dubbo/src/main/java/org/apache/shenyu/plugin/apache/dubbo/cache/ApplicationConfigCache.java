@@ -20,23 +20,35 @@ package org.apache.shenyu.plugin.apache.dubbo.cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Maps;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.dubbo.common.constants.CommonConstants;
 import org.apache.dubbo.config.ApplicationConfig;
 import org.apache.dubbo.config.ReferenceConfig;
 import org.apache.dubbo.config.RegistryConfig;
 import org.apache.dubbo.rpc.service.GenericService;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.config.DubboRegisterConfig;
+import org.apache.shenyu.common.constant.DubboParamConstants;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.LoadBalanceEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.reporter.MetricsRegistration;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
 
 import java.lang.reflect.Field;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -45,35 +57,41 @@ import java.util.concurrent.ExecutionException;
 @Slf4j
 public final class ApplicationConfigCache {
 
+    /**
+     * The default max count of cached references.
+     */
+    public static final int DEFAULT_MAX_COUNT = 1000;
+
+    private static final String[] LABEL_NAMES = {"event"};
+
+    private static final MetricsRegistration METRICS = new MetricsRegistration(() -> {
+        MetricsReporter.registerHistogram(LabelNames.DUBBO_REFERENCE_BUILD_LATENCY, "shenyu dubbo reference build latency millis");
+        MetricsReporter.registerCounter(LabelNames.DUBBO_REFERENCE_CACHE_TOTAL, LABEL_NAMES, "shenyu dubbo reference cache lookups and evictions");
+    });
+
+    private static final String[] HIT = {"hit"};
+
+    private static final String[] MISS = {"miss"};
+
+    private static final String[] EVICTION = {"eviction"};
+
     private ApplicationConfig applicationConfig;
 
     private RegistryConfig registryConfig;
 
-    private final int maxCount = 1000;
-
-    private final LoadingCache<String, ReferenceConfig<GenericService>> cache = CacheBuilder.newBuilder()
-            .maximumSize(maxCount)
-            .removalListener(notification -> {
-                ReferenceConfig<GenericService> config = (ReferenceConfig<GenericService>) notification.getValue();
-                if (config != null) {
-                    try {
-                        Class<?> cz = config.getClass();
-                        Field field = cz.getDeclaredField("ref");
-                        field.setAccessible(true);
-                        // After the configuration change, Dubbo destroys the instance, but does not empty it. If it is not handled,
-                        // it will get NULL when reinitializing and cause a NULL pointer problem.
-                        field.set(config, null);
-                    } catch (NoSuchFieldException | IllegalAccessException e) {
-                        log.error("modify ref have exception", e);
-                    }
-                }
-            })
-            .build(new CacheLoader<String, ReferenceConfig<GenericService>>() {
-                @Override
-                public ReferenceConfig<GenericService> load(final String key) {
-                    return new ReferenceConfig<>();
-                }
-            });
+    private int maxCount = DEFAULT_MAX_COUNT;
+
+    private int expireSeconds;
+
+    private volatile LoadingCache<String, ReferenceConfig<GenericService>> cache = buildCache(maxCount, expireSeconds);
+
+    /**
+     * path -> the reference being built, so concurrent misses of a path build it once.
+     */
+    private final ConcurrentMap<String, CompletableFuture<ReferenceConfig<GenericService>>> building = Maps.newConcurrentMap();
+
+    private final ExecutorService referenceExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2),
+            ShenyuThreadFactory.create("shenyu-apache-dubbo-reference", true));
 
     private ApplicationConfigCache() {
     }
@@ -105,6 +123,50 @@ public final class ApplicationConfigCache {
             Optional.ofNullable(dubboRegisterConfig.getGroup()).ifPresent(registryConfigTemp::setGroup);
             registryConfig = registryConfigTemp;
         }
+        configureCache(dubboRegisterConfig);
+    }
+
+    private synchronized void configureCache(final DubboRegisterConfig dubboRegisterConfig) {
+        int newMaxCount = Optional.ofNullable(dubboRegisterConfig.getReferenceCacheSize()).filter(size -> size > 0).orElse(DEFAULT_MAX_COUNT);
+        int newExpireSeconds = Optional.ofNullable(dubboRegisterConfig.getReferenceCacheExpireSeconds()).filter(seconds -> seconds > 0).orElse(0);
+        if (newMaxCount == maxCount && newExpireSeconds == expireSeconds) {
+            return;
+        }
+        final LoadingCache<String, ReferenceConfig<GenericService>> previous = cache;
+        maxCount = newMaxCount;
+        expireSeconds = newExpireSeconds;
+        cache = buildCache(newMaxCount, newExpireSeconds);
+        previous.invalidateAll();
+    }
+
+    private static LoadingCache<String, ReferenceConfig<GenericService>> buildCache(final int maxCount, final int expireSeconds) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maxCount);
+        if (expireSeconds > 0) {
+            builder.expireAfterAccess(expireSeconds, TimeUnit.SECONDS);
+        }
+        return builder.<String, ReferenceConfig<GenericService>>removalListener(notification -> {
+            if (notification.wasEvicted()) {
+                record(EVICTION);
+            }
+            ReferenceConfig<GenericService> config = notification.getValue();
+            if (config != null) {
+                try {
+                    Class<?> cz = config.getClass();
+                    Field field = cz.getDeclaredField("ref");
+                    field.setAccessible(true);
+                    // After the configuration change, Dubbo destroys the instance, but does not empty it. If it is not handled,
+                    // it will get NULL when reinitializing and cause a NULL pointer problem.
+                    field.set(config, null);
+                } catch (NoSuchFieldException | IllegalAccessException e) {
+                    log.error("modify ref have exception", e);
+                }
+            }
+        }).build(new CacheLoader<String, ReferenceConfig<GenericService>>() {
+            @Override
+            public ReferenceConfig<GenericService> load(final String key) {
+                return new ReferenceConfig<>();
+            }
+        });
     }
 
     private boolean needUpdateRegistryConfig(final DubboRegisterConfig dubboRegisterConfig) {
@@ -138,6 +200,85 @@ public final class ApplicationConfigCache {
 
     }
 
+    /**
+     * Obtain the reference of the meta data without blocking the caller: a cached reference at once,
+     * otherwise the reference built for the path on the reference threads.
+     *
+     * @param metaData the meta data
+     * @return the reference config
+     */
+    public CompletableFuture<ReferenceConfig<GenericService>> obtainAsync(final MetaData metaData) {
+        ReferenceConfig<GenericService> reference = cache.getIfPresent(metaData.getPath());
+        if (Objects.nonNull(reference) && StringUtils.isNoneBlank(reference.getInterface())) {
+            record(HIT);
+            return CompletableFuture.completedFuture(reference);
+        }
+        record(MISS);
+        // every caller gets its own stage, a cancelled request does not cancel the build the others wait for
+        return initRefAsync(metaData).thenApply(ref -> ref);
+    }
+
+    /**
+     * Build the reference of the meta data on the reference threads, joining the build of the path in flight if any.
+     *
+     * @param metaData the meta data
+     * @return the reference config
+     */
+    public CompletableFuture<ReferenceConfig<GenericService>> initRefAsync(final MetaData metaData) {
+        return submit(metaData, false);
+    }
+
+    /**
+     * Build the reference of the changed meta data on the reference threads. The cached reference serves the requests
+     * until the new one is ready.
+     *
+     * @param metaData the meta data
+     * @return the reference config
+     */
+    public CompletableFuture<ReferenceConfig<GenericService>> refreshAsync(final MetaData metaData) {
+        return submit(metaData, true);
+    }
+
+    private CompletableFuture<ReferenceConfig<GenericService>> submit(final MetaData metaData, final boolean refresh) {
+        String path = metaData.getPath();
+        if (!refresh) {
+            ReferenceConfig<GenericService> cached = cache.getIfPresent(path);
+            if (Objects.nonNull(cached) && StringUtils.isNoneBlank(cached.getInterface())) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        CompletableFuture<ReferenceConfig<GenericService>> future = new CompletableFuture<>();
+        CompletableFuture<ReferenceConfig<GenericService>> inFlight = refresh ? building.put(path, future) : building.putIfAbsent(path, future);
+        if (!refresh && Objects.nonNull(inFlight)) {
+            return inFlight;
+        }
+        // a refresh starts once the build in flight is done, so the reference of the newest meta data is the one cached
+        CompletableFuture<?> previous = Objects.isNull(inFlight) ? CompletableFuture.completedFuture(null) : inFlight.handle((reference, throwable) -> null);
+        previous.thenRunAsync(() -> {
+            try {
+                ReferenceConfig<GenericService> reference = newReference(metaData);
+                boolean ready = initialize(reference, metaData);
+                // only the build still registered for the path is cached, a build invalidated or refreshed again
+                // meanwhile is stale and serves its waiters without entering the cache
+                building.computeIfPresent(path, (key, current) -> {
+                    if (current != future) {
+                        return current;
+                    }
+                    if (ready) {
+                        cache.put(path, reference);
+                    }
+                    return null;
+                });
+                future.complete(reference);
+            } catch (Exception e) {
+                building.remove(path, future);
+                log.error("init apache dubbo reference ex:{}", e.getMessage());
+                future.completeExceptionally(e);
+            }
+        }, referenceExecutor);
+        return future;
+    }
+
     /**
      * Build reference config.
      *
@@ -145,6 +286,18 @@ public final class ApplicationConfigCache {
      * @return the reference config
      */
     public ReferenceConfig<GenericService> build(final MetaData metaData) {
+        ReferenceConfig<GenericService> reference = newReference(metaData);
+        try {
+            if (initialize(reference, metaData)) {
+                cache.put(metaData.getPath(), reference);
+            }
+        } catch (Exception e) {
+            log.error("init apache dubbo reference ex:{}", e.getMessage());
+        }
+        return reference;
+    }
+
+    private ReferenceConfig<GenericService> newReference(final MetaData metaData) {
         ReferenceConfig<GenericService> reference = new ReferenceConfig<>();
         reference.setGeneric("true");
         reference.setApplication(applicationConfig);
@@ -169,19 +322,30 @@ public final class ApplicationConfigCache {
             }
             Optional.ofNullable(dubboParamExtInfo.getTimeout()).ifPresent(reference::setTimeout);
             Optional.ofNullable(dubboParamExtInfo.getRetries()).ifPresent(reference::setRetries);
-        }
-        try {
-            Object obj = reference.get();
-            if (obj != null) {
-                log.info("init apache dubbo reference success there meteData is :{}", metaData);
-                cache.put(metaData.getPath(), reference);
+            if (DubboParamConstants.GENERIC_SERIALIZATION_PROTOBUF_JSON.equals(dubboParamExtInfo.getSerialization())) {
+                reference.setGeneric(CommonConstants.GENERIC_SERIALIZATION_PROTOBUF);
             }
-        } catch (Exception e) {
-            log.error("init apache dubbo reference ex:{}", e.getMessage());
         }
         return reference;
     }
 
+    private boolean initialize(final ReferenceConfig<GenericService> reference, final MetaData metaData) {
+        long start = System.currentTimeMillis();
+        Object obj = reference.get();
+        METRICS.ensureRegistered();
+        MetricsReporter.recordTime(LabelNames.DUBBO_REFERENCE_BUILD_LATENCY, System.currentTimeMillis() - start);
+        if (obj != null) {
+            log.info("init apache dubbo reference success there meteData is :{}", metaData);
+            return true;
+        }
+        return false;
+    }
+
+    private static void record(final String[] event) {
+        METRICS.ensureRegistered();
+        MetricsReporter.counterIncrement(LabelNames.DUBBO_REFERENCE_CACHE_TOTAL, event);
+    }
+
     private String buildLoadBalanceName(final String loadBalance) {
         if (LoadBalanceEnum.HASH.getName().equals(loadBalance) || "consistenthash".equals(loadBalance)) {
             return "consistenthash";
@@ -213,6 +377,7 @@ public final class ApplicationConfigCache {
      * @param path the path
      */
     public void invalidate(final String path) {
+        building.remove(path);
         cache.invalidate(path);
     }
 
@@ -220,6 +385,7 @@ public final class ApplicationConfigCache {
      * Invalidate all.
      */
     public void invalidateAll() {
+        building.clear();
         cache.invalidateAll();
     }
 
@@ -250,5 +416,7 @@ public final class ApplicationConfigCache {
         private Integer timeout;
 
         private String url;
+
+        private String serialization;
     }
 }
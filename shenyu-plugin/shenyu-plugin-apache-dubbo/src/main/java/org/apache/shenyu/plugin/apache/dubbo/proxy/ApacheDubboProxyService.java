@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.apache.dubbo.proxy;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -26,6 +27,7 @@ import org.apache.dubbo.config.ReferenceConfig;
 import org.apache.dubbo.rpc.RpcContext;
 import org.apache.dubbo.rpc.service.GenericException;
 import org.apache.dubbo.rpc.service.GenericService;
+import org.apache.dubbo.rpc.support.ProtocolUtils;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.plugin.apache.dubbo.cache.ApplicationConfigCache;
 import org.apache.shenyu.common.constant.Constants;
@@ -35,6 +37,7 @@ import org.apache.shenyu.common.utils.ParamCheckUtils;
 import org.apache.shenyu.plugin.api.param.BodyParamResolveService;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -68,22 +71,29 @@ public class ApacheDubboProxyService {
      * @throws ShenyuException the shenyu exception
      */
     public Mono<Object> genericInvoker(final String body, final MetaData metaData, final ServerWebExchange exchange) throws ShenyuException {
-        // issue(https://github.com/dromara/shenyu/issues/471), add dubbo tag route
         String dubboTagRouteFromHttpHeaders = exchange.getRequest().getHeaders().getFirst(Constants.DUBBO_TAG_ROUTE);
+        CompletableFuture<ReferenceConfig<GenericService>> future = ApplicationConfigCache.getInstance().obtainAsync(metaData);
+        Mono<ReferenceConfig<GenericService>> referenceMono = Mono.fromFuture(future);
+        if (!future.isDone()) {
+            // a missing reference is built on the reference threads, the invocation leaves them once it is ready
+            referenceMono = referenceMono.publishOn(Schedulers.boundedElastic());
+        }
+        return referenceMono
+                .flatMap(reference -> invoke(reference.get(), reference.getGeneric(), body, metaData, exchange, dubboTagRouteFromHttpHeaders))
+                .onErrorMap(exception -> exception instanceof GenericException ? new ShenyuException(((GenericException) exception).getExceptionMessage()) : new ShenyuException(exception));
+    }
+
+    private Mono<Object> invoke(final GenericService genericService, final String generic, final String body, final MetaData metaData,
+                                final ServerWebExchange exchange, final String dubboTagRouteFromHttpHeaders) {
+        // issue(https://github.com/dromara/shenyu/issues/471), add dubbo tag route
         if (StringUtils.isNotBlank(dubboTagRouteFromHttpHeaders)) {
             RpcContext.getContext().setAttachment(CommonConstants.TAG_KEY, dubboTagRouteFromHttpHeaders);
         }
-        ReferenceConfig<GenericService> reference = ApplicationConfigCache.getInstance().get(metaData.getPath());
-        if (Objects.isNull(reference) || StringUtils.isEmpty(reference.getInterface())) {
-            ApplicationConfigCache.getInstance().invalidate(metaData.getPath());
-            reference = ApplicationConfigCache.getInstance().initRef(metaData);
-        }
-        GenericService genericService = reference.get();
         Pair<String[], Object[]> pair;
         if (StringUtils.isBlank(metaData.getParameterTypes()) || ParamCheckUtils.dubboBodyIsEmpty(body)) {
             pair = new ImmutablePair<>(new String[]{}, new Object[]{});
         } else {
-            pair = bodyParamResolveService.buildParameter(body, metaData.getParameterTypes());
+            pair = bodyParamResolveService.buildParameter(body, metaData.getParameterTypes(), generic);
         }
         //Compatible with asynchronous calls of lower Dubbo versions
         RpcContext.getContext().setAttachment(ASYNC_KEY, Boolean.TRUE.toString());
@@ -100,10 +110,13 @@ public class ApacheDubboProxyService {
         return Mono.fromFuture(future.thenApply(ret -> {
             if (Objects.isNull(ret)) {
                 ret = Constants.DUBBO_RPC_RESULT_EMPTY;
+            } else if (ret instanceof String && ProtocolUtils.isProtobufGenericSerialization(generic)) {
+                // the provider answers with the json of the message, written into the response as it is
+                ret = new RawValue((String) ret);
             }
             exchange.getAttributes().put(Constants.RPC_RESULT, ret);
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
             return ret;
-        })).onErrorMap(exception -> exception instanceof GenericException ? new ShenyuException(((GenericException) exception).getExceptionMessage()) : new ShenyuException(exception));
+        }));
     }
 }
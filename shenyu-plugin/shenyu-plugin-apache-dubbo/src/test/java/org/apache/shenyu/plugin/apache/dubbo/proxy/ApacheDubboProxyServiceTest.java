@@ -22,8 +22,10 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.dubbo.config.ReferenceConfig;
 import org.apache.dubbo.rpc.service.GenericService;
+import org.apache.shenyu.common.constant.DubboParamConstants;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.common.utils.JsonUtils;
 import org.apache.shenyu.plugin.apache.dubbo.cache.ApplicationConfigCache;
 import org.apache.shenyu.plugin.api.param.BodyParamResolveService;
 import org.junit.After;
@@ -34,10 +36,14 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.lang.reflect.Field;
+import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -88,8 +94,27 @@ public final class ApacheDubboProxyServiceTest {
         field.setAccessible(true);
         ((LoadingCache) field.get(applicationConfigCache)).put(PATH, referenceConfig);
         ApacheDubboProxyService apacheDubboProxyService = new ApacheDubboProxyService(new BodyParamResolveServiceImpl());
-        apacheDubboProxyService.genericInvoker("", metaData, exchange);
+        Mono<Object> result = apacheDubboProxyService.genericInvoker("", metaData, exchange);
         future.complete("success");
+        StepVerifier.create(result).expectNext("success").verifyComplete();
+    }
+
+    @Test
+    public void genericInvokerProtobufJsonTest() throws IllegalAccessException, NoSuchFieldException {
+        ReferenceConfig referenceConfig = mock(ReferenceConfig.class);
+        GenericService genericService = mock(GenericService.class);
+        when(referenceConfig.get()).thenReturn(genericService);
+        when(referenceConfig.getInterface()).thenReturn(PATH);
+        when(referenceConfig.getGeneric()).thenReturn(DubboParamConstants.GENERIC_SERIALIZATION_PROTOBUF_JSON);
+        when(genericService.$invoke(METHOD_NAME, LEFT, RIGHT)).thenReturn(CompletableFuture.completedFuture("{\"id\":\"1\"}"));
+        ApplicationConfigCache applicationConfigCache = ApplicationConfigCache.getInstance();
+        Field field = ApplicationConfigCache.class.getDeclaredField("cache");
+        field.setAccessible(true);
+        ((LoadingCache) field.get(applicationConfigCache)).put(PATH, referenceConfig);
+        ApacheDubboProxyService apacheDubboProxyService = new ApacheDubboProxyService(new BodyParamResolveServiceImpl());
+        StepVerifier.create(apacheDubboProxyService.genericInvoker("", metaData, exchange))
+                .assertNext(result -> assertEquals("{\"data\":{\"id\":\"1\"}}", JsonUtils.toJson(Collections.singletonMap("data", result))))
+                .verifyComplete();
     }
 
     static class BodyParamResolveServiceImpl implements BodyParamResolveService {
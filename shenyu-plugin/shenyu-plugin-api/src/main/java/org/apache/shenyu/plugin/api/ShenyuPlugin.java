@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.api;
 
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -64,5 +65,17 @@ public interface ShenyuPlugin {
     default Boolean skip(ServerWebExchange exchange) {
         return false;
     }
+
+    /**
+     * plugin is execute for the rpc type of the shenyu context.
+     * the plugin chain asks it once per rpc type and leaves the skipped plugins out,
+     * it must agree with {@link #skip(ServerWebExchange)} when the skip only depends on the rpc type.
+     *
+     * @param rpcType the rpc type
+     * @return true skip, false execute, default null means the skip is decided by {@link #skip(ServerWebExchange)} per request.
+     */
+    default Boolean skip(RpcTypeEnum rpcType) {
+        return null;
+    }
 }
 
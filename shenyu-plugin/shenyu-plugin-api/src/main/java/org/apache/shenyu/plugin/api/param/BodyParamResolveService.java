@@ -34,4 +34,17 @@ public interface BodyParamResolveService {
      * @return the pair
      */
     Pair<String[], Object[]> buildParameter(String body, String parameterTypes);
+
+    /**
+     * Build parameter pair for the generic serialization the service is called with.
+     * By default the parameters are built as for the default serialization.
+     *
+     * @param body                 the body
+     * @param parameterTypes       the parameter types
+     * @param genericSerialization the generic serialization
+     * @return the pair
+     */
+    default Pair<String[], Object[]> buildParameter(String body, String parameterTypes, String genericSerialization) {
+        return buildParameter(body, parameterTypes);
+    }
 }
@@ -17,22 +17,43 @@
 
 package org.apache.shenyu.plugin.api.utils;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.GsonUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Common rpc parameter builder utils.
+ *
+ * <p>The body string joined by the param transform plugin is decoded in a single pass with a streaming
+ * {@link JsonReader}, straight into the values handed to the rpc client, without intermediate json trees.
+ * The decoded values keep the shape the tree based decoding had: top level numbers are {@code Long} or
+ * {@code Double}, objects are maps and arrays are lists, the primitives of nested arrays are strings.
  */
 public class BodyParamUtils {
 
+    private static final Map<String, ParameterTypes> PARAMETER_TYPES_CACHE = new ConcurrentHashMap<>();
+
+    private static final TypeAdapter<Object> OBJECT_ADAPTER = GsonUtils.getGson().getAdapter(Object.class);
+
+    private static final String LEFT_ANGLE_BRACKETS = "{";
+
+    private static final String RIGHT_ANGLE_BRACKETS = "}";
+
     /**
      * build single parameter.
      *
@@ -41,18 +62,11 @@ public class BodyParamUtils {
      * @return the parameters.
      */
     public static Pair<String[], Object[]> buildSingleParameter(final String body, final String parameterTypes) {
-        final Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
-        for (String key : paramMap.keySet()) {
-            Object obj = paramMap.get(key);
-            if (obj instanceof JsonObject) {
-                paramMap.put(key, GsonUtils.getInstance().convertToMap(obj.toString()));
-            } else if (obj instanceof JsonArray) {
-                paramMap.put(key, GsonUtils.getInstance().fromList(obj.toString(), Object.class));
-            } else {
-                paramMap.put(key, obj);
-            }
+        try (JsonReader reader = newReader(body)) {
+            return new ImmutablePair<>(new String[]{parameterTypes}, new Object[]{readObject(reader)});
+        } catch (IOException e) {
+            throw new ShenyuException(e);
         }
-        return new ImmutablePair<>(new String[]{parameterTypes}, new Object[]{paramMap});
     }
 
     /**
@@ -63,35 +77,146 @@ public class BodyParamUtils {
      * @return the parameters.
      */
     public static Pair<String[], Object[]> buildParameters(final String body, final String parameterTypes) {
-        List<String> paramNameList = new ArrayList<>();
-        List<String> paramTypeList = new ArrayList<>();
-
-        if (isNameMapping(parameterTypes)) {
-            Map<String, String> paramNameMap = GsonUtils.getInstance().toObjectMap(parameterTypes, String.class);
-            paramNameList.addAll(paramNameMap.keySet());
-            paramTypeList.addAll(paramNameMap.values());
-        } else {
-            Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
-            paramNameList.addAll(paramMap.keySet());
-            paramTypeList.addAll(Arrays.asList(StringUtils.split(parameterTypes, ",")));
+        ParameterTypes types = PARAMETER_TYPES_CACHE.computeIfAbsent(parameterTypes, ParameterTypes::new);
+        if (types.single) {
+            return buildSingleParameter(body, parameterTypes);
+        }
+        try (JsonReader reader = newReader(body)) {
+            Object[] objects = Objects.isNull(types.nameIndex) ? readValues(reader) : readValues(reader, types.nameIndex);
+            return new ImmutablePair<>(types.types.clone(), objects);
+        } catch (IOException e) {
+            throw new ShenyuException(e);
         }
+    }
 
-        if (paramTypeList.size() == 1 && !isBaseType(paramTypeList.get(0))) {
-            return buildSingleParameter(body, parameterTypes);
+    private static JsonReader newReader(final String body) {
+        JsonReader reader = new JsonReader(new StringReader(body));
+        reader.setLenient(true);
+        return reader;
+    }
+
+    /**
+     * Reads the body object, ordering the values as its fields are.
+     */
+    private static Object[] readValues(final JsonReader reader) throws IOException {
+        Map<String, Object> values = readObject(reader);
+        return values.values().toArray();
+    }
+
+    /**
+     * Reads the body object, placing the value of each mapped name at its index and skipping the others.
+     */
+    private static Object[] readValues(final JsonReader reader, final Map<String, Integer> nameIndex) throws IOException {
+        Object[] objects = new Object[nameIndex.size()];
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Integer index = nameIndex.get(reader.nextName());
+            if (index == null) {
+                reader.skipValue();
+            } else {
+                objects[index] = readValue(reader);
+            }
         }
-        Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
-        Object[] objects = paramNameList.stream().map(key -> {
-            Object obj = paramMap.get(key);
-            if (obj instanceof JsonObject) {
-                return GsonUtils.getInstance().convertToMap(obj.toString());
-            } else if (obj instanceof JsonArray) {
-                return GsonUtils.getInstance().fromList(obj.toString(), Object.class);
+        reader.endObject();
+        return objects;
+    }
+
+    private static Map<String, Object> readObject(final JsonReader reader) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            map.put(reader.nextName(), readValue(reader));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    private static Object readValue(final JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readNestedObject(reader);
+            case BEGIN_ARRAY:
+                return OBJECT_ADAPTER.read(reader);
+            default:
+                return readPrimitive(reader);
+        }
+    }
+
+    /**
+     * Reads a nested object the way {@link GsonUtils#convertToMap(String)} converts it.
+     */
+    private static Map<String, Object> readNestedObject(final JsonReader reader) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken token = reader.peek();
+            if (token == JsonToken.BEGIN_OBJECT) {
+                map.put(name, readNestedObject(reader));
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                map.put(name, readNestedArray(reader));
+            } else if (token == JsonToken.STRING) {
+                map.put(name, readNestedString(reader));
+            } else {
+                map.put(name, readPrimitive(reader));
+            }
+        }
+        reader.endObject();
+        return map;
+    }
+
+    private static List<Object> readNestedArray(final JsonReader reader) throws IOException {
+        List<Object> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            JsonToken token = reader.peek();
+            if (token == JsonToken.NULL) {
+                reader.nextNull();
+                list.add(null);
+            } else if (token == JsonToken.BEGIN_OBJECT) {
+                list.add(readNestedObject(reader));
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                list.add(OBJECT_ADAPTER.read(reader));
+            } else if (token == JsonToken.BOOLEAN) {
+                list.add(String.valueOf(reader.nextBoolean()));
+            } else if (token == JsonToken.STRING) {
+                list.add(readNestedString(reader));
             } else {
-                return obj;
+                list.add(reader.nextString());
             }
-        }).toArray();
-        String[] paramTypes = paramTypeList.toArray(new String[0]);
-        return new ImmutablePair<>(paramTypes, objects);
+        }
+        reader.endArray();
+        return list;
+    }
+
+    /**
+     * Reads a nested string, a string holding a json object is converted to a map.
+     */
+    private static Object readNestedString(final JsonReader reader) throws IOException {
+        String value = reader.nextString();
+        String trimmed = value.trim();
+        if (trimmed.startsWith(LEFT_ANGLE_BRACKETS) && trimmed.endsWith(RIGHT_ANGLE_BRACKETS)) {
+            return GsonUtils.getInstance().convertToMap(value);
+        }
+        return value;
+    }
+
+    private static Object readPrimitive(final JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return null;
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NUMBER:
+                String number = reader.nextString();
+                if (StringUtils.containsAny(number, '.', 'e', 'E')) {
+                    return Double.valueOf(number);
+                }
+                return Long.valueOf(number);
+            default:
+                return reader.nextString();
+        }
     }
 
     private static boolean isNameMapping(final String parameterTypes) {
@@ -107,4 +232,32 @@ public class BodyParamUtils {
     private static boolean isBaseType(final String paramType) {
         return paramType.startsWith("java") || paramType.startsWith("[Ljava");
     }
+
+    /**
+     * The parsed form of the parameter types of a meta data, cached by the raw parameter types.
+     */
+    private static final class ParameterTypes {
+
+        private final String[] types;
+
+        private final Map<String, Integer> nameIndex;
+
+        private final boolean single;
+
+        ParameterTypes(final String parameterTypes) {
+            if (isNameMapping(parameterTypes)) {
+                Map<String, String> paramNameMap = GsonUtils.getInstance().toObjectMap(parameterTypes, String.class);
+                Map<String, Integer> index = new HashMap<>(paramNameMap.size() * 2);
+                for (String name : paramNameMap.keySet()) {
+                    index.put(name, index.size());
+                }
+                this.types = paramNameMap.values().toArray(new String[0]);
+                this.nameIndex = index;
+            } else {
+                this.types = StringUtils.split(parameterTypes, ",");
+                this.nameIndex = null;
+            }
+            this.single = types.length == 1 && !isBaseType(types[0]);
+        }
+    }
 }
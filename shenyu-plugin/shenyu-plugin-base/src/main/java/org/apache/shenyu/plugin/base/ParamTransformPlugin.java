@@ -112,4 +112,13 @@ public class ParamTransformPlugin implements ShenyuPlugin {
                 && !Objects.equals(rpcType, RpcTypeEnum.MOTAN.getName())
                 && !Objects.equals(rpcType, RpcTypeEnum.SOFA.getName());
     }
+
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.DUBBO
+                && rpcType != RpcTypeEnum.GRPC
+                && rpcType != RpcTypeEnum.TARS
+                && rpcType != RpcTypeEnum.MOTAN
+                && rpcType != RpcTypeEnum.SOFA;
+    }
 }
@@ -17,39 +17,39 @@
 
 package org.apache.shenyu.plugin.base.cache;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * The type Base data cache.
+ *
+ * <p>The data is kept in one immutable {@link BaseDataSnapshot}. Every change builds a new snapshot
+ * (copy on write) and publishes it with a single volatile write, so request threads always read
+ * a consistent, pre-sorted view without locking, and bulk changes become visible at once.
  */
 public final class BaseDataCache {
     
     private static final BaseDataCache INSTANCE = new BaseDataCache();
     
-    /**
-     * pluginName -> PluginData.
-     */
-    private static final ConcurrentMap<String, PluginData> PLUGIN_MAP = Maps.newConcurrentMap();
+    private static final Comparator<SelectorData> SELECTOR_COMPARATOR = Comparator.comparing(SelectorData::getSort);
     
-    /**
-     * pluginName -> SelectorData.
-     */
-    private static final ConcurrentMap<String, List<SelectorData>> SELECTOR_MAP = Maps.newConcurrentMap();
+    private static final Comparator<RuleData> RULE_COMPARATOR = Comparator.comparing(RuleData::getSort);
     
-    /**
-     * selectorId -> RuleData.
-     */
-    private static final ConcurrentMap<String, List<RuleData>> RULE_MAP = Maps.newConcurrentMap();
+    private volatile BaseDataSnapshot snapshot = BaseDataSnapshot.EMPTY;
     
     private BaseDataCache() {
     }
@@ -62,14 +62,57 @@ public final class BaseDataCache {
     public static BaseDataCache getInstance() {
         return INSTANCE;
     }
+    
+    /**
+     * Obtain the current snapshot, read it once per request to get a consistent view.
+     *
+     * @return the snapshot
+     */
+    public BaseDataSnapshot obtainSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Get the version of the current snapshot.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
 
     /**
      * Cache plugin data.
      *
      * @param pluginData the plugin data
      */
-    public void cachePluginData(final PluginData pluginData) {
-        Optional.ofNullable(pluginData).ifPresent(data -> PLUGIN_MAP.put(data.getName(), data));
+    public synchronized void cachePluginData(final PluginData pluginData) {
+        if (Objects.isNull(pluginData)) {
+            return;
+        }
+        Map<String, PluginData> pluginMap = new HashMap<>(snapshot.getPluginMap());
+        pluginMap.put(pluginData.getName(), pluginData);
+        publish(pluginMap, snapshot.getSelectorMap(), snapshot.getRuleMap());
+    }
+    
+    /**
+     * Cache the plugin data list as one change.
+     *
+     * @param pluginDataList the plugin data list
+     */
+    public synchronized void cachePluginDataList(final List<PluginData> pluginDataList) {
+        Map<String, PluginData> pluginMap = new HashMap<>(snapshot.getPluginMap());
+        pluginDataList.stream().filter(Objects::nonNull).forEach(data -> pluginMap.put(data.getName(), data));
+        publish(pluginMap, snapshot.getSelectorMap(), snapshot.getRuleMap());
+    }
+    
+    /**
+     * Replace all plugin data at once.
+     *
+     * @param pluginDataList the full plugin data list
+     */
+    public void replacePluginData(final List<PluginData> pluginDataList) {
+        replaceAll(pluginDataList, null, null);
     }
     
     /**
@@ -78,14 +121,16 @@ public final class BaseDataCache {
      * @param pluginData the plugin data
      */
     public void removePluginData(final PluginData pluginData) {
-        Optional.ofNullable(pluginData).ifPresent(data -> PLUGIN_MAP.remove(data.getName()));
+        if (Objects.nonNull(pluginData)) {
+            cleanPluginDataSelf(Collections.singletonList(pluginData));
+        }
     }
     
     /**
      * Clean plugin data.
      */
     public void cleanPluginData() {
-        PLUGIN_MAP.clear();
+        replacePluginData(Collections.emptyList());
     }
     
     /**
@@ -93,8 +138,10 @@ public final class BaseDataCache {
      *
      * @param pluginDataList the plugin data list
      */
-    public void cleanPluginDataSelf(final List<PluginData> pluginDataList) {
-        pluginDataList.forEach(this::removePluginData);
+    public synchronized void cleanPluginDataSelf(final List<PluginData> pluginDataList) {
+        Map<String, PluginData> pluginMap = new HashMap<>(snapshot.getPluginMap());
+        pluginDataList.stream().filter(Objects::nonNull).forEach(data -> pluginMap.remove(data.getName()));
+        publish(pluginMap, snapshot.getSelectorMap(), snapshot.getRuleMap());
     }
     
     /**
@@ -104,7 +151,7 @@ public final class BaseDataCache {
      * @return the plugin data
      */
     public PluginData obtainPluginData(final String pluginName) {
-        return PLUGIN_MAP.get(pluginName);
+        return snapshot.obtainPluginData(pluginName);
     }
     
     /**
@@ -112,8 +159,35 @@ public final class BaseDataCache {
      *
      * @param selectorData the selector data
      */
-    public void cacheSelectData(final SelectorData selectorData) {
-        Optional.ofNullable(selectorData).ifPresent(this::selectorAccept);
+    public synchronized void cacheSelectData(final SelectorData selectorData) {
+        if (Objects.isNull(selectorData)) {
+            return;
+        }
+        Map<String, RouteIndex<SelectorData>> selectorMap = new HashMap<>(snapshot.getSelectorMap());
+        String key = selectorData.getPluginName();
+        List<SelectorData> resultList = upsert(elementsOf(selectorMap.get(key)), selectorData, SelectorData::getId, SELECTOR_COMPARATOR);
+        selectorMap.put(key, RouteIndex.ofSelectors(resultList));
+        publish(snapshot.getPluginMap(), selectorMap, snapshot.getRuleMap());
+    }
+    
+    /**
+     * Cache the selector data list as one change, each changed plugin's selectors are sorted only once.
+     *
+     * @param selectorDataList the selector data list
+     */
+    public synchronized void cacheSelectDataList(final List<SelectorData> selectorDataList) {
+        Map<String, RouteIndex<SelectorData>> selectorMap = new HashMap<>(snapshot.getSelectorMap());
+        upsertAll(selectorMap, selectorDataList, SelectorData::getPluginName, SelectorData::getId, SELECTOR_COMPARATOR, RouteIndex::ofSelectors);
+        publish(snapshot.getPluginMap(), selectorMap, snapshot.getRuleMap());
+    }
+    
+    /**
+     * Replace all selector data at once, each plugin's selectors are sorted only once.
+     *
+     * @param selectorDataList the full selector data list
+     */
+    public void replaceSelectData(final List<SelectorData> selectorDataList) {
+        replaceAll(null, selectorDataList, null);
     }
     
     /**
@@ -122,17 +196,16 @@ public final class BaseDataCache {
      * @param selectorData the selector data
      */
     public void removeSelectData(final SelectorData selectorData) {
-        Optional.ofNullable(selectorData).ifPresent(data -> {
-            final List<SelectorData> selectorDataList = SELECTOR_MAP.get(data.getPluginName());
-            Optional.ofNullable(selectorDataList).ifPresent(list -> list.removeIf(e -> e.getId().equals(data.getId())));
-        });
+        if (Objects.nonNull(selectorData)) {
+            cleanSelectorDataSelf(Collections.singletonList(selectorData));
+        }
     }
     
     /**
      * Clean selector data.
      */
     public void cleanSelectorData() {
-        SELECTOR_MAP.clear();
+        replaceSelectData(Collections.emptyList());
     }
     
     /**
@@ -140,18 +213,31 @@ public final class BaseDataCache {
      *
      * @param selectorDataList the selector data list
      */
-    public void cleanSelectorDataSelf(final List<SelectorData> selectorDataList) {
-        selectorDataList.forEach(this::removeSelectData);
+    public synchronized void cleanSelectorDataSelf(final List<SelectorData> selectorDataList) {
+        Map<String, RouteIndex<SelectorData>> selectorMap = new HashMap<>(snapshot.getSelectorMap());
+        removeAll(selectorMap, selectorDataList, SelectorData::getPluginName, SelectorData::getId, RouteIndex::ofSelectors);
+        publish(snapshot.getPluginMap(), selectorMap, snapshot.getRuleMap());
     }
     
     /**
      * Obtain selector data list list.
      *
      * @param pluginName the plugin name
-     * @return the list
+     * @return the unmodifiable sorted list
      */
     public List<SelectorData> obtainSelectorData(final String pluginName) {
-        return SELECTOR_MAP.get(pluginName);
+        RouteIndex<SelectorData> index = snapshot.obtainSelectorIndex(pluginName);
+        return Objects.isNull(index) ? null : index.getElements();
+    }
+    
+    /**
+     * Obtain the route index of the selectors of the plugin.
+     *
+     * @param pluginName the plugin name
+     * @return the route index
+     */
+    public RouteIndex<SelectorData> obtainSelectorIndex(final String pluginName) {
+        return snapshot.obtainSelectorIndex(pluginName);
     }
     
     /**
@@ -159,8 +245,64 @@ public final class BaseDataCache {
      *
      * @param ruleData the rule data
      */
-    public void cacheRuleData(final RuleData ruleData) {
-        Optional.ofNullable(ruleData).ifPresent(this::ruleAccept);
+    public synchronized void cacheRuleData(final RuleData ruleData) {
+        if (Objects.isNull(ruleData)) {
+            return;
+        }
+        Map<String, RouteIndex<RuleData>> ruleMap = new HashMap<>(snapshot.getRuleMap());
+        String selectorId = ruleData.getSelectorId();
+        List<RuleData> resultList = upsert(elementsOf(ruleMap.get(selectorId)), ruleData, RuleData::getId, RULE_COMPARATOR);
+        ruleMap.put(selectorId, RouteIndex.ofRules(resultList));
+        publish(snapshot.getPluginMap(), snapshot.getSelectorMap(), ruleMap);
+    }
+    
+    /**
+     * Cache the rule data list as one change, each changed selector's rules are sorted only once.
+     *
+     * @param ruleDataList the rule data list
+     */
+    public synchronized void cacheRuleDataList(final List<RuleData> ruleDataList) {
+        Map<String, RouteIndex<RuleData>> ruleMap = new HashMap<>(snapshot.getRuleMap());
+        upsertAll(ruleMap, ruleDataList, RuleData::getSelectorId, RuleData::getId, RULE_COMPARATOR, RouteIndex::ofRules);
+        publish(snapshot.getPluginMap(), snapshot.getSelectorMap(), ruleMap);
+    }
+    
+    /**
+     * Replace all rule data at once, each selector's rules are sorted only once.
+     *
+     * @param ruleDataList the full rule data list
+     */
+    public void replaceRuleData(final List<RuleData> ruleDataList) {
+        replaceAll(null, null, ruleDataList);
+    }
+    
+    /**
+     * Replace the plugin, selector and rule data at once and publish them as one snapshot,
+     * a null list keeps the cached data of that kind.
+     *
+     * @param pluginDataList the full plugin data list, or null
+     * @param selectorDataList the full selector data list, or null
+     * @param ruleDataList the full rule data list, or null
+     * @return the replaced snapshot
+     */
+    public synchronized BaseDataSnapshot replaceAll(final List<PluginData> pluginDataList, final List<SelectorData> selectorDataList,
+                                                    final List<RuleData> ruleDataList) {
+        BaseDataSnapshot previous = snapshot;
+        Map<String, PluginData> pluginMap = previous.getPluginMap();
+        if (Objects.nonNull(pluginDataList)) {
+            pluginMap = new HashMap<>();
+            for (PluginData data : pluginDataList) {
+                if (Objects.nonNull(data)) {
+                    pluginMap.put(data.getName(), data);
+                }
+            }
+        }
+        Map<String, RouteIndex<SelectorData>> selectorMap = Objects.isNull(selectorDataList) ? previous.getSelectorMap()
+                : indexOf(selectorDataList, SelectorData::getPluginName, SelectorData::getId, SELECTOR_COMPARATOR, RouteIndex::ofSelectors);
+        Map<String, RouteIndex<RuleData>> ruleMap = Objects.isNull(ruleDataList) ? previous.getRuleMap()
+                : indexOf(ruleDataList, RuleData::getSelectorId, RuleData::getId, RULE_COMPARATOR, RouteIndex::ofRules);
+        publish(pluginMap, selectorMap, ruleMap);
+        return previous;
     }
     
     /**
@@ -169,17 +311,16 @@ public final class BaseDataCache {
      * @param ruleData the rule data
      */
     public void removeRuleData(final RuleData ruleData) {
-        Optional.ofNullable(ruleData).ifPresent(data -> {
-            final List<RuleData> ruleDataList = RULE_MAP.get(data.getSelectorId());
-            Optional.ofNullable(ruleDataList).ifPresent(list -> list.removeIf(rule -> rule.getId().equals(data.getId())));
-        });
+        if (Objects.nonNull(ruleData)) {
+            cleanRuleDataSelf(Collections.singletonList(ruleData));
+        }
     }
     
     /**
      * Clean rule data.
      */
     public void cleanRuleData() {
-        RULE_MAP.clear();
+        replaceRuleData(Collections.emptyList());
     }
     
     /**
@@ -187,53 +328,116 @@ public final class BaseDataCache {
      *
      * @param ruleDataList the rule data list
      */
-    public void cleanRuleDataSelf(final List<RuleData> ruleDataList) {
-        ruleDataList.forEach(this::removeRuleData);
+    public synchronized void cleanRuleDataSelf(final List<RuleData> ruleDataList) {
+        Map<String, RouteIndex<RuleData>> ruleMap = new HashMap<>(snapshot.getRuleMap());
+        removeAll(ruleMap, ruleDataList, RuleData::getSelectorId, RuleData::getId, RouteIndex::ofRules);
+        publish(snapshot.getPluginMap(), snapshot.getSelectorMap(), ruleMap);
     }
     
     /**
      * Obtain rule data list list.
      *
      * @param selectorId the selector id
-     * @return the list
+     * @return the unmodifiable sorted list
      */
     public List<RuleData> obtainRuleData(final String selectorId) {
-        return RULE_MAP.get(selectorId);
+        RouteIndex<RuleData> index = snapshot.obtainRuleIndex(selectorId);
+        return Objects.isNull(index) ? null : index.getElements();
     }
     
     /**
-     *  cache rule data.
+     * Obtain the route index of the rules of the selector.
      *
-     * @param data the rule data
+     * @param selectorId the selector id
+     * @return the route index
      */
-    private void ruleAccept(final RuleData data) {
-        String selectorId = data.getSelectorId();
-        if (RULE_MAP.containsKey(selectorId)) {
-            List<RuleData> existList = RULE_MAP.get(selectorId);
-            final List<RuleData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
-            resultList.add(data);
-            final List<RuleData> collect = resultList.stream().sorted(Comparator.comparing(RuleData::getSort)).collect(Collectors.toList());
-            RULE_MAP.put(selectorId, collect);
-        } else {
-            RULE_MAP.put(selectorId, Lists.newArrayList(data));
-        }
+    public RouteIndex<RuleData> obtainRuleIndex(final String selectorId) {
+        return snapshot.obtainRuleIndex(selectorId);
+    }
+    
+    private void publish(final Map<String, PluginData> pluginMap, final Map<String, RouteIndex<SelectorData>> selectorMap,
+                         final Map<String, RouteIndex<RuleData>> ruleMap) {
+        snapshot = new BaseDataSnapshot(snapshot.getVersion() + 1, pluginMap, selectorMap, ruleMap);
+    }
+    
+    private static <T> List<T> elementsOf(final RouteIndex<T> index) {
+        return Objects.isNull(index) ? Collections.emptyList() : index.getElements();
     }
     
     /**
-     * cache selector data.
-     *
-     * @param data the selector data
+     * replace the element with the same id, the new element goes after the elements with the same sort.
      */
-    private void selectorAccept(final SelectorData data) {
-        String key = data.getPluginName();
-        if (SELECTOR_MAP.containsKey(key)) {
-            List<SelectorData> existList = SELECTOR_MAP.get(key);
-            final List<SelectorData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
-            resultList.add(data);
-            final List<SelectorData> collect = resultList.stream().sorted(Comparator.comparing(SelectorData::getSort)).collect(Collectors.toList());
-            SELECTOR_MAP.put(key, collect);
-        } else {
-            SELECTOR_MAP.put(key, Lists.newArrayList(data));
+    private static <T> List<T> upsert(final List<T> sortedList, final T data, final Function<T, String> idFunc, final Comparator<T> comparator) {
+        List<T> resultList = new ArrayList<>(sortedList.size() + 1);
+        for (T exist : sortedList) {
+            if (!idFunc.apply(exist).equals(idFunc.apply(data))) {
+                resultList.add(exist);
+            }
+        }
+        int position = resultList.size();
+        for (int i = 0; i < resultList.size(); i++) {
+            if (comparator.compare(resultList.get(i), data) > 0) {
+                position = i;
+                break;
+            }
+        }
+        resultList.add(position, data);
+        return resultList;
+    }
+    
+    private static <T> Map<String, RouteIndex<T>> indexOf(final List<T> dataList, final Function<T, String> keyFunc, final Function<T, String> idFunc,
+                                                          final Comparator<T> comparator, final Function<List<T>, RouteIndex<T>> indexFunc) {
+        Map<String, RouteIndex<T>> indexMap = new HashMap<>();
+        groupSorted(dataList, keyFunc, idFunc, comparator).forEach((key, list) -> indexMap.put(key, indexFunc.apply(list)));
+        return indexMap;
+    }
+    
+    private static <T> Map<String, List<T>> groupSorted(final List<T> dataList, final Function<T, String> keyFunc,
+                                                        final Function<T, String> idFunc, final Comparator<T> comparator) {
+        Map<String, Map<String, T>> grouped = new HashMap<>();
+        for (T data : dataList) {
+            if (Objects.isNull(data)) {
+                continue;
+            }
+            Map<String, T> group = grouped.computeIfAbsent(keyFunc.apply(data), key -> new LinkedHashMap<>());
+            // the later one wins, as if it was cached one by one
+            group.remove(idFunc.apply(data));
+            group.put(idFunc.apply(data), data);
+        }
+        Map<String, List<T>> result = new HashMap<>(grouped.size());
+        grouped.forEach((key, group) -> {
+            List<T> list = new ArrayList<>(group.values());
+            list.sort(comparator);
+            result.put(key, list);
+        });
+        return result;
+    }
+    
+    private static <T> void upsertAll(final Map<String, RouteIndex<T>> indexMap, final List<T> dataList, final Function<T, String> keyFunc,
+                                      final Function<T, String> idFunc, final Comparator<T> comparator, final Function<List<T>, RouteIndex<T>> indexFunc) {
+        groupSorted(dataList, keyFunc, idFunc, comparator).forEach((key, group) -> {
+            Set<String> ids = group.stream().map(idFunc).collect(Collectors.toSet());
+            List<T> list = elementsOf(indexMap.get(key)).stream().filter(e -> !ids.contains(idFunc.apply(e))).collect(Collectors.toList());
+            list.addAll(group);
+            list.sort(comparator);
+            indexMap.put(key, indexFunc.apply(list));
+        });
+    }
+    
+    private static <T> void removeAll(final Map<String, RouteIndex<T>> indexMap, final Collection<T> dataList, final Function<T, String> keyFunc,
+                                      final Function<T, String> idFunc, final Function<List<T>, RouteIndex<T>> indexFunc) {
+        Map<String, List<T>> changed = new HashMap<>();
+        for (T data : dataList) {
+            if (Objects.isNull(data)) {
+                continue;
+            }
+            String key = keyFunc.apply(data);
+            List<T> list = changed.containsKey(key) ? changed.get(key) : Objects.isNull(indexMap.get(key)) ? null : new ArrayList<>(indexMap.get(key).getElements());
+            if (Objects.nonNull(list)) {
+                list.removeIf(e -> idFunc.apply(e).equals(idFunc.apply(data)));
+                changed.put(key, list);
+            }
         }
+        changed.forEach((key, list) -> indexMap.put(key, indexFunc.apply(list)));
     }
 }
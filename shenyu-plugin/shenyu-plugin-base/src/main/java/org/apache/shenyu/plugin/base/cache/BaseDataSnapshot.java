@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The immutable snapshot of the plugin, selector and rule data, published by {@link BaseDataCache} as a whole.
+ */
+public final class BaseDataSnapshot {
+
+    /**
+     * The empty snapshot.
+     */
+    static final BaseDataSnapshot EMPTY = new BaseDataSnapshot(0L, Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private final long version;
+
+    /**
+     * pluginName -> PluginData.
+     */
+    private final Map<String, PluginData> pluginMap;
+
+    /**
+     * pluginName -> sorted SelectorData.
+     */
+    private final Map<String, RouteIndex<SelectorData>> selectorMap;
+
+    /**
+     * selectorId -> sorted RuleData.
+     */
+    private final Map<String, RouteIndex<RuleData>> ruleMap;
+
+    BaseDataSnapshot(final long version, final Map<String, PluginData> pluginMap,
+                     final Map<String, RouteIndex<SelectorData>> selectorMap, final Map<String, RouteIndex<RuleData>> ruleMap) {
+        this.version = version;
+        this.pluginMap = pluginMap;
+        this.selectorMap = selectorMap;
+        this.ruleMap = ruleMap;
+    }
+
+    /**
+     * Get the version, increased by one on every publish.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtain plugin data.
+     *
+     * @param pluginName the plugin name
+     * @return the plugin data
+     */
+    public PluginData obtainPluginData(final String pluginName) {
+        return pluginMap.get(pluginName);
+    }
+
+    /**
+     * Obtain the sorted selectors of the plugin.
+     *
+     * @param pluginName the plugin name
+     * @return the route index of the selectors
+     */
+    public RouteIndex<SelectorData> obtainSelectorIndex(final String pluginName) {
+        return selectorMap.get(pluginName);
+    }
+
+    /**
+     * Obtain the sorted rules of the selector.
+     *
+     * @param selectorId the selector id
+     * @return the route index of the rules
+     */
+    public RouteIndex<RuleData> obtainRuleIndex(final String selectorId) {
+        return ruleMap.get(selectorId);
+    }
+
+    Map<String, PluginData> getPluginMap() {
+        return pluginMap;
+    }
+
+    Map<String, RouteIndex<SelectorData>> getSelectorMap() {
+        return selectorMap;
+    }
+
+    Map<String, RouteIndex<RuleData>> getRuleMap() {
+        return ruleMap;
+    }
+}
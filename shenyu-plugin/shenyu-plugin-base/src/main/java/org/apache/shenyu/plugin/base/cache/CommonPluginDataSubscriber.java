@@ -17,9 +17,13 @@
 
 package org.apache.shenyu.plugin.base.cache;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.dto.PluginData;
@@ -50,6 +54,12 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         subscribeDataHandler(pluginData, DataEventTypeEnum.UPDATE);
     }
     
+    @Override
+    public void onSubscribeList(final List<PluginData> pluginDataList) {
+        BaseDataCache.getInstance().cachePluginDataList(pluginDataList);
+        pluginDataList.forEach(pluginData -> Optional.ofNullable(handlerMap.get(pluginData.getName())).ifPresent(handler -> handler.handlerPlugin(pluginData)));
+    }
+    
     @Override
     public void unSubscribe(final PluginData pluginData) {
         subscribeDataHandler(pluginData, DataEventTypeEnum.DELETE);
@@ -60,6 +70,11 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanPluginData();
     }
     
+    @Override
+    public void refreshPluginDataAll(final List<PluginData> pluginDataList) {
+        refreshAll(pluginDataList, null, null);
+    }
+    
     @Override
     public void refreshPluginDataSelf(final List<PluginData> pluginDataList) {
         if (CollectionUtils.isEmpty(pluginDataList)) {
@@ -73,6 +88,12 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         subscribeDataHandler(selectorData, DataEventTypeEnum.UPDATE);
     }
     
+    @Override
+    public void onSelectorSubscribeList(final List<SelectorData> selectorDataList) {
+        BaseDataCache.getInstance().cacheSelectDataList(selectorDataList);
+        selectorDataList.forEach(selectorData -> Optional.ofNullable(handlerMap.get(selectorData.getPluginName())).ifPresent(handler -> handler.handlerSelector(selectorData)));
+    }
+    
     @Override
     public void unSelectorSubscribe(final SelectorData selectorData) {
         subscribeDataHandler(selectorData, DataEventTypeEnum.DELETE);
@@ -83,6 +104,11 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanSelectorData();
     }
     
+    @Override
+    public void refreshSelectorDataAll(final List<SelectorData> selectorDataList) {
+        refreshAll(null, selectorDataList, null);
+    }
+    
     @Override
     public void refreshSelectorDataSelf(final List<SelectorData> selectorDataList) {
         if (CollectionUtils.isEmpty(selectorDataList)) {
@@ -96,6 +122,12 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         subscribeDataHandler(ruleData, DataEventTypeEnum.UPDATE);
     }
     
+    @Override
+    public void onRuleSubscribeList(final List<RuleData> ruleDataList) {
+        BaseDataCache.getInstance().cacheRuleDataList(ruleDataList);
+        ruleDataList.forEach(ruleData -> Optional.ofNullable(handlerMap.get(ruleData.getPluginName())).ifPresent(handler -> handler.handlerRule(ruleData)));
+    }
+    
     @Override
     public void unRuleSubscribe(final RuleData ruleData) {
         subscribeDataHandler(ruleData, DataEventTypeEnum.DELETE);
@@ -106,6 +138,11 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanRuleData();
     }
     
+    @Override
+    public void refreshRuleDataAll(final List<RuleData> ruleDataList) {
+        refreshAll(null, null, ruleDataList);
+    }
+    
     @Override
     public void refreshRuleDataSelf(final List<RuleData> ruleDataList) {
         if (CollectionUtils.isEmpty(ruleDataList)) {
@@ -114,6 +151,42 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanRuleDataSelf(ruleDataList);
     }
     
+    @Override
+    public void refreshAll(final List<PluginData> pluginDataList, final List<SelectorData> selectorDataList, final List<RuleData> ruleDataList) {
+        BaseDataSnapshot previous = BaseDataCache.getInstance().replaceAll(pluginDataList, selectorDataList, ruleDataList);
+        // the data missing from the full lists is deleted, let the handlers release what they hold for it
+        if (Objects.nonNull(ruleDataList)) {
+            removedOf(previous.getRuleMap().values(), ruleDataList, RuleData::getId)
+                    .forEach(ruleData -> Optional.ofNullable(handlerMap.get(ruleData.getPluginName())).ifPresent(handler -> handler.removeRule(ruleData)));
+        }
+        if (Objects.nonNull(selectorDataList)) {
+            removedOf(previous.getSelectorMap().values(), selectorDataList, SelectorData::getId)
+                    .forEach(selectorData -> Optional.ofNullable(handlerMap.get(selectorData.getPluginName())).ifPresent(handler -> handler.removeSelector(selectorData)));
+        }
+        if (Objects.nonNull(pluginDataList)) {
+            Set<String> names = pluginDataList.stream().filter(Objects::nonNull).map(PluginData::getName).collect(Collectors.toSet());
+            previous.getPluginMap().values().stream().filter(pluginData -> !names.contains(pluginData.getName()))
+                    .forEach(pluginData -> Optional.ofNullable(handlerMap.get(pluginData.getName())).ifPresent(handler -> handler.removePlugin(pluginData)));
+            pluginDataList.stream().filter(Objects::nonNull)
+                    .forEach(pluginData -> Optional.ofNullable(handlerMap.get(pluginData.getName())).ifPresent(handler -> handler.handlerPlugin(pluginData)));
+        }
+        if (Objects.nonNull(selectorDataList)) {
+            selectorDataList.stream().filter(Objects::nonNull)
+                    .forEach(selectorData -> Optional.ofNullable(handlerMap.get(selectorData.getPluginName())).ifPresent(handler -> handler.handlerSelector(selectorData)));
+        }
+        if (Objects.nonNull(ruleDataList)) {
+            ruleDataList.stream().filter(Objects::nonNull)
+                    .forEach(ruleData -> Optional.ofNullable(handlerMap.get(ruleData.getPluginName())).ifPresent(handler -> handler.handlerRule(ruleData)));
+        }
+    }
+    
+    private static <T> List<T> removedOf(final Collection<RouteIndex<T>> previous, final List<T> dataList, final Function<T, String> idFunc) {
+        Set<String> ids = dataList.stream().filter(Objects::nonNull).map(idFunc).collect(Collectors.toSet());
+        return previous.stream().flatMap(index -> index.getElements().stream())
+                .filter(data -> !ids.contains(idFunc.apply(data)))
+                .collect(Collectors.toList());
+    }
+    
     private <T> void subscribeDataHandler(final T classData, final DataEventTypeEnum dataType) {
         Optional.ofNullable(classData).ifPresent(data -> {
             if (data instanceof PluginData) {
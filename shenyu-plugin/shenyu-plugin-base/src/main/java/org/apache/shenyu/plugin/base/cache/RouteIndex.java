@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import com.google.common.base.Splitter;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.apache.shenyu.plugin.base.condition.strategy.ConditionMatcher;
+import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * The route index of the sorted selectors of one plugin or the sorted rules of one selector.
+ *
+ * <p>Elements whose conditions must hold a {@code uri} condition with the {@code =} or {@code match}
+ * operator are indexed by exact path and by the literal leading segments of the ant pattern,
+ * every other element is always a candidate. The candidates of a path are visited in sort order,
+ * so the first candidate accepted by the full condition check is exactly the element a linear scan would return.
+ *
+ * <p>The conditions of an element are compiled into a {@link ConditionMatcher} on its first check and kept
+ * with the index, a config change builds a new index and so drops them.
+ *
+ * @param <T> the element type
+ */
+public final class RouteIndex<T> {
+
+    private static final Splitter PATTERN_SPLITTER = Splitter.on(",").omitEmptyStrings().trimResults();
+
+    private static final int[] EMPTY = new int[0];
+
+    private final List<T> elements;
+
+    private final int[] unindexed;
+
+    private final Map<String, int[]> exactMap;
+
+    private final Node root;
+
+    private final Function<T, ConditionMatcher> matcherFunc;
+
+    private final ConditionMatcher[] matchers;
+
+    private RouteIndex(final List<T> elements, final Function<T, List<ConditionData>> conditionsFunc, final Function<T, Integer> matchModeFunc,
+                       final Function<T, ConditionMatcher> matcherFunc) {
+        this.elements = Collections.unmodifiableList(new ArrayList<>(elements));
+        this.matcherFunc = matcherFunc;
+        this.matchers = new ConditionMatcher[elements.size()];
+        List<Integer> unindexedList = new ArrayList<>();
+        Map<String, List<Integer>> exactBuilder = new HashMap<>();
+        NodeBuilder rootBuilder = new NodeBuilder();
+        for (int i = 0; i < elements.size(); i++) {
+            T element = elements.get(i);
+            List<ConditionData> conditions = conditionsFunc.apply(element);
+            List<ConditionData> keys = CollectionUtils.isEmpty(conditions) ? null : indexKeys(conditions, matchModeFunc.apply(element));
+            if (Objects.isNull(keys)) {
+                unindexedList.add(i);
+                continue;
+            }
+            for (ConditionData key : keys) {
+                String value = key.getParamValue().trim();
+                if (OperatorEnum.EQ.getAlias().equals(key.getOperator())) {
+                    exactBuilder.computeIfAbsent(value, k -> new ArrayList<>()).add(i);
+                } else {
+                    for (String pattern : PATTERN_SPLITTER.split(value)) {
+                        rootBuilder.insert(pattern, i);
+                    }
+                }
+            }
+        }
+        this.unindexed = toArray(unindexedList);
+        this.exactMap = new HashMap<>(exactBuilder.size());
+        exactBuilder.forEach((key, value) -> exactMap.put(key, toArray(value)));
+        this.root = rootBuilder.build();
+    }
+
+    /**
+     * Build the route index of the sorted selectors.
+     *
+     * @param selectors the sorted selector list
+     * @return the route index
+     */
+    public static RouteIndex<SelectorData> ofSelectors(final List<SelectorData> selectors) {
+        return new RouteIndex<>(selectors, selector -> Boolean.TRUE.equals(selector.getEnabled())
+                && Objects.equals(selector.getType(), SelectorTypeEnum.CUSTOM_FLOW.getCode()) ? selector.getConditionList() : null, SelectorData::getMatchMode,
+                RouteIndex::compileSelector);
+    }
+
+    /**
+     * Build the route index of the sorted rules.
+     *
+     * @param rules the sorted rule list
+     * @return the route index
+     */
+    public static RouteIndex<RuleData> ofRules(final List<RuleData> rules) {
+        return new RouteIndex<>(rules, rule -> Boolean.TRUE.equals(rule.getEnabled()) ? rule.getConditionDataList() : null, RuleData::getMatchMode,
+                RouteIndex::compileRule);
+    }
+
+    /**
+     * Get the sorted elements.
+     *
+     * @return the unmodifiable sorted element list
+     */
+    public List<T> getElements() {
+        return elements;
+    }
+
+    /**
+     * Whether the index holds no element.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    /**
+     * Find the first element, in sort order, which is a candidate of the path and accepted by the filter.
+     *
+     * @param path   the request path
+     * @param filter the full condition check
+     * @return the matched element, or null
+     */
+    public T match(final String path, final Predicate<T> filter) {
+        return matchPosition(path, position -> filter.test(elements.get(position)));
+    }
+
+    /**
+     * Find the first enabled element, in sort order, whose conditions match the exchange.
+     *
+     * @param path     the request path
+     * @param exchange the exchange
+     * @return the matched element, or null
+     */
+    public T match(final String path, final ServerWebExchange exchange) {
+        return matchPosition(path, position -> obtainMatcher(position).match(exchange));
+    }
+
+    private T matchPosition(final String path, final IntPredicate filter) {
+        int[][] buckets = new int[3 + segmentCount(path)][];
+        int count = 0;
+        count = addBucket(buckets, count, unindexed);
+        if (Objects.nonNull(path)) {
+            count = addBucket(buckets, count, exactMap.get(path));
+            count = collectPrefixBuckets(path, buckets, count);
+        }
+        int[] cursors = new int[count];
+        while (true) {
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                if (cursors[i] < buckets[i].length && buckets[i][cursors[i]] < min) {
+                    min = buckets[i][cursors[i]];
+                }
+            }
+            if (min == Integer.MAX_VALUE) {
+                return null;
+            }
+            for (int i = 0; i < count; i++) {
+                if (cursors[i] < buckets[i].length && buckets[i][cursors[i]] == min) {
+                    cursors[i]++;
+                }
+            }
+            if (filter.test(min)) {
+                return elements.get(min);
+            }
+        }
+    }
+
+    private ConditionMatcher obtainMatcher(final int position) {
+        // a racing thread may compile the same matcher again, both results are equivalent
+        ConditionMatcher matcher = matchers[position];
+        if (Objects.isNull(matcher)) {
+            matcher = matcherFunc.apply(elements.get(position));
+            matchers[position] = matcher;
+        }
+        return matcher;
+    }
+
+    private static ConditionMatcher compileSelector(final SelectorData selector) {
+        if (!Boolean.TRUE.equals(selector.getEnabled())) {
+            return exchange -> false;
+        }
+        if (Objects.equals(selector.getType(), SelectorTypeEnum.CUSTOM_FLOW.getCode())) {
+            if (CollectionUtils.isEmpty(selector.getConditionList())) {
+                return exchange -> false;
+            }
+            return MatchStrategyFactory.compile(selector.getMatchMode(), selector.getConditionList());
+        }
+        return exchange -> true;
+    }
+
+    private static ConditionMatcher compileRule(final RuleData rule) {
+        if (!Boolean.TRUE.equals(rule.getEnabled())) {
+            return exchange -> false;
+        }
+        return MatchStrategyFactory.compile(rule.getMatchMode(), rule.getConditionDataList());
+    }
+
+    private int collectPrefixBuckets(final String path, final int[][] buckets, final int count) {
+        int size = addBucket(buckets, count, root.positions);
+        Node node = root;
+        int start = 0;
+        int length = path.length();
+        while (start < length && Objects.nonNull(node)) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.children.get(path.substring(start, end));
+                if (Objects.nonNull(node)) {
+                    size = addBucket(buckets, size, node.positions);
+                }
+            }
+            start = end + 1;
+        }
+        return size;
+    }
+
+    private static int addBucket(final int[][] buckets, final int count, final int[] positions) {
+        if (Objects.isNull(positions) || positions.length == 0) {
+            return count;
+        }
+        buckets[count] = positions;
+        return count + 1;
+    }
+
+    private static int segmentCount(final String path) {
+        if (Objects.isNull(path)) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                count++;
+            }
+        }
+        return count + 1;
+    }
+
+    /**
+     * The uri conditions one of which must hold for the element to match, or null when the element can not be indexed.
+     */
+    private static List<ConditionData> indexKeys(final List<ConditionData> conditions, final Integer matchMode) {
+        if (Objects.isNull(matchMode)) {
+            return null;
+        }
+        if (matchMode == MatchModeEnum.OR.getCode()) {
+            return conditions.stream().allMatch(RouteIndex::indexable) ? conditions : null;
+        }
+        return conditions.stream().filter(RouteIndex::indexable).findFirst().map(Collections::singletonList).orElse(null);
+    }
+
+    private static boolean indexable(final ConditionData condition) {
+        return Objects.nonNull(condition)
+                && ParamTypeEnum.URI.getName().equals(condition.getParamType())
+                && Objects.nonNull(condition.getParamValue())
+                && (OperatorEnum.EQ.getAlias().equals(condition.getOperator()) || OperatorEnum.MATCH.getAlias().equals(condition.getOperator()));
+    }
+
+    private static int[] toArray(final List<Integer> list) {
+        if (list.isEmpty()) {
+            return EMPTY;
+        }
+        // positions are added in sort order and may repeat when one element holds several keys of the same node
+        return list.stream().mapToInt(Integer::intValue).distinct().toArray();
+    }
+
+    private static boolean isLiteral(final String segment) {
+        return segment.indexOf('*') < 0 && segment.indexOf('?') < 0 && segment.indexOf('{') < 0;
+    }
+
+    private static final class Node {
+
+        private final int[] positions;
+
+        private final Map<String, Node> children;
+
+        Node(final int[] positions, final Map<String, Node> children) {
+            this.positions = positions;
+            this.children = children;
+        }
+    }
+
+    private static final class NodeBuilder {
+
+        private final List<Integer> positions = new ArrayList<>();
+
+        private final Map<String, NodeBuilder> children = new HashMap<>();
+
+        void insert(final String pattern, final int position) {
+            NodeBuilder node = this;
+            for (String segment : pattern.split("/")) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if (!isLiteral(segment)) {
+                    break;
+                }
+                node = node.children.computeIfAbsent(segment, k -> new NodeBuilder());
+            }
+            node.positions.add(position);
+        }
+
+        Node build() {
+            Map<String, Node> built = new HashMap<>(children.size());
+            children.forEach((key, value) -> built.put(key, value.build()));
+            return new Node(toArray(positions), built);
+        }
+    }
+}
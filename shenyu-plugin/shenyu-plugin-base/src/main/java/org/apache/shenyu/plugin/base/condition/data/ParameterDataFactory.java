@@ -44,6 +44,17 @@ public class ParameterDataFactory {
      * @return the string
      */
     public static String builderData(final String paramType, final String paramName, final ServerWebExchange exchange) {
-        return newInstance(paramType).builder(paramName, exchange);
+        return newParameter(paramType, paramName).read(exchange);
+    }
+    
+    /**
+     * New request parameter, its value is read once per request.
+     *
+     * @param paramType the param type
+     * @param paramName the param name
+     * @return the request parameter
+     */
+    public static RequestParameter newParameter(final String paramType, final String paramName) {
+        return RequestParameter.of(paramType, paramName);
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.data;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The parameter read by conditions, bound to its {@link ParameterData} once.
+ *
+ * <p>Every (paramType, paramName) of the built-in request parameters owns a slot, its value is read
+ * once per request into an array attribute of the exchange. The values are dropped when a plugin
+ * mutates the request. The {@code post} parameter reads the mutable shenyu context and custom
+ * parameter data may hold state, so they are read every time.
+ */
+public final class RequestParameter {
+
+    private static final String VALUES_ATTR = RequestParameter.class.getName();
+
+    private static final Set<String> CACHEABLE_TYPES = ImmutableSet.of(ParamTypeEnum.HEADER.getName(), ParamTypeEnum.URI.getName(),
+            ParamTypeEnum.QUERY.getName(), ParamTypeEnum.HOST.getName(), ParamTypeEnum.IP.getName(),
+            ParamTypeEnum.REQUEST_METHOD.getName(), ParamTypeEnum.COOKIE.getName());
+
+    private static final Set<String> NAMELESS_TYPES = ImmutableSet.of(ParamTypeEnum.URI.getName(), ParamTypeEnum.HOST.getName(),
+            ParamTypeEnum.IP.getName(), ParamTypeEnum.REQUEST_METHOD.getName());
+
+    private static final Map<String, Map<String, RequestParameter>> PARAMETERS = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger SLOT_COUNT = new AtomicInteger();
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final ParameterData parameterData;
+
+    private final String paramName;
+
+    private final int slot;
+
+    private RequestParameter(final ParameterData parameterData, final String paramName, final int slot) {
+        this.parameterData = parameterData;
+        this.paramName = paramName;
+        this.slot = slot;
+    }
+
+    /**
+     * Obtain the parameter, created once per (paramType, paramName).
+     *
+     * @param paramType the param type
+     * @param paramName the param name
+     * @return the request parameter
+     */
+    static RequestParameter of(final String paramType, final String paramName) {
+        if (!CACHEABLE_TYPES.contains(paramType)) {
+            return new RequestParameter(ParameterDataFactory.newInstance(paramType), paramName, -1);
+        }
+        String key = NAMELESS_TYPES.contains(paramType) || Objects.isNull(paramName) ? "" : paramName;
+        return PARAMETERS.computeIfAbsent(paramType, type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, name -> new RequestParameter(ParameterDataFactory.newInstance(paramType), paramName, SLOT_COUNT.getAndIncrement()));
+    }
+
+    /**
+     * Read the parameter of the request.
+     *
+     * @param exchange the exchange
+     * @return the parameter value
+     */
+    public String read(final ServerWebExchange exchange) {
+        if (slot < 0) {
+            return parameterData.builder(paramName, exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        Values values = exchange.getAttribute(VALUES_ATTR);
+        if (Objects.isNull(values) || values.request != request) {
+            values = new Values(request);
+            exchange.getAttributes().put(VALUES_ATTR, values);
+        }
+        Object value = values.get(slot);
+        if (Objects.isNull(value)) {
+            String data = parameterData.builder(paramName, exchange);
+            values.set(slot, Objects.isNull(data) ? NULL_VALUE : data);
+            return data;
+        }
+        return value == NULL_VALUE ? null : (String) value;
+    }
+
+    private static final class Values {
+
+        private final ServerHttpRequest request;
+
+        private Object[] array;
+
+        Values(final ServerHttpRequest request) {
+            this.request = request;
+            this.array = new Object[SLOT_COUNT.get()];
+        }
+
+        Object get(final int slot) {
+            return slot < array.length ? array[slot] : null;
+        }
+
+        void set(final int slot, final Object value) {
+            if (slot >= array.length) {
+                array = Arrays.copyOf(array, Math.max(slot + 1, SLOT_COUNT.get()));
+            }
+            array[slot] = value;
+        }
+    }
+}
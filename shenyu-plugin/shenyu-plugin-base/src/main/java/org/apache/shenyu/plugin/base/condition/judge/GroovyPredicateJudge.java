@@ -17,9 +17,15 @@
 
 package org.apache.shenyu.plugin.base.condition.judge;
 
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 import org.apache.shenyu.common.dto.ConditionData;
 import groovy.util.Eval;
 import org.apache.shenyu.spi.Join;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+import java.util.function.Predicate;
 
 /**
  * Groovy predicate judge.
@@ -31,4 +37,16 @@ public class GroovyPredicateJudge implements PredicateJudge {
     public Boolean judge(final ConditionData conditionData, final String realData) {
         return (Boolean) Eval.me(conditionData.getParamName(), realData, conditionData.getParamValue());
     }
+    
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        // the script class is compiled once, script instances hold the binding so a new one is created per call
+        Class<? extends Script> scriptClass = new GroovyShell().parse(conditionData.getParamValue()).getClass();
+        String paramName = conditionData.getParamName();
+        return realData -> {
+            Binding binding = new Binding();
+            binding.setVariable(paramName, realData);
+            return (Boolean) InvokerHelper.createScript(scriptClass, binding).run();
+        };
+    }
 }
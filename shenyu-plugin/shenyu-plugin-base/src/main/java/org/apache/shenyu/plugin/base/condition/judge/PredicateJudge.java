@@ -20,6 +20,8 @@ package org.apache.shenyu.plugin.base.condition.judge;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.spi.SPI;
 
+import java.util.function.Predicate;
+
 /**
  * Predicate judge.
  */
@@ -35,4 +37,14 @@ public interface PredicateJudge {
      * @return true is pass  false is not pass.
      */
     Boolean judge(ConditionData conditionData, String realData);
+
+    /**
+     * compile conditionData into a ready-to-run judge, called once when the condition is loaded.
+     *
+     * @param conditionData {@linkplain ConditionData}
+     * @return the judge of realData
+     */
+    default Predicate<String> compile(final ConditionData conditionData) {
+        return realData -> judge(conditionData, realData);
+    }
 }
@@ -23,6 +23,7 @@ import org.apache.shenyu.common.enums.OperatorEnum;
 import org.apache.shenyu.spi.ExtensionLoader;
 
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Predicate judge factory.
@@ -53,6 +54,20 @@ public class PredicateJudgeFactory {
         return newInstance(conditionData.getOperator()).judge(conditionData, realData);
     }
 
+    /**
+     * compile conditionData into a judge of request realData.
+     *
+     * @param conditionData condition data
+     * @return the judge, is true pass   is false not pass
+     */
+    public static Predicate<String> compile(final ConditionData conditionData) {
+        if (Objects.isNull(conditionData)) {
+            return realData -> false;
+        }
+        Predicate<String> judge = newInstance(conditionData.getOperator()).compile(conditionData);
+        return realData -> StringUtils.isNotBlank(realData) && judge.test(realData);
+    }
+
     /**
      * process special operator, like = need to change to equals.
      *
@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.base.condition.judge;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.spi.Join;
 
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 /**
@@ -32,4 +33,10 @@ public class RegexPredicateJudge implements PredicateJudge {
     public Boolean judge(final ConditionData conditionData, final String realData) {
         return Pattern.matches(conditionData.getParamValue(), realData);
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        Pattern pattern = Pattern.compile(conditionData.getParamValue());
+        return realData -> pattern.matcher(realData).matches();
+    }
 }
@@ -22,6 +22,11 @@ import org.apache.shenyu.spi.Join;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 /**
  * SpEL predicate judge.
@@ -31,9 +36,124 @@ public class SpELPredicateJudge implements PredicateJudge {
     
     private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
     
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-zA-Z_$][a-zA-Z0-9_$]*");
+    
+    private static final Pattern INT_LITERAL = Pattern.compile("\\d{1,9}");
+    
+    private static final Pattern REAL_LITERAL = Pattern.compile("\\d+\\.\\d+");
+    
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
         Expression expression = EXPRESSION_PARSER.parseExpression(conditionData.getParamValue().replace('#' + conditionData.getParamName(), realData));
         return expression.getValue(Boolean.class);
     }
+    
+    /**
+     * The expression is parsed once with {@code #paramName} kept as a SpEL variable, when every textual
+     * replacement of it would have produced a literal: a bare number or boolean, or a whole quoted string.
+     * Any other expression or realData is judged by the textual replacement as before.
+     */
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        String paramName = conditionData.getParamName();
+        String template = conditionData.getParamValue();
+        if (Objects.isNull(paramName) || Objects.isNull(template) || !IDENTIFIER.matcher(paramName).matches()
+                || "this".equals(paramName) || "root".equals(paramName)) {
+            return realData -> judge(conditionData, realData);
+        }
+        String variable = '#' + paramName;
+        Placeholder placeholder = scan(template, variable);
+        if (Objects.isNull(placeholder)) {
+            return realData -> judge(conditionData, realData);
+        }
+        String source = placeholder == Placeholder.STRING
+                ? template.replace('\'' + variable + '\'', variable).replace('"' + variable + '"', variable) : template;
+        Expression expression = EXPRESSION_PARSER.parseExpression(source);
+        return realData -> {
+            Object value = placeholder == Placeholder.STRING ? toStringLiteral(realData) : toLiteral(realData);
+            if (Objects.isNull(value) && placeholder != Placeholder.NONE) {
+                return judge(conditionData, realData);
+            }
+            StandardEvaluationContext context = new StandardEvaluationContext();
+            context.setVariable(paramName, value);
+            return expression.getValue(context, Boolean.class);
+        };
+    }
+    
+    private static Object toLiteral(final String realData) {
+        if (INT_LITERAL.matcher(realData).matches()) {
+            return Integer.valueOf(realData);
+        }
+        if (REAL_LITERAL.matcher(realData).matches()) {
+            return Double.valueOf(realData);
+        }
+        if ("true".equals(realData) || "false".equals(realData)) {
+            return Boolean.valueOf(realData);
+        }
+        return null;
+    }
+    
+    private static String toStringLiteral(final String realData) {
+        return realData.indexOf('\'') < 0 && realData.indexOf('"') < 0 ? realData : null;
+    }
+    
+    /**
+     * Find how the variable is used, null when any occurrence is not a whole literal.
+     */
+    private static Placeholder scan(final String template, final String variable) {
+        Placeholder found = Placeholder.NONE;
+        int length = template.length();
+        char quote = 0;
+        int quoteStart = -1;
+        int i = 0;
+        while (i < length) {
+            if (template.startsWith(variable, i)) {
+                int end = i + variable.length();
+                Placeholder current;
+                if (quote == 0) {
+                    if (end < length && Character.isJavaIdentifierPart(template.charAt(end))
+                            || i > 0 && (Character.isJavaIdentifierPart(template.charAt(i - 1)) || template.charAt(i - 1) == '#')) {
+                        return null;
+                    }
+                    current = Placeholder.LITERAL;
+                } else {
+                    if (quoteStart != i - 1 || end >= length || template.charAt(end) != quote
+                            || end + 1 < length && template.charAt(end + 1) == quote) {
+                        return null;
+                    }
+                    current = Placeholder.STRING;
+                }
+                if (found != Placeholder.NONE && found != current) {
+                    return null;
+                }
+                found = current;
+                i = end;
+                continue;
+            }
+            char c = template.charAt(i);
+            if (quote == 0) {
+                if (c == '\'' || c == '"') {
+                    quote = c;
+                    quoteStart = i;
+                }
+            } else if (c == quote) {
+                if (i + 1 < length && template.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                quote = 0;
+            }
+            i++;
+        }
+        return found;
+    }
+    
+    private enum Placeholder {
+        
+        NONE,
+        
+        LITERAL,
+        
+        STRING
+    }
 }
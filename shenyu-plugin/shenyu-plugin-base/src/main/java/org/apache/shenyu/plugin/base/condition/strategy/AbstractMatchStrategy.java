@@ -19,8 +19,15 @@ package org.apache.shenyu.plugin.base.condition.strategy;
 
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.plugin.base.condition.data.ParameterDataFactory;
+import org.apache.shenyu.plugin.base.condition.data.RequestParameter;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
 import org.springframework.web.server.ServerWebExchange;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
 /**
  * AbstractMatchStrategy.
  */
@@ -36,4 +43,26 @@ public abstract class AbstractMatchStrategy {
     public String buildRealData(final ConditionData condition, final ServerWebExchange exchange) {
         return ParameterDataFactory.builderData(condition.getParamType(), condition.getParamName(), exchange);
     }
+
+    /**
+     * Compile the conditions with their parameters and judges.
+     *
+     * @param conditionDataList the condition list
+     * @param matchAll          true if all conditions must pass, false if any one is enough
+     * @return the condition matcher
+     */
+    protected ConditionMatcher compileConditions(final List<ConditionData> conditionDataList, final boolean matchAll) {
+        final List<ConditionData> conditions = new ArrayList<>(conditionDataList);
+        final List<RequestParameter> parameters = conditions.stream()
+                .map(condition -> ParameterDataFactory.newParameter(condition.getParamType(), condition.getParamName())).collect(Collectors.toList());
+        final List<Predicate<String>> judges = conditions.stream().map(PredicateJudgeFactory::compile).collect(Collectors.toList());
+        return exchange -> {
+            for (int i = 0; i < judges.size(); i++) {
+                if (judges.get(i).test(parameters.get(i).read(exchange)) != matchAll) {
+                    return !matchAll;
+                }
+            }
+            return matchAll;
+        };
+    }
 }
@@ -36,4 +36,9 @@ public class AndMatchStrategy extends AbstractMatchStrategy implements MatchStra
                 .stream()
                 .allMatch(condition -> PredicateJudgeFactory.judge(condition, buildRealData(condition, exchange)));
     }
+
+    @Override
+    public ConditionMatcher compile(final List<ConditionData> conditionDataList) {
+        return compileConditions(conditionDataList, true);
+    }
 }
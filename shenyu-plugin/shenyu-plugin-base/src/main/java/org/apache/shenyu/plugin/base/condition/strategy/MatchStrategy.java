@@ -37,4 +37,14 @@ public interface MatchStrategy {
      * @return true is match , false is not match.
      */
     Boolean match(List<ConditionData> conditionDataList, ServerWebExchange exchange);
+
+    /**
+     * compile the condition list into a matcher, called once when the conditions are loaded.
+     *
+     * @param conditionDataList condition list.
+     * @return the condition matcher
+     */
+    default ConditionMatcher compile(final List<ConditionData> conditionDataList) {
+        return exchange -> match(conditionDataList, exchange);
+    }
 }
@@ -51,4 +51,15 @@ public class MatchStrategyFactory {
     public static boolean match(final Integer strategy, final List<ConditionData> conditionDataList, final ServerWebExchange exchange) {
         return newInstance(strategy).match(conditionDataList, exchange);
     }
+
+    /**
+     * Compile the condition data list.
+     *
+     * @param strategy the strategy
+     * @param conditionDataList the condition data list
+     * @return the condition matcher
+     */
+    public static ConditionMatcher compile(final Integer strategy, final List<ConditionData> conditionDataList) {
+        return newInstance(strategy).compile(conditionDataList);
+    }
 }
@@ -36,4 +36,9 @@ public class OrMatchStrategy extends AbstractMatchStrategy implements MatchStrat
                 .stream()
                 .anyMatch(condition -> PredicateJudgeFactory.judge(condition, buildRealData(condition, exchange)));
     }
+
+    @Override
+    public ConditionMatcher compile(final List<ConditionData> conditionDataList) {
+        return compileConditions(conditionDataList, false);
+    }
 }
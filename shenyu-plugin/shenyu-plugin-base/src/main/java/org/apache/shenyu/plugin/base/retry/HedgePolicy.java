@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.retry;
+
+import org.apache.shenyu.plugin.base.stats.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hedging policy of one rule, built once per rule handle.
+ *
+ * <p>The hedge is sent after the fixed delay of the rule, or when the rule has none, after the p95 latency of
+ * the first attempts of the rule once {@code minSamples} of them are recorded.
+ */
+public final class HedgePolicy {
+
+    private static final double PERCENTILE = 0.95D;
+
+    private final long delayMillis;
+
+    private final long minSamples;
+
+    private final LatencyHistogram histogram;
+
+    private final RetryBudget budget;
+
+    /**
+     * Instantiates a new hedge policy.
+     *
+     * @param delayMillis the fixed hedge delay, 0 to follow the p95 latency
+     * @param minSamples  the latencies recorded before the p95 latency is followed
+     * @param histogram   the latency histogram of the rule
+     * @param budget      the hedge budget, shared by all the rules
+     */
+    public HedgePolicy(final long delayMillis, final long minSamples, final LatencyHistogram histogram, final RetryBudget budget) {
+        this.delayMillis = delayMillis;
+        this.minSamples = minSamples;
+        this.histogram = histogram;
+        this.budget = budget;
+    }
+
+    /**
+     * Get the hedge delay.
+     *
+     * @return the delay in millis, -1 if no hedge is sent yet
+     */
+    public long obtainDelayMillis() {
+        if (delayMillis > 0) {
+            return delayMillis;
+        }
+        if (histogram.count() < minSamples) {
+            return -1L;
+        }
+        return Math.max(1L, TimeUnit.NANOSECONDS.toMillis(histogram.percentile(PERCENTILE)));
+    }
+
+    /**
+     * Record the latency of a first attempt.
+     *
+     * @param nanos the latency in nanos
+     */
+    public void record(final long nanos) {
+        histogram.record(nanos);
+    }
+
+    /**
+     * Get the hedge budget.
+     *
+     * @return the budget
+     */
+    public RetryBudget getBudget() {
+        return budget;
+    }
+}
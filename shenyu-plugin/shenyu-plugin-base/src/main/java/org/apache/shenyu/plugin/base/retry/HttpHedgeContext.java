@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.retry;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The hedging state of one http request, put into the exchange by the plugin which selected the upstream.
+ *
+ * <p>Only a GET or HEAD request without a body is hedged, so both attempts can be sent without buffering.
+ * The hedge is selected on a timer thread while the first attempt runs, so it never touches the exchange.
+ */
+public final class HttpHedgeContext {
+
+    private final HedgePolicy policy;
+
+    private final UpstreamReselector reselector;
+
+    private final Set<String> triedUpstreamUrls = ConcurrentHashMap.newKeySet(4);
+
+    /**
+     * Instantiates a new http hedge context.
+     *
+     * @param policy     the hedge policy
+     * @param reselector the upstream reselector
+     */
+    public HttpHedgeContext(final HedgePolicy policy, final UpstreamReselector reselector) {
+        this.policy = policy;
+        this.reselector = reselector;
+        policy.getBudget().deposit();
+    }
+
+    /**
+     * Whether the request may be hedged: a GET or HEAD request without a body.
+     *
+     * @param request the request
+     * @return true if hedgeable
+     */
+    public static boolean isHedgeable(final ServerHttpRequest request) {
+        HttpMethod method = request.getMethod();
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            return false;
+        }
+        HttpHeaders headers = request.getHeaders();
+        return headers.getContentLength() <= 0 && !headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    /**
+     * Get the hedge delay of the request.
+     *
+     * @return the delay in millis, -1 if the request is not hedged
+     */
+    public long obtainDelayMillis() {
+        return policy.obtainDelayMillis();
+    }
+
+    /**
+     * Record the latency of the first attempt.
+     *
+     * @param nanos the latency in nanos
+     */
+    public void record(final long nanos) {
+        policy.record(nanos);
+    }
+
+    /**
+     * Mark the upstream of the exchange tried by the first attempt.
+     *
+     * @param exchange the exchange
+     */
+    public void attempt(final ServerWebExchange exchange) {
+        String upstreamUrl = exchange.getAttribute(Constants.HTTP_UPSTREAM);
+        if (Objects.nonNull(upstreamUrl)) {
+            triedUpstreamUrls.add(upstreamUrl);
+        }
+    }
+
+    /**
+     * Select the upstream the hedge is sent to, another one than the first attempt's.
+     *
+     * @param exchange the exchange
+     * @return the upstream target, null if the hedge is not sent
+     */
+    public UpstreamTarget hedge(final ServerWebExchange exchange) {
+        if (!policy.getBudget().tryWithdraw()) {
+            return null;
+        }
+        UpstreamTarget target = reselector.reselect(exchange, triedUpstreamUrls);
+        if (Objects.nonNull(target)) {
+            triedUpstreamUrls.add(target.getUpstreamUrl());
+        }
+        return target;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.common.constant.Constants;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The retry state of one http request, put into the exchange by the plugin which selected the upstream.
+ *
+ * <p>Every retry goes to an upstream not tried yet. A connection failure is retried for any method as the request
+ * never reached the upstream, a timeout or a retryable status only for the methods the policy allows.
+ * The attempts of one request run one after another, so the state is not shared between threads.
+ */
+@Slf4j
+public final class HttpRetryContext {
+
+    /**
+     * The signal of a response dropped to be retried.
+     */
+    public static final RuntimeException RETRY_SIGNAL = new RetrySignal();
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final RetryPolicy policy;
+
+    private final UpstreamReselector reselector;
+
+    private final Set<String> triedUpstreamUrls = new HashSet<>(4);
+
+    private int retries;
+
+    /**
+     * Instantiates a new http retry context.
+     *
+     * @param policy     the retry policy
+     * @param reselector the upstream reselector
+     */
+    public HttpRetryContext(final RetryPolicy policy, final UpstreamReselector reselector) {
+        this.policy = policy;
+        this.reselector = reselector;
+        policy.getBudget().deposit();
+    }
+
+    /**
+     * Whether the request body can be buffered to be replayed: its declared length is within the max body size,
+     * or it has none at all.
+     *
+     * @param request the request
+     * @return true if replayable
+     */
+    public boolean isReplayable(final ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        long contentLength = headers.getContentLength();
+        if (contentLength >= 0) {
+            return contentLength <= policy.getMaxBodySize();
+        }
+        return !headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    /**
+     * Buffer the request body once to be replayed by every attempt.
+     *
+     * @param request the request
+     * @return the body bytes
+     */
+    public static Mono<byte[]> bufferBody(final ServerHttpRequest request) {
+        return DataBufferUtils.join(request.getBody()).map(dataBuffer -> {
+            byte[] bytes = new byte[dataBuffer.readableByteCount()];
+            dataBuffer.read(bytes);
+            DataBufferUtils.release(dataBuffer);
+            return bytes;
+        }).defaultIfEmpty(EMPTY_BODY);
+    }
+
+    /**
+     * Mark the upstream of the exchange tried, before an attempt is sent to it.
+     *
+     * @param exchange the exchange
+     */
+    public void attempt(final ServerWebExchange exchange) {
+        String upstreamUrl = exchange.getAttribute(Constants.HTTP_UPSTREAM);
+        if (Objects.nonNull(upstreamUrl)) {
+            triedUpstreamUrls.add(upstreamUrl);
+        }
+    }
+
+    /**
+     * Whether the response is dropped and the request retried on another upstream, selected into the exchange.
+     *
+     * @param exchange the exchange
+     * @param status   the response status
+     * @return true if retried
+     */
+    public boolean retryOnStatus(final ServerWebExchange exchange, final int status) {
+        return policy.isRetryableStatus(status) && policy.isRetryableMethod(exchange.getRequest().getMethod()) && next(exchange);
+    }
+
+    /**
+     * Whether the failed request is retried on another upstream, selected into the exchange.
+     *
+     * @param exchange  the exchange
+     * @param throwable the failure
+     * @return true if retried
+     */
+    public boolean retryOnError(final ServerWebExchange exchange, final Throwable throwable) {
+        if (throwable == RETRY_SIGNAL) {
+            return true;
+        }
+        if (hasCause(throwable, ConnectException.class)) {
+            return next(exchange);
+        }
+        if (hasCause(throwable, TimeoutException.class)) {
+            return policy.isRetryableMethod(exchange.getRequest().getMethod()) && next(exchange);
+        }
+        return false;
+    }
+
+    /**
+     * Get the retries done.
+     *
+     * @return the retries
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    private boolean next(final ServerWebExchange exchange) {
+        if (retries >= policy.getRetry() || !policy.getBudget().tryWithdraw()) {
+            return false;
+        }
+        UpstreamTarget target = reselector.reselect(exchange, triedUpstreamUrls);
+        if (Objects.isNull(target)) {
+            return false;
+        }
+        target.selectInto(exchange);
+        retries++;
+        log.warn("retry {} of the request {} on the upstream {}", retries, exchange.getRequest().getURI().getPath(), exchange.<String>getAttribute(Constants.HTTP_UPSTREAM));
+        return true;
+    }
+
+    private static boolean hasCause(final Throwable throwable, final Class<? extends Throwable> type) {
+        Throwable cause = throwable;
+        while (Objects.nonNull(cause)) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+            cause = cause.getCause() == cause ? null : cause.getCause();
+        }
+        return false;
+    }
+
+    private static final class RetrySignal extends RuntimeException {
+
+        private static final long serialVersionUID = -5306474328796436925L;
+
+        RetrySignal() {
+            super("retry on another upstream", null, false, false);
+        }
+    }
+}
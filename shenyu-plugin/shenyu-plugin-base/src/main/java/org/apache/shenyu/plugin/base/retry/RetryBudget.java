@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The lock-free retry budget, capping the retries at a percent of the requests.
+ *
+ * <p>Every request deposits {@code percent / 100} of a token and every retry withdraws one, besides
+ * {@code minRetriesPerSecond} tokens deposited per second so that a quiet route may still retry.
+ * The balance is capped at the tokens of {@code maxBalanceSeconds} seconds of the min retry rate or of 100 requests,
+ * whichever is more, so a long quiet period does not save up a retry storm.
+ */
+public final class RetryBudget {
+
+    private static final long TOKEN = 1000L;
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long depositPerRequest;
+
+    private final long minRetriesPerSecond;
+
+    private final long maxBalance;
+
+    /**
+     * the balance in thousandths of a token.
+     */
+    private final AtomicLong balance;
+
+    private final AtomicLong refilledAt;
+
+    /**
+     * Instantiates a new retry budget.
+     *
+     * @param percent             the retries allowed per 100 requests
+     * @param minRetriesPerSecond the retries allowed per second regardless of the requests
+     * @param maxBalanceSeconds   the seconds of the min retry rate the balance may save up
+     */
+    public RetryBudget(final int percent, final int minRetriesPerSecond, final int maxBalanceSeconds) {
+        this.depositPerRequest = TOKEN * percent / 100;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.maxBalance = Math.max(TOKEN * minRetriesPerSecond * maxBalanceSeconds, depositPerRequest * 100);
+        this.balance = new AtomicLong(TOKEN * minRetriesPerSecond);
+        this.refilledAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Deposit the share of one request.
+     */
+    public void deposit() {
+        add(depositPerRequest);
+    }
+
+    /**
+     * Withdraw one retry.
+     *
+     * @return true if the budget allows the retry
+     */
+    public boolean tryWithdraw() {
+        refill(System.nanoTime());
+        while (true) {
+            long current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get the retries the budget allows now.
+     *
+     * @return the available retries
+     */
+    public long available() {
+        refill(System.nanoTime());
+        return balance.get() / TOKEN;
+    }
+
+    void refill(final long now) {
+        long last = refilledAt.get();
+        long elapsed = now - last;
+        if (minRetriesPerSecond <= 0 || elapsed < NANOS_PER_SECOND / TOKEN) {
+            return;
+        }
+        if (refilledAt.compareAndSet(last, now)) {
+            add(Math.min(elapsed, NANOS_PER_SECOND * 60) * minRetriesPerSecond * TOKEN / NANOS_PER_SECOND);
+        }
+    }
+
+    private void add(final long amount) {
+        while (true) {
+            long current = balance.get();
+            long next = Math.min(current + amount, maxBalance);
+            if (next <= current || balance.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.retry;
+
+import com.google.common.base.Splitter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.http.HttpMethod;
+
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The retry policy of one rule, built once per rule handle.
+ */
+@Slf4j
+public final class RetryPolicy {
+
+    private static final int MIN_STATUS = 100;
+
+    private static final int MAX_STATUS = 599;
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS,
+            HttpMethod.PUT, HttpMethod.DELETE, HttpMethod.TRACE);
+
+    private final int retry;
+
+    private final BitSet retryableStatuses;
+
+    private final boolean retryNonIdempotent;
+
+    private final long maxBodySize;
+
+    private final RetryBudget budget;
+
+    /**
+     * Instantiates a new retry policy.
+     *
+     * @param retry              the max retries of a request
+     * @param retryableStatus    the comma separated response statuses to retry, such as "502,503"
+     * @param retryNonIdempotent whether the non-idempotent methods are retried on a timeout or a retryable status
+     * @param maxBodySize        the max request body buffered to be replayed
+     * @param budget             the retry budget
+     */
+    public RetryPolicy(final int retry, final String retryableStatus, final boolean retryNonIdempotent, final long maxBodySize, final RetryBudget budget) {
+        this.retry = retry;
+        this.retryableStatuses = new BitSet();
+        if (StringUtils.isNotBlank(retryableStatus)) {
+            for (String status : Splitter.on(',').trimResults().omitEmptyStrings().split(retryableStatus)) {
+                int code = NumberUtils.toInt(status, -1);
+                if (code < MIN_STATUS || code > MAX_STATUS) {
+                    log.warn("invalid retryable status {} is skipped, the status must be a number in [{}, {}]", status, MIN_STATUS, MAX_STATUS);
+                    continue;
+                }
+                retryableStatuses.set(code);
+            }
+        }
+        this.retryNonIdempotent = retryNonIdempotent;
+        this.maxBodySize = maxBodySize;
+        this.budget = budget;
+    }
+
+    /**
+     * Get the max retries of a request.
+     *
+     * @return the retry
+     */
+    public int getRetry() {
+        return retry;
+    }
+
+    /**
+     * Get the max request body buffered to be replayed.
+     *
+     * @return the max body size
+     */
+    public long getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * Get the retry budget.
+     *
+     * @return the budget
+     */
+    public RetryBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Whether the response status is retried.
+     *
+     * @param status the status
+     * @return true if retryable
+     */
+    public boolean isRetryableStatus(final int status) {
+        return status >= 0 && retryableStatuses.get(status);
+    }
+
+    /**
+     * Whether the method may be retried once the request may have reached the upstream.
+     *
+     * @param method the method
+     * @return true if retryable
+     */
+    public boolean isRetryableMethod(final HttpMethod method) {
+        return retryNonIdempotent || IDEMPOTENT_METHODS.contains(method);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.retry;
+
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Set;
+
+/**
+ * Selects the upstream of a retry, provided by the plugin which selected the first upstream.
+ */
+@FunctionalInterface
+public interface UpstreamReselector {
+
+    /**
+     * Select an upstream not tried yet, the exchange is left untouched.
+     *
+     * @param exchange          the exchange
+     * @param triedUpstreamUrls the upstream urls already tried
+     * @return the upstream target, null if no upstream is left
+     */
+    UpstreamTarget reselect(ServerWebExchange exchange, Set<String> triedUpstreamUrls);
+}
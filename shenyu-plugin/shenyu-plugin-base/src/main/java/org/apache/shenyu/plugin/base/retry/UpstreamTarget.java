@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.retry;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.convert.UpstreamPoolConfig;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Objects;
+
+/**
+ * The upstream an attempt is sent to: the http url, the upstream url it is built on and the pool config of the upstream.
+ */
+public final class UpstreamTarget {
+
+    private final String url;
+
+    private final String upstreamUrl;
+
+    private final UpstreamPoolConfig poolConfig;
+
+    /**
+     * Instantiates a new upstream target.
+     *
+     * @param url         the http url
+     * @param upstreamUrl the upstream url
+     * @param poolConfig  the pool config of the upstream, null if it has none
+     */
+    public UpstreamTarget(final String url, final String upstreamUrl, final UpstreamPoolConfig poolConfig) {
+        this.url = url;
+        this.upstreamUrl = upstreamUrl;
+        this.poolConfig = poolConfig;
+    }
+
+    /**
+     * Get the upstream target selected into the exchange.
+     *
+     * @param exchange the exchange
+     * @return the upstream target
+     */
+    public static UpstreamTarget from(final ServerWebExchange exchange) {
+        return new UpstreamTarget(exchange.getAttribute(Constants.HTTP_URL), exchange.getAttribute(Constants.HTTP_UPSTREAM), exchange.getAttribute(Constants.HTTP_UPSTREAM_POOL));
+    }
+
+    /**
+     * Select the upstream target into the exchange.
+     *
+     * @param exchange the exchange
+     */
+    public void selectInto(final ServerWebExchange exchange) {
+        exchange.getAttributes().put(Constants.HTTP_URL, url);
+        exchange.getAttributes().put(Constants.HTTP_UPSTREAM, upstreamUrl);
+        if (Objects.nonNull(poolConfig)) {
+            exchange.getAttributes().put(Constants.HTTP_UPSTREAM_POOL, poolConfig);
+        } else {
+            exchange.getAttributes().remove(Constants.HTTP_UPSTREAM_POOL);
+        }
+    }
+
+    /**
+     * Get the http url.
+     *
+     * @return the http url
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Get the upstream url.
+     *
+     * @return the upstream url
+     */
+    public String getUpstreamUrl() {
+        return upstreamUrl;
+    }
+
+    /**
+     * Get the pool config of the upstream.
+     *
+     * @return the pool config, null if it has none
+     */
+    public UpstreamPoolConfig getPoolConfig() {
+        return poolConfig;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.stats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The lock-free latency histogram of the last one or two windows.
+ *
+ * <p>Latencies are counted in microseconds in log-linear buckets, four per power of two, so a percentile
+ * is reported within 25% of the true value. Recording is one atomic increment, the window is rotated under
+ * a lock once per window.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = Long.SIZE << SUB_BUCKET_BITS;
+
+    private final long windowNanos;
+
+    private volatile Window current;
+
+    private volatile Window previous;
+
+    /**
+     * Instantiates a new latency histogram.
+     *
+     * @param windowMillis the window the percentiles are computed over, together with the previous window
+     */
+    public LatencyHistogram(final long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        long now = System.nanoTime();
+        this.current = new Window(now);
+        this.previous = new Window(now);
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos the latency in nanos
+     */
+    public void record(final long nanos) {
+        Window window = obtainWindow(System.nanoTime());
+        window.counts.incrementAndGet(index(Math.max(nanos, 0L) / 1000L));
+        window.total.increment();
+    }
+
+    /**
+     * Get the latencies recorded in the current and the previous window.
+     *
+     * @return the count
+     */
+    public long count() {
+        obtainWindow(System.nanoTime());
+        return current.total.sum() + previous.total.sum();
+    }
+
+    /**
+     * Get the latency at the percentile of the current and the previous window.
+     *
+     * @param percentile the percentile, such as 0.95
+     * @return the latency in nanos, 0 if none is recorded
+     */
+    public long percentile(final double percentile) {
+        obtainWindow(System.nanoTime());
+        Window currentWindow = current;
+        Window previousWindow = previous;
+        long total = currentWindow.total.sum() + previousWindow.total.sum();
+        if (total == 0) {
+            return 0L;
+        }
+        long target = Math.max(1L, (long) Math.ceil(total * percentile));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += currentWindow.counts.get(i) + previousWindow.counts.get(i);
+            if (seen >= target) {
+                return upperBound(i) * 1000L;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private Window obtainWindow(final long now) {
+        Window window = current;
+        if (now - window.start < windowNanos) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            if (now - window.start >= windowNanos) {
+                // a window idle for two periods is dropped as well
+                previous = now - window.start >= windowNanos << 1 ? new Window(now) : window;
+                window = new Window(now);
+                current = window;
+            }
+            return window;
+        }
+    }
+
+    static int index(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) | subBucket;
+    }
+
+    static long upperBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lower = (long) (SUB_BUCKETS | (index & (SUB_BUCKETS - 1))) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * The counts of one window.
+     */
+    private static final class Window {
+
+        private final long start;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        private final LongAdder total = new LongAdder();
+
+        Window(final long start) {
+            this.start = start;
+        }
+    }
+}
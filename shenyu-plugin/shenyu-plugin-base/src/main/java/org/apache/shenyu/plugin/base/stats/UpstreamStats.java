@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.stats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The lock-free request statistics of one upstream: the in-flight request count, the peak-EWMA response time
+ * and the request outcomes.
+ *
+ * <p>The peak-EWMA jumps to any response time above it and otherwise decays towards the observed
+ * response times, and towards zero while the upstream is idle, with a time constant of {@value #DECAY_MILLIS} ms.
+ */
+public final class UpstreamStats {
+
+    private static final long DECAY_MILLIS = 10000L;
+
+    private static final double DECAY_NANOS = TimeUnit.MILLISECONDS.toNanos(DECAY_MILLIS);
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicLong ewmaBits = new AtomicLong(Double.doubleToRawLongBits(0D));
+
+    private volatile long stamp = System.nanoTime();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Mark the start of a request.
+     *
+     * @return the start time in nanos
+     */
+    public long begin() {
+        active.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Mark the end of a request.
+     *
+     * @param start   the start time returned by {@link #begin()}
+     * @param success whether the upstream served the request
+     */
+    public void end(final long start, final boolean success) {
+        active.decrementAndGet();
+        long now = System.nanoTime();
+        observe(now - start, now);
+        requests.increment();
+        if (success) {
+            consecutiveFailures.set(0);
+        } else {
+            failures.increment();
+            consecutiveFailures.incrementAndGet();
+        }
+    }
+
+    /**
+     * Mark the end of a request cancelled before its outcome is known.
+     */
+    public void cancel() {
+        active.decrementAndGet();
+    }
+
+    /**
+     * Get the in-flight request count.
+     *
+     * @return the active count
+     */
+    public int getActive() {
+        return active.get();
+    }
+
+    /**
+     * Get the failures since the last success.
+     *
+     * @return the consecutive failures
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * Reset the consecutive failures, such as once the upstream is ejected.
+     */
+    public void resetConsecutiveFailures() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * Get the total finished requests.
+     *
+     * @return the request count
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Get the total failed requests.
+     *
+     * @return the failure count
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Get the peak-EWMA response time in nanos, decayed to now.
+     *
+     * @return the peak ewma
+     */
+    public double getPeakEwma() {
+        double ewma = Double.longBitsToDouble(ewmaBits.get());
+        return ewma * decay(System.nanoTime());
+    }
+
+    /**
+     * Get the cost of sending one more request, the peak-EWMA scaled by the in-flight requests.
+     *
+     * @return the cost
+     */
+    public double getCost() {
+        return getPeakEwma() * (getActive() + 1);
+    }
+
+    private void observe(final long rtt, final long now) {
+        while (true) {
+            long bits = ewmaBits.get();
+            double ewma = Double.longBitsToDouble(bits);
+            double next;
+            if (rtt > ewma) {
+                next = rtt;
+            } else {
+                double weight = decay(now);
+                next = ewma * weight + rtt * (1 - weight);
+            }
+            if (ewmaBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                stamp = now;
+                return;
+            }
+        }
+    }
+
+    private double decay(final long now) {
+        return Math.exp(-Math.max(now - stamp, 0L) / DECAY_NANOS);
+    }
+}
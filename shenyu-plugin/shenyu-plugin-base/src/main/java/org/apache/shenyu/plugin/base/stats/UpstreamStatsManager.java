@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.stats;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * The request statistics of the upstreams, recorded by the http client plugins and read by the load balancers.
+ */
+public final class UpstreamStatsManager {
+
+    private static final UpstreamStatsManager INSTANCE = new UpstreamStatsManager();
+
+    /**
+     * upstreamUrl -> UpstreamStats.
+     */
+    private final Map<String, UpstreamStats> statsMap = new ConcurrentHashMap<>();
+
+    private final List<UpstreamStatsListener> listeners = new CopyOnWriteArrayList<>();
+
+    private UpstreamStatsManager() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static UpstreamStatsManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Obtain the statistics of the upstream.
+     *
+     * @param upstreamUrl the upstream url
+     * @return the upstream stats
+     */
+    public UpstreamStats obtain(final String upstreamUrl) {
+        UpstreamStats stats = statsMap.get(upstreamUrl);
+        if (Objects.nonNull(stats)) {
+            return stats;
+        }
+        return statsMap.computeIfAbsent(upstreamUrl, key -> new UpstreamStats());
+    }
+
+    /**
+     * Add the listener of the request outcomes.
+     *
+     * @param listener the listener
+     */
+    public void addListener(final UpstreamStatsListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove the listener of the request outcomes.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(final UpstreamStatsListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Record the in-flight count and the response time of the upstream for every subscription of the request,
+     * every completed request counts as a success.
+     *
+     * @param upstreamUrl the upstream url, nothing is recorded when null
+     * @param request     the request
+     * @param <T>         the response type
+     * @return the recorded request
+     */
+    public <T> Mono<T> record(final String upstreamUrl, final Mono<T> request) {
+        return record(upstreamUrl, request, response -> false);
+    }
+
+    /**
+     * Record the in-flight count, the response time and the outcome of the upstream for every subscription of the request.
+     *
+     * @param upstreamUrl the upstream url, nothing is recorded when null
+     * @param request     the request
+     * @param failure     whether the response, null for an empty request, is a failure of the upstream
+     * @param <T>         the response type
+     * @return the recorded request
+     */
+    public <T> Mono<T> record(final String upstreamUrl, final Mono<T> request, final Predicate<T> failure) {
+        if (Objects.isNull(upstreamUrl)) {
+            return request;
+        }
+        UpstreamStats stats = obtain(upstreamUrl);
+        return Mono.defer(() -> {
+            long start = stats.begin();
+            AtomicBoolean ended = new AtomicBoolean();
+            return request.doOnSuccess(response -> {
+                if (ended.compareAndSet(false, true)) {
+                    end(upstreamUrl, stats, start, !failure.test(response));
+                }
+            }).doOnError(throwable -> {
+                if (ended.compareAndSet(false, true)) {
+                    end(upstreamUrl, stats, start, false);
+                }
+            }).doOnCancel(() -> {
+                if (ended.compareAndSet(false, true)) {
+                    stats.cancel();
+                }
+            });
+        });
+    }
+
+    private void end(final String upstreamUrl, final UpstreamStats stats, final long start, final boolean success) {
+        stats.end(start, success);
+        for (UpstreamStatsListener listener : listeners) {
+            listener.onResult(upstreamUrl, stats, success);
+        }
+    }
+}
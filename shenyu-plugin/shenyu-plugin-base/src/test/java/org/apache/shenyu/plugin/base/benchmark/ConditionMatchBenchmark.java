@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.benchmark;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.plugin.base.condition.data.ParameterDataFactory;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+import org.apache.shenyu.plugin.base.condition.strategy.ConditionMatcher;
+import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Condition matching of one request passing 8 plugins with 4 selectors each, the request hits the last selector.
+ * Run with {@code -prof gc} for the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionMatchBenchmark {
+
+    private static final int SELECTOR_COUNT = 32;
+
+    private final List<List<ConditionData>> conditionLists = new ArrayList<>(SELECTOR_COUNT);
+
+    private final List<ConditionMatcher> matchers = new ArrayList<>(SELECTOR_COUNT);
+
+    private ServerWebExchange exchange;
+
+    /**
+     * Build the conditions.
+     */
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < SELECTOR_COUNT; i++) {
+            List<ConditionData> conditions = Arrays.asList(condition("header", "X-User-Id", "=", String.valueOf(i % 4 == 3 ? 10 : i)),
+                    condition("query", "userId", "regex", "[0-9]+"), condition("uri", "/", "match", "/http/**"));
+            conditionLists.add(conditions);
+            matchers.add(MatchStrategyFactory.compile(0, conditions));
+        }
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/order/findById?userId=10").header("X-User-Id", "10").build());
+    }
+
+    /**
+     * Every condition builds its parameter and judge from the SPI, as before.
+     *
+     * @return the matched count
+     */
+    @Benchmark
+    public int builderPerCondition() {
+        exchange.getAttributes().clear();
+        int matched = 0;
+        for (List<ConditionData> conditions : conditionLists) {
+            boolean match = true;
+            for (ConditionData condition : conditions) {
+                String realData = ParameterDataFactory.newInstance(condition.getParamType()).builder(condition.getParamName(), exchange);
+                if (!PredicateJudgeFactory.judge(condition, realData)) {
+                    match = false;
+                    break;
+                }
+            }
+            matched += match ? 1 : 0;
+        }
+        return matched;
+    }
+
+    /**
+     * Compiled conditions reading the request parameters once.
+     *
+     * @return the matched count
+     */
+    @Benchmark
+    public int compiledMemoized() {
+        exchange.getAttributes().clear();
+        int matched = 0;
+        for (ConditionMatcher matcher : matchers) {
+            matched += matcher.match(exchange) ? 1 : 0;
+        }
+        return matched;
+    }
+
+    private static ConditionData condition(final String paramType, final String paramName, final String operator, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setParamName(paramName);
+        conditionData.setOperator(operator);
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConditionMatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.benchmark;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.apache.shenyu.plugin.base.cache.RouteIndex;
+import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selector matching of the linear scan against the route index, the request hits the last selector.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteIndexBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int selectorCount;
+
+    private List<SelectorData> selectors;
+
+    private RouteIndex<SelectorData> index;
+
+    private ServerWebExchange exchange;
+
+    private String path;
+
+    /**
+     * Build the selectors.
+     */
+    @Setup
+    public void setUp() {
+        selectors = new ArrayList<>(selectorCount);
+        for (int i = 0; i < selectorCount; i++) {
+            ConditionData condition = new ConditionData();
+            condition.setParamType("uri");
+            condition.setOperator("match");
+            condition.setParamName("/");
+            condition.setParamValue("/http/service" + i + "/**");
+            selectors.add(SelectorData.builder().id(String.valueOf(i)).sort(i).enabled(true).matchMode(0)
+                    .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).conditionList(Collections.singletonList(condition)).build());
+        }
+        index = RouteIndex.ofSelectors(selectors);
+        path = "/http/service" + (selectorCount - 1) + "/order/findById";
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+    }
+
+    /**
+     * Linear scan over all selectors.
+     *
+     * @return the matched selector
+     */
+    @Benchmark
+    public SelectorData linearScan() {
+        return selectors.stream()
+                .filter(selector -> selector.getEnabled() && MatchStrategyFactory.match(selector.getMatchMode(), selector.getConditionList(), exchange))
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * Route index lookup.
+     *
+     * @return the matched selector
+     */
+    @Benchmark
+    public SelectorData routeIndex() {
+        return index.match(path, selector -> selector.getEnabled() && MatchStrategyFactory.match(selector.getMatchMode(), selector.getConditionList(), exchange));
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RouteIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
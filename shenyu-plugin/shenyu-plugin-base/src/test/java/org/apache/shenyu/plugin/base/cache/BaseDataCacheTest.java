@@ -18,29 +18,20 @@
 package org.apache.shenyu.plugin.base.cache;
 
 import com.google.common.collect.Lists;
-import lombok.SneakyThrows;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.junit.Assert;
 import org.junit.Test;
 
-import java.lang.reflect.Field;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Test cases for BaseDataCache.
  */
-@SuppressWarnings("unchecked")
 public final class BaseDataCacheTest {
 
-    private final String pluginMapStr = "PLUGIN_MAP";
-
-    private final String selectorMapStr = "SELECTOR_MAP";
-
-    private final String ruleMapStr = "RULE_MAP";
-
     private final String mockName1 = "MOCK_NAME_1";
     
     private final String mockName2 = "MOCK_NAME_2";
@@ -53,195 +44,238 @@ public final class BaseDataCacheTest {
     
     private final String mockSelectorId2 = "MOCK_SELECTOR_ID_2";
 
+    private final BaseDataCache baseDataCache = BaseDataCache.getInstance();
+
     @Test
     public void testGetInstance() {
-        BaseDataCache baseDataCache = BaseDataCache.getInstance();
         Assert.assertNotNull(baseDataCache);
     }
 
     @Test
     public void testCachePluginData() {
+        baseDataCache.cleanPluginData();
         PluginData pluginData = PluginData.builder().name(mockName1).build();
-        ConcurrentHashMap<String, PluginData> pluginMap = getFieldByName(pluginMapStr);
-        Assert.assertNull(pluginMap.get(mockName1));
+        Assert.assertNull(baseDataCache.obtainPluginData(mockName1));
 
-        BaseDataCache.getInstance().cachePluginData(pluginData);
-        Assert.assertNotNull(pluginMap.get(mockName1));
-        Assert.assertEquals(pluginData, pluginMap.get(mockName1));
+        baseDataCache.cachePluginData(pluginData);
+        Assert.assertEquals(pluginData, baseDataCache.obtainPluginData(mockName1));
     }
 
     @Test
     public void testRemovePluginData() {
         PluginData pluginData = PluginData.builder().name(mockName1).build();
-        ConcurrentHashMap<String, PluginData> pluginMap = getFieldByName(pluginMapStr);
-        pluginMap.put(mockName1, pluginData);
-        Assert.assertNotNull(pluginMap.get(mockName1));
+        baseDataCache.cachePluginData(pluginData);
+        Assert.assertNotNull(baseDataCache.obtainPluginData(mockName1));
 
-        BaseDataCache.getInstance().removePluginData(pluginData);
-        Assert.assertNull(pluginMap.get(mockName1));
+        baseDataCache.removePluginData(pluginData);
+        Assert.assertNull(baseDataCache.obtainPluginData(mockName1));
     }
 
     @Test
     public void testCleanPluginData() {
-        PluginData firstCachedPluginData = PluginData.builder().name(mockName1).build();
-        PluginData secondCachedPluginData = PluginData.builder().name(mockName2).build();
-        ConcurrentHashMap<String, PluginData> pluginMap = getFieldByName(pluginMapStr);
-        pluginMap.put(mockName1, firstCachedPluginData);
-        pluginMap.put(mockName2, secondCachedPluginData);
-        Assert.assertNotNull(pluginMap.get(mockName1));
-        Assert.assertNotNull(pluginMap.get(mockName2));
-
-        BaseDataCache.getInstance().cleanPluginData();
-        Assert.assertNull(pluginMap.get(mockName1));
-        Assert.assertNull(pluginMap.get(mockName2));
+        baseDataCache.cachePluginData(PluginData.builder().name(mockName1).build());
+        baseDataCache.cachePluginData(PluginData.builder().name(mockName2).build());
+        Assert.assertNotNull(baseDataCache.obtainPluginData(mockName1));
+        Assert.assertNotNull(baseDataCache.obtainPluginData(mockName2));
+
+        baseDataCache.cleanPluginData();
+        Assert.assertNull(baseDataCache.obtainPluginData(mockName1));
+        Assert.assertNull(baseDataCache.obtainPluginData(mockName2));
     }
 
     @Test
     public void testCleanPluginDataSelf() {
         PluginData firstCachedPluginData = PluginData.builder().name(mockName1).build();
         PluginData secondCachedPluginData = PluginData.builder().name(mockName2).build();
-        ConcurrentHashMap<String, PluginData> pluginMap = getFieldByName(pluginMapStr);
-        pluginMap.put(mockName1, firstCachedPluginData);
-        pluginMap.put(mockName2, secondCachedPluginData);
-        Assert.assertNotNull(pluginMap.get(mockName1));
-        Assert.assertNotNull(pluginMap.get(mockName2));
+        baseDataCache.cachePluginDataList(Lists.newArrayList(firstCachedPluginData, secondCachedPluginData));
+        Assert.assertNotNull(baseDataCache.obtainPluginData(mockName1));
+        Assert.assertNotNull(baseDataCache.obtainPluginData(mockName2));
 
-        List<PluginData> pluginDataList = Lists.newArrayList(firstCachedPluginData);
-        BaseDataCache.getInstance().cleanPluginDataSelf(pluginDataList);
-        Assert.assertNull(pluginMap.get(mockName1));
-        Assert.assertNotNull(pluginMap.get(mockName2));
+        baseDataCache.cleanPluginDataSelf(Lists.newArrayList(firstCachedPluginData));
+        Assert.assertNull(baseDataCache.obtainPluginData(mockName1));
+        Assert.assertNotNull(baseDataCache.obtainPluginData(mockName2));
     }
 
     @Test
-    public void testObtainPluginData() {
-        PluginData pluginData = PluginData.builder().name(mockName1).build();
-        ConcurrentHashMap<String, PluginData> pluginMap = getFieldByName(pluginMapStr);
-        pluginMap.put(mockName1, pluginData);
-        Assert.assertNotNull(pluginMap.get(mockName1));
-        Assert.assertEquals(pluginData, BaseDataCache.getInstance().obtainPluginData(mockName1));
+    public void testReplacePluginData() {
+        baseDataCache.cachePluginData(PluginData.builder().name(mockName1).build());
+        PluginData pluginData = PluginData.builder().name(mockName2).build();
+
+        baseDataCache.replacePluginData(Lists.newArrayList(pluginData));
+        Assert.assertNull(baseDataCache.obtainPluginData(mockName1));
+        Assert.assertEquals(pluginData, baseDataCache.obtainPluginData(mockName2));
     }
 
     @Test
     public void testCacheSelectData() {
+        baseDataCache.cleanSelectorData();
         SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(1).build();
-        BaseDataCache.getInstance().cacheSelectData(firstCachedSelectorData);
-        ConcurrentHashMap<String, List<SelectorData>> selectorMap = getFieldByName(selectorMapStr);
-        Assert.assertEquals(Lists.newArrayList(firstCachedSelectorData), selectorMap.get(mockPluginName1));
+        baseDataCache.cacheSelectData(firstCachedSelectorData);
+        Assert.assertEquals(Lists.newArrayList(firstCachedSelectorData), baseDataCache.obtainSelectorData(mockPluginName1));
 
         SelectorData secondCachedSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName1).sort(2).build();
-        BaseDataCache.getInstance().cacheSelectData(secondCachedSelectorData);
-        Assert.assertEquals(Lists.newArrayList(firstCachedSelectorData, secondCachedSelectorData), selectorMap.get(mockPluginName1));
+        baseDataCache.cacheSelectData(secondCachedSelectorData);
+        Assert.assertEquals(Lists.newArrayList(firstCachedSelectorData, secondCachedSelectorData), baseDataCache.obtainSelectorData(mockPluginName1));
+
+        SelectorData thirdCachedSelectorData = SelectorData.builder().id("3").pluginName(mockPluginName1).sort(1).build();
+        baseDataCache.cacheSelectData(thirdCachedSelectorData);
+        Assert.assertEquals(Lists.newArrayList(firstCachedSelectorData, thirdCachedSelectorData, secondCachedSelectorData),
+                baseDataCache.obtainSelectorData(mockPluginName1));
+
+        SelectorData updatedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(3).build();
+        baseDataCache.cacheSelectData(updatedSelectorData);
+        Assert.assertEquals(Lists.newArrayList(thirdCachedSelectorData, secondCachedSelectorData, updatedSelectorData),
+                baseDataCache.obtainSelectorData(mockPluginName1));
+    }
+
+    @Test
+    public void testCacheSelectDataList() {
+        baseDataCache.cleanSelectorData();
+        SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(2).build();
+        baseDataCache.cacheSelectData(firstCachedSelectorData);
+        SelectorData secondCachedSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName1).sort(1).build();
+        SelectorData thirdCachedSelectorData = SelectorData.builder().id("3").pluginName(mockPluginName2).sort(1).build();
+        long version = baseDataCache.getVersion();
+
+        baseDataCache.cacheSelectDataList(Lists.newArrayList(secondCachedSelectorData, thirdCachedSelectorData));
+        Assert.assertEquals(version + 1, baseDataCache.getVersion());
+        Assert.assertEquals(Lists.newArrayList(secondCachedSelectorData, firstCachedSelectorData), baseDataCache.obtainSelectorData(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(thirdCachedSelectorData), baseDataCache.obtainSelectorData(mockPluginName2));
+    }
+
+    @Test
+    public void testReplaceSelectData() {
+        baseDataCache.cacheSelectData(SelectorData.builder().id("1").pluginName(mockPluginName1).sort(1).build());
+        SelectorData firstSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName2).sort(2).build();
+        SelectorData secondSelectorData = SelectorData.builder().id("3").pluginName(mockPluginName2).sort(1).build();
+        final BaseDataSnapshot snapshot = baseDataCache.obtainSnapshot();
+
+        baseDataCache.replaceSelectData(Lists.newArrayList(firstSelectorData, secondSelectorData));
+        Assert.assertNull(baseDataCache.obtainSelectorData(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(secondSelectorData, firstSelectorData), baseDataCache.obtainSelectorData(mockPluginName2));
+        Assert.assertNotNull(snapshot.obtainSelectorIndex(mockPluginName1));
+        Assert.assertEquals(snapshot.getVersion() + 1, baseDataCache.getVersion());
     }
 
     @Test
     public void testRemoveSelectData() {
         SelectorData selectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).build();
-        ConcurrentHashMap<String, List<SelectorData>> selectorMap = getFieldByName(selectorMapStr);
-        selectorMap.put(mockPluginName1, Lists.newArrayList(selectorData));
+        baseDataCache.replaceSelectData(Lists.newArrayList(selectorData));
+        List<SelectorData> selectorDataList = baseDataCache.obtainSelectorData(mockPluginName1);
 
-        BaseDataCache.getInstance().removeSelectData(selectorData);
-        Assert.assertEquals(Lists.newArrayList(), selectorMap.get(mockPluginName1));
+        baseDataCache.removeSelectData(selectorData);
+        Assert.assertEquals(Lists.newArrayList(), baseDataCache.obtainSelectorData(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(selectorData), selectorDataList);
     }
 
     @Test
     public void testCleanSelectorData() {
         SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).build();
         SelectorData secondCachedSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName2).build();
-        ConcurrentHashMap<String, List<SelectorData>> selectorMap = getFieldByName(selectorMapStr);
-        selectorMap.put(mockPluginName1, Lists.newArrayList(firstCachedSelectorData));
-        selectorMap.put(mockPluginName2, Lists.newArrayList(secondCachedSelectorData));
+        baseDataCache.replaceSelectData(Lists.newArrayList(firstCachedSelectorData, secondCachedSelectorData));
 
-        BaseDataCache.getInstance().cleanSelectorData();
-        Assert.assertNull(selectorMap.get(mockPluginName1));
-        Assert.assertNull(selectorMap.get(mockPluginName2));
+        baseDataCache.cleanSelectorData();
+        Assert.assertNull(baseDataCache.obtainSelectorData(mockPluginName1));
+        Assert.assertNull(baseDataCache.obtainSelectorData(mockPluginName2));
     }
 
     @Test
     public void testCleanSelectorDataSelf() {
         SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).build();
         SelectorData secondCachedSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName2).build();
-        ConcurrentHashMap<String, List<SelectorData>> selectorMap = getFieldByName(selectorMapStr);
-        selectorMap.put(mockPluginName1, Lists.newArrayList(firstCachedSelectorData));
-        selectorMap.put(mockPluginName2, Lists.newArrayList(secondCachedSelectorData));
+        baseDataCache.replaceSelectData(Lists.newArrayList(firstCachedSelectorData, secondCachedSelectorData));
 
-        BaseDataCache.getInstance().cleanSelectorDataSelf(Lists.newArrayList(firstCachedSelectorData));
-        Assert.assertEquals(Lists.newArrayList(), selectorMap.get(mockPluginName1));
-        Assert.assertEquals(Lists.newArrayList(secondCachedSelectorData), selectorMap.get(mockPluginName2));
+        baseDataCache.cleanSelectorDataSelf(Lists.newArrayList(firstCachedSelectorData));
+        Assert.assertEquals(Lists.newArrayList(), baseDataCache.obtainSelectorData(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(secondCachedSelectorData), baseDataCache.obtainSelectorData(mockPluginName2));
     }
 
     @Test
     public void testObtainSelectorData() {
         SelectorData selectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).build();
-        ConcurrentHashMap<String, List<SelectorData>> selectorMap = getFieldByName(selectorMapStr);
-        selectorMap.put(mockPluginName1, Lists.newArrayList(selectorData));
+        baseDataCache.replaceSelectData(Collections.singletonList(selectorData));
 
-        List<SelectorData> selectorDataList = BaseDataCache.getInstance().obtainSelectorData(mockPluginName1);
+        List<SelectorData> selectorDataList = baseDataCache.obtainSelectorData(mockPluginName1);
         Assert.assertEquals(Lists.newArrayList(selectorData), selectorDataList);
+        Assert.assertEquals(selectorDataList, baseDataCache.obtainSelectorIndex(mockPluginName1).getElements());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testObtainSelectorDataUnmodifiable() {
+        baseDataCache.replaceSelectData(Collections.singletonList(SelectorData.builder().id("1").pluginName(mockPluginName1).build()));
+        baseDataCache.obtainSelectorData(mockPluginName1).clear();
     }
 
     @Test
     public void testCacheRuleData() {
+        baseDataCache.cleanRuleData();
         RuleData firstCachedRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).sort(1).build();
-        BaseDataCache.getInstance().cacheRuleData(firstCachedRuleData);
-        ConcurrentHashMap<String, List<RuleData>> ruleMap = getFieldByName(ruleMapStr);
-        Assert.assertEquals(Lists.newArrayList(firstCachedRuleData), ruleMap.get(mockSelectorId1));
+        baseDataCache.cacheRuleData(firstCachedRuleData);
+        Assert.assertEquals(Lists.newArrayList(firstCachedRuleData), baseDataCache.obtainRuleData(mockSelectorId1));
 
         RuleData secondCachedRuleData = RuleData.builder().id("2").selectorId(mockSelectorId1).sort(2).build();
-        BaseDataCache.getInstance().cacheRuleData(secondCachedRuleData);
-        Assert.assertEquals(Lists.newArrayList(firstCachedRuleData, secondCachedRuleData), ruleMap.get(mockSelectorId1));
+        baseDataCache.cacheRuleData(secondCachedRuleData);
+        Assert.assertEquals(Lists.newArrayList(firstCachedRuleData, secondCachedRuleData), baseDataCache.obtainRuleData(mockSelectorId1));
+    }
+
+    @Test
+    public void testCacheRuleDataList() {
+        baseDataCache.cleanRuleData();
+        RuleData firstCachedRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).sort(2).build();
+        RuleData secondCachedRuleData = RuleData.builder().id("2").selectorId(mockSelectorId1).sort(1).build();
+
+        baseDataCache.cacheRuleDataList(Lists.newArrayList(firstCachedRuleData, secondCachedRuleData));
+        Assert.assertEquals(Lists.newArrayList(secondCachedRuleData, firstCachedRuleData), baseDataCache.obtainRuleData(mockSelectorId1));
+    }
+
+    @Test
+    public void testReplaceRuleData() {
+        baseDataCache.cacheRuleData(RuleData.builder().id("1").selectorId(mockSelectorId1).sort(1).build());
+        RuleData ruleData = RuleData.builder().id("2").selectorId(mockSelectorId2).sort(1).build();
+
+        baseDataCache.replaceRuleData(Lists.newArrayList(ruleData));
+        Assert.assertNull(baseDataCache.obtainRuleData(mockSelectorId1));
+        Assert.assertEquals(Lists.newArrayList(ruleData), baseDataCache.obtainRuleData(mockSelectorId2));
     }
 
     @Test
     public void testRemoveRuleData() {
         RuleData ruleData = RuleData.builder().id("1").selectorId(mockSelectorId1).build();
-        ConcurrentHashMap<String, List<RuleData>> ruleMap = getFieldByName(ruleMapStr);
-        ruleMap.put(mockSelectorId1, Lists.newArrayList(ruleData));
+        baseDataCache.replaceRuleData(Lists.newArrayList(ruleData));
 
-        BaseDataCache.getInstance().removeRuleData(ruleData);
-        Assert.assertEquals(Lists.newArrayList(), ruleMap.get(mockSelectorId1));
+        baseDataCache.removeRuleData(ruleData);
+        Assert.assertEquals(Lists.newArrayList(), baseDataCache.obtainRuleData(mockSelectorId1));
     }
 
     @Test
     public void testCleanRuleData() {
         RuleData firstCachedRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).build();
         RuleData secondCachedRuleData = RuleData.builder().id("2").selectorId(mockSelectorId2).build();
-        ConcurrentHashMap<String, List<RuleData>> ruleMap = getFieldByName(ruleMapStr);
-        ruleMap.put(mockSelectorId1, Lists.newArrayList(firstCachedRuleData));
-        ruleMap.put(mockSelectorId2, Lists.newArrayList(secondCachedRuleData));
+        baseDataCache.replaceRuleData(Lists.newArrayList(firstCachedRuleData, secondCachedRuleData));
 
-        BaseDataCache.getInstance().cleanRuleData();
-        Assert.assertNull(ruleMap.get(mockSelectorId1));
-        Assert.assertNull(ruleMap.get(mockSelectorId2));
+        baseDataCache.cleanRuleData();
+        Assert.assertNull(baseDataCache.obtainRuleData(mockSelectorId1));
+        Assert.assertNull(baseDataCache.obtainRuleData(mockSelectorId2));
     }
 
     @Test
     public void testCleanRuleDataSelf() {
         RuleData firstCachedRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).build();
         RuleData secondCachedRuleData = RuleData.builder().id("2").selectorId(mockSelectorId2).build();
-        ConcurrentHashMap<String, List<RuleData>> ruleMap = getFieldByName(ruleMapStr);
-        ruleMap.put(mockSelectorId1, Lists.newArrayList(firstCachedRuleData));
-        ruleMap.put(mockSelectorId2, Lists.newArrayList(secondCachedRuleData));
+        baseDataCache.replaceRuleData(Lists.newArrayList(firstCachedRuleData, secondCachedRuleData));
 
-        BaseDataCache.getInstance().cleanRuleDataSelf(Lists.newArrayList(firstCachedRuleData));
-        Assert.assertEquals(Lists.newArrayList(), ruleMap.get(mockSelectorId1));
-        Assert.assertEquals(Lists.newArrayList(secondCachedRuleData), ruleMap.get(mockSelectorId2));
+        baseDataCache.cleanRuleDataSelf(Lists.newArrayList(firstCachedRuleData));
+        Assert.assertEquals(Lists.newArrayList(), baseDataCache.obtainRuleData(mockSelectorId1));
+        Assert.assertEquals(Lists.newArrayList(secondCachedRuleData), baseDataCache.obtainRuleData(mockSelectorId2));
     }
 
     @Test
     public void testObtainRuleData() {
         RuleData ruleData = RuleData.builder().id("1").selectorId(mockSelectorId1).build();
-        ConcurrentHashMap<String, List<RuleData>> ruleMap = getFieldByName(ruleMapStr);
-        ruleMap.put(mockSelectorId1, Lists.newArrayList(ruleData));
+        baseDataCache.replaceRuleData(Collections.singletonList(ruleData));
 
-        List<RuleData> ruleDataList = BaseDataCache.getInstance().obtainRuleData(mockSelectorId1);
+        List<RuleData> ruleDataList = baseDataCache.obtainRuleData(mockSelectorId1);
         Assert.assertEquals(Lists.newArrayList(ruleData), ruleDataList);
-    }
-
-    @SneakyThrows
-    private ConcurrentHashMap getFieldByName(final String name) {
-        BaseDataCache baseDataCache = BaseDataCache.getInstance();
-        Field pluginMapField = baseDataCache.getClass().getDeclaredField(name);
-        pluginMapField.setAccessible(true);
-        return (ConcurrentHashMap) pluginMapField.get(baseDataCache);
+        Assert.assertEquals(ruleDataList, baseDataCache.obtainRuleIndex(mockSelectorId1).getElements());
     }
 }
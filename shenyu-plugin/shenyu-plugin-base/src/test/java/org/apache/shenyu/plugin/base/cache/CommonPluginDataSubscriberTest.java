@@ -27,8 +27,14 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 /**
  * Test cases for CommonPluginDataSubscriber.
  */
@@ -144,6 +150,31 @@ public final class CommonPluginDataSubscriberTest {
         Assert.assertNull(baseDataCache.obtainSelectorData(secondCachedSelectorData.getPluginName()));
     }
 
+    @Test
+    public void testRefreshSelectorDataAllWithList() {
+        baseDataCache.cleanSelectorData();
+        SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).build();
+        SelectorData secondCachedSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName2).build();
+        baseDataCache.cacheSelectData(firstCachedSelectorData);
+        long version = baseDataCache.getVersion();
+
+        commonPluginDataSubscriber.refreshSelectorDataAll(Lists.newArrayList(secondCachedSelectorData));
+        Assert.assertEquals(version + 1, baseDataCache.getVersion());
+        Assert.assertNull(baseDataCache.obtainSelectorData(firstCachedSelectorData.getPluginName()));
+        Assert.assertEquals(Lists.newArrayList(secondCachedSelectorData), baseDataCache.obtainSelectorData(secondCachedSelectorData.getPluginName()));
+    }
+
+    @Test
+    public void testOnSelectorSubscribeList() {
+        baseDataCache.cleanSelectorData();
+        SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(1).build();
+        SelectorData secondCachedSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName1).sort(2).build();
+        baseDataCache.cacheSelectData(firstCachedSelectorData);
+
+        commonPluginDataSubscriber.onSelectorSubscribeList(Lists.newArrayList(secondCachedSelectorData, firstCachedSelectorData));
+        Assert.assertEquals(Lists.newArrayList(firstCachedSelectorData, secondCachedSelectorData), baseDataCache.obtainSelectorData(mockPluginName1));
+    }
+
     @Test
     public void testRefreshSelectorDataSelf() {
         baseDataCache.cleanSelectorData();
@@ -195,6 +226,18 @@ public final class CommonPluginDataSubscriberTest {
         Assert.assertNull(baseDataCache.obtainRuleData(firstCachedRuleData.getSelectorId()));
     }
 
+    @Test
+    public void testRefreshRuleDataAllWithList() {
+        baseDataCache.cleanRuleData();
+        RuleData firstCachedRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).pluginName(mockPluginName1).build();
+        RuleData secondCachedRuleData = RuleData.builder().id("2").selectorId(mockSelectorId2).pluginName(mockPluginName2).build();
+        baseDataCache.cacheRuleData(firstCachedRuleData);
+
+        commonPluginDataSubscriber.refreshRuleDataAll(Lists.newArrayList(secondCachedRuleData));
+        Assert.assertNull(baseDataCache.obtainRuleData(firstCachedRuleData.getSelectorId()));
+        Assert.assertEquals(Lists.newArrayList(secondCachedRuleData), baseDataCache.obtainRuleData(secondCachedRuleData.getSelectorId()));
+    }
+
     @Test
     public void testRefreshRuleDataSelf() {
         baseDataCache.cleanRuleData();
@@ -209,4 +252,35 @@ public final class CommonPluginDataSubscriberTest {
         Assert.assertEquals(Lists.newArrayList(), baseDataCache.obtainRuleData(firstCachedRuleData.getSelectorId()));
         Assert.assertEquals(Lists.newArrayList(secondCachedRuleData), baseDataCache.obtainRuleData(secondCachedRuleData.getSelectorId()));
     }
+
+    @Test
+    public void testRefreshAll() {
+        baseDataCache.cleanPluginData();
+        baseDataCache.cleanSelectorData();
+        baseDataCache.cleanRuleData();
+        PluginDataHandler handler = mock(PluginDataHandler.class);
+        when(handler.pluginNamed()).thenReturn(mockPluginName1);
+        CommonPluginDataSubscriber subscriber = new CommonPluginDataSubscriber(Lists.newArrayList(handler));
+        PluginData pluginData = PluginData.builder().name(mockPluginName1).build();
+        SelectorData firstSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(1).build();
+        SelectorData secondSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName1).sort(2).build();
+        RuleData firstRuleData = RuleData.builder().id("1").selectorId(firstSelectorData.getId()).pluginName(mockPluginName1).build();
+        RuleData secondRuleData = RuleData.builder().id("2").selectorId(secondSelectorData.getId()).pluginName(mockPluginName1).build();
+        subscriber.refreshAll(Lists.newArrayList(pluginData), Lists.newArrayList(firstSelectorData, secondSelectorData), Lists.newArrayList(firstRuleData, secondRuleData));
+        long version = baseDataCache.getVersion();
+
+        subscriber.refreshAll(Lists.newArrayList(pluginData), Lists.newArrayList(secondSelectorData), Lists.newArrayList(secondRuleData));
+        Assert.assertEquals(version + 1, baseDataCache.getVersion());
+        Assert.assertEquals(Lists.newArrayList(secondSelectorData), baseDataCache.obtainSelectorData(mockPluginName1));
+        Assert.assertNull(baseDataCache.obtainRuleData(firstSelectorData.getId()));
+        verify(handler).removeSelector(firstSelectorData);
+        verify(handler).removeRule(firstRuleData);
+        verify(handler, never()).removeSelector(secondSelectorData);
+        verify(handler, never()).removePlugin(pluginData);
+
+        subscriber.refreshAll(Collections.emptyList(), null, null);
+        Assert.assertNull(baseDataCache.obtainPluginData(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(secondSelectorData), baseDataCache.obtainSelectorData(mockPluginName1));
+        verify(handler).removePlugin(pluginData);
+    }
 }
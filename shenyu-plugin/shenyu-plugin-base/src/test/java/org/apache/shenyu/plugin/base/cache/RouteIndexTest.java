@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
+import org.junit.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test cases for RouteIndex.
+ */
+public final class RouteIndexTest {
+
+    private static final List<String> PATHS = Arrays.asList("/", "/http", "/http/", "/http/order/findById", "/http/order/save",
+            "/http/test/path/123/name/shenyu", "/dubbo/findAll", "/spring/cloud", "/exact/path", "/exact/path/", "/other");
+
+    @Test
+    public void testSelectorMatchSameAsLinearScan() {
+        List<SelectorData> selectors = new ArrayList<>();
+        selectors.add(selector("1", 0, condition("uri", "match", "/http/order/**")));
+        selectors.add(selector("2", 0, condition("uri", "=", "/exact/path")));
+        selectors.add(selector("3", 0, condition("header", "=", "shenyu"), condition("uri", "match", "/http/**")));
+        selectors.add(selector("4", 1, condition("uri", "match", "/dubbo/**"), condition("uri", "=", "/spring/cloud")));
+        selectors.add(selector("5", 1, condition("uri", "match", "/http/**"), condition("query", "=", "shenyu")));
+        selectors.add(selector("6", 0, condition("uri", "match", "/http/test/{id}/**, /dubbo/*")));
+        selectors.add(selector("7", 0, condition("uri", "regex", "/http/.*")));
+        selectors.add(selector("8", 0, condition("uri", "match", "/**")));
+        SelectorData disabled = selector("9", 0, condition("uri", "match", "/other"));
+        disabled.setEnabled(false);
+        selectors.add(disabled);
+        SelectorData fullFlow = selector("10", 0);
+        fullFlow.setType(SelectorTypeEnum.FULL_FLOW.getCode());
+        selectors.add(fullFlow);
+        RouteIndex<SelectorData> index = RouteIndex.ofSelectors(selectors);
+        for (String path : PATHS) {
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+            Predicate<SelectorData> filter = selector -> selector.getEnabled()
+                    && (selector.getType() == SelectorTypeEnum.FULL_FLOW.getCode() || MatchStrategyFactory.match(selector.getMatchMode(), selector.getConditionList(), exchange));
+            for (int i = 0; i <= selectors.size(); i++) {
+                List<SelectorData> subList = selectors.subList(i, selectors.size());
+                assertEquals(path, subList.stream().filter(filter).findFirst().orElse(null), RouteIndex.ofSelectors(subList).match(path, filter));
+            }
+            assertEquals(path, selectors.stream().filter(filter).findFirst().orElse(null), index.match(path, filter));
+            assertEquals(path, selectors.stream().filter(filter).findFirst().orElse(null), index.match(path, exchange));
+        }
+    }
+
+    @Test
+    public void testRuleMatchSameAsLinearScan() {
+        List<RuleData> rules = new ArrayList<>();
+        rules.add(rule("1", condition("uri", "=", "/http/order/save")));
+        rules.add(rule("2", condition("uri", "match", "/http/order/*")));
+        rules.add(rule("3"));
+        RouteIndex<RuleData> index = RouteIndex.ofRules(rules);
+        for (String path : PATHS) {
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+            Predicate<RuleData> filter = rule -> rule.getEnabled() && MatchStrategyFactory.match(rule.getMatchMode(), rule.getConditionDataList(), exchange);
+            assertEquals(path, rules.stream().filter(filter).findFirst().orElse(null), index.match(path, filter));
+            assertEquals(path, rules.stream().filter(filter).findFirst().orElse(null), index.match(path, exchange));
+        }
+    }
+
+    @Test
+    public void testNoCandidate() {
+        RouteIndex<SelectorData> index = RouteIndex.ofSelectors(Collections.singletonList(selector("1", 0, condition("uri", "match", "/http/**"))));
+        assertNull(index.match("/dubbo/findAll", selector -> true));
+        assertNull(RouteIndex.ofSelectors(Collections.emptyList()).match("/http", selector -> true));
+    }
+
+    private static SelectorData selector(final String id, final int matchMode, final ConditionData... conditions) {
+        return SelectorData.builder().id(id).enabled(true).type(SelectorTypeEnum.CUSTOM_FLOW.getCode())
+                .matchMode(matchMode).sort(Integer.valueOf(id)).conditionList(Arrays.asList(conditions)).build();
+    }
+
+    private static RuleData rule(final String id, final ConditionData... conditions) {
+        return RuleData.builder().id(id).enabled(true).matchMode(0).sort(Integer.valueOf(id)).conditionDataList(Arrays.asList(conditions)).build();
+    }
+
+    private static ConditionData condition(final String paramType, final String operator, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setOperator(operator);
+        conditionData.setParamName("/");
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+}
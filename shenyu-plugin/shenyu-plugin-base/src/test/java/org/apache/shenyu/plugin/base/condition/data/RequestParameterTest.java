@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License,  Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,  software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,  either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.data;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Test cases for {@link RequestParameter}.
+ */
+public final class RequestParameterTest {
+
+    @Test
+    public void testSameParameter() {
+        Assert.assertSame(ParameterDataFactory.newParameter("header", "shenyu"), ParameterDataFactory.newParameter("header", "shenyu"));
+        Assert.assertSame(ParameterDataFactory.newParameter("uri", "/"), ParameterDataFactory.newParameter("uri", "/http"));
+        Assert.assertNotSame(ParameterDataFactory.newParameter("header", "shenyu"), ParameterDataFactory.newParameter("header", "other"));
+    }
+
+    @Test
+    public void testReadOncePerRequest() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http?id=1").header("shenyu", "first").build());
+        RequestParameter header = ParameterDataFactory.newParameter("header", "shenyu");
+        RequestParameter query = ParameterDataFactory.newParameter("query", "id");
+        RequestParameter missing = ParameterDataFactory.newParameter("query", "missing");
+        Assert.assertEquals("first", header.read(exchange));
+        Assert.assertEquals("1", query.read(exchange));
+        Assert.assertNull(missing.read(exchange));
+        Assert.assertNull(missing.read(exchange));
+        Assert.assertEquals("first", header.read(exchange));
+    }
+
+    @Test
+    public void testMutatedRequest() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http").header("shenyu", "first").build());
+        RequestParameter header = ParameterDataFactory.newParameter("header", "shenyu");
+        RequestParameter uri = ParameterDataFactory.newParameter("uri", "/");
+        Assert.assertEquals("first", header.read(exchange));
+        Assert.assertEquals("/http", uri.read(exchange));
+        ServerWebExchange mutated = exchange.mutate().request(builder -> builder.path("/rewrite").header("shenyu", "second")).build();
+        Assert.assertEquals("second", header.read(mutated));
+        Assert.assertEquals("/rewrite", uri.read(mutated));
+    }
+
+    @Test
+    public void testPostNotCached() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http").build());
+        ShenyuContext context = new ShenyuContext();
+        context.setModule("first");
+        exchange.getAttributes().put(Constants.CONTEXT, context);
+        RequestParameter post = ParameterDataFactory.newParameter("post", "module");
+        Assert.assertEquals("first", post.read(exchange));
+        context.setModule("second");
+        Assert.assertEquals("second", post.read(exchange));
+    }
+}
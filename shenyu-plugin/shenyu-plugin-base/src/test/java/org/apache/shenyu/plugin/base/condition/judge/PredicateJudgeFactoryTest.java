@@ -24,6 +24,9 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Test cases for {@link PredicateJudgeFactory}.
  */
@@ -136,4 +139,62 @@ public final class PredicateJudgeFactoryTest {
         Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, FIRST_TIME));
     }
 
+    @Test
+    public void testCompileNullAndBlank() {
+        Assert.assertFalse(PredicateJudgeFactory.compile(null).test("testRealData"));
+        conditionData.setOperator(OperatorEnum.MATCH.getAlias());
+        Assert.assertFalse(PredicateJudgeFactory.compile(conditionData).test(null));
+        Assert.assertFalse(PredicateJudgeFactory.compile(conditionData).test(""));
+        Assert.assertTrue(PredicateJudgeFactory.compile(conditionData).test("/http/test"));
+    }
+
+    @Test
+    public void testCompileRegex() {
+        conditionData.setOperator(OperatorEnum.REGEX.getAlias());
+        conditionData.setParamValue("[/a-zA-Z0-9]+");
+        Assert.assertTrue(PredicateJudgeFactory.compile(conditionData).test("/http/test"));
+        Assert.assertFalse(PredicateJudgeFactory.compile(conditionData).test("/http?/test"));
+    }
+
+    @Test
+    public void testCompileSpELSameAsJudge() {
+        conditionData.setOperator(OperatorEnum.SPEL.getAlias());
+        conditionData.setParamType(ParamTypeEnum.HEADER.getName());
+        conditionData.setParamName("userId");
+        List<String> expressions = Arrays.asList("#userId % 3 == 0", "#userId > 2.5", "'#userId' == 'shenyu'", "\"#userId\".length() == 3",
+                "#userId == true", "'#userId' == '3' or #userId > 3", "'#userIdx' == 'shenyux'", "1 + 2 == 3", "'#userId'.startsWith('sh')");
+        List<String> realDataList = Arrays.asList("3", "4", "2.5", "shenyu", "true", "abc", "it's");
+        for (String expression : expressions) {
+            conditionData.setParamValue(expression);
+            for (String realData : realDataList) {
+                Assert.assertEquals(expression + " " + realData, judgeQuietly(realData), compileQuietly(realData));
+            }
+        }
+    }
+
+    @Test
+    public void testCompileGroovy() {
+        conditionData.setOperator(OperatorEnum.GROOVY.getAlias());
+        conditionData.setParamType(ParamTypeEnum.HEADER.getName());
+        conditionData.setParamName("userId");
+        conditionData.setParamValue("Integer.valueOf(userId) % 3 == 0");
+        Assert.assertTrue(PredicateJudgeFactory.compile(conditionData).test("3"));
+        Assert.assertFalse(PredicateJudgeFactory.compile(conditionData).test("4"));
+    }
+
+    private Object judgeQuietly(final String realData) {
+        try {
+            return PredicateJudgeFactory.judge(conditionData, realData);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private Object compileQuietly(final String realData) {
+        try {
+            return PredicateJudgeFactory.compile(conditionData).test(realData);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
 }
@@ -66,4 +66,11 @@ public final class AndMatchStrategyTest {
     public void testMatch() {
         Assert.assertTrue(matchStrategy.match(conditionDataList, exchange));
     }
+
+    @Test
+    public void testCompile() {
+        ConditionMatcher matcher = matchStrategy.compile(conditionDataList);
+        Assert.assertTrue(matcher.match(exchange));
+        Assert.assertFalse(matcher.match(MockServerWebExchange.from(MockServerHttpRequest.get("/http/other").build())));
+    }
 }
@@ -66,4 +66,9 @@ public final class OrMatchStrategyTest {
     public void testMatch() {
         Assert.assertTrue(matchStrategy.match(conditionDataList, exchange));
     }
+
+    @Test
+    public void testCompile() {
+        Assert.assertTrue(matchStrategy.compile(conditionDataList).match(exchange));
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.retry;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for HttpRetryContext.
+ */
+public final class HttpRetryContextTest {
+
+    private static final List<String> UPSTREAMS = Arrays.asList("upstream-0", "upstream-1", "upstream-2");
+
+    @Test
+    public void testRetryOnStatus() {
+        ServerWebExchange exchange = exchange(MockServerHttpRequest.get("/test").build());
+        HttpRetryContext retryContext = new HttpRetryContext(new RetryPolicy(1, "502, 503", false, 1024, new RetryBudget(20, 10, 10)), HttpRetryContextTest::reselect);
+        retryContext.attempt(exchange);
+        assertFalse(retryContext.retryOnStatus(exchange, HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        assertTrue(retryContext.retryOnStatus(exchange, HttpStatus.SERVICE_UNAVAILABLE.value()));
+        assertEquals("upstream-1", exchange.getAttribute(Constants.HTTP_UPSTREAM));
+        retryContext.attempt(exchange);
+        assertFalse(retryContext.retryOnStatus(exchange, HttpStatus.SERVICE_UNAVAILABLE.value()));
+        assertEquals(1, retryContext.getRetries());
+    }
+
+    @Test
+    public void testIdempotentPolicy() {
+        ServerWebExchange exchange = exchange(MockServerHttpRequest.post("/test").build());
+        HttpRetryContext retryContext = new HttpRetryContext(new RetryPolicy(3, "503", false, 1024, new RetryBudget(20, 10, 10)), HttpRetryContextTest::reselect);
+        retryContext.attempt(exchange);
+        assertFalse(retryContext.retryOnStatus(exchange, HttpStatus.SERVICE_UNAVAILABLE.value()));
+        assertFalse(retryContext.retryOnError(exchange, new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "timeout", new TimeoutException())));
+        assertFalse(retryContext.retryOnError(exchange, new IllegalStateException()));
+        assertTrue(retryContext.retryOnError(exchange, new IllegalStateException(new ConnectException())));
+        assertTrue(retryContext.retryOnError(exchange, HttpRetryContext.RETRY_SIGNAL));
+    }
+
+    @Test
+    public void testExcludeTriedUpstreams() {
+        ServerWebExchange exchange = exchange(MockServerHttpRequest.get("/test").build());
+        HttpRetryContext retryContext = new HttpRetryContext(new RetryPolicy(5, "", false, 1024, new RetryBudget(20, 10, 10)), HttpRetryContextTest::reselect);
+        Set<String> attempted = new HashSet<>();
+        do {
+            retryContext.attempt(exchange);
+            assertTrue(attempted.add(exchange.getAttribute(Constants.HTTP_UPSTREAM)));
+        } while (retryContext.retryOnError(exchange, new ConnectException()));
+        assertEquals(new HashSet<>(UPSTREAMS), attempted);
+        assertEquals(2, retryContext.getRetries());
+    }
+
+    @Test
+    public void testBudget() {
+        RetryPolicy retryPolicy = new RetryPolicy(1, "", false, 1024, new RetryBudget(0, 1, 1));
+        ServerWebExchange first = exchange(MockServerHttpRequest.get("/test").build());
+        assertTrue(new HttpRetryContext(retryPolicy, HttpRetryContextTest::reselect).retryOnError(first, new ConnectException()));
+        ServerWebExchange second = exchange(MockServerHttpRequest.get("/test").build());
+        assertFalse(new HttpRetryContext(retryPolicy, HttpRetryContextTest::reselect).retryOnError(second, new ConnectException()));
+    }
+
+    @Test
+    public void testReplayableBody() {
+        HttpRetryContext retryContext = new HttpRetryContext(new RetryPolicy(1, "", false, 4, new RetryBudget(20, 10, 10)), HttpRetryContextTest::reselect);
+        assertTrue(retryContext.isReplayable(MockServerHttpRequest.get("/test").build()));
+        assertTrue(retryContext.isReplayable(MockServerHttpRequest.post("/test").contentLength(4).body("test")));
+        assertFalse(retryContext.isReplayable(MockServerHttpRequest.post("/test").contentLength(6).body("shenyu")));
+        assertFalse(retryContext.isReplayable(MockServerHttpRequest.post("/test").header("Transfer-Encoding", "chunked").body("shenyu")));
+        StepVerifier.create(HttpRetryContext.bufferBody(MockServerHttpRequest.post("/test").body("test")))
+                .assertNext(body -> assertArrayEquals("test".getBytes(), body)).verifyComplete();
+        StepVerifier.create(HttpRetryContext.bufferBody(MockServerHttpRequest.get("/test").build()))
+                .assertNext(body -> assertEquals(0, body.length)).verifyComplete();
+    }
+
+    private static ServerWebExchange exchange(final MockServerHttpRequest request) {
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(Constants.HTTP_UPSTREAM, UPSTREAMS.get(0));
+        return exchange;
+    }
+
+    private static UpstreamTarget reselect(final ServerWebExchange exchange, final Set<String> tried) {
+        Iterator<String> candidates = UPSTREAMS.stream().filter(upstream -> !tried.contains(upstream)).iterator();
+        if (!candidates.hasNext()) {
+            return null;
+        }
+        String upstream = candidates.next();
+        return new UpstreamTarget("http://" + upstream + "/test", upstream, null);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.retry;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for RetryBudget.
+ */
+public final class RetryBudgetTest {
+
+    @Test
+    public void testPercentOfRequests() {
+        RetryBudget budget = new RetryBudget(20, 0, 10);
+        assertFalse(budget.tryWithdraw());
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+        assertEquals(2, budget.available());
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    public void testMinRetriesPerSecond() {
+        RetryBudget budget = new RetryBudget(0, 2, 10);
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+        budget.refill(System.nanoTime() + TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, budget.available());
+    }
+
+    @Test
+    public void testMaxBalance() {
+        RetryBudget budget = new RetryBudget(100, 1, 3);
+        for (int i = 0; i < 1000; i++) {
+            budget.deposit();
+        }
+        assertEquals(100, budget.available());
+        budget = new RetryBudget(0, 1, 3);
+        budget.refill(System.nanoTime() + TimeUnit.MINUTES.toNanos(10));
+        assertEquals(3, budget.available());
+    }
+}
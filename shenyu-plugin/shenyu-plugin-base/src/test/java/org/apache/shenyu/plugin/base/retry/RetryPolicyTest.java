@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.retry;
+
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for RetryPolicy.
+ */
+public final class RetryPolicyTest {
+
+    @Test
+    public void testRetryableStatus() {
+        RetryPolicy policy = new RetryPolicy(1, " 502, 503,,", false, 0, new RetryBudget(20, 0, 10));
+        assertTrue(policy.isRetryableStatus(502));
+        assertTrue(policy.isRetryableStatus(503));
+        assertFalse(policy.isRetryableStatus(500));
+        assertFalse(policy.isRetryableStatus(-1));
+    }
+
+    @Test
+    public void testInvalidRetryableStatusSkipped() {
+        RetryPolicy policy = new RetryPolicy(1, "5xx,99,600,-502,2147483648,503", false, 0, new RetryBudget(20, 0, 10));
+        assertTrue(policy.isRetryableStatus(503));
+        assertFalse(policy.isRetryableStatus(99));
+        assertFalse(policy.isRetryableStatus(600));
+        assertFalse(policy.isRetryableStatus(502));
+    }
+
+    @Test
+    public void testRetryableMethod() {
+        RetryPolicy policy = new RetryPolicy(1, null, false, 0, new RetryBudget(20, 0, 10));
+        assertTrue(policy.isRetryableMethod(HttpMethod.GET));
+        assertFalse(policy.isRetryableMethod(HttpMethod.POST));
+        assertTrue(new RetryPolicy(1, null, true, 0, new RetryBudget(20, 0, 10)).isRetryableMethod(HttpMethod.POST));
+    }
+}
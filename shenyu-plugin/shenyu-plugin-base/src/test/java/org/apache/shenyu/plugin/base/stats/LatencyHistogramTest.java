@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.stats;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for LatencyHistogram.
+ */
+public final class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        long previousUpperBound = -1;
+        for (long value = 0; value < 100000; value++) {
+            int index = LatencyHistogram.index(value);
+            long upperBound = LatencyHistogram.upperBound(index);
+            assertTrue(value <= upperBound);
+            assertTrue(upperBound <= value + value / 4);
+            assertTrue(upperBound >= previousUpperBound);
+            previousUpperBound = upperBound;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.index(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram(60000);
+        assertEquals(0, histogram.percentile(0.95));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(100, histogram.count());
+        long p95 = TimeUnit.NANOSECONDS.toMillis(histogram.percentile(0.95));
+        assertTrue(p95 >= 95 && p95 <= 95 * 5 / 4);
+        long p50 = TimeUnit.NANOSECONDS.toMillis(histogram.percentile(0.5));
+        assertTrue(p50 >= 50 && p50 <= 50 * 5 / 4);
+    }
+
+    @Test
+    public void testWindowRotation() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram(20);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(1, histogram.count());
+        Thread.sleep(60);
+        assertEquals(0, histogram.count());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.stats;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for UpstreamStatsManager.
+ */
+public final class UpstreamStatsManagerTest {
+
+    @Test
+    public void testRecord() {
+        UpstreamStats stats = UpstreamStatsManager.getInstance().obtain("record:8080");
+        assertSame(stats, UpstreamStatsManager.getInstance().obtain("record:8080"));
+        Mono<String> request = UpstreamStatsManager.getInstance().record("record:8080", Mono.just("ok").delayElement(Duration.ofMillis(50))
+                .doOnNext(value -> assertEquals(1, stats.getActive())));
+        StepVerifier.create(request).expectNext("ok").verifyComplete();
+        assertEquals(0, stats.getActive());
+        assertTrue(stats.getPeakEwma() >= Duration.ofMillis(40).toNanos());
+        assertTrue(stats.getCost() > 0);
+    }
+
+    @Test
+    public void testRecordError() {
+        UpstreamStats stats = UpstreamStatsManager.getInstance().obtain("error:8080");
+        StepVerifier.create(UpstreamStatsManager.getInstance().record("error:8080", Mono.error(new IllegalStateException()))).verifyError();
+        assertEquals(0, stats.getActive());
+    }
+
+    @Test
+    public void testRecordOutcome() {
+        UpstreamStats stats = UpstreamStatsManager.getInstance().obtain("outcome:8080");
+        List<Boolean> outcomes = new ArrayList<>();
+        UpstreamStatsListener listener = (upstreamUrl, upstreamStats, success) -> {
+            if ("outcome:8080".equals(upstreamUrl)) {
+                outcomes.add(success);
+            }
+        };
+        UpstreamStatsManager.getInstance().addListener(listener);
+        try {
+            StepVerifier.create(UpstreamStatsManager.getInstance().record("outcome:8080", Mono.just(500), status -> status >= 500)).expectNext(500).verifyComplete();
+            StepVerifier.create(UpstreamStatsManager.getInstance().record("outcome:8080", Mono.error(new IllegalStateException()))).verifyError();
+            assertEquals(2, stats.getConsecutiveFailures());
+            StepVerifier.create(UpstreamStatsManager.getInstance().record("outcome:8080", Mono.just(200), status -> status >= 500)).expectNext(200).verifyComplete();
+            assertEquals(0, stats.getConsecutiveFailures());
+            StepVerifier.create(UpstreamStatsManager.getInstance().record("outcome:8080", Mono.never())).thenCancel().verify();
+            assertEquals(0, stats.getActive());
+            assertEquals(3, stats.getRequests());
+            assertEquals(2, stats.getFailures());
+            assertEquals(Arrays.asList(false, false, true), outcomes);
+        } finally {
+            UpstreamStatsManager.getInstance().removeListener(listener);
+        }
+    }
+
+    @Test
+    public void testPeakEwma() {
+        UpstreamStats stats = new UpstreamStats();
+        stats.end(stats.begin() - Duration.ofMillis(100).toNanos(), true);
+        double peak = stats.getPeakEwma();
+        assertTrue(peak >= Duration.ofMillis(90).toNanos());
+        stats.end(stats.begin(), true);
+        assertTrue(stats.getPeakEwma() < peak);
+    }
+}
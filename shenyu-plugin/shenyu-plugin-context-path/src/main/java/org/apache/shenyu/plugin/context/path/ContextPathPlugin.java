@@ -76,6 +76,15 @@ public class ContextPathPlugin extends AbstractShenyuPlugin {
                 || Objects.equals(rpcType, RpcTypeEnum.SOFA.getName());
     }
 
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType == RpcTypeEnum.DUBBO
+                || rpcType == RpcTypeEnum.GRPC
+                || rpcType == RpcTypeEnum.TARS
+                || rpcType == RpcTypeEnum.MOTAN
+                || rpcType == RpcTypeEnum.SOFA;
+    }
+
     /**
      * Build the context path and realUrl.
      *
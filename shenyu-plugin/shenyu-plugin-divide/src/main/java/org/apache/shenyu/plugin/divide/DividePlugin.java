@@ -34,6 +34,10 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.retry.HttpHedgeContext;
+import org.apache.shenyu.plugin.base.retry.HttpRetryContext;
+import org.apache.shenyu.plugin.base.retry.UpstreamReselector;
+import org.apache.shenyu.plugin.base.retry.UpstreamTarget;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.divide.balance.utils.LoadBalanceUtils;
 import org.apache.shenyu.plugin.divide.cache.UpstreamCacheManager;
@@ -43,6 +47,8 @@ import reactor.core.publisher.Mono;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Divide Plugin.
@@ -86,15 +92,37 @@ public class DividePlugin extends AbstractShenyuPlugin {
             return WebFluxResultUtils.result(exchange, error);
         }
         // set the http url
-        String domain = buildDomain(divideUpstream);
-        String realURL = buildRealURL(domain, shenyuContext, exchange);
-        exchange.getAttributes().put(Constants.HTTP_URL, realURL);
+        buildTarget(exchange, shenyuContext, divideUpstream).selectInto(exchange);
         // set the http timeout
         exchange.getAttributes().put(Constants.HTTP_TIME_OUT, ruleHandle.getTimeout());
         exchange.getAttributes().put(Constants.HTTP_RETRY, ruleHandle.getRetry());
+        UpstreamReselector reselector = (retryExchange, tried) -> reselect(retryExchange, tried, upstreamList, ruleHandle.getLoadBalance(), ip);
+        if (ruleHandle.getRetry() > 0) {
+            exchange.getAttributes().put(Constants.HTTP_RETRY_CONTEXT, new HttpRetryContext(UpstreamCacheManager.getInstance().obtainRetryPolicy(ruleHandle), reselector));
+        }
+        if (ruleHandle.isHedge() && upstreamList.size() > 1 && HttpHedgeContext.isHedgeable(exchange.getRequest())) {
+            exchange.getAttributes().put(Constants.HTTP_HEDGE_CONTEXT, new HttpHedgeContext(UpstreamCacheManager.getInstance().obtainHedgePolicy(ruleHandle), reselector));
+        }
         return chain.execute(exchange);
     }
 
+    private UpstreamTarget reselect(final ServerWebExchange exchange, final Set<String> tried, final List<DivideUpstream> upstreamList,
+                                    final String loadBalance, final String ip) {
+        List<DivideUpstream> candidates = upstreamList.stream().filter(upstream -> !tried.contains(upstream.getUpstreamUrl())).collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        DivideUpstream divideUpstream = LoadBalanceUtils.selector(candidates, loadBalance, ip);
+        if (Objects.isNull(divideUpstream)) {
+            return null;
+        }
+        return buildTarget(exchange, exchange.getAttribute(Constants.CONTEXT), divideUpstream);
+    }
+
+    private UpstreamTarget buildTarget(final ServerWebExchange exchange, final ShenyuContext shenyuContext, final DivideUpstream divideUpstream) {
+        return new UpstreamTarget(buildRealURL(divideUpstream, shenyuContext, exchange), divideUpstream.getUpstreamUrl(), divideUpstream.getPoolConfig());
+    }
+
     @Override
     public String named() {
         return PluginEnum.DIVIDE.getName();
@@ -106,6 +134,11 @@ public class DividePlugin extends AbstractShenyuPlugin {
         return !Objects.equals(Objects.requireNonNull(shenyuContext).getRpcType(), RpcTypeEnum.HTTP.getName());
     }
 
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.HTTP;
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.DIVIDE.getCode();
@@ -121,29 +154,26 @@ public class DividePlugin extends AbstractShenyuPlugin {
         return WebFluxResultUtils.noRuleResult(pluginName, exchange);
     }
 
-    private String buildDomain(final DivideUpstream divideUpstream) {
+    private String buildRealURL(final DivideUpstream divideUpstream, final ShenyuContext shenyuContext, final ServerWebExchange exchange) {
         String protocol = divideUpstream.getProtocol();
         if (StringUtils.isBlank(protocol)) {
             protocol = "http://";
         }
-        return protocol + divideUpstream.getUpstreamUrl().trim();
-    }
-
-    private String buildRealURL(final String domain, final ShenyuContext shenyuContext, final ServerWebExchange exchange) {
-        String path = domain;
-        final String rewriteURI = (String) exchange.getAttributes().get(Constants.REWRITE_URI);
-        if (StringUtils.isNoneBlank(rewriteURI)) {
-            path = path + rewriteURI;
-        } else {
-            final String realUrl = shenyuContext.getRealUrl();
-            if (StringUtils.isNoneBlank(realUrl)) {
-                path = path + realUrl;
-            }
+        String upstreamUrl = divideUpstream.getUpstreamUrl().trim();
+        String path = (String) exchange.getAttributes().get(Constants.REWRITE_URI);
+        if (StringUtils.isBlank(path)) {
+            path = shenyuContext.getRealUrl();
         }
         String query = exchange.getRequest().getURI().getQuery();
-        if (StringUtils.isNoneBlank(query)) {
-            return path + "?" + query;
+        // the url is appended into one builder sized for it
+        StringBuilder url = new StringBuilder(protocol.length() + upstreamUrl.length() + StringUtils.length(path) + StringUtils.length(query) + 1)
+                .append(protocol).append(upstreamUrl);
+        if (StringUtils.isNotBlank(path)) {
+            url.append(path);
+        }
+        if (StringUtils.isNotBlank(query)) {
+            url.append('?').append(query);
         }
-        return path;
+        return url.toString();
     }
 }
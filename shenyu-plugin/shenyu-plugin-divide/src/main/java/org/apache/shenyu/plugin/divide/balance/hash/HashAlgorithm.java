@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.hash;
+
+import com.google.common.hash.Hashing;
+import org.apache.shenyu.common.exception.ShenyuException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * The hash algorithm of the consistent hash ring.
+ */
+public enum HashAlgorithm {
+
+    /**
+     * The first 32 bits of md5, the algorithm hash load balance has always used.
+     */
+    MD5("md5") {
+
+        private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new ShenyuException("MD5 not supported", e);
+            }
+        });
+
+        @Override
+        public long hash(final String key) {
+            MessageDigest md5 = digests.get();
+            md5.reset();
+            byte[] digest = md5.digest(key.getBytes(StandardCharsets.UTF_8));
+            // hash code, Truncate to 32-bits
+            long hashCode = (long) (digest[3] & 0xFF) << 24
+                    | ((long) (digest[2] & 0xFF) << 16)
+                    | ((long) (digest[1] & 0xFF) << 8)
+                    | (digest[0] & 0xFF);
+            return hashCode & 0xffffffffL;
+        }
+    },
+
+    /**
+     * The first 64 bits of murmur3 128, much cheaper than md5.
+     */
+    MURMUR3("murmur3") {
+        @Override
+        public long hash(final String key) {
+            return Hashing.murmur3_128().hashUnencodedChars(key).asLong();
+        }
+    };
+
+    private final String algorithm;
+
+    HashAlgorithm(final String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Hash the key.
+     *
+     * @param key the key
+     * @return the hash
+     */
+    public abstract long hash(String key);
+
+    /**
+     * Get the algorithm name.
+     *
+     * @return the algorithm name
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Find the hash algorithm by name.
+     *
+     * @param algorithm the algorithm name
+     * @return the hash algorithm
+     */
+    public static HashAlgorithm acquireByName(final String algorithm) {
+        return Arrays.stream(values())
+                .filter(each -> each.algorithm.equalsIgnoreCase(algorithm))
+                .findFirst()
+                .orElseThrow(() -> new ShenyuException("hash algorithm not supported: " + algorithm));
+    }
+}
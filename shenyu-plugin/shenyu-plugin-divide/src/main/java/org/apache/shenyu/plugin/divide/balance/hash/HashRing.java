@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.hash;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The immutable consistent hash ring of an upstream list, held as sorted primitive arrays.
+ */
+public final class HashRing {
+
+    private final HashAlgorithm algorithm;
+
+    private final long[] hashes;
+
+    private final DivideUpstream[] upstreams;
+
+    private HashRing(final HashAlgorithm algorithm, final long[] hashes, final DivideUpstream[] upstreams) {
+        this.algorithm = algorithm;
+        this.hashes = hashes;
+        this.upstreams = upstreams;
+    }
+
+    /**
+     * Build the hash ring of the upstream list.
+     *
+     * @param upstreamList the upstream list
+     * @param virtualNodes the virtual node count of every upstream
+     * @param algorithm    the hash algorithm
+     * @return the hash ring
+     */
+    public static HashRing build(final List<DivideUpstream> upstreamList, final int virtualNodes, final HashAlgorithm algorithm) {
+        int size = upstreamList.size() * virtualNodes;
+        long[] nodeHashes = new long[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < upstreamList.size(); i++) {
+            for (int j = 0; j < virtualNodes; j++) {
+                int node = i * virtualNodes + j;
+                nodeHashes[node] = algorithm.hash("SOUL-" + upstreamList.get(i).getUpstreamUrl() + "-HASH-" + j);
+                order[node] = node;
+            }
+        }
+        // stable sort, so of the nodes with the same hash the last one wins as it did in the tree map
+        Arrays.sort(order, (left, right) -> Long.compare(nodeHashes[left], nodeHashes[right]));
+        long[] hashes = new long[size];
+        DivideUpstream[] upstreams = new DivideUpstream[size];
+        int count = 0;
+        for (int node : order) {
+            if (count > 0 && hashes[count - 1] == nodeHashes[node]) {
+                count--;
+            }
+            hashes[count] = nodeHashes[node];
+            upstreams[count] = upstreamList.get(node / virtualNodes);
+            count++;
+        }
+        return new HashRing(algorithm, Arrays.copyOf(hashes, count), Arrays.copyOf(upstreams, count));
+    }
+
+    /**
+     * Select the upstream of the first node at or after the hash of the key on the ring.
+     *
+     * @param key the key
+     * @return the upstream, or null when the ring is empty
+     */
+    public DivideUpstream select(final String key) {
+        if (hashes.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(hashes, algorithm.hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return upstreams[index == hashes.length ? 0 : index];
+    }
+
+    /**
+     * Get the node count.
+     *
+     * @return the node count
+     */
+    public int size() {
+        return hashes.length;
+    }
+}
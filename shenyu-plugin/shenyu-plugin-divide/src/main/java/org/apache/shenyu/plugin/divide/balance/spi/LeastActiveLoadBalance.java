@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.base.stats.UpstreamStatsManager;
+import org.apache.shenyu.spi.Join;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * least active algorithm impl, the upstream with the fewest in-flight requests wins, ties are broken by weighted random.
+ */
+@Join
+public class LeastActiveLoadBalance extends AbstractLoadBalance {
+
+    @Override
+    public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
+        int length = upstreamList.size();
+        int leastActive = Integer.MAX_VALUE;
+        int leastCount = 0;
+        int[] leastIndexes = new int[length];
+        int[] weights = new int[length];
+        int totalWeight = 0;
+        boolean sameWeight = true;
+        for (int i = 0; i < length; i++) {
+            DivideUpstream upstream = upstreamList.get(i);
+            int active = UpstreamStatsManager.getInstance().obtain(upstream.getUpstreamUrl()).getActive();
+            int weight = getWeight(upstream);
+            weights[i] = weight;
+            if (active < leastActive) {
+                leastActive = active;
+                leastCount = 1;
+                leastIndexes[0] = i;
+                totalWeight = weight;
+                sameWeight = true;
+            } else if (active == leastActive) {
+                leastIndexes[leastCount++] = i;
+                totalWeight += weight;
+                if (sameWeight && weight != weights[leastIndexes[0]]) {
+                    sameWeight = false;
+                }
+            }
+        }
+        if (leastCount == 1) {
+            return upstreamList.get(leastIndexes[0]);
+        }
+        if (!sameWeight && totalWeight > 0) {
+            int offset = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (int i = 0; i < leastCount; i++) {
+                offset -= weights[leastIndexes[i]];
+                if (offset < 0) {
+                    return upstreamList.get(leastIndexes[i]);
+                }
+            }
+        }
+        return upstreamList.get(leastIndexes[ThreadLocalRandom.current().nextInt(leastCount)]);
+    }
+}
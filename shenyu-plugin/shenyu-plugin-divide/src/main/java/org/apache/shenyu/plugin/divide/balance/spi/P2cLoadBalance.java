@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.base.stats.UpstreamStats;
+import org.apache.shenyu.plugin.base.stats.UpstreamStatsManager;
+import org.apache.shenyu.spi.Join;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * power of two choices algorithm impl, of two random upstreams the one with the fewer in-flight requests per weight wins.
+ */
+@Join
+public class P2cLoadBalance extends AbstractLoadBalance {
+
+    @Override
+    public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int size = upstreamList.size();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        DivideUpstream left = upstreamList.get(first);
+        DivideUpstream right = upstreamList.get(second);
+        UpstreamStats leftStats = UpstreamStatsManager.getInstance().obtain(left.getUpstreamUrl());
+        UpstreamStats rightStats = UpstreamStatsManager.getInstance().obtain(right.getUpstreamUrl());
+        double leftLoad = load(leftStats.getActive(), left);
+        double rightLoad = load(rightStats.getActive(), right);
+        if (leftLoad == rightLoad) {
+            return leftStats.getPeakEwma() <= rightStats.getPeakEwma() ? left : right;
+        }
+        return leftLoad < rightLoad ? left : right;
+    }
+
+    private double load(final int active, final DivideUpstream upstream) {
+        return (active + 1) / (double) Math.max(getWeight(upstream), 1);
+    }
+}
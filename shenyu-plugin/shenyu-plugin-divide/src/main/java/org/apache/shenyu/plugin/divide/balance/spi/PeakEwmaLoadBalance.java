@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.base.stats.UpstreamStatsManager;
+import org.apache.shenyu.spi.Join;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * peak ewma algorithm impl, the upstream with the lowest peak-EWMA response time times in-flight requests per weight wins.
+ */
+@Join
+public class PeakEwmaLoadBalance extends AbstractLoadBalance {
+
+    @Override
+    public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
+        int size = upstreamList.size();
+        // start from a random upstream, so ties such as all idle upstreams spread evenly
+        int offset = ThreadLocalRandom.current().nextInt(size);
+        DivideUpstream selected = null;
+        double minCost = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            DivideUpstream upstream = upstreamList.get((offset + i) % size);
+            double cost = UpstreamStatsManager.getInstance().obtain(upstream.getUpstreamUrl()).getCost() / Math.max(getWeight(upstream), 1);
+            if (Objects.isNull(selected) || cost < minCost) {
+                selected = upstream;
+                minCost = cost;
+            }
+        }
+        return selected;
+    }
+}
@@ -17,7 +17,8 @@
 
 package org.apache.shenyu.plugin.divide.cache;
 
-import com.google.common.collect.Lists;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
@@ -25,13 +26,25 @@ import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.DivideUpstream;
 import org.apache.shenyu.common.dto.convert.rule.impl.DivideRuleHandle;
 import org.apache.shenyu.common.utils.GsonUtils;
-import org.apache.shenyu.common.utils.UpstreamCheckUtils;
 import org.apache.shenyu.plugin.base.cache.BaseHandleCache;
+import org.apache.shenyu.plugin.base.stats.LatencyHistogram;
+import org.apache.shenyu.plugin.base.retry.HedgePolicy;
+import org.apache.shenyu.plugin.base.retry.RetryBudget;
+import org.apache.shenyu.plugin.base.retry.RetryPolicy;
+import org.apache.shenyu.plugin.base.stats.UpstreamStatsManager;
+import org.apache.shenyu.plugin.divide.balance.hash.HashAlgorithm;
+import org.apache.shenyu.plugin.divide.balance.hash.HashRing;
+import org.apache.shenyu.plugin.divide.health.UpstreamHealthChecker;
+import org.apache.shenyu.plugin.divide.health.UpstreamOutlierDetector;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * this is divide  http url upstream.
@@ -43,17 +56,89 @@ public final class UpstreamCacheManager extends BaseHandleCache<String, DivideRu
 
     private static final Map<String, List<DivideUpstream>> UPSTREAM_MAP = Maps.newConcurrentMap();
 
-    private static final Map<String, List<DivideUpstream>> UPSTREAM_MAP_TEMP = Maps.newConcurrentMap();
+    /**
+     * upstream list -> hash ring, weak keys compare by identity, so a new list of a selector or of a check builds a new ring.
+     */
+    private static final Cache<List<DivideUpstream>, HashRing> HASH_RING_CACHE = CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * rule handle -> retry policy, weak keys compare by identity, so a changed rule gets a new policy and budget.
+     */
+    private static final Cache<DivideRuleHandle, RetryPolicy> RETRY_POLICY_CACHE = CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * rule handle -> hedge policy, weak keys compare by identity, so a changed rule gets a new policy and latency histogram.
+     */
+    private static final Cache<DivideRuleHandle, HedgePolicy> HEDGE_POLICY_CACHE = CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * selectorId -> the healthy upstreams, an immutable snapshot replaced as a whole.
+     */
+    private volatile Map<String, List<DivideUpstream>> routingMap = Collections.emptyMap();
+
+    private final int hashVirtualNodes;
+
+    private final HashAlgorithm hashAlgorithm;
+
+    private final int retryBudgetPercent;
+
+    private final int retryMinPerSecond;
+
+    /**
+     * the hedge budget shared by all the rules, so hedging can not amplify an overload.
+     */
+    private final RetryBudget hedgeBudget;
+
+    private final long hedgeMinSamples;
+
+    private final UpstreamHealthChecker healthChecker;
+
+    private final UpstreamOutlierDetector outlierDetector;
     
     /**
      * suggest shenyu.upstream.scheduledTime set 1 SECONDS.
      */
     private UpstreamCacheManager() {
+        hashVirtualNodes = Integer.parseInt(System.getProperty("shenyu.upstream.hash.virtualNodes", "5"));
+        hashAlgorithm = HashAlgorithm.acquireByName(System.getProperty("shenyu.upstream.hash.algorithm", HashAlgorithm.MD5.getAlgorithm()));
+        retryBudgetPercent = Integer.parseInt(System.getProperty("shenyu.upstream.retry.budgetPercent", "20"));
+        retryMinPerSecond = Integer.parseInt(System.getProperty("shenyu.upstream.retry.minRetriesPerSecond", "10"));
+        hedgeBudget = new RetryBudget(Integer.parseInt(System.getProperty("shenyu.upstream.hedge.budgetPercent", "10")),
+                Integer.parseInt(System.getProperty("shenyu.upstream.hedge.minHedgesPerSecond", "1")), 10);
+        hedgeMinSamples = Long.parseLong(System.getProperty("shenyu.upstream.hedge.minSamples", "100"));
         boolean check = Boolean.parseBoolean(System.getProperty("shenyu.upstream.check", "false"));
         if (check) {
+            healthChecker = new UpstreamHealthChecker(
+                    TimeUnit.SECONDS.toMillis(Integer.parseInt(System.getProperty("shenyu.upstream.scheduledTime", "30"))),
+                    Integer.parseInt(System.getProperty("shenyu.upstream.check.timeout", "3000")),
+                    Integer.parseInt(System.getProperty("shenyu.upstream.check.concurrency", "64")),
+                    Integer.parseInt(System.getProperty("shenyu.upstream.check.healthyThreshold", "1")),
+                    Integer.parseInt(System.getProperty("shenyu.upstream.check.unhealthyThreshold", "1")),
+                    System.getProperty("shenyu.upstream.check.path", ""),
+                    System.getProperty("shenyu.upstream.check.expectedStatus", "200-399"));
+        } else {
+            healthChecker = null;
+        }
+        boolean outlier = Boolean.parseBoolean(System.getProperty("shenyu.upstream.outlier.enabled", "false"));
+        if (outlier) {
+            outlierDetector = new UpstreamOutlierDetector(
+                    Integer.parseInt(System.getProperty("shenyu.upstream.outlier.consecutiveErrors", "5")),
+                    Double.parseDouble(System.getProperty("shenyu.upstream.outlier.errorRate", "0.5")),
+                    Long.parseLong(System.getProperty("shenyu.upstream.outlier.minRequests", "20")),
+                    Long.parseLong(System.getProperty("shenyu.upstream.outlier.interval", "10000")),
+                    Long.parseLong(System.getProperty("shenyu.upstream.outlier.baseEjectionTime", "30000")),
+                    Long.parseLong(System.getProperty("shenyu.upstream.outlier.maxEjectionTime", "300000")),
+                    Integer.parseInt(System.getProperty("shenyu.upstream.outlier.maxEjectionPercent", "50")),
+                    UpstreamCacheManager::configuredUpstreams, upstream -> Objects.isNull(healthChecker) || healthChecker.isHealthy(upstream),
+                    this::refreshRouting);
+            UpstreamStatsManager.getInstance().addListener(outlierDetector);
+        } else {
+            outlierDetector = null;
+        }
+        if (check || outlier) {
+            // every upstream is probed on its own jittered schedule, the task only starts the probes that are due
             new ScheduledThreadPoolExecutor(1, ShenyuThreadFactory.create("scheduled-upstream-task", false))
-                    .scheduleWithFixedDelay(this::scheduled,
-                            30, Integer.parseInt(System.getProperty("shenyu.upstream.scheduledTime", "30")), TimeUnit.SECONDS);
+                    .scheduleWithFixedDelay(this::scheduled, 1, 1, TimeUnit.SECONDS);
         }
     }
 
@@ -73,7 +158,58 @@ public final class UpstreamCacheManager extends BaseHandleCache<String, DivideRu
      * @return the list
      */
     public List<DivideUpstream> findUpstreamListBySelectorId(final String selectorId) {
-        return UPSTREAM_MAP_TEMP.get(selectorId);
+        return routingMap.get(selectorId);
+    }
+
+    /**
+     * Obtain the hash ring of the upstream list, built once per list instance.
+     *
+     * @param upstreamList the upstream list
+     * @return the hash ring
+     */
+    public HashRing obtainHashRing(final List<DivideUpstream> upstreamList) {
+        HashRing hashRing = HASH_RING_CACHE.getIfPresent(upstreamList);
+        if (Objects.isNull(hashRing)) {
+            // a racing thread may build the same ring again, both results are equivalent
+            hashRing = HashRing.build(upstreamList, hashVirtualNodes, hashAlgorithm);
+            HASH_RING_CACHE.put(upstreamList, hashRing);
+        }
+        return hashRing;
+    }
+
+    /**
+     * Obtain the retry policy of the rule handle, built once per rule handle instance.
+     *
+     * @param ruleHandle the rule handle
+     * @return the retry policy
+     */
+    public RetryPolicy obtainRetryPolicy(final DivideRuleHandle ruleHandle) {
+        RetryPolicy retryPolicy = RETRY_POLICY_CACHE.getIfPresent(ruleHandle);
+        if (Objects.isNull(retryPolicy)) {
+            retryPolicy = new RetryPolicy(ruleHandle.getRetry(), ruleHandle.getRetryStatus(), ruleHandle.isRetryNonIdempotent(),
+                    ruleHandle.getRequestMaxSize(), new RetryBudget(retryBudgetPercent, retryMinPerSecond, 10));
+            // the policy of the first racing thread wins, so the rule keeps one budget
+            RetryPolicy current = RETRY_POLICY_CACHE.asMap().putIfAbsent(ruleHandle, retryPolicy);
+            return Objects.isNull(current) ? retryPolicy : current;
+        }
+        return retryPolicy;
+    }
+
+    /**
+     * Obtain the hedge policy of the rule handle, built once per rule handle instance.
+     *
+     * @param ruleHandle the rule handle
+     * @return the hedge policy
+     */
+    public HedgePolicy obtainHedgePolicy(final DivideRuleHandle ruleHandle) {
+        HedgePolicy hedgePolicy = HEDGE_POLICY_CACHE.getIfPresent(ruleHandle);
+        if (Objects.isNull(hedgePolicy)) {
+            hedgePolicy = new HedgePolicy(ruleHandle.getHedgeDelay(), hedgeMinSamples, new LatencyHistogram(TimeUnit.SECONDS.toMillis(30)), hedgeBudget);
+            // the policy of the first racing thread wins, so the rule keeps one latency histogram
+            HedgePolicy current = HEDGE_POLICY_CACHE.asMap().putIfAbsent(ruleHandle, hedgePolicy);
+            return Objects.isNull(current) ? hedgePolicy : current;
+        }
+        return hedgePolicy;
     }
 
     /**
@@ -82,7 +218,8 @@ public final class UpstreamCacheManager extends BaseHandleCache<String, DivideRu
      * @param key the key
      */
     public void removeByKey(final String key) {
-        UPSTREAM_MAP_TEMP.remove(key);
+        UPSTREAM_MAP.remove(key);
+        updateRouting(key, null);
     }
 
     /**
@@ -94,42 +231,68 @@ public final class UpstreamCacheManager extends BaseHandleCache<String, DivideRu
         final List<DivideUpstream> upstreamList = GsonUtils.getInstance().fromList(selectorData.getHandle(), DivideUpstream.class);
         if (null != upstreamList && upstreamList.size() > 0) {
             UPSTREAM_MAP.put(selectorData.getId(), upstreamList);
-            UPSTREAM_MAP_TEMP.put(selectorData.getId(), upstreamList);
+            updateRouting(selectorData.getId(), healthyList(upstreamList));
         } else {
             UPSTREAM_MAP.remove(selectorData.getId());
-            UPSTREAM_MAP_TEMP.remove(selectorData.getId());
+            updateRouting(selectorData.getId(), null);
         }
     }
 
-    private void scheduled() {
-        if (UPSTREAM_MAP.size() > 0) {
-            UPSTREAM_MAP.forEach((k, v) -> {
-                List<DivideUpstream> result = check(v);
-                if (result.size() > 0) {
-                    UPSTREAM_MAP_TEMP.put(k, result);
-                } else {
-                    UPSTREAM_MAP_TEMP.remove(k);
-                }
-            });
+    private synchronized void updateRouting(final String selectorId, final List<DivideUpstream> upstreamList) {
+        Map<String, List<DivideUpstream>> routing = new HashMap<>(routingMap);
+        if (Objects.isNull(upstreamList) || upstreamList.isEmpty()) {
+            routing.remove(selectorId);
+        } else {
+            routing.put(selectorId, upstreamList);
+        }
+        routingMap = Collections.unmodifiableMap(routing);
+    }
+
+    private synchronized void refreshRouting() {
+        Map<String, List<DivideUpstream>> current = routingMap;
+        Map<String, List<DivideUpstream>> routing = new HashMap<>(UPSTREAM_MAP.size());
+        UPSTREAM_MAP.forEach((selectorId, upstreamList) -> {
+            List<DivideUpstream> healthy = healthyList(upstreamList);
+            if (healthy.isEmpty()) {
+                return;
+            }
+            // keep the current list when its upstreams are unchanged, so its hash ring stays cached
+            List<DivideUpstream> currentList = current.get(selectorId);
+            routing.put(selectorId, healthy.equals(currentList) ? currentList : healthy);
+        });
+        routingMap = Collections.unmodifiableMap(routing);
+    }
+
+    private static Map<String, List<DivideUpstream>> configuredUpstreams() {
+        return UPSTREAM_MAP;
+    }
+
+    private List<DivideUpstream> healthyList(final List<DivideUpstream> upstreamList) {
+        if (Objects.isNull(healthChecker) && Objects.isNull(outlierDetector)) {
+            return upstreamList;
         }
+        return upstreamList.stream()
+                .filter(upstream -> Objects.isNull(healthChecker) || healthChecker.isHealthy(upstream))
+                .filter(upstream -> Objects.isNull(outlierDetector) || !outlierDetector.isEjected(upstream))
+                .collect(Collectors.toList());
     }
 
-    private List<DivideUpstream> check(final List<DivideUpstream> upstreamList) {
-        List<DivideUpstream> resultList = Lists.newArrayListWithCapacity(upstreamList.size());
-        for (DivideUpstream divideUpstream : upstreamList) {
-            final boolean pass = UpstreamCheckUtils.checkUrl(divideUpstream.getUpstreamUrl());
-            if (pass) {
-                if (!divideUpstream.isStatus()) {
-                    divideUpstream.setTimestamp(System.currentTimeMillis());
-                    divideUpstream.setStatus(true);
-                    log.info("UpstreamCacheManager detect success the url: {}, host: {} ", divideUpstream.getUpstreamUrl(), divideUpstream.getUpstreamHost());
-                }
-                resultList.add(divideUpstream);
-            } else {
-                divideUpstream.setStatus(false);
-                log.error("check the url={} is fail ", divideUpstream.getUpstreamUrl());
+    private void scheduled() {
+        if (Objects.nonNull(outlierDetector)) {
+            try {
+                outlierDetector.sweep();
+            } catch (Exception e) {
+                log.error("upstream outlier sweep error", e);
             }
         }
-        return resultList;
+        if (Objects.isNull(healthChecker)) {
+            return;
+        }
+        List<DivideUpstream> upstreams = UPSTREAM_MAP.values().stream().flatMap(List::stream).collect(Collectors.toList());
+        healthChecker.check(upstreams).subscribe(changed -> {
+            if (changed) {
+                refreshRouting();
+            }
+        }, throwable -> log.error("upstream health check error", throwable));
     }
 }
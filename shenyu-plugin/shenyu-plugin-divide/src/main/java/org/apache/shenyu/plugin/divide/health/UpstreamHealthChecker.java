@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.health;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.tcp.TcpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntPredicate;
+
+/**
+ * The non-blocking active health checker of the divide upstreams.
+ *
+ * <p>Every distinct upstream is probed on its own jittered schedule, by a tcp connect or, when a check path
+ * is set, by an http get expecting one of the configured status codes. At most {@code concurrency} probes
+ * run at once. An upstream turns unhealthy after {@code unhealthyThreshold} consecutive failed probes and
+ * healthy again after {@code healthyThreshold} consecutive passed probes.
+ */
+@Slf4j
+public final class UpstreamHealthChecker {
+
+    private static final String HTTPS = "https";
+
+    private final long intervalMillis;
+
+    private final int timeout;
+
+    private final int concurrency;
+
+    private final int healthyThreshold;
+
+    private final int unhealthyThreshold;
+
+    private final String checkPath;
+
+    private final IntPredicate expectedStatus;
+
+    private final TcpClient tcpClient;
+
+    private final HttpClient httpClient;
+
+    /**
+     * protocol + upstreamUrl -> HealthState.
+     */
+    private final Map<String, HealthState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new upstream health checker.
+     *
+     * @param intervalMillis     the probe interval of every upstream in millis
+     * @param timeout            the probe timeout in millis
+     * @param concurrency        the max probes in flight
+     * @param healthyThreshold   the consecutive passed probes turning an upstream healthy
+     * @param unhealthyThreshold the consecutive failed probes turning an upstream unhealthy
+     * @param checkPath          the http check path, a tcp connect is made when blank
+     * @param expectedStatus     the expected http status codes, such as {@code 200-399,401}
+     */
+    public UpstreamHealthChecker(final long intervalMillis, final int timeout, final int concurrency, final int healthyThreshold,
+                                 final int unhealthyThreshold, final String checkPath, final String expectedStatus) {
+        this.intervalMillis = intervalMillis;
+        this.timeout = timeout;
+        this.concurrency = concurrency;
+        this.healthyThreshold = Math.max(healthyThreshold, 1);
+        this.unhealthyThreshold = Math.max(unhealthyThreshold, 1);
+        this.checkPath = checkPath;
+        this.expectedStatus = parseStatus(expectedStatus);
+        this.tcpClient = TcpClient.newConnection().option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout);
+        this.httpClient = HttpClient.newConnection().tcpConfiguration(client -> client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout));
+    }
+
+    /**
+     * Whether the upstream is healthy, an upstream not probed yet is.
+     *
+     * @param upstream the upstream
+     * @return true if healthy
+     */
+    public boolean isHealthy(final DivideUpstream upstream) {
+        HealthState state = states.get(key(upstream));
+        return Objects.isNull(state) || state.healthy;
+    }
+
+    /**
+     * Probe the upstreams whose next check time has come.
+     *
+     * @param upstreams all the upstreams, the same upstream of several selectors is probed once
+     * @return whether any upstream turned healthy or unhealthy
+     */
+    public Mono<Boolean> check(final Collection<DivideUpstream> upstreams) {
+        long now = System.currentTimeMillis();
+        Map<String, List<DivideUpstream>> groups = new LinkedHashMap<>();
+        for (DivideUpstream upstream : upstreams) {
+            groups.computeIfAbsent(key(upstream), key -> new ArrayList<>()).add(upstream);
+        }
+        states.keySet().retainAll(groups.keySet());
+        List<Map.Entry<String, List<DivideUpstream>>> due = new ArrayList<>();
+        for (Map.Entry<String, List<DivideUpstream>> entry : groups.entrySet()) {
+            HealthState state = states.computeIfAbsent(entry.getKey(), key -> new HealthState(now + jitter(intervalMillis)));
+            if (state.nextCheckTime <= now && state.inFlight.compareAndSet(false, true)) {
+                due.add(entry);
+            }
+        }
+        if (due.isEmpty()) {
+            return Mono.just(false);
+        }
+        return Flux.fromIterable(due)
+                .flatMap(entry -> probe(entry.getValue().get(0))
+                        .map(pass -> apply(entry.getKey(), entry.getValue(), pass))
+                        .doFinally(signal -> Optional.ofNullable(states.get(entry.getKey())).ifPresent(state -> state.inFlight.set(false))), concurrency)
+                .reduce(false, (left, right) -> left || right);
+    }
+
+    private boolean apply(final String key, final List<DivideUpstream> upstreams, final boolean pass) {
+        HealthState state = states.get(key);
+        if (Objects.isNull(state)) {
+            return false;
+        }
+        state.nextCheckTime = System.currentTimeMillis() + intervalMillis + jitter(intervalMillis / 10) - intervalMillis / 20;
+        state.inFlight.set(false);
+        if (pass) {
+            state.failures = 0;
+            state.successes++;
+            if (!state.healthy && state.successes >= healthyThreshold) {
+                state.healthy = true;
+                long timestamp = System.currentTimeMillis();
+                upstreams.forEach(upstream -> {
+                    upstream.setTimestamp(timestamp);
+                    upstream.setStatus(true);
+                });
+                log.info("UpstreamHealthChecker detect success the url: {}", key);
+                return true;
+            }
+        } else {
+            state.successes = 0;
+            state.failures++;
+            if (state.healthy && state.failures >= unhealthyThreshold) {
+                state.healthy = false;
+                upstreams.forEach(upstream -> upstream.setStatus(false));
+                log.error("check the url={} is fail ", key);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Mono<Boolean> probe(final DivideUpstream upstream) {
+        // a malformed upstream url fails its own probe only, not the whole round
+        return Mono.defer(() -> {
+            String protocol = StringUtils.defaultIfBlank(upstream.getProtocol(), "http://");
+            if (StringUtils.isBlank(checkPath)) {
+                URI uri = URI.create(protocol + upstream.getUpstreamUrl().trim());
+                if (Objects.isNull(uri.getHost())) {
+                    return Mono.error(new IllegalArgumentException("invalid upstream url " + upstream.getUpstreamUrl()));
+                }
+                int port = uri.getPort() > 0 ? uri.getPort() : protocol.startsWith(HTTPS) ? 443 : 80;
+                return tcpClient.host(StringUtils.strip(uri.getHost(), "[]")).port(port).connect().map(connection -> {
+                    connection.dispose();
+                    return true;
+                });
+            }
+            return httpClient.get().uri(protocol + upstream.getUpstreamUrl().trim() + checkPath).response()
+                    .map(response -> expectedStatus.test(response.status().code()));
+        }).timeout(Duration.ofMillis(timeout)).onErrorReturn(false);
+    }
+
+    private static String key(final DivideUpstream upstream) {
+        return StringUtils.defaultIfBlank(upstream.getProtocol(), "http://") + upstream.getUpstreamUrl();
+    }
+
+    private static long jitter(final long bound) {
+        return bound > 0 ? ThreadLocalRandom.current().nextLong(bound) : 0L;
+    }
+
+    private static IntPredicate parseStatus(final String expectedStatus) {
+        IntPredicate predicate = code -> false;
+        for (String each : StringUtils.split(StringUtils.defaultIfBlank(expectedStatus, "200-399"), ',')) {
+            String[] range = StringUtils.split(each.trim(), '-');
+            int low = Integer.parseInt(range[0].trim());
+            int high = range.length > 1 ? Integer.parseInt(range[1].trim()) : low;
+            predicate = predicate.or(code -> code >= low && code <= high);
+        }
+        return predicate;
+    }
+
+    /**
+     * The health state of one upstream, written only by its single in-flight probe.
+     */
+    private static final class HealthState {
+
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+
+        private volatile long nextCheckTime;
+
+        private volatile int successes;
+
+        private volatile int failures;
+
+        private volatile boolean healthy = true;
+
+        HealthState(final long nextCheckTime) {
+            this.nextCheckTime = nextCheckTime;
+        }
+    }
+}
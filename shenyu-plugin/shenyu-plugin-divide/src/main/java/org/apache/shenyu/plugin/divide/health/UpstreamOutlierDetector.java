@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.health;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.reporter.MetricsRegistration;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
+import org.apache.shenyu.plugin.base.stats.UpstreamStats;
+import org.apache.shenyu.plugin.base.stats.UpstreamStatsListener;
+import org.apache.shenyu.plugin.base.stats.UpstreamStatsManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The passive outlier detector of the divide upstreams, fed by the request outcomes of the http client plugins.
+ *
+ * <p>An upstream is ejected after {@code consecutiveErrors} failures in a row, or when at least {@code minRequests}
+ * requests of an interval failed at {@code errorRate} or more. The n-th ejection of an upstream lasts
+ * {@code baseEjectionMillis * 2^(n-1)}, capped at {@code maxEjectionMillis}, and the count is forgotten once the upstream
+ * stayed healthy for {@code maxEjectionMillis}. No selector ever gets more than {@code maxEjectionPercent} of its upstreams,
+ * and never all of them, ejected, counting only the upstreams the active health checker deems healthy.
+ */
+@Slf4j
+public final class UpstreamOutlierDetector implements UpstreamStatsListener {
+
+    private static final String[] LABEL_NAMES = {"selector"};
+
+    private static final MetricsRegistration METRICS = new MetricsRegistration(
+        () -> MetricsReporter.registerCounter(LabelNames.UPSTREAM_EJECTION_TOTAL, LABEL_NAMES, "shenyu upstream ejection total"));
+
+    private final int consecutiveErrors;
+
+    private final double errorRate;
+
+    private final long minRequests;
+
+    private final long intervalMillis;
+
+    private final long baseEjectionMillis;
+
+    private final long maxEjectionMillis;
+
+    private final int maxEjectionPercent;
+
+    /**
+     * supplies selectorId -> the configured upstreams.
+     */
+    private final Supplier<Map<String, List<DivideUpstream>>> upstreamSupplier;
+
+    /**
+     * whether the active health checker deems an upstream healthy.
+     */
+    private final Predicate<DivideUpstream> healthy;
+
+    /**
+     * called once an upstream is ejected or returned.
+     */
+    private final Runnable onChange;
+
+    /**
+     * upstreamUrl -> OutlierState.
+     */
+    private final Map<String, OutlierState> stateMap = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new upstream outlier detector.
+     *
+     * @param consecutiveErrors  the consecutive failures ejecting an upstream
+     * @param errorRate          the failure rate of an interval ejecting an upstream
+     * @param minRequests        the requests of an interval needed to apply the error rate
+     * @param intervalMillis     the interval of the error rate
+     * @param baseEjectionMillis the duration of the first ejection
+     * @param maxEjectionMillis  the max duration of an ejection
+     * @param maxEjectionPercent the max percent of the upstreams of a selector ejected at once
+     * @param upstreamSupplier   supplies the configured upstreams by selectorId
+     * @param healthy            whether the active health checker deems an upstream healthy
+     * @param onChange           called once an upstream is ejected or returned
+     */
+    public UpstreamOutlierDetector(final int consecutiveErrors, final double errorRate, final long minRequests, final long intervalMillis,
+                                   final long baseEjectionMillis, final long maxEjectionMillis, final int maxEjectionPercent,
+                                   final Supplier<Map<String, List<DivideUpstream>>> upstreamSupplier, final Predicate<DivideUpstream> healthy,
+                                   final Runnable onChange) {
+        this.consecutiveErrors = consecutiveErrors;
+        this.errorRate = errorRate;
+        this.minRequests = minRequests;
+        this.intervalMillis = intervalMillis;
+        this.baseEjectionMillis = baseEjectionMillis;
+        this.maxEjectionMillis = maxEjectionMillis;
+        this.maxEjectionPercent = maxEjectionPercent;
+        this.upstreamSupplier = upstreamSupplier;
+        this.healthy = healthy;
+        this.onChange = onChange;
+    }
+
+    @Override
+    public void onResult(final String upstreamUrl, final UpstreamStats stats, final boolean success) {
+        if (success || Objects.isNull(upstreamUrl)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        stateMap.computeIfAbsent(upstreamUrl, key -> new OutlierState(stats, now));
+        if (stats.getConsecutiveFailures() >= consecutiveErrors) {
+            eject(upstreamUrl, now);
+        }
+    }
+
+    /**
+     * Whether the upstream is ejected now.
+     *
+     * @param upstream the upstream
+     * @return true if ejected
+     */
+    public boolean isEjected(final DivideUpstream upstream) {
+        return isEjected(upstream.getUpstreamUrl(), System.currentTimeMillis());
+    }
+
+    boolean isEjected(final String upstreamUrl, final long now) {
+        OutlierState state = stateMap.get(upstreamUrl);
+        return Objects.nonNull(state) && state.ejectedUntil > now;
+    }
+
+    /**
+     * Return the upstreams whose ejection expired, apply the error rate of the elapsed interval
+     * and forget the upstreams no longer configured.
+     */
+    public void sweep() {
+        sweep(System.currentTimeMillis());
+    }
+
+    void sweep(final long now) {
+        Map<String, List<DivideUpstream>> upstreamMap = upstreamSupplier.get();
+        boolean changed = false;
+        List<String> rateOutliers = new ArrayList<>();
+        for (Map.Entry<String, OutlierState> entry : stateMap.entrySet()) {
+            OutlierState state = entry.getValue();
+            if (state.ejectedUntil != 0 && state.ejectedUntil <= now) {
+                state.ejectedUntil = 0;
+                state.returnedAt = now;
+                changed = true;
+                log.info("upstream {} returned from ejection", entry.getKey());
+            }
+            if (state.ejectedUntil == 0 && state.ejectionCount > 0 && now - state.returnedAt > maxEjectionMillis) {
+                state.ejectionCount = 0;
+            }
+            if (now - state.evaluatedAt >= intervalMillis) {
+                long requests = state.stats.getRequests();
+                long failures = state.stats.getFailures();
+                final long requestDelta = requests - state.evaluatedRequests;
+                final long failureDelta = failures - state.evaluatedFailures;
+                state.evaluatedAt = now;
+                state.evaluatedRequests = requests;
+                state.evaluatedFailures = failures;
+                if (requestDelta >= minRequests && requestDelta > 0 && (double) failureDelta / requestDelta >= errorRate) {
+                    rateOutliers.add(entry.getKey());
+                }
+            }
+            if (state.ejectedUntil == 0 && state.ejectionCount == 0 && !configured(upstreamMap, entry.getKey())) {
+                stateMap.remove(entry.getKey());
+            }
+        }
+        if (changed) {
+            onChange.run();
+        }
+        rateOutliers.forEach(upstreamUrl -> eject(upstreamUrl, now));
+    }
+
+    synchronized boolean eject(final String upstreamUrl, final long now) {
+        OutlierState state = stateMap.computeIfAbsent(upstreamUrl, key -> new OutlierState(UpstreamStatsManager.getInstance().obtain(key), now));
+        if (state.ejectedUntil > now) {
+            return false;
+        }
+        List<String> selectorIds = new ArrayList<>();
+        for (Map.Entry<String, List<DivideUpstream>> entry : upstreamSupplier.get().entrySet()) {
+            if (!contains(entry.getValue(), upstreamUrl)) {
+                continue;
+            }
+            // an upstream the health checker already took out serves no request, only the healthy ones are capped
+            List<DivideUpstream> healthyList = entry.getValue().stream().filter(healthy).collect(Collectors.toList());
+            if (contains(healthyList, upstreamUrl)) {
+                long ejected = healthyList.stream().filter(upstream -> isEjected(upstream.getUpstreamUrl(), now)).count();
+                int cap = Math.max(1, healthyList.size() * maxEjectionPercent / 100);
+                if (ejected + 1 > cap || ejected + 1 >= healthyList.size()) {
+                    return false;
+                }
+            }
+            selectorIds.add(entry.getKey());
+        }
+        if (selectorIds.isEmpty()) {
+            return false;
+        }
+        long duration = Math.min(baseEjectionMillis << Math.min(state.ejectionCount, 30), maxEjectionMillis);
+        state.ejectionCount++;
+        state.ejectedUntil = now + duration;
+        state.stats.resetConsecutiveFailures();
+        log.warn("upstream {} ejected for {} ms, ejection count {}", upstreamUrl, duration, state.ejectionCount);
+        METRICS.ensureRegistered();
+        selectorIds.forEach(selectorId -> MetricsReporter.counterIncrement(LabelNames.UPSTREAM_EJECTION_TOTAL, new String[]{selectorId}));
+        onChange.run();
+        return true;
+    }
+
+    private static boolean configured(final Map<String, List<DivideUpstream>> upstreamMap, final String upstreamUrl) {
+        return upstreamMap.values().stream().anyMatch(upstreamList -> contains(upstreamList, upstreamUrl));
+    }
+
+    private static boolean contains(final List<DivideUpstream> upstreamList, final String upstreamUrl) {
+        return upstreamList.stream().anyMatch(upstream -> upstreamUrl.equals(upstream.getUpstreamUrl()));
+    }
+
+    /**
+     * The outlier state of one upstream.
+     */
+    private static final class OutlierState {
+
+        private final UpstreamStats stats;
+
+        private volatile long ejectedUntil;
+
+        private volatile int ejectionCount;
+
+        private long returnedAt;
+
+        private long evaluatedAt;
+
+        private long evaluatedRequests;
+
+        private long evaluatedFailures;
+
+        OutlierState(final UpstreamStats stats, final long now) {
+            this.stats = stats;
+            this.evaluatedAt = now;
+            this.evaluatedRequests = stats.getRequests();
+            this.evaluatedFailures = stats.getFailures();
+        }
+    }
+}
@@ -144,6 +144,11 @@ public class WebSocketPlugin extends AbstractShenyuPlugin {
         return !Objects.equals(Objects.requireNonNull(body).getRpcType(), RpcTypeEnum.WEB_SOCKET.getName());
     }
 
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.WEB_SOCKET;
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.WEB_SOCKET.getCode();
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.hash;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The type Hash ring test.
+ */
+public final class HashRingTest {
+
+    @Test
+    public void testSelectSameAsTreeMap() {
+        List<DivideUpstream> upstreamList = IntStream.range(0, 10)
+                .mapToObj(i -> DivideUpstream.builder().upstreamUrl("divide-upstream-" + i).build())
+                .collect(Collectors.toList());
+        for (HashAlgorithm algorithm : HashAlgorithm.values()) {
+            for (int virtualNodes : new int[]{1, 5, 160}) {
+                NavigableMap<Long, DivideUpstream> treeMap = new TreeMap<>();
+                for (DivideUpstream upstream : upstreamList) {
+                    for (int i = 0; i < virtualNodes; i++) {
+                        treeMap.put(algorithm.hash("SOUL-" + upstream.getUpstreamUrl() + "-HASH-" + i), upstream);
+                    }
+                }
+                HashRing hashRing = HashRing.build(upstreamList, virtualNodes, algorithm);
+                Assert.assertEquals(treeMap.size(), hashRing.size());
+                for (int i = 0; i < 1000; i++) {
+                    String ip = "192.168." + (i / 256) + "." + (i % 256);
+                    SortedMap<Long, DivideUpstream> tailMap = treeMap.tailMap(algorithm.hash(ip));
+                    DivideUpstream expected = tailMap.isEmpty() ? treeMap.firstEntry().getValue() : tailMap.get(tailMap.firstKey());
+                    Assert.assertSame(ip, expected, hashRing.select(ip));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAcquireByName() {
+        Assert.assertEquals(HashAlgorithm.MD5, HashAlgorithm.acquireByName("md5"));
+        Assert.assertEquals(HashAlgorithm.MURMUR3, HashAlgorithm.acquireByName("MURMUR3"));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.base.stats.UpstreamStats;
+import org.apache.shenyu.plugin.base.stats.UpstreamStatsManager;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The type least active balance test.
+ */
+public final class LeastActiveLoadBalanceTest {
+
+    @Test
+    public void leastActiveLoadBalanceTest() {
+        List<DivideUpstream> upstreamList = Stream.of(1, 2, 3)
+                .map(index -> DivideUpstream.builder().upstreamUrl("least-active-upstream-" + index).weight(50).build())
+                .collect(Collectors.toList());
+        UpstreamStats busy = UpstreamStatsManager.getInstance().obtain("least-active-upstream-1");
+        UpstreamStats lessBusy = UpstreamStatsManager.getInstance().obtain("least-active-upstream-3");
+        final long busyStart = busy.begin();
+        final long busyStart2 = busy.begin();
+        final long lessBusyStart = lessBusy.begin();
+        final LeastActiveLoadBalance leastActiveLoadBalance = new LeastActiveLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("least-active-upstream-2", leastActiveLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        }
+        UpstreamStats idle = UpstreamStatsManager.getInstance().obtain("least-active-upstream-2");
+        final long idleStart = idle.begin();
+        final long idleStart2 = idle.begin();
+        Assert.assertEquals("least-active-upstream-3", leastActiveLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        busy.end(busyStart, true);
+        busy.end(busyStart2, true);
+        lessBusy.end(lessBusyStart, true);
+        idle.end(idleStart, true);
+        idle.end(idleStart2, true);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.base.stats.UpstreamStats;
+import org.apache.shenyu.plugin.base.stats.UpstreamStatsManager;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The type power of two choices balance test.
+ */
+public final class P2cLoadBalanceTest {
+
+    @Test
+    public void p2cLoadBalanceTest() {
+        List<DivideUpstream> upstreamList = Stream.of(1, 2)
+                .map(index -> DivideUpstream.builder().upstreamUrl("p2c-upstream-" + index).weight(50).build())
+                .collect(Collectors.toList());
+        UpstreamStats busy = UpstreamStatsManager.getInstance().obtain("p2c-upstream-1");
+        long start = busy.begin();
+        final P2cLoadBalance p2cLoadBalance = new P2cLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("p2c-upstream-2", p2cLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        }
+        busy.end(start, true);
+    }
+
+    @Test
+    public void p2cLoadBalanceWeightTest() {
+        List<DivideUpstream> upstreamList = Stream.of(10, 100)
+                .map(weight -> DivideUpstream.builder().upstreamUrl("p2c-weight-upstream-" + weight).weight(weight).build())
+                .collect(Collectors.toList());
+        final P2cLoadBalance p2cLoadBalance = new P2cLoadBalance();
+        Assert.assertEquals("p2c-weight-upstream-100", p2cLoadBalance.select(upstreamList, "").getUpstreamUrl());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.base.stats.UpstreamStats;
+import org.apache.shenyu.plugin.base.stats.UpstreamStatsManager;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The type peak ewma balance test.
+ */
+public final class PeakEwmaLoadBalanceTest {
+
+    @Test
+    public void peakEwmaLoadBalanceTest() {
+        List<DivideUpstream> upstreamList = Stream.of(1, 2, 3)
+                .map(index -> DivideUpstream.builder().upstreamUrl("peak-ewma-upstream-" + index).weight(50).build())
+                .collect(Collectors.toList());
+        observe("peak-ewma-upstream-1", Duration.ofMillis(500));
+        observe("peak-ewma-upstream-2", Duration.ofMillis(10));
+        observe("peak-ewma-upstream-3", Duration.ofMillis(200));
+        final PeakEwmaLoadBalance peakEwmaLoadBalance = new PeakEwmaLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("peak-ewma-upstream-2", peakEwmaLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        }
+    }
+
+    private static void observe(final String upstreamUrl, final Duration responseTime) {
+        UpstreamStats stats = UpstreamStatsManager.getInstance().obtain(upstreamUrl);
+        stats.end(stats.begin() - responseTime.toNanos(), true);
+    }
+}
@@ -26,6 +26,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -73,6 +74,16 @@ public final class UpstreamCacheManagerTest {
         Assert.assertNull(result);
     }
 
+    /**
+     * Hash ring cached per upstream list test.
+     */
+    @Test
+    public void obtainHashRingTest() {
+        List<DivideUpstream> result = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId("mock");
+        Assert.assertSame(UpstreamCacheManager.getInstance().obtainHashRing(result), UpstreamCacheManager.getInstance().obtainHashRing(result));
+        Assert.assertNotSame(UpstreamCacheManager.getInstance().obtainHashRing(result), UpstreamCacheManager.getInstance().obtainHashRing(new ArrayList<>(result)));
+    }
+
     /**
      * Submit test.
      */
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.health;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The type upstream health checker test.
+ */
+public final class UpstreamHealthCheckerTest {
+
+    private DisposableServer server;
+
+    @Before
+    public void setUp() {
+        server = HttpServer.create().host("127.0.0.1").port(0)
+                .route(routes -> routes.get("/health", (request, response) -> response.status(HttpResponseStatus.OK).send())
+                        .get("/unhealthy", (request, response) -> response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send()))
+                .bindNow();
+    }
+
+    @After
+    public void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    public void testTcpCheck() throws IOException {
+        DivideUpstream alive = DivideUpstream.builder().upstreamUrl("127.0.0.1:" + server.port()).build();
+        DivideUpstream dead = DivideUpstream.builder().upstreamUrl("127.0.0.1:" + unusedPort()).build();
+        List<DivideUpstream> upstreams = Arrays.asList(alive, dead);
+        UpstreamHealthChecker checker = new UpstreamHealthChecker(0, 1000, 2, 1, 2, "", "200-399");
+        Assert.assertFalse(checker.check(upstreams).block());
+        Assert.assertTrue(checker.isHealthy(dead));
+        Assert.assertTrue(checker.check(upstreams).block());
+        Assert.assertTrue(checker.isHealthy(alive));
+        Assert.assertFalse(checker.isHealthy(dead));
+        Assert.assertFalse(dead.isStatus());
+    }
+
+    @Test
+    public void testMalformedAndIpv6Upstream() throws IOException {
+        DivideUpstream alive = DivideUpstream.builder().upstreamUrl("127.0.0.1:" + server.port()).build();
+        DivideUpstream malformed = DivideUpstream.builder().upstreamUrl("127.0.0.1:port").build();
+        DivideUpstream ipv6 = DivideUpstream.builder().upstreamUrl("[::1]:" + unusedPort()).build();
+        List<DivideUpstream> upstreams = Arrays.asList(malformed, ipv6, alive);
+        UpstreamHealthChecker checker = new UpstreamHealthChecker(0, 1000, 3, 1, 2, "", "200-399");
+        Assert.assertFalse(checker.check(upstreams).block());
+        Assert.assertTrue(checker.check(upstreams).block());
+        Assert.assertFalse(checker.isHealthy(malformed));
+        Assert.assertFalse(checker.isHealthy(ipv6));
+        Assert.assertTrue(checker.isHealthy(alive));
+    }
+
+    @Test
+    public void testHttpCheck() {
+        DivideUpstream upstream = DivideUpstream.builder().upstreamUrl("127.0.0.1:" + server.port()).build();
+        List<DivideUpstream> upstreams = Collections.singletonList(upstream);
+        UpstreamHealthChecker unhealthyChecker = new UpstreamHealthChecker(0, 1000, 2, 1, 1, "/unhealthy", "200-399");
+        Assert.assertTrue(unhealthyChecker.check(upstreams).block());
+        Assert.assertFalse(unhealthyChecker.isHealthy(upstream));
+        UpstreamHealthChecker healthyChecker = new UpstreamHealthChecker(0, 1000, 2, 1, 1, "/health", "200,204");
+        Assert.assertFalse(healthyChecker.check(upstreams).block());
+        Assert.assertTrue(healthyChecker.isHealthy(upstream));
+    }
+
+    @Test
+    public void testRecoverAfterHealthyThreshold() throws IOException {
+        int port = unusedPort();
+        DivideUpstream upstream = DivideUpstream.builder().upstreamUrl("127.0.0.1:" + port).build();
+        List<DivideUpstream> upstreams = Collections.singletonList(upstream);
+        UpstreamHealthChecker checker = new UpstreamHealthChecker(0, 1000, 2, 2, 1, "", "200-399");
+        Assert.assertTrue(checker.check(upstreams).block());
+        Assert.assertFalse(checker.isHealthy(upstream));
+        DisposableServer recovered = HttpServer.create().host("127.0.0.1").port(port).bindNow();
+        try {
+            Assert.assertFalse(checker.check(upstreams).block());
+            Assert.assertFalse(checker.isHealthy(upstream));
+            Assert.assertTrue(checker.check(upstreams).block());
+            Assert.assertTrue(checker.isHealthy(upstream));
+            Assert.assertTrue(upstream.isStatus());
+            Assert.assertTrue(upstream.getTimestamp() > 0);
+        } finally {
+            recovered.disposeNow();
+        }
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
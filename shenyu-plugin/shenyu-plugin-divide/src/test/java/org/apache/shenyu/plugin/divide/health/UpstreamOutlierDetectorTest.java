@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.health;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.base.stats.UpstreamStats;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type upstream outlier detector test.
+ */
+public final class UpstreamOutlierDetectorTest {
+
+    private final AtomicInteger changes = new AtomicInteger();
+
+    private Map<String, List<DivideUpstream>> upstreamMap;
+
+    @Before
+    public void setUp() {
+        List<DivideUpstream> upstreams = Arrays.asList(upstream("upstream-0"), upstream("upstream-1"), upstream("upstream-2"), upstream("upstream-3"));
+        upstreamMap = Collections.singletonMap("selector", upstreams);
+    }
+
+    @Test
+    public void testConsecutiveErrors() {
+        UpstreamOutlierDetector detector = new UpstreamOutlierDetector(3, 1, Long.MAX_VALUE, 10000, 1000, 8000, 50, () -> upstreamMap, upstream -> true, changes::incrementAndGet);
+        UpstreamStats stats = new UpstreamStats();
+        fail(detector, "upstream-0", stats, 2);
+        Assert.assertFalse(detector.isEjected(upstream("upstream-0")));
+        fail(detector, "upstream-0", stats, 1);
+        Assert.assertTrue(detector.isEjected(upstream("upstream-0")));
+        Assert.assertEquals(0, stats.getConsecutiveFailures());
+        Assert.assertEquals(1, changes.get());
+    }
+
+    @Test
+    public void testExponentialEjection() {
+        UpstreamOutlierDetector detector = new UpstreamOutlierDetector(1, 1, Long.MAX_VALUE, 10000, 1000, 3000, 50, () -> upstreamMap, upstream -> true, changes::incrementAndGet);
+        Assert.assertTrue(detector.eject("upstream-0", 0));
+        Assert.assertTrue(detector.isEjected("upstream-0", 999));
+        detector.sweep(1000);
+        Assert.assertFalse(detector.isEjected("upstream-0", 1000));
+        Assert.assertTrue(detector.eject("upstream-0", 1000));
+        Assert.assertTrue(detector.isEjected("upstream-0", 2999));
+        Assert.assertFalse(detector.isEjected("upstream-0", 3000));
+        detector.sweep(3000);
+        Assert.assertTrue(detector.eject("upstream-0", 3000));
+        Assert.assertTrue(detector.isEjected("upstream-0", 5999));
+        Assert.assertFalse(detector.isEjected("upstream-0", 6000));
+        detector.sweep(6000);
+        // healthy for longer than the max ejection time, the ejection count is forgotten
+        detector.sweep(9001);
+        Assert.assertTrue(detector.eject("upstream-0", 9001));
+        Assert.assertFalse(detector.isEjected("upstream-0", 10001));
+        Assert.assertEquals(7, changes.get());
+    }
+
+    @Test
+    public void testMaxEjectionPercent() {
+        UpstreamOutlierDetector detector = new UpstreamOutlierDetector(1, 1, Long.MAX_VALUE, 10000, 1000, 8000, 50, () -> upstreamMap, upstream -> true, changes::incrementAndGet);
+        Assert.assertTrue(detector.eject("upstream-0", 0));
+        Assert.assertTrue(detector.eject("upstream-1", 0));
+        Assert.assertFalse(detector.eject("upstream-2", 0));
+        Assert.assertFalse(detector.isEjected("upstream-2", 0));
+        Assert.assertFalse(detector.eject("unknown", 0));
+        DivideUpstream single = upstream("single");
+        upstreamMap = Collections.singletonMap("single", Collections.singletonList(single));
+        Assert.assertFalse(detector.eject("single", 0));
+    }
+
+    @Test
+    public void testMaxEjectionPercentOfHealthy() {
+        UpstreamOutlierDetector detector = new UpstreamOutlierDetector(1, 1, Long.MAX_VALUE, 10000, 1000, 8000, 50, () -> upstreamMap,
+            upstream -> !"upstream-3".equals(upstream.getUpstreamUrl()), changes::incrementAndGet);
+        Assert.assertTrue(detector.eject("upstream-0", 0));
+        Assert.assertFalse(detector.eject("upstream-1", 0));
+        Assert.assertTrue(detector.eject("upstream-3", 0));
+    }
+
+    @Test
+    public void testErrorRate() {
+        UpstreamOutlierDetector detector = new UpstreamOutlierDetector(Integer.MAX_VALUE, 0.5, 4, 0, 1000, 8000, 50, () -> upstreamMap, upstream -> true, changes::incrementAndGet);
+        UpstreamStats stats = new UpstreamStats();
+        fail(detector, "upstream-0", stats, 1);
+        final long now = System.currentTimeMillis();
+        stats.end(stats.begin(), true);
+        stats.end(stats.begin(), true);
+        detector.sweep(now + 1);
+        Assert.assertFalse(detector.isEjected("upstream-0", now + 1));
+        fail(detector, "upstream-0", stats, 2);
+        stats.end(stats.begin(), true);
+        detector.sweep(now + 2);
+        Assert.assertFalse(detector.isEjected("upstream-0", now + 2));
+        fail(detector, "upstream-0", stats, 3);
+        stats.end(stats.begin(), true);
+        detector.sweep(now + 3);
+        Assert.assertTrue(detector.isEjected("upstream-0", now + 3));
+    }
+
+    private static void fail(final UpstreamOutlierDetector detector, final String upstreamUrl, final UpstreamStats stats, final int times) {
+        for (int i = 0; i < times; i++) {
+            stats.end(stats.begin(), false);
+            detector.onResult(upstreamUrl, stats, false);
+        }
+    }
+
+    private static DivideUpstream upstream(final String upstreamUrl) {
+        return DivideUpstream.builder().upstreamUrl(upstreamUrl).build();
+    }
+}
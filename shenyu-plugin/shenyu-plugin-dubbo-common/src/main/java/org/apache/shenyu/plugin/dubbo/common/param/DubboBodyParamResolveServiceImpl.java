@@ -17,7 +17,10 @@
 
 package org.apache.shenyu.plugin.dubbo.common.param;
 
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.constant.DubboParamConstants;
+import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.plugin.api.param.BodyParamResolveService;
 import org.apache.shenyu.plugin.api.utils.BodyParamUtils;
 
@@ -30,4 +33,16 @@ public class DubboBodyParamResolveServiceImpl implements BodyParamResolveService
     public Pair<String[], Object[]> buildParameter(final String body, final String parameterTypes) {
         return BodyParamUtils.buildParameters(body, parameterTypes);
     }
+
+    @Override
+    public Pair<String[], Object[]> buildParameter(final String body, final String parameterTypes, final String genericSerialization) {
+        if (!DubboParamConstants.GENERIC_SERIALIZATION_PROTOBUF_JSON.equals(genericSerialization)) {
+            return buildParameter(body, parameterTypes);
+        }
+        // the provider reads its one protobuf message straight from the json of the body, no maps are built
+        if (parameterTypes.contains(",") || parameterTypes.startsWith("{")) {
+            throw new ShenyuException("the generic serialization " + genericSerialization + " only supports one parameter");
+        }
+        return new ImmutablePair<>(new String[]{parameterTypes}, new Object[]{body});
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.dubbo.common.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.api.utils.BodyParamUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The body of one dubbo generic call decoded into its parameters, an order bean, its item ids and a remark.
+ * Run with {@code -prof gc} for the bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BodyParamBenchmark {
+
+    private static final String BODY = "{\"order\":{\"id\":100,\"name\":\"shenyu\",\"price\":12.5,\"paid\":true,"
+            + "\"address\":{\"city\":\"Hangzhou\",\"street\":\"Wensan Road\"},\"tags\":[\"fast\",\"gift\"]},"
+            + "\"itemIds\":[1,2,3,4,5,6,7,8],\"remark\":\"deliver before noon\"}";
+
+    private static final String PARAMETER_TYPES = "org.apache.shenyu.dubbo.Order,java.util.List,java.lang.String";
+
+    /**
+     * The body parsed into a tree, the tree of every nested value printed and parsed again, as before.
+     *
+     * @param blackhole the blackhole
+     */
+    @Benchmark
+    public void tree(final Blackhole blackhole) {
+        Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(BODY);
+        List<String> paramNameList = new ArrayList<>(paramMap.keySet());
+        List<String> paramTypeList = Arrays.asList(StringUtils.split(PARAMETER_TYPES, ","));
+        blackhole.consume(paramTypeList.toArray(new String[0]));
+        paramMap = GsonUtils.getInstance().toObjectMap(BODY);
+        final Map<String, Object> values = paramMap;
+        blackhole.consume(paramNameList.stream().map(key -> {
+            Object obj = values.get(key);
+            if (obj instanceof JsonObject) {
+                return GsonUtils.getInstance().convertToMap(obj.toString());
+            } else if (obj instanceof JsonArray) {
+                return GsonUtils.getInstance().fromList(obj.toString(), Object.class);
+            }
+            return obj;
+        }).toArray());
+    }
+
+    /**
+     * The body read once by the streaming decoder, the parameter types taken from the cache.
+     *
+     * @param blackhole the blackhole
+     */
+    @Benchmark
+    public void stream(final Blackhole blackhole) {
+        Pair<String[], Object[]> pair = BodyParamUtils.buildParameters(BODY, PARAMETER_TYPES);
+        blackhole.consume(pair.getLeft());
+        blackhole.consume(pair.getRight());
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BodyParamBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+}
@@ -18,16 +18,23 @@
 package org.apache.shenyu.plugin.dubbo.common.param;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.constant.DubboParamConstants;
+import org.apache.shenyu.common.exception.ShenyuException;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -76,5 +83,62 @@ public class DubboBodyParamResolveServiceTest {
         assertNull(idList1.get(0));
         assertNull(idList1.get(1));
     }
-}
 
+    @Test
+    public void testBuildParameterWithMultiTypes() {
+        String body = "{\"id\":100,\"price\":12.5,\"name\":\"shenyu\",\"paid\":true,\"ids\":[1,2],"
+                + "\"address\":{\"zip\":310000,\"tags\":[1,{\"a\":\"b\"}],\"extra\":\"{\\\"k\\\":1}\"}}";
+        String parameterTypes = "java.lang.Long,java.lang.Double,java.lang.String,java.lang.Boolean,java.util.List,java.util.Map";
+        Pair<String[], Object[]> pair = impl.buildParameter(body, parameterTypes);
+        assertThat(pair.getLeft(), is(new String[]{"java.lang.Long", "java.lang.Double", "java.lang.String", "java.lang.Boolean", "java.util.List", "java.util.Map"}));
+        Object[] values = pair.getRight();
+        assertThat(values[0], is(100L));
+        assertThat(values[1], is(12.5D));
+        assertThat(values[2], is("shenyu"));
+        assertThat(values[3], is(true));
+        assertThat(values[4], is(Arrays.asList(1.0D, 2.0D)));
+        Map address = (Map) values[5];
+        assertThat(address.get("zip"), is(310000L));
+        assertThat(address.get("tags"), is(Arrays.asList("1", Collections.singletonMap("a", "b"))));
+        assertThat(address.get("extra"), is(Collections.singletonMap("k", 1L)));
+    }
+
+    @Test
+    public void testBuildParameterWithNestedArrayPrimitives() {
+        String body = "{\"u\":{\"flags\":[true,false,null,1],\"items\":[\"{\\\"k\\\":1}\",\"plain\"]},\"n\":1}";
+        Pair<String[], Object[]> pair = impl.buildParameter(body, "com.A,java.lang.Integer");
+        Map u = (Map) pair.getRight()[0];
+        assertThat(u.get("flags"), is(Arrays.asList("true", "false", null, "1")));
+        assertThat(u.get("items"), is(Arrays.asList(Collections.singletonMap("k", 1L), "plain")));
+        assertThat(pair.getRight()[1], is(1L));
+    }
+
+    @Test
+    public void testBuildParameterWithNameMapping() {
+        String body = "{\"ignored\":{\"a\":[1]},\"name\":\"shenyu\",\"id\":1}";
+        String parameterTypes = "{\"id\":\"java.lang.Integer\",\"name\":\"java.lang.String\",\"age\":\"java.lang.Integer\"}";
+        Pair<String[], Object[]> pair = impl.buildParameter(body, parameterTypes);
+        assertThat(pair.getLeft(), is(new String[]{"java.lang.Integer", "java.lang.String", "java.lang.Integer"}));
+        assertThat(pair.getRight()[0], is(1L));
+        assertThat(pair.getRight()[1], is("shenyu"));
+        assertNull(pair.getRight()[2]);
+        pair.getLeft()[0] = "java.lang.Long";
+        assertThat(impl.buildParameter(body, parameterTypes).getLeft()[0], is("java.lang.Integer"));
+    }
+
+    @Test
+    public void testBuildParameterWithProtobufJson() {
+        String body = "{\"id\":\"1\",\"name\":\"shenyu\"}";
+        String parameterTypes = "org.apache.shenyu.test.dubbo.api.entity.StudentRequest";
+        Pair<String[], Object[]> pair = impl.buildParameter(body, parameterTypes, DubboParamConstants.GENERIC_SERIALIZATION_PROTOBUF_JSON);
+        assertArrayEquals(new String[]{parameterTypes}, pair.getLeft());
+        assertSame(body, pair.getRight()[0]);
+        pair = impl.buildParameter(body, parameterTypes, "true");
+        assertThat(pair.getRight()[0], instanceOf(Map.class));
+    }
+
+    @Test(expected = ShenyuException.class)
+    public void testBuildParameterWithProtobufJsonParameters() {
+        impl.buildParameter("{\"id\":1,\"name\":\"shenyu\"}", "java.lang.Integer,java.lang.String", DubboParamConstants.GENERIC_SERIALIZATION_PROTOBUF_JSON);
+    }
+}
@@ -17,9 +17,10 @@
 
 package org.apache.shenyu.plugin.global.cache;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.MetaData;
-import org.apache.shenyu.common.utils.PathMatchUtils;
 
 import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
@@ -36,6 +37,15 @@ public final class MetaDataCache {
      */
     private static final ConcurrentMap<String, MetaData> META_DATA_MAP = Maps.newConcurrentMap();
     
+    private static final MetaDataPathIndex PATH_INDEX = new MetaDataPathIndex();
+    
+    private static final long MISS_CACHE_MAX_SIZE = 10000;
+    
+    /**
+     * The request paths no meta data matches, replaced by an empty cache on every change of the meta data.
+     */
+    private static volatile Cache<String, Boolean> missCache = newMissCache();
+    
     private MetaDataCache() {
     }
     
@@ -54,7 +64,10 @@ public final class MetaDataCache {
      * @param data the data
      */
     public void cache(final MetaData data) {
-        META_DATA_MAP.put(data.getPath(), data);
+        if (Objects.isNull(META_DATA_MAP.put(data.getPath(), data))) {
+            PATH_INDEX.add(data.getPath());
+            missCache = newMissCache();
+        }
     }
     
     /**
@@ -63,7 +76,10 @@ public final class MetaDataCache {
      * @param data the data
      */
     public void remove(final MetaData data) {
-        META_DATA_MAP.remove(data.getPath());
+        if (Objects.nonNull(META_DATA_MAP.remove(data.getPath()))) {
+            PATH_INDEX.remove(data.getPath());
+            missCache = newMissCache();
+        }
     }
     
     /**
@@ -74,10 +90,23 @@ public final class MetaDataCache {
      */
     public MetaData obtain(final String path) {
         MetaData metaData = META_DATA_MAP.get(path);
+        if (Objects.nonNull(metaData)) {
+            return metaData;
+        }
+        // a miss recorded while the meta data changes goes into the replaced cache and is dropped with it
+        Cache<String, Boolean> misses = missCache;
+        if (Objects.nonNull(misses.getIfPresent(path))) {
+            return null;
+        }
+        String key = PATH_INDEX.find(path);
+        metaData = Objects.isNull(key) ? null : META_DATA_MAP.get(key);
         if (Objects.isNull(metaData)) {
-            String key = META_DATA_MAP.keySet().stream().filter(k -> PathMatchUtils.match(k, path)).findFirst().orElse("");
-            return META_DATA_MAP.get(key);
+            misses.put(path, Boolean.TRUE);
         }
         return metaData;
     }
+    
+    private static Cache<String, Boolean> newMissCache() {
+        return CacheBuilder.newBuilder().maximumSize(MISS_CACHE_MAX_SIZE).build();
+    }
 }
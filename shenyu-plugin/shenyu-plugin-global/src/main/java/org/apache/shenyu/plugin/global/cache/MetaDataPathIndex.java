@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.global.cache;
+
+import com.google.common.base.Splitter;
+import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The segment trie of the meta data paths, answering which registered path matches a request path.
+ *
+ * <p>Every ant pattern of a registered path is split on {@code /} into segments: literal segments are
+ * children looked up by name, segments holding {@code *}, {@code ?} or <code>{</code> are wildcard children
+ * matched one segment at a time, and {@code **} is a child which consumes any number of segments.
+ * A lookup walks the request path once per candidate branch, and a candidate is only returned after
+ * {@link PathMatchUtils#match(String, String)} accepts it, so the answer is always a path the linear scan could return.
+ *
+ * <p>Writes are serialized, reads take no lock and see each insert or remove either fully applied per node or not at all.
+ */
+final class MetaDataPathIndex {
+
+    private static final Splitter PATTERN_SPLITTER = Splitter.on(",").omitEmptyStrings().trimResults();
+
+    private static final String ANY_DEPTH = "**";
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final Node root = new Node();
+
+    /**
+     * Index the path.
+     *
+     * @param path the registered path, an ant pattern or a comma separated list of them
+     */
+    synchronized void add(final String path) {
+        for (String pattern : PATTERN_SPLITTER.split(path)) {
+            Node node = root;
+            for (String segment : segments(pattern)) {
+                node = node.child(segment);
+            }
+            node.paths.add(path);
+        }
+    }
+
+    /**
+     * Remove the path from the index, dropping the nodes left empty.
+     *
+     * @param path the registered path
+     */
+    synchronized void remove(final String path) {
+        for (String pattern : PATTERN_SPLITTER.split(path)) {
+            prune(root, segments(pattern), 0, path);
+        }
+    }
+
+    /**
+     * Find a registered path matching the request path.
+     *
+     * @param path the request path
+     * @return the registered path, or null
+     */
+    String find(final String path) {
+        return find(root, segments(path), 0, path);
+    }
+
+    private static String find(final Node node, final String[] segments, final int index, final String path) {
+        if (index == segments.length) {
+            for (String candidate : node.paths) {
+                if (PathMatchUtils.match(candidate, path)) {
+                    return candidate;
+                }
+            }
+            Node anyDepth = node.anyDepth;
+            return Objects.isNull(anyDepth) ? null : find(anyDepth, segments, index, path);
+        }
+        String segment = segments[index];
+        Node literal = node.literals.get(segment);
+        if (Objects.nonNull(literal)) {
+            String found = find(literal, segments, index + 1, path);
+            if (Objects.nonNull(found)) {
+                return found;
+            }
+        }
+        for (Map.Entry<String, Node> entry : node.wildcards.entrySet()) {
+            if (MATCHER.match(entry.getKey(), segment)) {
+                String found = find(entry.getValue(), segments, index + 1, path);
+                if (Objects.nonNull(found)) {
+                    return found;
+                }
+            }
+        }
+        Node anyDepth = node.anyDepth;
+        if (Objects.nonNull(anyDepth)) {
+            for (int i = index; i <= segments.length; i++) {
+                String found = find(anyDepth, segments, i, path);
+                if (Objects.nonNull(found)) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean prune(final Node node, final String[] segments, final int index, final String path) {
+        if (index == segments.length) {
+            node.paths.remove(path);
+            return node.isEmpty();
+        }
+        String segment = segments[index];
+        Node child = node.find(segment);
+        if (Objects.nonNull(child) && prune(child, segments, index + 1, path)) {
+            node.drop(segment);
+        }
+        return node.isEmpty();
+    }
+
+    private static String[] segments(final String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int length = path.length();
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                segments.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    private static boolean isWildcard(final String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literals = new ConcurrentHashMap<>();
+
+        private final Map<String, Node> wildcards = new ConcurrentHashMap<>();
+
+        private final Set<String> paths = ConcurrentHashMap.newKeySet();
+
+        private volatile Node anyDepth;
+
+        private Node child(final String segment) {
+            if (ANY_DEPTH.equals(segment)) {
+                if (Objects.isNull(anyDepth)) {
+                    anyDepth = new Node();
+                }
+                return anyDepth;
+            }
+            return (isWildcard(segment) ? wildcards : literals).computeIfAbsent(segment, key -> new Node());
+        }
+
+        private Node find(final String segment) {
+            if (ANY_DEPTH.equals(segment)) {
+                return anyDepth;
+            }
+            return (isWildcard(segment) ? wildcards : literals).get(segment);
+        }
+
+        private void drop(final String segment) {
+            if (ANY_DEPTH.equals(segment)) {
+                anyDepth = null;
+            } else {
+                (isWildcard(segment) ? wildcards : literals).remove(segment);
+            }
+        }
+
+        private boolean isEmpty() {
+            return paths.isEmpty() && literals.isEmpty() && wildcards.isEmpty() && Objects.isNull(anyDepth);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.global.benchmark;
+
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.apache.shenyu.plugin.global.cache.MetaDataCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meta data lookup of a request path no path equals, by the linear pattern scan against the path index,
+ * for a request hitting a wildcard path and for a plain http request matching none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetaDataCacheBenchmark {
+
+    private static final String HIT = "/dubbo/service7/order/save";
+
+    private static final String MISS = "/http/order/findById";
+
+    @Param({"1000", "20000"})
+    private int pathCount;
+
+    private Map<String, MetaData> metaDataMap;
+
+    private List<MetaData> metaDataList;
+
+    /**
+     * Register the dubbo method paths, one service in a hundred registered by pattern.
+     */
+    @Setup
+    public void setUp() {
+        metaDataMap = new ConcurrentHashMap<>(pathCount);
+        metaDataList = new ArrayList<>(pathCount);
+        for (int i = 0; i < pathCount; i++) {
+            String path = i % 100 == 7 ? "/dubbo/service" + i + "/order/*" : "/dubbo/service" + i + "/method" + i;
+            MetaData metaData = MetaData.builder().path(path).build();
+            metaDataMap.put(path, metaData);
+            metaDataList.add(metaData);
+            MetaDataCache.getInstance().cache(metaData);
+        }
+    }
+
+    /**
+     * Remove the registered paths.
+     */
+    @TearDown
+    public void tearDown() {
+        metaDataList.forEach(MetaDataCache.getInstance()::remove);
+    }
+
+    /**
+     * Linear pattern scan for a wildcard path, as before.
+     *
+     * @return the meta data
+     */
+    @Benchmark
+    public MetaData scanHit() {
+        return scan(HIT);
+    }
+
+    /**
+     * Linear pattern scan for a path matching none, as before.
+     *
+     * @return the meta data
+     */
+    @Benchmark
+    public MetaData scanMiss() {
+        return scan(MISS);
+    }
+
+    /**
+     * Path index lookup for a wildcard path.
+     *
+     * @return the meta data
+     */
+    @Benchmark
+    public MetaData indexHit() {
+        return MetaDataCache.getInstance().obtain(HIT);
+    }
+
+    /**
+     * Path index lookup for a path matching none, answered by the miss cache after the first time.
+     *
+     * @return the meta data
+     */
+    @Benchmark
+    public MetaData indexMiss() {
+        return MetaDataCache.getInstance().obtain(MISS);
+    }
+
+    private MetaData scan(final String path) {
+        MetaData metaData = metaDataMap.get(path);
+        if (metaData == null) {
+            String key = metaDataMap.keySet().stream().filter(k -> PathMatchUtils.match(k, path)).findFirst().orElse("");
+            return metaDataMap.get(key);
+        }
+        return metaData;
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MetaDataCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -55,4 +55,14 @@ public final class MetaDataCacheTest {
         metaDataCache.remove(this.metaData);
         assertNull(metaDataCache.obtain("/home"));
     }
+
+    @Test
+    public void testObtainByPattern() {
+        MetaData pattern = MetaData.builder().path("/pattern/**").build();
+        assertNull(metaDataCache.obtain("/pattern/order/save"));
+        metaDataCache.cache(pattern);
+        assertEquals(metaDataCache.obtain("/pattern/order/save").getPath(), "/pattern/**");
+        metaDataCache.remove(pattern);
+        assertNull(metaDataCache.obtain("/pattern/order/save"));
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.global.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * The Test Case For MetaDataPathIndex.
+ */
+public final class MetaDataPathIndexTest {
+
+    private MetaDataPathIndex index;
+
+    @Before
+    public void setUp() {
+        index = new MetaDataPathIndex();
+        index.add("/dubbo/findById");
+        index.add("/dubbo/order/*");
+        index.add("/dubbo/user/{id}/detail");
+        index.add("/sofa/**");
+        index.add("/motan/**/query");
+        index.add("/tars/a?c, /tars/list/**");
+    }
+
+    @Test
+    public void testFindLiteral() {
+        assertEquals("/dubbo/findById", index.find("/dubbo/findById"));
+        assertNull(index.find("/dubbo/findByName"));
+        assertNull(index.find("/dubbo/findById/1"));
+    }
+
+    @Test
+    public void testFindWildcard() {
+        assertEquals("/dubbo/order/*", index.find("/dubbo/order/save"));
+        assertNull(index.find("/dubbo/order/save/1"));
+        assertEquals("/dubbo/user/{id}/detail", index.find("/dubbo/user/10/detail"));
+        assertEquals("/tars/a?c, /tars/list/**", index.find("/tars/abc"));
+        assertEquals("/tars/a?c, /tars/list/**", index.find("/tars/list/1/2"));
+        assertNull(index.find("/tars/abbc"));
+    }
+
+    @Test
+    public void testFindAnyDepth() {
+        assertEquals("/sofa/**", index.find("/sofa"));
+        assertEquals("/sofa/**", index.find("/sofa/a/b/c"));
+        assertEquals("/motan/**/query", index.find("/motan/query"));
+        assertEquals("/motan/**/query", index.find("/motan/a/b/query"));
+        assertNull(index.find("/motan/a/b/save"));
+    }
+
+    @Test
+    public void testRemove() {
+        index.remove("/dubbo/order/*");
+        assertNull(index.find("/dubbo/order/save"));
+        index.remove("/sofa/**");
+        assertNull(index.find("/sofa/a"));
+        index.remove("/tars/a?c, /tars/list/**");
+        assertNull(index.find("/tars/abc"));
+        assertNull(index.find("/tars/list/1"));
+        assertEquals("/motan/**/query", index.find("/motan/a/query"));
+        assertEquals("/dubbo/findById", index.find("/dubbo/findById"));
+    }
+}
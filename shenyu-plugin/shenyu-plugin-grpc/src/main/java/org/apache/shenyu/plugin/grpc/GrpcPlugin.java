@@ -19,7 +19,6 @@ package org.apache.shenyu.plugin.grpc;
 
 import io.grpc.CallOptions;
 import io.grpc.MethodDescriptor;
-import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
@@ -30,7 +29,6 @@ import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.ResultEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
-import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
@@ -38,14 +36,21 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.grpc.cache.GrpcClientCache;
+import org.apache.shenyu.plugin.grpc.cache.GrpcMethodCache;
 import org.apache.shenyu.plugin.grpc.client.ShenyuGrpcClient;
+import org.apache.shenyu.plugin.grpc.proto.BinaryMessages;
+import org.apache.shenyu.plugin.grpc.proto.GrpcMethod;
 import org.apache.shenyu.plugin.grpc.proto.ShenyuGrpcResponse;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayOutputStream;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -54,6 +59,8 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class GrpcPlugin extends AbstractShenyuPlugin {
 
+    private static final MediaType GRPC_CONTENT_TYPE = MediaType.valueOf("application/grpc");
+
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
         String param = exchange.getAttribute(Constants.PARAM_TRANSFORM);
@@ -67,7 +74,9 @@ public class GrpcPlugin extends AbstractShenyuPlugin {
             Object error = ShenyuResultWrap.error(ShenyuResultEnum.META_DATA_ERROR.getCode(), ShenyuResultEnum.META_DATA_ERROR.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
         }
-        if (StringUtils.isNoneBlank(metaData.getParameterTypes()) && StringUtils.isBlank(param)) {
+        MediaType contentType = exchange.getRequest().getHeaders().getContentType();
+        boolean binary = BinaryMessages.isBinary(contentType);
+        if (!binary && StringUtils.isNoneBlank(metaData.getParameterTypes()) && StringUtils.isBlank(param)) {
             exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
             Object error = ShenyuResultWrap.error(ShenyuResultEnum.GRPC_HAVE_BODY_PARAM.getCode(), ShenyuResultEnum.GRPC_HAVE_BODY_PARAM.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
@@ -78,14 +87,65 @@ public class GrpcPlugin extends AbstractShenyuPlugin {
             Object error = ShenyuResultWrap.error(ShenyuResultEnum.GRPC_CLIENT_NULL.getCode(), ShenyuResultEnum.GRPC_CLIENT_NULL.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
         }
-        GrpcExtInfo extInfo = GsonUtils.getGson().fromJson(metaData.getRpcExt(), GrpcExtInfo.class);
-        CallOptions callOptions = CallOptions.DEFAULT.withDeadlineAfter(extInfo.timeout, TimeUnit.MILLISECONDS);
-        CompletableFuture<ShenyuGrpcResponse> result = client.call(metaData, callOptions, param, extInfo.methodType);
-        return Mono.fromFuture(result.thenApply(ret -> {
+        GrpcMethod method = GrpcMethodCache.getInstance().obtain(metaData);
+        CallOptions callOptions = CallOptions.DEFAULT.withDeadlineAfter(method.getExtInfo().getTimeout(), TimeUnit.MILLISECONDS);
+        if (binary) {
+            return passThrough(exchange, chain, client, method, callOptions, contentType);
+        }
+        if (isStreaming(method)) {
+            // the response plugin subscribes to the stream and writes every message as it arrives
+            exchange.getAttributes().put(Constants.RPC_RESULT, client.stream(method.getJsonMethodDescriptor(), callOptions, param));
+            exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
+            return chain.execute(exchange);
+        }
+        Mono<ShenyuGrpcResponse> result = client.call(method.getJsonMethodDescriptor(), callOptions, param);
+        return result.doOnNext(ret -> {
             exchange.getAttributes().put(Constants.RPC_RESULT, ret.getResults());
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
-            return ret;
-        })).onErrorMap(ShenyuException::new).then(chain.execute(exchange));
+        }).onErrorMap(ShenyuException::new).then(chain.execute(exchange));
+    }
+
+    /**
+     * Forward the serialized messages of the body to the service itself and answer with its serialized messages,
+     * in the framing of the request. Streaming responses are always length prefixed, a protobuf body holding one message only.
+     */
+    private Mono<Void> passThrough(final ServerWebExchange exchange, final ShenyuPluginChain chain, final ShenyuGrpcClient client,
+                                   final GrpcMethod method, final CallOptions callOptions, final MediaType contentType) {
+        boolean streaming = isStreaming(method);
+        boolean framed = BinaryMessages.isFramed(contentType);
+        boolean responseFramed = framed || streaming;
+        return DataBufferUtils.join(exchange.getRequest().getBody())
+                .map(buffer -> {
+                    byte[] body = new byte[buffer.readableByteCount()];
+                    buffer.read(body);
+                    DataBufferUtils.release(buffer);
+                    return body;
+                })
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> {
+                    List<byte[]> requests = BinaryMessages.decode(body, framed);
+                    exchange.getResponse().getHeaders().setContentType(responseFramed && !framed ? GRPC_CONTENT_TYPE : contentType);
+                    Flux<byte[]> responses = client.streamBytes(method.getBytesMethodDescriptor(), callOptions, requests)
+                            .map(message -> BinaryMessages.encode(message, responseFramed));
+                    if (streaming) {
+                        exchange.getAttributes().put(Constants.RPC_RESULT, responses);
+                        exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
+                        return chain.execute(exchange);
+                    }
+                    return responses.collectList().doOnNext(messages -> {
+                        exchange.getAttributes().put(Constants.RPC_RESULT, concat(messages));
+                        exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
+                    }).onErrorMap(ShenyuException::new).then(chain.execute(exchange));
+                });
+    }
+
+    private static byte[] concat(final List<byte[]> messages) {
+        if (messages.size() == 1) {
+            return messages.get(0);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        messages.forEach(message -> out.write(message, 0, message.length));
+        return out.toByteArray();
     }
 
     /**
@@ -111,24 +171,22 @@ public class GrpcPlugin extends AbstractShenyuPlugin {
         return !Objects.equals(shenyuContext.getRpcType(), RpcTypeEnum.GRPC.getName());
     }
 
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.GRPC;
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.GRPC.getCode();
     }
 
-    private boolean checkMetaData(final MetaData metaData) {
-        return null != metaData && !StringUtils.isBlank(metaData.getMethodName()) && !StringUtils.isBlank(metaData.getServiceName());
+    private boolean isStreaming(final GrpcMethod method) {
+        MethodDescriptor.MethodType methodType = method.getExtInfo().getMethodType();
+        return methodType == MethodDescriptor.MethodType.SERVER_STREAMING || methodType == MethodDescriptor.MethodType.BIDI_STREAMING;
     }
 
-    /**
-     * The GrpcExt.
-     */
-    @Data
-    static class GrpcExtInfo {
-
-        private Integer timeout = 5000;
-
-        private MethodDescriptor.MethodType methodType;
-
+    private boolean checkMetaData(final MetaData metaData) {
+        return null != metaData && !StringUtils.isBlank(metaData.getMethodName()) && !StringUtils.isBlank(metaData.getServiceName());
     }
 }
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.cache;
+
+import com.google.common.collect.Maps;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.plugin.grpc.proto.GrpcMethod;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The grpc methods built from the meta data, by meta data path.
+ */
+public final class GrpcMethodCache {
+
+    private static final GrpcMethodCache INSTANCE = new GrpcMethodCache();
+
+    /**
+     * path -> GrpcMethod.
+     */
+    private final ConcurrentMap<String, GrpcMethod> methods = Maps.newConcurrentMap();
+
+    private GrpcMethodCache() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static GrpcMethodCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Obtain the method of the meta data, built again when the meta data changed since it was cached.
+     *
+     * @param metaData the meta data
+     * @return the grpc method
+     */
+    public GrpcMethod obtain(final MetaData metaData) {
+        GrpcMethod method = methods.get(metaData.getPath());
+        if (Objects.isNull(method) || !method.isBuiltFrom(metaData)) {
+            method = new GrpcMethod(metaData);
+            methods.put(metaData.getPath(), method);
+        }
+        return method;
+    }
+
+    /**
+     * Invalidate the method of the path.
+     *
+     * @param path the meta data path
+     */
+    public void invalidate(final String path) {
+        methods.remove(path);
+    }
+}
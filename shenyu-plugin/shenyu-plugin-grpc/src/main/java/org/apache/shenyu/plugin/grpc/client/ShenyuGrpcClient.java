@@ -25,24 +25,24 @@ import io.grpc.ManagedChannel;
 import io.grpc.MethodDescriptor;
 import io.grpc.stub.StreamObserver;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.plugin.grpc.proto.CompleteObserver;
-import org.apache.shenyu.plugin.grpc.proto.MessageWriter;
+import org.apache.shenyu.plugin.grpc.proto.CompositeStreamObserver;
 import org.apache.shenyu.plugin.grpc.proto.ShenyuGrpcCallRequest;
 import org.apache.shenyu.plugin.grpc.proto.ShenyuGrpcResponse;
-import org.apache.shenyu.plugin.grpc.proto.CompositeStreamObserver;
 import org.apache.shenyu.protocol.grpc.message.JsonMessage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.Closeable;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.Objects;
 
+import static io.grpc.stub.ClientCalls.asyncBidiStreamingCall;
+import static io.grpc.stub.ClientCalls.asyncClientStreamingCall;
 import static io.grpc.stub.ClientCalls.asyncServerStreamingCall;
 import static io.grpc.stub.ClientCalls.asyncUnaryCall;
-import static io.grpc.stub.ClientCalls.asyncClientStreamingCall;
-import static io.grpc.stub.ClientCalls.asyncBidiStreamingCall;
 
 /**
  * The shenyu grpc client.
@@ -57,89 +57,161 @@ public class ShenyuGrpcClient implements Closeable {
     }
 
     /**
-     * Grpc call.
+     * Grpc call, collecting every response message.
+     *
+     * <p>The rpc starts on subscription, the returned mono completes from the grpc callback thread
+     * and cancelling it cancels the rpc.
      *
-     * @param metaData     metadata
-     * @param callOptions  callOptions
-     * @param requestJsons requestJsons
-     * @param methodType methodType
-     * @return CompletableFuture future
+     * @param methodDescriptor the json method descriptor
+     * @param callOptions      callOptions
+     * @param requestJsons     requestJsons
+     * @return Mono the response
      */
-    public CompletableFuture<ShenyuGrpcResponse> call(final MetaData metaData,
-                                                      final CallOptions callOptions,
-                                                      final String requestJsons,
-                                                      final MethodDescriptor.MethodType methodType) {
-        List<DynamicMessage> jsonRequestList = JsonMessage.buildJsonMessageList(GsonUtils.getInstance().toObjectMap(requestJsons));
-        DynamicMessage jsonResponse = JsonMessage.buildJsonMessage();
-
-        MethodDescriptor<DynamicMessage, DynamicMessage> jsonMarshallerMethodDescriptor = JsonMessage.createJsonMarshallerMethodDescriptor(metaData.getServiceName(),
-                metaData.getMethodName(),
-                methodType,
-                jsonRequestList.get(0),
-                jsonResponse);
-
-        ShenyuGrpcResponse shenyuGrpcResponse = new ShenyuGrpcResponse();
-        StreamObserver<DynamicMessage> streamObserver = MessageWriter.newInstance(shenyuGrpcResponse);
-
-        ShenyuGrpcCallRequest callParams = ShenyuGrpcCallRequest.builder()
-                .methodDescriptor(jsonMarshallerMethodDescriptor)
-                .channel(channel)
-                .callOptions(callOptions)
-                .requests(jsonRequestList)
-                .responseObserver(streamObserver)
-                .build();
-        try {
-            this.invoke(callParams).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Caught exception while waiting for rpc :{ " + e.getMessage() + "}");
-        }
-        return CompletableFuture.completedFuture(shenyuGrpcResponse);
+    public Mono<ShenyuGrpcResponse> call(final MethodDescriptor<DynamicMessage, DynamicMessage> methodDescriptor,
+                                         final CallOptions callOptions,
+                                         final String requestJsons) {
+        return stream(methodDescriptor, callOptions, requestJsons)
+                .collectList()
+                .map(results -> {
+                    ShenyuGrpcResponse shenyuGrpcResponse = new ShenyuGrpcResponse();
+                    shenyuGrpcResponse.setResults(results);
+                    return shenyuGrpcResponse;
+                })
+                .onErrorMap(e -> new ShenyuException("Caught exception while waiting for rpc :{ " + e.getMessage() + "}"));
+    }
+
+    /**
+     * Grpc call, emitting the json of each response message as soon as it arrives.
+     *
+     * <p>The rpc starts on subscription and cancelling the subscription cancels the rpc.
+     *
+     * @param methodDescriptor the json method descriptor
+     * @param callOptions      callOptions
+     * @param requestJsons     requestJsons
+     * @return Flux the json of each response message
+     */
+    public Flux<String> stream(final MethodDescriptor<DynamicMessage, DynamicMessage> methodDescriptor,
+                               final CallOptions callOptions,
+                               final String requestJsons) {
+        return Flux.defer(() -> {
+            List<DynamicMessage> jsonRequestList = JsonMessage.buildJsonMessageList(GsonUtils.getInstance().toObjectMap(requestJsons));
+            return streamMessages(methodDescriptor, callOptions, jsonRequestList);
+        }).map(JsonMessage::getDataFromDynamicMessage);
+    }
+
+    /**
+     * Grpc call passing serialized protobuf messages through, emitting each response message as soon as it arrives.
+     *
+     * @param methodDescriptor the bytes method descriptor
+     * @param callOptions      callOptions
+     * @param requests         the serialized request messages
+     * @return Flux the serialized response messages
+     */
+    public Flux<byte[]> streamBytes(final MethodDescriptor<byte[], byte[]> methodDescriptor,
+                                    final CallOptions callOptions,
+                                    final List<byte[]> requests) {
+        return streamMessages(methodDescriptor, callOptions, requests);
     }
 
     /**
      * Grpc call.
      *
      * @param callParams callParams
+     * @param <T>        the message type
      * @return ListenableFuture future
      */
-    public ListenableFuture<Void> invoke(final ShenyuGrpcCallRequest callParams) {
-        MethodDescriptor.MethodType methodType = callParams.getMethodDescriptor().getType();
-        List<DynamicMessage> requestList = callParams.getRequests();
+    public <T> ListenableFuture<Void> invoke(final ShenyuGrpcCallRequest<T> callParams) {
+        CompleteObserver<T> doneObserver = new CompleteObserver<>();
+        if (Objects.isNull(start(callParams, doneObserver))) {
+            return null;
+        }
+        return doneObserver.getCompletionFuture();
+    }
+
+    @Override
+    public void close() {
+        this.channel.shutdown();
+    }
 
-        StreamObserver<DynamicMessage> responseObserver = callParams.getResponseObserver();
-        CompleteObserver<DynamicMessage> doneObserver = new CompleteObserver<>();
-        StreamObserver<DynamicMessage> compositeObserver = CompositeStreamObserver.of(responseObserver, doneObserver);
+    private <T> Flux<T> streamMessages(final MethodDescriptor<T, T> methodDescriptor,
+                                       final CallOptions callOptions,
+                                       final List<T> requests) {
+        return Flux.create(sink -> {
+            StreamObserver<T> responseObserver = new StreamObserver<T>() {
+                @Override
+                public void onNext(final T value) {
+                    sink.next(value);
+                }
+
+                @Override
+                public void onError(final Throwable t) {
+                    sink.error(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                    sink.complete();
+                }
+            };
+            ShenyuGrpcCallRequest<T> callParams = ShenyuGrpcCallRequest.<T>builder()
+                    .methodDescriptor(methodDescriptor)
+                    .channel(channel)
+                    .callOptions(callOptions)
+                    .requests(requests)
+                    .responseObserver(responseObserver)
+                    .build();
+            ClientCall<T, T> call = start(callParams, new CompleteObserver<>());
+            if (Objects.isNull(call)) {
+                sink.error(new ShenyuException("Unknown methodType:" + methodDescriptor.getType()));
+                return;
+            }
+            sink.onCancel(() -> call.cancel("The rpc is cancelled by the gateway", null));
+        });
+    }
 
-        StreamObserver<DynamicMessage> requestObserver;
+    /**
+     * Start the call, the done observer is told when the rpc terminates.
+     *
+     * @param callParams   callParams
+     * @param doneObserver doneObserver
+     * @param <T>          the message type
+     * @return the started call, or null for an unknown method type
+     */
+    private <T> ClientCall<T, T> start(final ShenyuGrpcCallRequest<T> callParams, final CompleteObserver<T> doneObserver) {
+        MethodDescriptor.MethodType methodType = callParams.getMethodDescriptor().getType();
+        List<T> requestList = callParams.getRequests();
+        StreamObserver<T> compositeObserver = CompositeStreamObserver.of(callParams.getResponseObserver(), doneObserver);
+
+        ClientCall<T, T> call;
+        StreamObserver<T> requestObserver;
         switch (methodType) {
             case UNARY:
-                asyncUnaryCall(createCall(callParams), requestList.get(0), compositeObserver);
-                return doneObserver.getCompletionFuture();
+                call = createCall(callParams);
+                asyncUnaryCall(call, requestList.get(0), compositeObserver);
+                return call;
             case SERVER_STREAMING:
-                asyncServerStreamingCall(createCall(callParams), requestList.get(0), compositeObserver);
-                return doneObserver.getCompletionFuture();
+                call = createCall(callParams);
+                asyncServerStreamingCall(call, requestList.get(0), compositeObserver);
+                return call;
             case CLIENT_STREAMING:
-                requestObserver = asyncClientStreamingCall(createCall(callParams), compositeObserver);
+                call = createCall(callParams);
+                requestObserver = asyncClientStreamingCall(call, compositeObserver);
                 requestList.forEach(requestObserver::onNext);
                 requestObserver.onCompleted();
-                return doneObserver.getCompletionFuture();
+                return call;
             case BIDI_STREAMING:
-                requestObserver = asyncBidiStreamingCall(createCall(callParams), compositeObserver);
+                call = createCall(callParams);
+                requestObserver = asyncBidiStreamingCall(call, compositeObserver);
                 requestList.forEach(requestObserver::onNext);
                 requestObserver.onCompleted();
-                return doneObserver.getCompletionFuture();
+                return call;
             default:
                 log.info("Unknown methodType:{}", methodType);
                 return null;
         }
     }
 
-    @Override
-    public void close() {
-        this.channel.shutdown();
-    }
-
-    private ClientCall<DynamicMessage, DynamicMessage> createCall(final ShenyuGrpcCallRequest callParams) {
+    private <T> ClientCall<T, T> createCall(final ShenyuGrpcCallRequest<T> callParams) {
         return callParams.getChannel().newCall(callParams.getMethodDescriptor(),
                 callParams.getCallOptions());
     }
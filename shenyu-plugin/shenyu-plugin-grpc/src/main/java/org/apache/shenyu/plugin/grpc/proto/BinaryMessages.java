@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.proto;
+
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The serialized protobuf messages of a request or response body passed through without json transcoding.
+ *
+ * <p>A protobuf body ({@code application/x-protobuf}, {@code application/protobuf}) is one message,
+ * a grpc body ({@code application/grpc}, {@code application/grpc+proto}) is a sequence of messages, each prefixed
+ * with the one byte compressed flag and the four bytes big endian length of the grpc wire format.
+ */
+public final class BinaryMessages {
+
+    private static final List<MediaType> PROTOBUF_TYPES = Arrays.asList(MediaType.valueOf("application/x-protobuf"), MediaType.valueOf("application/protobuf"));
+
+    private static final List<MediaType> GRPC_TYPES = Arrays.asList(MediaType.valueOf("application/grpc"), MediaType.valueOf("application/grpc+proto"));
+
+    private static final int PREFIX_LENGTH = 5;
+
+    private BinaryMessages() {
+    }
+
+    /**
+     * Whether the body of the content type is passed through as serialized messages.
+     *
+     * @param contentType the content type
+     * @return true for protobuf and grpc bodies
+     */
+    public static boolean isBinary(final MediaType contentType) {
+        return isFramed(contentType) || matches(PROTOBUF_TYPES, contentType);
+    }
+
+    /**
+     * Whether the body of the content type holds length prefixed messages.
+     *
+     * @param contentType the content type
+     * @return true for grpc bodies
+     */
+    public static boolean isFramed(final MediaType contentType) {
+        return matches(GRPC_TYPES, contentType);
+    }
+
+    /**
+     * Split the body into its messages.
+     *
+     * @param body   the body
+     * @param framed whether the messages are length prefixed
+     * @return the serialized messages
+     */
+    public static List<byte[]> decode(final byte[] body, final boolean framed) {
+        if (!framed) {
+            return Collections.singletonList(body);
+        }
+        List<byte[]> messages = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        while (buffer.hasRemaining()) {
+            if (buffer.remaining() < PREFIX_LENGTH) {
+                throw new ShenyuException("The grpc message prefix is truncated");
+            }
+            if (buffer.get() != 0) {
+                throw new ShenyuException("Compressed grpc messages are not supported");
+            }
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new ShenyuException("The grpc message is truncated");
+            }
+            byte[] message = new byte[length];
+            buffer.get(message);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    /**
+     * Encode one message of the body.
+     *
+     * @param message the serialized message
+     * @param framed  whether the message is length prefixed
+     * @return the bytes to write
+     */
+    public static byte[] encode(final byte[] message, final boolean framed) {
+        if (!framed) {
+            return message;
+        }
+        return ByteBuffer.allocate(PREFIX_LENGTH + message.length).put((byte) 0).putInt(message.length).put(message).array();
+    }
+
+    private static boolean matches(final List<MediaType> mediaTypes, final MediaType contentType) {
+        return Objects.nonNull(contentType) && mediaTypes.stream().anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(contentType));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.proto;
+
+import com.google.protobuf.DynamicMessage;
+import io.grpc.MethodDescriptor;
+import lombok.Getter;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.protocol.grpc.constant.GrpcConstants;
+import org.apache.shenyu.protocol.grpc.message.JsonMessage;
+
+import java.util.Objects;
+
+/**
+ * The method descriptors and the rpc ext of one grpc meta data, built once per meta data.
+ */
+@Getter
+public final class GrpcMethod {
+
+    private final String serviceName;
+
+    private final String methodName;
+
+    private final String rpcExt;
+
+    private final GrpcExtInfo extInfo;
+
+    /**
+     * The method of the json service the shenyu grpc client exposes, messages are transcoded from and to json.
+     */
+    private final MethodDescriptor<DynamicMessage, DynamicMessage> jsonMethodDescriptor;
+
+    /**
+     * The method of the service itself, messages are forwarded as serialized protobuf bytes.
+     */
+    private final MethodDescriptor<byte[], byte[]> bytesMethodDescriptor;
+
+    public GrpcMethod(final MetaData metaData) {
+        this.serviceName = metaData.getServiceName();
+        this.methodName = metaData.getMethodName();
+        this.rpcExt = metaData.getRpcExt();
+        GrpcExtInfo ext = GsonUtils.getGson().fromJson(rpcExt, GrpcExtInfo.class);
+        this.extInfo = Objects.isNull(ext) ? new GrpcExtInfo() : ext;
+        MethodDescriptor.MethodType methodType = Objects.isNull(extInfo.getMethodType()) ? MethodDescriptor.MethodType.UNKNOWN : extInfo.getMethodType();
+        DynamicMessageMarshaller jsonMarshaller = new DynamicMessageMarshaller(JsonMessage.buildJsonMessage().getDescriptorForType());
+        this.jsonMethodDescriptor = MethodDescriptor.<DynamicMessage, DynamicMessage>newBuilder()
+                .setType(methodType)
+                .setFullMethodName(MethodDescriptor.generateFullMethodName(serviceName + GrpcConstants.GRPC_JSON_SERVICE, methodName))
+                .setRequestMarshaller(jsonMarshaller)
+                .setResponseMarshaller(jsonMarshaller)
+                .build();
+        this.bytesMethodDescriptor = MethodDescriptor.<byte[], byte[]>newBuilder()
+                .setType(methodType)
+                .setFullMethodName(MethodDescriptor.generateFullMethodName(serviceName, methodName))
+                .setRequestMarshaller(BytesMarshaller.getInstance())
+                .setResponseMarshaller(BytesMarshaller.getInstance())
+                .build();
+    }
+
+    /**
+     * Whether this method was built from the same service, method and rpc ext as the meta data.
+     *
+     * @param metaData the meta data
+     * @return true if still up to date
+     */
+    public boolean isBuiltFrom(final MetaData metaData) {
+        return Objects.equals(serviceName, metaData.getServiceName())
+                && Objects.equals(methodName, metaData.getMethodName())
+                && Objects.equals(rpcExt, metaData.getRpcExt());
+    }
+}
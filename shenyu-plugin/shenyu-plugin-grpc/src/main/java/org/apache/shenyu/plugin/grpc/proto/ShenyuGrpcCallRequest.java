@@ -17,7 +17,6 @@
 
 package org.apache.shenyu.plugin.grpc.proto;
 
-import com.google.protobuf.DynamicMessage;
 import io.grpc.CallOptions;
 import io.grpc.Channel;
 import io.grpc.MethodDescriptor;
@@ -29,18 +28,20 @@ import java.util.List;
 
 /**
  * ShenyuGrpcCallRequest.
+ *
+ * @param <T> the message type, a dynamic message or the serialized bytes of one
  */
 @Builder
 @Getter
-public class ShenyuGrpcCallRequest {
+public class ShenyuGrpcCallRequest<T> {
 
     private Channel channel;
 
     private CallOptions callOptions;
 
-    private List<DynamicMessage> requests;
+    private List<T> requests;
 
-    private MethodDescriptor<DynamicMessage, DynamicMessage> methodDescriptor;
+    private MethodDescriptor<T, T> methodDescriptor;
 
-    private StreamObserver<DynamicMessage> responseObserver;
+    private StreamObserver<T> responseObserver;
 }
@@ -39,16 +39,21 @@ import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -83,20 +88,60 @@ public class GrpcPluginTest {
         exchange.getAttributes().put(Constants.PARAM_TRANSFORM, "{message:1}");
         exchange.getAttributes().put(Constants.META_DATA, getMetaData());
 
-        Class grpcClientCacheClass = Class.forName("org.apache.shenyu.plugin.grpc.cache.GrpcClientCache");
-        Field clientCacheField = grpcClientCacheClass.getDeclaredField("CLIENT_CACHE");
-        clientCacheField.setAccessible(true);
-        Map<String, ShenyuGrpcClient> clientCacheMap = (Map<String, ShenyuGrpcClient>) clientCacheField.get(grpcClientCacheClass);
         ShenyuGrpcClient mockClient = mock(ShenyuGrpcClient.class);
         ShenyuGrpcResponse response = new ShenyuGrpcResponse();
         response.getResults().add("success");
-        when(mockClient.call(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
-                .thenReturn(CompletableFuture.completedFuture(response));
-        clientCacheMap.put("/grpc", mockClient);
+        when(mockClient.call(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(Mono.just(response));
+        getClientCache().put("/grpc", mockClient);
+
+        when(chain.execute(Mockito.any())).thenReturn(Mono.empty());
+        RuleData data = mock(RuleData.class);
+        StepVerifier.create(grpcPlugin.doExecute(exchange, chain, selector, data)).expectSubscription().verifyComplete();
+    }
+
+    @Test
+    @SneakyThrows
+    public void testDoExecuteStreaming() {
+        ServerWebExchange exchange = getServerWebExchange();
+        exchange.getAttributes().put(Constants.PARAM_TRANSFORM, "{message:1}");
+        MetaData metaData = getMetaData();
+        metaData.setRpcExt("{timeout:5000,methodType:SERVER_STREAMING}");
+        exchange.getAttributes().put(Constants.META_DATA, metaData);
+
+        ShenyuGrpcClient mockClient = mock(ShenyuGrpcClient.class);
+        Flux<String> stream = Flux.just("1", "2");
+        when(mockClient.stream(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(stream);
+        getClientCache().put("/grpc", mockClient);
+
+        when(chain.execute(Mockito.any())).thenReturn(Mono.empty());
+        RuleData data = mock(RuleData.class);
+        StepVerifier.create(grpcPlugin.doExecute(exchange, chain, selector, data)).expectSubscription().verifyComplete();
+        assertSame(stream, exchange.getAttribute(Constants.RPC_RESULT));
+    }
+
+    @Test
+    public void testDoExecutePassThrough() {
+        final byte[] request = {8, 1};
+        final byte[] response = {8, 2};
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("http://localhost/grpc/echo")
+                .contentType(MediaType.valueOf("application/x-protobuf")).body(Flux.just(new DefaultDataBufferFactory().wrap(request))));
+        ShenyuContext shenyuContext = mock(ShenyuContext.class);
+        exchange.getAttributes().put(Constants.CONTEXT, shenyuContext);
+        MetaData metaData = getMetaData();
+        metaData.setRpcExt("{timeout:5000,methodType:UNARY}");
+        exchange.getAttributes().put(Constants.META_DATA, metaData);
+
+        ShenyuGrpcClient mockClient = mock(ShenyuGrpcClient.class);
+        when(mockClient.streamBytes(Mockito.any(), Mockito.any(), Mockito.argThat(requests -> Arrays.equals(request, requests.get(0)))))
+                .thenReturn(Flux.just(response));
+        getClientCache().put("/grpc", mockClient);
 
         when(chain.execute(Mockito.any())).thenReturn(Mono.empty());
         RuleData data = mock(RuleData.class);
         StepVerifier.create(grpcPlugin.doExecute(exchange, chain, selector, data)).expectSubscription().verifyComplete();
+        assertArrayEquals(response, exchange.getAttribute(Constants.RPC_RESULT));
+        assertEquals(MediaType.valueOf("application/x-protobuf"), exchange.getResponse().getHeaders().getContentType());
     }
 
     @Test
@@ -135,6 +180,15 @@ public class GrpcPluginTest {
         assertFalse(result);
     }
 
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    private Map<String, ShenyuGrpcClient> getClientCache() {
+        Class grpcClientCacheClass = Class.forName("org.apache.shenyu.plugin.grpc.cache.GrpcClientCache");
+        Field clientCacheField = grpcClientCacheClass.getDeclaredField("CLIENT_CACHE");
+        clientCacheField.setAccessible(true);
+        return (Map<String, ShenyuGrpcClient>) clientCacheField.get(grpcClientCacheClass);
+    }
+
     private MetaData getMetaData() {
         return MetaData.builder()
                 .id("1332017977771636096")
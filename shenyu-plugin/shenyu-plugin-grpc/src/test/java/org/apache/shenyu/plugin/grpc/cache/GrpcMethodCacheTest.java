@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.cache;
+
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.plugin.grpc.proto.GrpcMethod;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * The Test Case For {@link GrpcMethodCache}.
+ */
+public final class GrpcMethodCacheTest {
+
+    private static final String PATH = "/grpc/echo";
+
+    private final GrpcMethodCache cache = GrpcMethodCache.getInstance();
+
+    @After
+    public void tearDown() {
+        cache.invalidate(PATH);
+    }
+
+    @Test
+    public void testObtain() {
+        GrpcMethod method = cache.obtain(metaData("{timeout:100,methodType:UNARY}"));
+        assertSame(method, cache.obtain(metaData("{timeout:100,methodType:UNARY}")));
+        assertEquals(100, method.getExtInfo().getTimeout().intValue());
+        assertEquals("echo.EchoServiceJSON/echo", method.getJsonMethodDescriptor().getFullMethodName());
+        assertEquals("echo.EchoService/echo", method.getBytesMethodDescriptor().getFullMethodName());
+    }
+
+    @Test
+    public void testObtainChanged() {
+        GrpcMethod method = cache.obtain(metaData("{methodType:UNARY}"));
+        GrpcMethod changed = cache.obtain(metaData("{methodType:SERVER_STREAMING}"));
+        assertNotSame(method, changed);
+        assertSame(changed, cache.obtain(metaData("{methodType:SERVER_STREAMING}")));
+    }
+
+    @Test
+    public void testInvalidate() {
+        GrpcMethod method = cache.obtain(metaData(null));
+        cache.invalidate(PATH);
+        assertNotSame(method, cache.obtain(metaData(null)));
+    }
+
+    private static MetaData metaData(final String rpcExt) {
+        return MetaData.builder().path(PATH).serviceName("echo.EchoService").methodName("echo").rpcExt(rpcExt).build();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.client;
+
+import com.google.protobuf.DynamicMessage;
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.plugin.grpc.proto.GrpcMethod;
+import org.apache.shenyu.protocol.grpc.constant.GrpcConstants;
+import org.apache.shenyu.protocol.grpc.message.JsonMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Test Case For {@link ShenyuGrpcClient}.
+ */
+public final class ShenyuGrpcClientTest {
+
+    private static final String SERVICE_NAME = "client.EchoService";
+
+    private static final String REQUEST = "{\"data\":[{\"message\":\"hello\"}]}";
+
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+
+    private Server server;
+
+    private ShenyuGrpcClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        String serverName = InProcessServerBuilder.generateName();
+        ServerServiceDefinition jsonService = ServerServiceDefinition.builder(SERVICE_NAME + GrpcConstants.GRPC_JSON_SERVICE)
+                .addMethod(method("echo", MethodDescriptor.MethodType.UNARY).getJsonMethodDescriptor(), ServerCalls.asyncUnaryCall(this::echo))
+                .addMethod(method("fail", MethodDescriptor.MethodType.UNARY).getJsonMethodDescriptor(), ServerCalls.asyncUnaryCall(
+                    (request, observer) -> observer.onError(Status.INTERNAL.withDescription("failed").asRuntimeException())))
+                .addMethod(method("list", MethodDescriptor.MethodType.SERVER_STREAMING).getJsonMethodDescriptor(), ServerCalls.asyncServerStreamingCall(this::list))
+                .addMethod(method("never", MethodDescriptor.MethodType.SERVER_STREAMING).getJsonMethodDescriptor(), ServerCalls.asyncServerStreamingCall(this::never))
+                .build();
+        ServerServiceDefinition bytesService = ServerServiceDefinition.builder(SERVICE_NAME)
+                .addMethod(method("reverse", MethodDescriptor.MethodType.BIDI_STREAMING).getBytesMethodDescriptor(), ServerCalls.asyncBidiStreamingCall(this::reverse))
+                .build();
+        server = InProcessServerBuilder.forName(serverName).directExecutor().addService(jsonService).addService(bytesService).build().start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        client = new ShenyuGrpcClient(channel);
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testCall() {
+        StepVerifier.create(client.call(method("echo", MethodDescriptor.MethodType.UNARY).getJsonMethodDescriptor(), CallOptions.DEFAULT, REQUEST))
+                .expectNextMatches(response -> response.getResults().equals(Arrays.asList("{\"message\":\"hello\"}")))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testCallError() {
+        StepVerifier.create(client.call(method("fail", MethodDescriptor.MethodType.UNARY).getJsonMethodDescriptor(), CallOptions.DEFAULT, REQUEST))
+                .expectError(ShenyuException.class)
+                .verify();
+    }
+
+    @Test
+    public void testStream() {
+        StepVerifier.create(client.stream(method("list", MethodDescriptor.MethodType.SERVER_STREAMING).getJsonMethodDescriptor(), CallOptions.DEFAULT, REQUEST))
+                .expectNext("{\"index\":0}", "{\"index\":1}", "{\"index\":2}")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testStreamCancel() throws InterruptedException {
+        StepVerifier.create(client.stream(method("never", MethodDescriptor.MethodType.SERVER_STREAMING).getJsonMethodDescriptor(), CallOptions.DEFAULT, REQUEST))
+                .expectNext("{\"index\":0}")
+                .thenCancel()
+                .verify();
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testStreamBytes() {
+        byte[][] responses = client.streamBytes(method("reverse", MethodDescriptor.MethodType.BIDI_STREAMING).getBytesMethodDescriptor(),
+                CallOptions.DEFAULT, Arrays.asList(new byte[]{1, 2}, new byte[]{3})).collectList().block().toArray(new byte[0][]);
+        assertArrayEquals(new byte[][]{{2, 1}, {3}}, responses);
+    }
+
+    private StreamObserver<byte[]> reverse(final StreamObserver<byte[]> observer) {
+        return new StreamObserver<byte[]>() {
+            @Override
+            public void onNext(final byte[] value) {
+                byte[] reversed = new byte[value.length];
+                for (int i = 0; i < value.length; i++) {
+                    reversed[i] = value[value.length - 1 - i];
+                }
+                observer.onNext(reversed);
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                observer.onCompleted();
+            }
+        };
+    }
+
+    private void echo(final DynamicMessage request, final StreamObserver<DynamicMessage> observer) {
+        observer.onNext(request);
+        observer.onCompleted();
+    }
+
+    private void list(final DynamicMessage request, final StreamObserver<DynamicMessage> observer) {
+        for (int i = 0; i < 3; i++) {
+            observer.onNext(JsonMessage.buildJsonMessage("{\"index\":" + i + "}"));
+        }
+        observer.onCompleted();
+    }
+
+    private void never(final DynamicMessage request, final StreamObserver<DynamicMessage> observer) {
+        ((ServerCallStreamObserver<DynamicMessage>) observer).setOnCancelHandler(cancelled::countDown);
+        observer.onNext(JsonMessage.buildJsonMessage("{\"index\":0}"));
+    }
+
+    private static GrpcMethod method(final String methodName, final MethodDescriptor.MethodType methodType) {
+        return new GrpcMethod(MetaData.builder().serviceName(SERVICE_NAME).methodName(methodName).rpcExt("{\"methodType\":\"" + methodType + "\"}").build());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.proto;
+
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Test Case For {@link BinaryMessages}.
+ */
+public final class BinaryMessagesTest {
+
+    @Test
+    public void testContentType() {
+        assertTrue(BinaryMessages.isBinary(MediaType.valueOf("application/x-protobuf")));
+        assertTrue(BinaryMessages.isBinary(MediaType.valueOf("application/grpc+proto")));
+        assertFalse(BinaryMessages.isBinary(MediaType.APPLICATION_JSON));
+        assertFalse(BinaryMessages.isBinary(null));
+        assertTrue(BinaryMessages.isFramed(MediaType.valueOf("application/grpc")));
+        assertFalse(BinaryMessages.isFramed(MediaType.valueOf("application/protobuf")));
+    }
+
+    @Test
+    public void testFramed() {
+        byte[] first = BinaryMessages.encode(new byte[]{1, 2}, true);
+        byte[] second = BinaryMessages.encode(new byte[0], true);
+        assertArrayEquals(new byte[]{0, 0, 0, 0, 2, 1, 2}, first);
+        byte[] body = new byte[first.length + second.length];
+        System.arraycopy(first, 0, body, 0, first.length);
+        System.arraycopy(second, 0, body, first.length, second.length);
+        List<byte[]> messages = BinaryMessages.decode(body, true);
+        assertEquals(2, messages.size());
+        assertArrayEquals(new byte[]{1, 2}, messages.get(0));
+        assertArrayEquals(new byte[0], messages.get(1));
+    }
+
+    @Test
+    public void testUnframed() {
+        byte[] message = {1, 2};
+        assertSame(message, BinaryMessages.encode(message, false));
+        assertSame(message, BinaryMessages.decode(message, false).get(0));
+    }
+
+    @Test(expected = ShenyuException.class)
+    public void testDecodeCompressed() {
+        BinaryMessages.decode(new byte[]{1, 0, 0, 0, 1, 1}, true);
+    }
+
+    @Test(expected = ShenyuException.class)
+    public void testDecodeTruncated() {
+        BinaryMessages.decode(new byte[]{0, 0, 0, 0, 2, 1}, true);
+    }
+}
@@ -17,7 +17,6 @@
 
 package org.apache.shenyu.plugin.httpclient;
 
-import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.common.constant.Constants;
@@ -29,6 +28,13 @@ import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
+import org.apache.shenyu.plugin.base.retry.HttpHedgeContext;
+import org.apache.shenyu.plugin.base.retry.HttpRetryContext;
+import org.apache.shenyu.plugin.base.retry.UpstreamTarget;
+import org.apache.shenyu.plugin.base.stats.UpstreamStatsManager;
+import org.apache.shenyu.plugin.httpclient.header.HopByHopHeaders;
+import org.apache.shenyu.plugin.httpclient.header.NettyHttpHeadersAdapter;
+import org.apache.shenyu.plugin.httpclient.pool.UpstreamConnectionProvider;
 import org.springframework.core.io.buffer.NettyDataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -38,15 +44,20 @@ import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.HttpClientResponse;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The type Netty http client plugin.
@@ -54,15 +65,30 @@ import java.util.concurrent.TimeoutException;
 @Slf4j
 public class NettyHttpClientPlugin implements ShenyuPlugin {
 
+    private static final byte[] EMPTY_BODY = new byte[0];
+
     private final HttpClient httpClient;
 
+    private final UpstreamConnectionProvider connectionProvider;
+
     /**
      * Instantiates a new Netty http client plugin.
      *
      * @param httpClient the http client
      */
     public NettyHttpClientPlugin(final HttpClient httpClient) {
+        this(httpClient, null);
+    }
+
+    /**
+     * Instantiates a new Netty http client plugin.
+     *
+     * @param httpClient         the http client
+     * @param connectionProvider the connection provider of the http client, null when it has no upstream pools
+     */
+    public NettyHttpClientPlugin(final HttpClient httpClient, final UpstreamConnectionProvider connectionProvider) {
         this.httpClient = httpClient;
+        this.connectionProvider = connectionProvider;
     }
 
     @Override
@@ -71,48 +97,161 @@ public class NettyHttpClientPlugin implements ShenyuPlugin {
         assert shenyuContext != null;
         ServerHttpRequest request = exchange.getRequest();
         final HttpMethod method = HttpMethod.valueOf(request.getMethodValue());
-        HttpHeaders filtered = request.getHeaders();
-        final DefaultHttpHeaders httpHeaders = new DefaultHttpHeaders();
-        filtered.forEach(httpHeaders::set);
         String url = exchange.getAttribute(Constants.HTTP_URL);
         if (StringUtils.isEmpty(url)) {
             Object error = ShenyuResultWrap.error(ShenyuResultEnum.CANNOT_FIND_URL.getCode(), ShenyuResultEnum.CANNOT_FIND_URL.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
         }
-        log.info("you request, The resulting urlPath is: {}", url);
-        Flux<HttpClientResponse> responseFlux = this.httpClient.headers(headers -> headers.add(httpHeaders))
-                .request(method).uri(url).send((req, nettyOutbound) ->
-                        nettyOutbound.send(request.getBody().map(dataBuffer -> ((NettyDataBuffer) dataBuffer) .getNativeBuffer())))
-                .responseConnection((res, connection) -> {
-                    exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, res);
-                    exchange.getAttributes().put(Constants.CLIENT_RESPONSE_CONN_ATTR, connection);
-                    ServerHttpResponse response = exchange.getResponse();
-                    HttpHeaders headers = new HttpHeaders();
-                    res.responseHeaders().forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
-                    String contentTypeValue = headers.getFirst(HttpHeaders.CONTENT_TYPE);
-                    if (StringUtils.hasLength(contentTypeValue)) {
-                        exchange.getAttributes().put(Constants.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentTypeValue);
-                    }
-                    HttpStatus status = HttpStatus.resolve(res.status().code());
-                    if (status != null) {
-                        response.setStatusCode(status);
-                    } else if (response instanceof AbstractServerHttpResponse) {
-                        ((AbstractServerHttpResponse) response)
-                                .setStatusCodeValue(res.status().code());
-                    } else {
-                        throw new IllegalStateException("Unable to set status code on response: " + res.status().code() + ", " + response.getClass());
-                    }
-                    response.getHeaders().putAll(headers);
+        log.debug("you request, The resulting urlPath is: {}", url);
+        HttpRetryContext retryContext = exchange.getAttribute(Constants.HTTP_RETRY_CONTEXT);
+        if (Objects.isNull(retryContext) || !retryContext.isReplayable(request)) {
+            // a hedged request has no body, both attempts send none
+            byte[] body = Objects.isNull(exchange.getAttribute(Constants.HTTP_HEDGE_CONTEXT)) ? null : EMPTY_BODY;
+            return proxy(exchange, method, body, null).then(chain.execute(exchange));
+        }
+        // the body is buffered once, so that every attempt replays it
+        return HttpRetryContext.bufferBody(request)
+                .flatMap(body -> proxy(exchange, method, body, retryContext))
+                .then(chain.execute(exchange));
+    }
 
-                    return Mono.just(res);
-                });
+    private Mono<Void> proxy(final ServerWebExchange exchange, final HttpMethod method, final byte[] body, final HttpRetryContext retryContext) {
+        if (Objects.nonNull(retryContext)) {
+            retryContext.attempt(exchange);
+        }
+        HttpHedgeContext hedgeContext = exchange.getAttribute(Constants.HTTP_HEDGE_CONTEXT);
+        Mono<Tuple2<HttpClientResponse, Connection>> responseMono = Objects.isNull(hedgeContext)
+                ? send(exchange, UpstreamTarget.from(exchange), method, body)
+                : hedge(exchange, method, body, hedgeContext);
+        if (Objects.nonNull(retryContext)) {
+            // the retry policy sees the response of the request, of the winner once it is hedged
+            responseMono = responseMono.flatMap(response -> {
+                if (retryContext.retryOnStatus(exchange, response.getT1().status().code())) {
+                    release(response.getT2());
+                    return Mono.error(HttpRetryContext.RETRY_SIGNAL);
+                }
+                return Mono.just(response);
+            });
+        }
         long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
         Duration duration = Duration.ofMillis(timeout);
-        responseFlux = responseFlux.timeout(duration,
+        Mono<Void> result = responseMono.timeout(duration,
                 Mono.error(new TimeoutException("Response took longer than timeout: " + duration)))
-                .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th));
-        return responseFlux.then(chain.execute(exchange));
+                .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th))
+                .doOnNext(response -> applyResponse(exchange, response.getT1(), response.getT2()))
+                .then();
+        if (Objects.isNull(retryContext)) {
+            return result;
+        }
+        return result.onErrorResume(throwable -> retryContext.retryOnError(exchange, throwable),
+            throwable -> proxy(exchange, method, body, retryContext));
+    }
+
+    /**
+     * Race the first attempt against a second one sent to another upstream once the hedge delay passed,
+     * the first response wins and the other attempt is cancelled.
+     * Once the hedge is sent, either attempt failing or answering a server error waits for the other one,
+     * the request fails only when both attempts failed.
+     */
+    private Mono<Tuple2<HttpClientResponse, Connection>> hedge(final ServerWebExchange exchange, final HttpMethod method, final byte[] body,
+                                                               final HttpHedgeContext hedgeContext) {
+        long delay = hedgeContext.obtainDelayMillis();
+        Mono<Tuple2<HttpClientResponse, Connection>> first = send(exchange, UpstreamTarget.from(exchange), method, body);
+        Mono<Tuple2<HttpClientResponse, Connection>> primary = Mono.defer(() -> {
+            long start = System.nanoTime();
+            // a cancelled first attempt took at least as long as it ran
+            return first.doOnNext(response -> hedgeContext.record(System.nanoTime() - start))
+                    .doOnCancel(() -> hedgeContext.record(System.nanoTime() - start));
+        });
+        if (delay < 0) {
+            return primary;
+        }
+        hedgeContext.attempt(exchange);
+        AtomicBoolean hedged = new AtomicBoolean();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicReference<Tuple2<HttpClientResponse, Connection>> deferred = new AtomicReference<>();
+        // a hedge not sent never wins the race
+        Mono<Tuple2<HttpClientResponse, Connection>> second = Mono.delay(Duration.ofMillis(delay))
+                .flatMap(ignored -> Mono.justOrEmpty(hedgeContext.hedge(exchange)))
+                .flatMap(target -> {
+                    hedged.set(true);
+                    return send(exchange, target, method, body);
+                })
+                .switchIfEmpty(Mono.never());
+        return Mono.first(settle(primary, hedged, failures, deferred), settle(second, hedged, failures, deferred));
+    }
+
+    /**
+     * While the other attempt is in flight, a failed attempt waits for it and a server error response is held back,
+     * to answer the request if the other attempt fails too. A held response is released once it is not needed.
+     */
+    private static Mono<Tuple2<HttpClientResponse, Connection>> settle(final Mono<Tuple2<HttpClientResponse, Connection>> attempt, final AtomicBoolean hedged,
+                                                                       final AtomicInteger failures, final AtomicReference<Tuple2<HttpClientResponse, Connection>> deferred) {
+        return attempt.flatMap(response -> {
+            if (response.getT1().status().code() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                return Mono.just(response);
+            }
+            if (hedged.get() && failures.incrementAndGet() < 2) {
+                deferred.set(response);
+                return Mono.<Tuple2<HttpClientResponse, Connection>>never().doOnCancel(() -> {
+                    if (deferred.compareAndSet(response, null)) {
+                        release(response.getT2());
+                    }
+                });
+            }
+            Optional.ofNullable(deferred.getAndSet(null)).ifPresent(earlier -> release(earlier.getT2()));
+            return Mono.just(response);
+        }).onErrorResume(throwable -> {
+            if (hedged.get() && failures.incrementAndGet() < 2) {
+                return Mono.never();
+            }
+            return Mono.justOrEmpty(deferred.getAndSet(null)).switchIfEmpty(Mono.error(throwable));
+        });
+    }
+
+    private Mono<Tuple2<HttpClientResponse, Connection>> send(final ServerWebExchange exchange, final UpstreamTarget target, final HttpMethod method,
+                                                              final byte[] body) {
+        if (Objects.nonNull(connectionProvider)) {
+            connectionProvider.register(target.getUpstreamUrl(), target.getUrl(), target.getPoolConfig());
+        }
+        Mono<Tuple2<HttpClientResponse, Connection>> responseMono = this.httpClient.headers(headers -> HopByHopHeaders.forwardRequest(exchange.getRequest().getHeaders(), headers))
+                .request(method).uri(target.getUrl()).send((req, nettyOutbound) -> Objects.isNull(body)
+                        ? nettyOutbound.send(exchange.getRequest().getBody().map(dataBuffer -> ((NettyDataBuffer) dataBuffer).getNativeBuffer()))
+                        : nettyOutbound.sendByteArray(Mono.just(body)))
+                // the response of an attempt cancelled while it is emitted is released here
+                .responseConnection((res, connection) -> Mono.just(Tuples.of(res, connection)).doOnCancel(() -> release(connection)))
+                .single();
+        return UpstreamStatsManager.getInstance().record(target.getUpstreamUrl(), responseMono,
+            response -> response.getT1().status().code() >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+    }
+
+    /**
+     * Drain the body of a response not forwarded, so that its connection goes back to the pool instead of being closed.
+     */
+    private static void release(final Connection connection) {
+        connection.inbound().receive().then().subscribe(null, throwable -> connection.dispose());
+    }
 
+    private void applyResponse(final ServerWebExchange exchange, final HttpClientResponse res, final Connection connection) {
+        exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, res);
+        exchange.getAttributes().put(Constants.CLIENT_RESPONSE_CONN_ATTR, connection);
+        ServerHttpResponse response = exchange.getResponse();
+        // a view of the upstream headers, they are not copied
+        HttpHeaders headers = new HttpHeaders(new NettyHttpHeadersAdapter(res.responseHeaders()));
+        String contentTypeValue = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        if (StringUtils.hasLength(contentTypeValue)) {
+            exchange.getAttributes().put(Constants.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentTypeValue);
+        }
+        HttpStatus status = HttpStatus.resolve(res.status().code());
+        if (status != null) {
+            response.setStatusCode(status);
+        } else if (response instanceof AbstractServerHttpResponse) {
+            ((AbstractServerHttpResponse) response)
+                    .setStatusCodeValue(res.status().code());
+        } else {
+            throw new IllegalStateException("Unable to set status code on response: " + res.status().code() + ", " + response.getClass());
+        }
+        HopByHopHeaders.forwardResponse(res.responseHeaders(), response.getHeaders());
     }
 
     @Override
@@ -128,6 +267,11 @@ public class NettyHttpClientPlugin implements ShenyuPlugin {
                 && !Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), shenyuContext.getRpcType());
     }
 
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.HTTP && rpcType != RpcTypeEnum.SPRING_CLOUD;
+    }
+
     @Override
     public String named() {
         return "NettyHttpClient";
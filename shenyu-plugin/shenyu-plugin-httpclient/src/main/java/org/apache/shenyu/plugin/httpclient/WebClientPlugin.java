@@ -17,7 +17,6 @@
 
 package org.apache.shenyu.plugin.httpclient;
 
-import io.netty.channel.ConnectTimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
@@ -30,6 +29,9 @@ import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
+import org.apache.shenyu.plugin.base.retry.HttpRetryContext;
+import org.apache.shenyu.plugin.base.stats.UpstreamStatsManager;
+import org.apache.shenyu.plugin.httpclient.pool.UpstreamConnectionProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.BodyInserters;
@@ -37,8 +39,6 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
-import reactor.retry.Backoff;
-import reactor.retry.Retry;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
@@ -51,13 +51,26 @@ public class WebClientPlugin implements ShenyuPlugin {
 
     private final WebClient webClient;
 
+    private final UpstreamConnectionProvider connectionProvider;
+
     /**
      * Instantiates a new Web client plugin.
      *
      * @param webClient the web client
      */
     public WebClientPlugin(final WebClient webClient) {
+        this(webClient, null);
+    }
+
+    /**
+     * Instantiates a new Web client plugin.
+     *
+     * @param webClient          the web client
+     * @param connectionProvider the connection provider of the web client, null when it has no upstream pools
+     */
+    public WebClientPlugin(final WebClient webClient, final UpstreamConnectionProvider connectionProvider) {
         this.webClient = webClient;
+        this.connectionProvider = connectionProvider;
     }
 
     @Override
@@ -71,10 +84,15 @@ public class WebClientPlugin implements ShenyuPlugin {
         }
         long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
         int retryTimes = (int) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_RETRY)).orElse(0);
-        log.info("The request urlPath is {}, retryTimes is {}", urlPath, retryTimes);
-        HttpMethod method = HttpMethod.valueOf(exchange.getRequest().getMethodValue());
-        WebClient.RequestBodySpec requestBodySpec = webClient.method(method).uri(urlPath);
-        return handleRequestBody(requestBodySpec, exchange, timeout, retryTimes, chain);
+        log.debug("The request urlPath is {}, retryTimes is {}", urlPath, retryTimes);
+        HttpRetryContext retryContext = exchange.getAttribute(Constants.HTTP_RETRY_CONTEXT);
+        if (Objects.isNull(retryContext) || !retryContext.isReplayable(exchange.getRequest())) {
+            return handleRequestBody(exchange, timeout, null, null).flatMap(e -> doNext(e, exchange, chain));
+        }
+        // the body is buffered once, so that every attempt replays it
+        return HttpRetryContext.bufferBody(exchange.getRequest())
+                .flatMap(body -> handleRequestBody(exchange, timeout, body, retryContext))
+                .flatMap(e -> doNext(e, exchange, chain));
     }
 
     @Override
@@ -95,24 +113,42 @@ public class WebClientPlugin implements ShenyuPlugin {
                 && !Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), shenyuContext.getRpcType());
     }
 
-    private Mono<Void> handleRequestBody(final WebClient.RequestBodySpec requestBodySpec,
-                                         final ServerWebExchange exchange,
-                                         final long timeout,
-                                         final int retryTimes,
-                                         final ShenyuPluginChain chain) {
-        return requestBodySpec.headers(httpHeaders -> {
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.HTTP && rpcType != RpcTypeEnum.SPRING_CLOUD;
+    }
+
+    private Mono<ClientResponse> handleRequestBody(final ServerWebExchange exchange,
+                                                   final long timeout,
+                                                   final byte[] body,
+                                                   final HttpRetryContext retryContext) {
+        if (Objects.nonNull(retryContext)) {
+            retryContext.attempt(exchange);
+        }
+        HttpMethod method = HttpMethod.valueOf(exchange.getRequest().getMethodValue());
+        String urlPath = exchange.getAttribute(Constants.HTTP_URL);
+        if (Objects.nonNull(connectionProvider)) {
+            connectionProvider.register(exchange.getAttribute(Constants.HTTP_UPSTREAM), urlPath, exchange.getAttribute(Constants.HTTP_UPSTREAM_POOL));
+        }
+        Mono<ClientResponse> response = webClient.method(method).uri(urlPath).headers(httpHeaders -> {
             httpHeaders.addAll(exchange.getRequest().getHeaders());
             httpHeaders.remove(HttpHeaders.HOST);
         })
-                .body(BodyInserters.fromDataBuffers(exchange.getRequest().getBody()))
+                .body(Objects.isNull(body) ? BodyInserters.fromDataBuffers(exchange.getRequest().getBody()) : BodyInserters.fromValue(body))
                 .exchange()
                 .doOnError(e -> log.error(e.getMessage(), e))
-                .timeout(Duration.ofMillis(timeout))
-                .retryWhen(Retry.onlyIf(x -> x.exception() instanceof ConnectTimeoutException)
-                    .retryMax(retryTimes)
-                    .backoff(Backoff.exponential(Duration.ofMillis(200), Duration.ofSeconds(20), 2, true)))
-                .flatMap(e -> doNext(e, exchange, chain));
-
+                .timeout(Duration.ofMillis(timeout));
+        if (Objects.nonNull(retryContext)) {
+            response = response.flatMap(res -> retryContext.retryOnStatus(exchange, res.rawStatusCode())
+                    ? res.releaseBody().then(Mono.error(HttpRetryContext.RETRY_SIGNAL)) : Mono.just(res));
+        }
+        Mono<ClientResponse> result = UpstreamStatsManager.getInstance().record(exchange.getAttribute(Constants.HTTP_UPSTREAM), response,
+            res -> res.statusCode().is5xxServerError());
+        if (Objects.isNull(retryContext)) {
+            return result;
+        }
+        return result.onErrorResume(throwable -> retryContext.retryOnError(exchange, throwable),
+            throwable -> handleRequestBody(exchange, timeout, body, retryContext));
     }
 
     private Mono<Void> doNext(final ClientResponse res, final ServerWebExchange exchange, final ShenyuPluginChain chain) {
@@ -80,6 +80,11 @@ public class HttpClientProperties {
      */
     private boolean wiretap;
 
+    /**
+     * Keeps the upstream connections alive between requests, defaults to true.
+     */
+    private boolean keepAlive = true;
+
     /**
      * The type Pool.
      */
@@ -107,6 +112,28 @@ public class HttpClientProperties {
          */
         private Long acquireTimeout = ConnectionProvider.DEFAULT_POOL_ACQUIRE_TIMEOUT;
 
+        /**
+         * The maximum count of acquires waiting for a connection of an upstream, not greater than 0 for no limit.
+         */
+        private Integer pendingAcquireMaxCount = -1;
+
+        /**
+         * The maximum time in millis a connection stays idle in the pool, not greater than 0 for no limit.
+         */
+        private Long maxIdleTime = 0L;
+
+        /**
+         * The maximum time in millis a connection is reused from its creation, not greater than 0 for no limit.
+         */
+        private Long maxLifeTime = 0L;
+
+        /**
+         * The interval in millis of the background eviction of the expired idle connections, not greater than 0
+         * for none: an idle connection is then closed only when it is acquired past its max idle time,
+         * or released past its max life time.
+         */
+        private Long evictionInterval = 0L;
+
         /**
          * The enum Pool type.
          */
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.header;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.util.AsciiString;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Forward the end-to-end headers between the client and the upstream in one pass, dropping the hop-by-hop
+ * headers of RFC 7230 and the ones listed in the {@code Connection} header.
+ */
+public final class HopByHopHeaders {
+
+    private static final AsciiString[] HOP_BY_HOP_HEADERS = {
+        HttpHeaderNames.CONNECTION,
+        HttpHeaderNames.KEEP_ALIVE,
+        HttpHeaderNames.PROXY_AUTHENTICATE,
+        HttpHeaderNames.PROXY_AUTHORIZATION,
+        HttpHeaderNames.TE,
+        HttpHeaderNames.TRAILER,
+        HttpHeaderNames.TRANSFER_ENCODING,
+        HttpHeaderNames.UPGRADE,
+    };
+
+    private HopByHopHeaders() {
+    }
+
+    /**
+     * Add the end-to-end headers of the client request to the upstream request.
+     *
+     * @param from the client request headers
+     * @param to   the upstream request headers
+     */
+    public static void forwardRequest(final HttpHeaders from, final io.netty.handler.codec.http.HttpHeaders to) {
+        String connection = from.getFirst(HttpHeaders.CONNECTION);
+        for (Map.Entry<String, List<String>> entry : from.entrySet()) {
+            if (!isHopByHop(entry.getKey(), connection)) {
+                to.add(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Put the end-to-end headers of the upstream response into the client response, replacing the values
+     * the client response already has for the same names.
+     *
+     * @param from the upstream response headers
+     * @param to   the client response headers
+     */
+    public static void forwardResponse(final io.netty.handler.codec.http.HttpHeaders from, final HttpHeaders to) {
+        String connection = from.get(HttpHeaderNames.CONNECTION);
+        // the replaced names are tracked only when the client response has headers to replace
+        Set<String> replaced = to.isEmpty() ? null : new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        Iterator<Map.Entry<CharSequence, CharSequence>> iterator = from.iteratorCharSequence();
+        while (iterator.hasNext()) {
+            Map.Entry<CharSequence, CharSequence> entry = iterator.next();
+            String name = entry.getKey().toString();
+            if (isHopByHop(name, connection)) {
+                continue;
+            }
+            if (replaced != null && replaced.add(name)) {
+                to.remove(name);
+            }
+            to.add(name, entry.getValue().toString());
+        }
+    }
+
+    /**
+     * Whether the header is hop-by-hop, standard or listed in the connection header.
+     *
+     * @param name       the header name
+     * @param connection the connection header value, may be null
+     * @return true if the header is not forwarded
+     */
+    public static boolean isHopByHop(final String name, final String connection) {
+        for (AsciiString hopByHopHeader : HOP_BY_HOP_HEADERS) {
+            if (hopByHopHeader.contentEqualsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return connection != null && isListed(connection, name);
+    }
+
+    private static boolean isListed(final String connection, final String name) {
+        int start = 0;
+        int length = connection.length();
+        while (start < length) {
+            int end = connection.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int tokenStart = start;
+            int tokenEnd = end;
+            while (tokenStart < tokenEnd && Character.isWhitespace(connection.charAt(tokenStart))) {
+                tokenStart++;
+            }
+            while (tokenEnd > tokenStart && Character.isWhitespace(connection.charAt(tokenEnd - 1))) {
+                tokenEnd--;
+            }
+            if (tokenEnd - tokenStart == name.length() && connection.regionMatches(true, tokenStart, name, 0, name.length())) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+}
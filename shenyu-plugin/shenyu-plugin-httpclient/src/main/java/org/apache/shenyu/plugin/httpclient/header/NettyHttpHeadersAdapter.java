@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.header;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MultiValueMap;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link MultiValueMap} view of the Netty {@link HttpHeaders}, so that {@code new org.springframework.http.HttpHeaders(adapter)}
+ * reads and writes the Netty headers in place instead of copying them.
+ */
+public final class NettyHttpHeadersAdapter implements MultiValueMap<String, String> {
+
+    private final HttpHeaders headers;
+
+    /**
+     * Instantiates a new netty http headers adapter.
+     *
+     * @param headers the netty headers
+     */
+    public NettyHttpHeadersAdapter(final HttpHeaders headers) {
+        this.headers = headers;
+    }
+
+    @Override
+    @Nullable
+    public String getFirst(final String key) {
+        return headers.get(key);
+    }
+
+    @Override
+    public void add(final String key, @Nullable final String value) {
+        if (value != null) {
+            headers.add(key, value);
+        }
+    }
+
+    @Override
+    public void addAll(final String key, final List<? extends String> values) {
+        headers.add(key, values);
+    }
+
+    @Override
+    public void addAll(final MultiValueMap<String, String> values) {
+        values.forEach(headers::add);
+    }
+
+    @Override
+    public void set(final String key, @Nullable final String value) {
+        if (value != null) {
+            headers.set(key, value);
+        }
+    }
+
+    @Override
+    public void setAll(final Map<String, String> values) {
+        values.forEach(headers::set);
+    }
+
+    @Override
+    public Map<String, String> toSingleValueMap() {
+        Map<String, String> singleValueMap = new LinkedHashMap<>(headers.size());
+        headers.forEach(entry -> singleValueMap.putIfAbsent(entry.getKey(), entry.getValue()));
+        return singleValueMap;
+    }
+
+    @Override
+    public int size() {
+        return headers.names().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return headers.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof String && headers.contains((String) key);
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        return value instanceof String && headers.entries().stream().anyMatch(entry -> value.equals(entry.getValue()));
+    }
+
+    @Override
+    @Nullable
+    public List<String> get(final Object key) {
+        if (containsKey(key)) {
+            return headers.getAll((String) key);
+        }
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public List<String> put(final String key, @Nullable final List<String> value) {
+        List<String> previousValues = headers.getAll(key);
+        headers.set(key, value);
+        return previousValues;
+    }
+
+    @Override
+    @Nullable
+    public List<String> remove(final Object key) {
+        if (key instanceof String) {
+            List<String> previousValues = headers.getAll((String) key);
+            headers.remove((String) key);
+            return previousValues;
+        }
+        return null;
+    }
+
+    @Override
+    public void putAll(final Map<? extends String, ? extends List<String>> map) {
+        map.forEach(headers::set);
+    }
+
+    @Override
+    public void clear() {
+        headers.clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return headers.names();
+    }
+
+    @Override
+    public Collection<List<String>> values() {
+        Set<String> names = headers.names();
+        List<List<String>> values = new ArrayList<>(names.size());
+        names.forEach(name -> values.add(headers.getAll(name)));
+        return values;
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public String toString() {
+        return headers.toString();
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, List<String>>> {
+
+        @Override
+        public Iterator<Entry<String, List<String>>> iterator() {
+            return new EntryIterator(headers.names().iterator());
+        }
+
+        @Override
+        public int size() {
+            return headers.names().size();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, List<String>>> {
+
+        private final Iterator<String> names;
+
+        EntryIterator(final Iterator<String> names) {
+            this.names = names;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return names.hasNext();
+        }
+
+        @Override
+        public Entry<String, List<String>> next() {
+            return new HeaderEntry(names.next());
+        }
+    }
+
+    private final class HeaderEntry implements Entry<String, List<String>> {
+
+        private final String key;
+
+        HeaderEntry(final String key) {
+            this.key = key;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public List<String> getValue() {
+            return headers.getAll(key);
+        }
+
+        @Override
+        public List<String> setValue(final List<String> value) {
+            List<String> previousValues = headers.getAll(key);
+            headers.set(key, value);
+            return previousValues;
+        }
+    }
+}
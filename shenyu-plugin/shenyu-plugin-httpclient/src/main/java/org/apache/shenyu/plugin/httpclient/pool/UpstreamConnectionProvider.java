@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.pool;
+
+import io.netty.bootstrap.Bootstrap;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.dto.convert.UpstreamPoolConfig;
+import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The connection provider keeping the connections of every upstream address apart.
+ *
+ * <p>An upstream registered with its own {@link UpstreamPoolConfig} gets a fixed pool of its own size,
+ * the other ones share the pool described by {@link HttpClientProperties.Pool}. Every address has its own
+ * pending acquire limit, max idle and life time, so a hot upstream cannot exhaust the connections of the
+ * others. The provider must also observe the connections of the http client, to learn when they are released.
+ */
+@Slf4j
+public final class UpstreamConnectionProvider implements ConnectionProvider, ConnectionObserver {
+
+    private static final int HTTP_PORT = 80;
+
+    private static final int HTTPS_PORT = 443;
+
+    private final HttpClientProperties.Pool properties;
+
+    private final ConnectionProvider sharedProvider;
+
+    private final Map<String, UpstreamPool> pools = new ConcurrentHashMap<>();
+
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+    private final ScheduledThreadPoolExecutor evictor;
+
+    /**
+     * Instantiates a new upstream connection provider.
+     *
+     * @param properties the pool properties
+     */
+    public UpstreamConnectionProvider(final HttpClientProperties.Pool properties) {
+        this.properties = properties;
+        this.sharedProvider = createProvider(properties);
+        if (properties.getEvictionInterval() > 0) {
+            evictor = new ScheduledThreadPoolExecutor(1, ShenyuThreadFactory.create("upstream-pool-evictor", true));
+            evictor.scheduleWithFixedDelay(this::evict, properties.getEvictionInterval(), properties.getEvictionInterval(), TimeUnit.MILLISECONDS);
+        } else {
+            evictor = null;
+        }
+    }
+
+    /**
+     * Register the pool config of an upstream, a null config returns the upstream to the shared pool.
+     * Registering the config the upstream already has is a lookup.
+     *
+     * @param upstreamUrl the upstream url, host and port
+     * @param url         the request url built on the upstream
+     * @param config      the pool config of the upstream
+     */
+    public void register(final String upstreamUrl, final String url, final UpstreamPoolConfig config) {
+        if (Objects.isNull(upstreamUrl)) {
+            return;
+        }
+        Registration registration = registrations.get(upstreamUrl);
+        if (Objects.equals(Objects.isNull(registration) ? null : registration.config, config)) {
+            return;
+        }
+        synchronized (this) {
+            registration = registrations.get(upstreamUrl);
+            if (Objects.equals(Objects.isNull(registration) ? null : registration.config, config)) {
+                return;
+            }
+            String address = Objects.isNull(registration) ? address(url) : registration.address;
+            if (Objects.isNull(address)) {
+                return;
+            }
+            UpstreamPool previous;
+            if (Objects.isNull(config)) {
+                registrations.remove(upstreamUrl);
+                previous = pools.remove(address);
+            } else {
+                registrations.put(upstreamUrl, new Registration(address, config));
+                previous = pools.put(address, createPool(address, config));
+            }
+            log.info("upstream {} connection pool changed", address);
+            if (Objects.nonNull(previous)) {
+                previous.disposeLater().subscribe(null, throwable -> log.error("dispose upstream {} connection pool error", address, throwable));
+            }
+        }
+    }
+
+    @Override
+    public Mono<? extends Connection> acquire(final Bootstrap bootstrap) {
+        String address = address(bootstrap.config().remoteAddress());
+        UpstreamPool pool = pools.get(address);
+        if (Objects.isNull(pool)) {
+            // the pool of an address with no upstream registered goes away once it has no connection left
+            pool = pools.computeIfAbsent(address, key -> new UpstreamPool(key, sharedProvider, false,
+                    properties.getPendingAcquireMaxCount(), properties.getMaxIdleTime(), properties.getMaxLifeTime(), drained -> pools.remove(key, drained)));
+        }
+        return pool.acquire(bootstrap);
+    }
+
+    @Override
+    public void onStateChange(final Connection connection, final State newState) {
+        if (newState == State.RELEASED) {
+            UpstreamPool.released(connection.channel());
+        }
+    }
+
+    @Override
+    public void disposeWhen(final SocketAddress address) {
+        sharedProvider.disposeWhen(address);
+    }
+
+    @Override
+    public Mono<Void> disposeLater() {
+        return Mono.defer(() -> {
+            if (Objects.nonNull(evictor)) {
+                evictor.shutdown();
+            }
+            return Flux.fromIterable(pools.values()).flatMap(UpstreamPool::disposeLater).then(sharedProvider.disposeLater());
+        });
+    }
+
+    @Override
+    public int maxConnections() {
+        return sharedProvider.maxConnections();
+    }
+
+    /**
+     * Get the pool of an upstream address.
+     *
+     * @param address the upstream address, host and port
+     * @return the pool, null if no connection was acquired from it yet
+     */
+    UpstreamPool getPool(final String address) {
+        return pools.get(address);
+    }
+
+    private void evict() {
+        for (UpstreamPool pool : pools.values()) {
+            try {
+                pool.evict();
+            } catch (Exception e) {
+                log.error("upstream connection pool eviction error", e);
+            }
+        }
+    }
+
+    private UpstreamPool createPool(final String address, final UpstreamPoolConfig config) {
+        int pendingAcquireMaxCount = config.getPendingAcquireMaxCount() > 0 ? config.getPendingAcquireMaxCount() : properties.getPendingAcquireMaxCount();
+        long maxIdleTime = config.getMaxIdleTime() > 0 ? config.getMaxIdleTime() : properties.getMaxIdleTime();
+        long maxLifeTime = config.getMaxLifeTime() > 0 ? config.getMaxLifeTime() : properties.getMaxLifeTime();
+        if (config.getMaxConnections() <= 0) {
+            return new UpstreamPool(address, sharedProvider, false, pendingAcquireMaxCount, maxIdleTime, maxLifeTime, null);
+        }
+        ConnectionProvider provider = ConnectionProvider.fixed(properties.getName() + "-" + address, config.getMaxConnections(),
+                properties.getAcquireTimeout(), maxIdleTime > 0 ? Duration.ofMillis(maxIdleTime) : null);
+        return new UpstreamPool(address, provider, true, pendingAcquireMaxCount, maxIdleTime, maxLifeTime, null);
+    }
+
+    private static ConnectionProvider createProvider(final HttpClientProperties.Pool properties) {
+        if (properties.getType() == HttpClientProperties.Pool.PoolType.DISABLED) {
+            return ConnectionProvider.newConnection();
+        }
+        Duration maxIdleTime = properties.getMaxIdleTime() > 0 ? Duration.ofMillis(properties.getMaxIdleTime()) : null;
+        if (properties.getType() == HttpClientProperties.Pool.PoolType.FIXED) {
+            return ConnectionProvider.fixed(properties.getName(), properties.getMaxConnections(), properties.getAcquireTimeout(), maxIdleTime);
+        }
+        return Objects.isNull(maxIdleTime) ? ConnectionProvider.elastic(properties.getName()) : ConnectionProvider.elastic(properties.getName(), maxIdleTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String address(final SocketAddress remoteAddress) {
+        // the http client sets a supplier of the address of the current uri, the one pooled connections are keyed by
+        SocketAddress socketAddress = remoteAddress instanceof Supplier ? ((Supplier<SocketAddress>) remoteAddress).get() : remoteAddress;
+        if (socketAddress instanceof InetSocketAddress) {
+            InetSocketAddress inetSocketAddress = (InetSocketAddress) socketAddress;
+            return inetSocketAddress.getHostString() + ":" + inetSocketAddress.getPort();
+        }
+        return String.valueOf(socketAddress);
+    }
+
+    private static String address(final String url) {
+        try {
+            URI uri = URI.create(url);
+            if (StringUtils.isBlank(uri.getHost())) {
+                return null;
+            }
+            int port = uri.getPort() > 0 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? HTTPS_PORT : HTTP_PORT;
+            return uri.getHost() + ":" + port;
+        } catch (IllegalArgumentException e) {
+            log.warn("invalid upstream url {}", url);
+            return null;
+        }
+    }
+
+    private static final class Registration {
+
+        private final String address;
+
+        private final UpstreamPoolConfig config;
+
+        Registration(final String address, final UpstreamPoolConfig config) {
+            this.address = address;
+            this.config = config;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.pool;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.reporter.MetricsRegistration;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * The connections of one upstream address: the pending acquires, the connections in use and the idle ones,
+ * reported as gauges labeled by the upstream address.
+ */
+final class UpstreamPool {
+
+    private static final AttributeKey<ChannelState> CHANNEL_STATE = AttributeKey.valueOf("shenyuUpstreamPoolChannel");
+
+    private static final String[] LABEL_NAMES = {"upstream"};
+
+    private static final MetricsRegistration METRICS = new MetricsRegistration(() -> {
+        MetricsReporter.registerGauge(LabelNames.UPSTREAM_POOL_PENDING_ACQUIRE, LABEL_NAMES, "shenyu upstream pool pending acquire count");
+        MetricsReporter.registerGauge(LabelNames.UPSTREAM_POOL_ACTIVE_CONNECTIONS, LABEL_NAMES, "shenyu upstream pool connections in use");
+        MetricsReporter.registerGauge(LabelNames.UPSTREAM_POOL_IDLE_CONNECTIONS, LABEL_NAMES, "shenyu upstream pool idle connections");
+        MetricsReporter.registerHistogram(LabelNames.UPSTREAM_POOL_ACQUIRE_LATENCY, LABEL_NAMES, "shenyu upstream pool acquire latency millis");
+    });
+
+    private final String address;
+
+    private final ConnectionProvider provider;
+
+    private final boolean ownProvider;
+
+    private final int pendingAcquireMaxCount;
+
+    private final long maxIdleNanos;
+
+    private final long maxLifeNanos;
+
+    private final String[] labelValues;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final Set<Channel> idle = ConcurrentHashMap.newKeySet();
+
+    private final Consumer<UpstreamPool> onDrained;
+
+    /**
+     * Instantiates a new upstream pool.
+     *
+     * @param address                the upstream address
+     * @param provider               the provider of the connections
+     * @param ownProvider            whether the provider is disposed with this pool
+     * @param pendingAcquireMaxCount the max count of the pending acquires, not greater than 0 for no limit
+     * @param maxIdleTime            the max idle time in millis, not greater than 0 for no limit
+     * @param maxLifeTime            the max life time in millis, not greater than 0 for no limit
+     * @param onDrained              called once the pool has no pending acquire nor connection left, null if the pool is kept
+     */
+    UpstreamPool(final String address, final ConnectionProvider provider, final boolean ownProvider,
+                 final int pendingAcquireMaxCount, final long maxIdleTime, final long maxLifeTime, final Consumer<UpstreamPool> onDrained) {
+        this.address = address;
+        this.provider = provider;
+        this.ownProvider = ownProvider;
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(maxIdleTime, 0));
+        this.maxLifeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(maxLifeTime, 0));
+        this.labelValues = new String[]{address};
+        this.onDrained = onDrained;
+    }
+
+    /**
+     * Get the count of the acquires waiting for a connection.
+     *
+     * @return the pending acquire count
+     */
+    int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Get the count of the connections in use.
+     *
+     * @return the active connection count
+     */
+    int getActive() {
+        return active.get();
+    }
+
+    /**
+     * Get the count of the connections released to the pool.
+     *
+     * @return the idle connection count
+     */
+    int getIdle() {
+        return idle.size();
+    }
+
+    /**
+     * Acquire a connection, failing at once when too many acquires are already waiting.
+     *
+     * @param bootstrap the bootstrap of the connection
+     * @return the connection
+     */
+    Mono<? extends Connection> acquire(final Bootstrap bootstrap) {
+        return Mono.defer(() -> {
+            int waiting = pending.incrementAndGet();
+            if (pendingAcquireMaxCount > 0 && waiting > pendingAcquireMaxCount) {
+                pending.decrementAndGet();
+                return Mono.error(new ShenyuException("the pending acquire count of upstream " + address + " reached " + pendingAcquireMaxCount));
+            }
+            report(LabelNames.UPSTREAM_POOL_PENDING_ACQUIRE, true);
+            long start = System.nanoTime();
+            AtomicBoolean done = new AtomicBoolean();
+            Runnable leave = () -> {
+                if (done.compareAndSet(false, true)) {
+                    pending.decrementAndGet();
+                    report(LabelNames.UPSTREAM_POOL_PENDING_ACQUIRE, false);
+                    checkDrained();
+                }
+            };
+            return obtain(bootstrap)
+                    .doOnNext(connection -> {
+                        leave.run();
+                        METRICS.ensureRegistered();
+                        MetricsReporter.recordTime(LabelNames.UPSTREAM_POOL_ACQUIRE_LATENCY, labelValues, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    })
+                    .doOnError(throwable -> leave.run())
+                    .doOnCancel(leave);
+        });
+    }
+
+    private Mono<Connection> obtain(final Bootstrap bootstrap) {
+        return provider.acquire(bootstrap).flatMap(connection -> {
+            if (acquired(connection.channel())) {
+                return Mono.just(connection);
+            }
+            // the connection was evicted meanwhile, it is closed and not handed out
+            return obtain(bootstrap);
+        });
+    }
+
+    /**
+     * Return a connection released to the pool, a connection older than the max life time is closed instead.
+     *
+     * @param channel the channel of the connection
+     */
+    static void released(final Channel channel) {
+        ChannelState state = channel.attr(CHANNEL_STATE).get();
+        if (Objects.isNull(state)) {
+            return;
+        }
+        UpstreamPool pool = state.owner.getAndSet(null);
+        if (Objects.isNull(pool)) {
+            return;
+        }
+        pool.deactivate();
+        long now = System.nanoTime();
+        if (pool.maxLifeNanos > 0 && now - state.createdAt >= pool.maxLifeNanos) {
+            channel.close();
+            return;
+        }
+        synchronized (state) {
+            state.idleSince = now;
+            if (channel.isActive() && pool.idle.add(channel)) {
+                state.idleIn = pool;
+                pool.report(LabelNames.UPSTREAM_POOL_IDLE_CONNECTIONS, true);
+            }
+        }
+    }
+
+    /**
+     * Close the idle connections past their max idle or life time.
+     */
+    void evict() {
+        long now = System.nanoTime();
+        for (Channel channel : idle) {
+            ChannelState state = channel.attr(CHANNEL_STATE).get();
+            if (!channel.isActive()) {
+                removeIdle(channel);
+            } else if (expired(state, now)) {
+                // closed on its event loop, where the provider checks and hands out its idle connections,
+                // and only by the one removing the channel from the idle set, the evictor or an acquire
+                channel.eventLoop().execute(() -> {
+                    if (take(channel, state)) {
+                        channel.close();
+                        checkDrained();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Dispose the provider owned by this pool, the connections in use are closed once released.
+     *
+     * @return the completion of the disposal
+     */
+    Mono<Void> disposeLater() {
+        return ownProvider ? provider.disposeLater() : Mono.empty();
+    }
+
+    /**
+     * Take the ownership of an acquired channel.
+     *
+     * @return false if the channel was evicted meanwhile
+     */
+    private boolean acquired(final Channel channel) {
+        ChannelState state = channel.attr(CHANNEL_STATE).get();
+        if (Objects.isNull(state)) {
+            ChannelState created = new ChannelState(System.nanoTime());
+            state = channel.attr(CHANNEL_STATE).setIfAbsent(created);
+            if (Objects.isNull(state)) {
+                state = created;
+                channel.closeFuture().addListener(future -> closed(channel));
+            }
+        }
+        UpstreamPool idleIn = state.idleIn;
+        // lost to the evictor, which closes the channel
+        if (Objects.nonNull(idleIn) && !idleIn.take(channel, state)) {
+            return false;
+        }
+        if (Objects.isNull(state.owner.getAndSet(this))) {
+            active.incrementAndGet();
+            report(LabelNames.UPSTREAM_POOL_ACTIVE_CONNECTIONS, true);
+        }
+        return true;
+    }
+
+    private static void closed(final Channel channel) {
+        ChannelState state = channel.attr(CHANNEL_STATE).get();
+        UpstreamPool owner = state.owner.getAndSet(null);
+        if (Objects.nonNull(owner)) {
+            owner.deactivate();
+        }
+        UpstreamPool idleIn = state.idleIn;
+        if (Objects.nonNull(idleIn)) {
+            idleIn.removeIdle(channel);
+            idleIn.checkDrained();
+        }
+        if (Objects.nonNull(owner)) {
+            owner.checkDrained();
+        }
+    }
+
+    private void deactivate() {
+        active.decrementAndGet();
+        report(LabelNames.UPSTREAM_POOL_ACTIVE_CONNECTIONS, false);
+    }
+
+    private boolean expired(final ChannelState state, final long now) {
+        return (maxIdleNanos > 0 && now - state.idleSince >= maxIdleNanos)
+                || (maxLifeNanos > 0 && now - state.createdAt >= maxLifeNanos);
+    }
+
+    /**
+     * Remove an idle channel to own it, once per release: the evictor and an acquire race for it.
+     */
+    private boolean take(final Channel channel, final ChannelState state) {
+        synchronized (state) {
+            if (state.idleIn != this || !removeIdle(channel)) {
+                return false;
+            }
+            state.idleIn = null;
+            return true;
+        }
+    }
+
+    private void checkDrained() {
+        if (Objects.nonNull(onDrained) && pending.get() == 0 && active.get() == 0 && idle.isEmpty()) {
+            onDrained.accept(this);
+        }
+    }
+
+    private boolean removeIdle(final Channel channel) {
+        if (idle.remove(channel)) {
+            report(LabelNames.UPSTREAM_POOL_IDLE_CONNECTIONS, false);
+            return true;
+        }
+        return false;
+    }
+
+    private void report(final String name, final boolean increment) {
+        METRICS.ensureRegistered();
+        if (increment) {
+            MetricsReporter.gaugeIncrement(name, labelValues);
+        } else {
+            MetricsReporter.gaugeDecrement(name, labelValues);
+        }
+    }
+
+    /**
+     * The pool state of a channel: the pool using it and the pool holding it idle.
+     */
+    private static final class ChannelState {
+
+        private final long createdAt;
+
+        private final AtomicReference<UpstreamPool> owner = new AtomicReference<>();
+
+        private volatile UpstreamPool idleIn;
+
+        private volatile long idleSince;
+
+        ChannelState(final long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.httpclient;
 
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import org.apache.shenyu.common.constant.Constants;
@@ -26,18 +27,35 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.retry.HedgePolicy;
+import org.apache.shenyu.plugin.base.retry.HttpHedgeContext;
+import org.apache.shenyu.plugin.base.retry.RetryBudget;
+import org.apache.shenyu.plugin.base.retry.UpstreamTarget;
+import org.apache.shenyu.plugin.base.stats.LatencyHistogram;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.DisposableChannel;
+import reactor.netty.DisposableServer;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
 import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertEquals;
@@ -86,6 +104,123 @@ public final class NettyHttpClientPluginTest {
         StepVerifier.create(nettyHttpClientPlugin.execute(exchange, chain)).expectSubscription().verifyError();
     }
 
+    /**
+     * test case for NettyHttpClientPlugin hedging a slow request.
+     */
+    @Test
+    public void testHedge() {
+        DisposableServer server = HttpServer.create().host("127.0.0.1").port(0)
+                .route(routes -> routes.get("/slow", (request, response) -> response.header("upstream", "slow").sendString(Mono.just("slow").delayElement(Duration.ofSeconds(2))))
+                        .get("/fast", (request, response) -> response.header("upstream", "fast").sendString(Mono.just("fast"))))
+                .bindNow();
+        try {
+            String domain = "http://127.0.0.1:" + server.port();
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test").build());
+            exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+            exchange.getAttributes().put(Constants.HTTP_URL, domain + "/slow");
+            exchange.getAttributes().put(Constants.HTTP_UPSTREAM, "slow");
+            exchange.getAttributes().put(Constants.HTTP_TIME_OUT, 5000L);
+            HedgePolicy hedgePolicy = new HedgePolicy(100, 100, new LatencyHistogram(10000), new RetryBudget(10, 1, 10));
+            exchange.getAttributes().put(Constants.HTTP_HEDGE_CONTEXT, new HttpHedgeContext(hedgePolicy, (hedgeExchange, tried) -> {
+                assertEquals(Collections.singleton("slow"), tried);
+                return new UpstreamTarget(domain + "/fast", "fast", null);
+            }));
+            long start = System.nanoTime();
+            StepVerifier.create(nettyHttpClientPlugin.execute(exchange, chain)).expectSubscription().verifyComplete();
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertEquals("fast", exchange.getResponse().getHeaders().getFirst("upstream"));
+            assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+            assertEquals("slow", exchange.getAttribute(Constants.HTTP_UPSTREAM));
+            assertEquals(domain + "/slow", exchange.getAttribute(Constants.HTTP_URL));
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    /**
+     * test case for NettyHttpClientPlugin failing a hedged request only when both attempts failed.
+     */
+    @Test
+    public void testHedgeFailure() {
+        DisposableServer server = HttpServer.create().host("127.0.0.1").port(0)
+                .route(routes -> routes.get("/reset", (request, response) -> Mono.delay(Duration.ofMillis(300))
+                        .then(Mono.defer(() -> Mono.from(response.withConnection(DisposableChannel::dispose)))))
+                        .get("/late", (request, response) -> response.header("upstream", "late").sendString(Mono.just("late").delayElement(Duration.ofMillis(600)))))
+                .bindNow();
+        try {
+            String domain = "http://127.0.0.1:" + server.port();
+            ServerWebExchange recovered = hedgedExchange(domain + "/reset", domain + "/late");
+            StepVerifier.create(nettyHttpClientPlugin.execute(recovered, chain)).expectSubscription().verifyComplete();
+            assertEquals("late", recovered.getResponse().getHeaders().getFirst("upstream"));
+            ServerWebExchange failed = hedgedExchange(domain + "/reset", domain + "/reset");
+            StepVerifier.create(nettyHttpClientPlugin.execute(failed, chain)).expectSubscription().verifyError();
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    /**
+     * test case for NettyHttpClientPlugin holding back a server error of either attempt while the other one is in flight.
+     */
+    @Test
+    public void testHedgeServerError() {
+        DisposableServer server = HttpServer.create().host("127.0.0.1").port(0)
+                .route(routes -> routes.get("/error", (request, response) -> Mono.delay(Duration.ofMillis(300))
+                        .then(Mono.defer(() -> Mono.from(response.status(HttpStatus.SERVICE_UNAVAILABLE.value()).header("upstream", "error").sendString(Mono.just("error"))))))
+                        .get("/late", (request, response) -> response.header("upstream", "late").sendString(Mono.just("late").delayElement(Duration.ofMillis(600)))))
+                .bindNow();
+        try {
+            String domain = "http://127.0.0.1:" + server.port();
+            ServerWebExchange recovered = hedgedExchange(domain + "/error", domain + "/late");
+            StepVerifier.create(nettyHttpClientPlugin.execute(recovered, chain)).expectSubscription().verifyComplete();
+            assertEquals("late", recovered.getResponse().getHeaders().getFirst("upstream"));
+            assertEquals(HttpStatus.OK, recovered.getResponse().getStatusCode());
+            ServerWebExchange failed = hedgedExchange(domain + "/error", domain + "/error");
+            StepVerifier.create(nettyHttpClientPlugin.execute(failed, chain)).expectSubscription().verifyComplete();
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, failed.getResponse().getStatusCode());
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    /**
+     * test case for NettyHttpClientPlugin forwarding the end-to-end headers only.
+     */
+    @Test
+    public void testForwardHeaders() {
+        DisposableServer server = HttpServer.create().host("127.0.0.1").port(0)
+                .route(routes -> routes.post("/echo", (request, response) -> request.receive().aggregate().asString()
+                        .flatMap(body -> response.header("body", body)
+                                .header("hop", String.valueOf(request.requestHeaders().contains("X-Hop")))
+                                .header("end", request.requestHeaders().get("X-End"))
+                                .header(HttpHeaderNames.CONNECTION, "X-Upstream-Hop")
+                                .header("X-Upstream-Hop", "1")
+                                .header("X-Upstream", "new")
+                                .send().then())))
+                .bindNow();
+        try {
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/test")
+                    .header(HttpHeaderNames.CONNECTION.toString(), "keep-alive, X-Hop")
+                    .header(HttpHeaderNames.TRANSFER_ENCODING.toString(), HttpHeaderValues.CHUNKED.toString())
+                    .header("X-Hop", "1")
+                    .header("X-End", "1")
+                    .body(Flux.just(new NettyDataBufferFactory(ByteBufAllocator.DEFAULT).wrap("hello".getBytes(StandardCharsets.UTF_8)))));
+            exchange.getResponse().getHeaders().add("X-Upstream", "old");
+            exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+            exchange.getAttributes().put(Constants.HTTP_URL, "http://127.0.0.1:" + server.port() + "/echo");
+            StepVerifier.create(nettyHttpClientPlugin.execute(exchange, chain)).expectSubscription().verifyComplete();
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            assertEquals("hello", headers.getFirst("body"));
+            assertEquals("false", headers.getFirst("hop"));
+            assertEquals("1", headers.getFirst("end"));
+            assertEquals(Collections.singletonList("new"), headers.get("X-Upstream"));
+            assertFalse(headers.containsKey("X-Upstream-Hop"));
+            assertFalse(headers.containsKey(HttpHeaders.CONNECTION));
+        } finally {
+            server.disposeNow();
+        }
+    }
+
     /**
      * test case for NettyHttpClientPlugin {@link NettyHttpClientPlugin#skip(ServerWebExchange)}.
      */
@@ -121,6 +256,17 @@ public final class NettyHttpClientPluginTest {
         assertEquals("NettyHttpClient", nettyHttpClientPlugin.named());
     }
 
+    private ServerWebExchange hedgedExchange(final String url, final String hedgeUrl) {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test").build());
+        exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+        exchange.getAttributes().put(Constants.HTTP_URL, url);
+        exchange.getAttributes().put(Constants.HTTP_UPSTREAM, "first");
+        exchange.getAttributes().put(Constants.HTTP_TIME_OUT, 5000L);
+        HedgePolicy hedgePolicy = new HedgePolicy(100, 100, new LatencyHistogram(10000), new RetryBudget(10, 1, 10));
+        exchange.getAttributes().put(Constants.HTTP_HEDGE_CONTEXT, new HttpHedgeContext(hedgePolicy, (hedgeExchange, tried) -> new UpstreamTarget(hedgeUrl, "hedge", null)));
+        return exchange;
+    }
+
     private ServerWebExchange generateServerWebExchange() {
         ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test").build());
         exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
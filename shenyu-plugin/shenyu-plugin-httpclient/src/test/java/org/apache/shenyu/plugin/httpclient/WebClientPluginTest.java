@@ -24,6 +24,10 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.retry.HttpRetryContext;
+import org.apache.shenyu.plugin.base.retry.RetryBudget;
+import org.apache.shenyu.plugin.base.retry.RetryPolicy;
+import org.apache.shenyu.plugin.base.retry.UpstreamTarget;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -43,6 +47,11 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertEquals;
@@ -111,6 +120,38 @@ public final class WebClientPluginTest {
         StepVerifier.create(monoErrorTest).expectSubscription().verifyError();
     }
 
+    /**
+     * test case for WebClientPlugin retrying on another upstream.
+     */
+    @Test
+    public void testRetryOnAnotherUpstream() {
+        final ClientResponse unavailable = mock(ClientResponse.class);
+        when(unavailable.rawStatusCode()).thenReturn(HttpStatus.SERVICE_UNAVAILABLE.value());
+        when(unavailable.releaseBody()).thenReturn(Mono.empty());
+        final ClientResponse ok = mock(ClientResponse.class);
+        when(ok.rawStatusCode()).thenReturn(HttpStatus.OK.value());
+        when(ok.statusCode()).thenReturn(HttpStatus.OK);
+        List<String> urls = new ArrayList<>();
+        WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+            urls.add(request.url().toString());
+            return Mono.just(urls.size() == 1 ? unavailable : ok);
+        }).build();
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/test").body("shenyu"));
+        exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+        exchange.getAttributes().put(Constants.HTTP_URL, "http://upstream-a/test");
+        exchange.getAttributes().put(Constants.HTTP_UPSTREAM, "upstream-a");
+        RetryPolicy retryPolicy = new RetryPolicy(2, "503", true, 1024, new RetryBudget(20, 10, 10));
+        exchange.getAttributes().put(Constants.HTTP_RETRY_CONTEXT, new HttpRetryContext(retryPolicy, (retryExchange, tried) -> {
+            assertEquals(Collections.singleton("upstream-a"), tried);
+            return new UpstreamTarget("http://upstream-b/test", "upstream-b", null);
+        }));
+        ShenyuPluginChain chain = mock(ShenyuPluginChain.class);
+        when(chain.execute(exchange)).thenReturn(Mono.empty());
+        StepVerifier.create(new WebClientPlugin(webClient).execute(exchange, chain)).expectSubscription().verifyComplete();
+        assertEquals(Arrays.asList("http://upstream-a/test", "http://upstream-b/test"), urls);
+        assertEquals(ok, exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR));
+    }
+
     /**
      * test case for WebClientPlugin {@link WebClientPlugin#skip(ServerWebExchange)}.
      */
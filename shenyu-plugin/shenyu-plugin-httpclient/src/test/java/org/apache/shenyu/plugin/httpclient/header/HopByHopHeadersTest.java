@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.header;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The test case for HopByHopHeaders.
+ */
+public final class HopByHopHeadersTest {
+
+    @Test
+    public void testIsHopByHop() {
+        assertTrue(HopByHopHeaders.isHopByHop("Transfer-Encoding", null));
+        assertTrue(HopByHopHeaders.isHopByHop("keep-alive", null));
+        assertTrue(HopByHopHeaders.isHopByHop("X-Hop", "keep-alive,  x-hop "));
+        assertFalse(HopByHopHeaders.isHopByHop("X-Hop", "keep-alive, X-Hop-Other"));
+        assertFalse(HopByHopHeaders.isHopByHop("Content-Length", "close"));
+    }
+
+    @Test
+    public void testForwardRequest() {
+        HttpHeaders from = new HttpHeaders();
+        from.add(HttpHeaders.CONNECTION, "X-Hop");
+        from.add("X-Hop", "1");
+        from.add(HttpHeaders.ACCEPT, "a");
+        from.add(HttpHeaders.ACCEPT, "b");
+        DefaultHttpHeaders to = new DefaultHttpHeaders();
+        HopByHopHeaders.forwardRequest(from, to);
+        assertEquals(1, to.names().size());
+        assertEquals(Arrays.asList("a", "b"), to.getAll(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    public void testForwardResponse() {
+        DefaultHttpHeaders from = new DefaultHttpHeaders();
+        from.add(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        from.add("Set-Cookie", "a=1");
+        from.add("Set-Cookie", "b=2");
+        from.add(HttpHeaders.CONTENT_TYPE, "text/plain");
+        HttpHeaders to = new HttpHeaders();
+        to.add("set-cookie", "c=3");
+        to.add("X-Gateway", "1");
+        HopByHopHeaders.forwardResponse(from, to);
+        assertEquals(Arrays.asList("a=1", "b=2"), to.get("Set-Cookie"));
+        assertEquals(Collections.singletonList("text/plain"), to.get(HttpHeaders.CONTENT_TYPE));
+        assertEquals("1", to.getFirst("X-Gateway"));
+        assertFalse(to.containsKey(HttpHeaders.TRANSFER_ENCODING));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.pool;
+
+import org.apache.shenyu.common.dto.convert.UpstreamPoolConfig;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The test case for UpstreamConnectionProvider.
+ */
+public final class UpstreamConnectionProviderTest {
+
+    private DisposableServer server;
+
+    private String upstreamUrl;
+
+    private String url;
+
+    private UpstreamConnectionProvider connectionProvider;
+
+    @Before
+    public void setUp() {
+        server = HttpServer.create().host("127.0.0.1").port(0)
+                .route(routes -> routes.get("/fast", (req, res) -> res.sendString(Mono.just("ok")))
+                        .get("/slow", (req, res) -> res.sendString(Mono.delay(Duration.ofMillis(500)).thenReturn("ok"))))
+                .bindNow();
+        upstreamUrl = "127.0.0.1:" + server.port();
+        url = "http://" + upstreamUrl;
+    }
+
+    @After
+    public void tearDown() {
+        connectionProvider.dispose();
+        server.disposeNow();
+    }
+
+    @Test
+    public void testRegisteredPoolIsReused() throws InterruptedException {
+        HttpClient httpClient = createHttpClient(new HttpClientProperties.Pool());
+        connectionProvider.register(upstreamUrl, url + "/fast", config(2, 0, 0));
+        assertEquals("ok", get(httpClient, "/fast"));
+        UpstreamPool pool = connectionProvider.getPool(upstreamUrl);
+        assertNotNull(pool);
+        // the connection is released once the response completes, right after the body is read
+        await(() -> pool.getIdle() == 1);
+        assertEquals("ok", get(httpClient, "/fast"));
+        await(() -> pool.getIdle() == 1);
+        assertEquals(0, pool.getActive());
+        assertEquals(0, pool.getPending());
+        assertEquals(1, pool.getIdle());
+    }
+
+    @Test
+    public void testPendingAcquireLimit() {
+        HttpClient httpClient = createHttpClient(new HttpClientProperties.Pool());
+        connectionProvider.register(upstreamUrl, url + "/slow", config(1, 1, 0));
+        List<String> results = Flux.range(0, 3)
+                .flatMap(i -> httpClient.get().uri(url + "/slow").responseContent().aggregate().asString()
+                        .onErrorResume(ShenyuException.class, e -> Mono.just("rejected")))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        // the acquires opening a connection are pending too, at least the last one is rejected
+        assertTrue(results.contains("ok"));
+        assertTrue(results.contains("rejected"));
+    }
+
+    @Test
+    public void testMaxLifeTimeClosesReleasedConnection() throws InterruptedException {
+        HttpClient httpClient = createHttpClient(new HttpClientProperties.Pool());
+        connectionProvider.register(upstreamUrl, url + "/fast", config(1, 0, 1));
+        TimeUnit.MILLISECONDS.sleep(5);
+        assertEquals("ok", get(httpClient, "/fast"));
+        UpstreamPool pool = connectionProvider.getPool(upstreamUrl);
+        await(() -> pool.getActive() == 0);
+        assertEquals(0, pool.getIdle());
+        assertEquals("ok", get(httpClient, "/fast"));
+    }
+
+    @Test
+    public void testBackgroundEviction() throws InterruptedException {
+        HttpClientProperties.Pool properties = new HttpClientProperties.Pool();
+        properties.setMaxIdleTime(100L);
+        properties.setEvictionInterval(20L);
+        HttpClient httpClient = createHttpClient(properties);
+        assertEquals("ok", get(httpClient, "/fast"));
+        UpstreamPool pool = connectionProvider.getPool(upstreamUrl);
+        await(() -> pool.getIdle() == 1);
+        await(() -> pool.getIdle() == 0);
+        assertEquals(0, pool.getActive());
+        // the shared pool of an address with no upstream registered is dropped once it has no connection left
+        await(() -> Objects.isNull(connectionProvider.getPool(upstreamUrl)));
+        assertEquals("ok", get(httpClient, "/fast"));
+    }
+
+    @Test
+    public void testUnregisterReturnsToSharedPool() {
+        final HttpClient httpClient = createHttpClient(new HttpClientProperties.Pool());
+        connectionProvider.register(upstreamUrl, url + "/fast", config(1, 0, 0));
+        UpstreamPool registered = connectionProvider.getPool(upstreamUrl);
+        connectionProvider.register(upstreamUrl, url + "/fast", config(1, 0, 0));
+        assertTrue(registered == connectionProvider.getPool(upstreamUrl));
+        connectionProvider.register(upstreamUrl, url + "/fast", null);
+        assertEquals(null, connectionProvider.getPool(upstreamUrl));
+        assertEquals("ok", get(httpClient, "/fast"));
+        assertTrue(registered != connectionProvider.getPool(upstreamUrl));
+    }
+
+    private HttpClient createHttpClient(final HttpClientProperties.Pool properties) {
+        connectionProvider = new UpstreamConnectionProvider(properties);
+        return HttpClient.create(connectionProvider).observe(connectionProvider);
+    }
+
+    private String get(final HttpClient httpClient, final String path) {
+        return httpClient.get().uri(url + path).responseContent().aggregate().asString().block(Duration.ofSeconds(3));
+    }
+
+    private void await(final BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private UpstreamPoolConfig config(final int maxConnections, final int pendingAcquireMaxCount, final long maxLifeTime) {
+        UpstreamPoolConfig config = new UpstreamPoolConfig();
+        config.setMaxConnections(maxConnections);
+        config.setPendingAcquireMaxCount(pendingAcquireMaxCount);
+        config.setMaxLifeTime(maxLifeTime);
+        return config;
+    }
+}
@@ -101,6 +101,11 @@ public class MotanPlugin extends AbstractShenyuPlugin {
         return !Objects.equals(shenyuContext.getRpcType(), RpcTypeEnum.MOTAN.getName());
     }
 
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.MOTAN;
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.MOTAN.getCode();
@@ -67,6 +67,11 @@ public class MotanResponsePlugin implements ShenyuPlugin {
         return !Objects.equals(shenyuContext.getRpcType(), RpcTypeEnum.MOTAN.getName());
     }
 
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.MOTAN;
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.RESPONSE.getCode();
@@ -22,6 +22,7 @@ import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.impl.ParamMappingHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
@@ -66,4 +67,9 @@ public class ParamMappingPlugin extends AbstractShenyuPlugin {
     public Boolean skip(final ServerWebExchange exchange) {
         return false;
     }
+
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return false;
+    }
 }
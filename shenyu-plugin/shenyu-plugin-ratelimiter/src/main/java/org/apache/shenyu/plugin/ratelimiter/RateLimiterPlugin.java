@@ -21,6 +21,7 @@ import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RateLimiterEngineEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
@@ -28,13 +29,17 @@ import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.ratelimiter.cache.RatelimiterRuleHandleCache;
+import org.apache.shenyu.plugin.ratelimiter.cache.RatelimiterRuleKeyCache;
+import org.apache.shenyu.plugin.ratelimiter.executor.HybridRateLimiter;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.resolver.RateLimiterKeyResolverFactory;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Optional;
+import java.util.Objects;
 
 /**
  * RateLimiter Plugin.
@@ -43,13 +48,30 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
 
     private final RedisRateLimiter redisRateLimiter;
 
+    private final LocalRateLimiter localRateLimiter;
+
+    private final HybridRateLimiter hybridRateLimiter;
+
     /**
      * Instantiates a new Rate limiter plugin.
      *
      * @param redisRateLimiter  the redis rate limiter
      */
     public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter) {
+        this(redisRateLimiter, new LocalRateLimiter(), new HybridRateLimiter(redisRateLimiter));
+    }
+
+    /**
+     * Instantiates a new Rate limiter plugin.
+     *
+     * @param redisRateLimiter  the redis rate limiter
+     * @param localRateLimiter  the local rate limiter
+     * @param hybridRateLimiter  the hybrid rate limiter
+     */
+    public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter, final LocalRateLimiter localRateLimiter, final HybridRateLimiter hybridRateLimiter) {
         this.redisRateLimiter = redisRateLimiter;
+        this.localRateLimiter = localRateLimiter;
+        this.hybridRateLimiter = hybridRateLimiter;
     }
 
     @Override
@@ -66,17 +88,35 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
         RateLimiterHandle limiterHandle = RatelimiterRuleHandleCache.getInstance()
                 .obtainHandle(CacheKeyUtils.INST.getKey(rule));
-        String resolverKey = Optional.ofNullable(limiterHandle.getKeyResolverName())
-                .flatMap(name -> Optional.of("-" + RateLimiterKeyResolverFactory.newInstance(name).resolve(exchange)))
-                .orElse("");
-        return redisRateLimiter.isAllowed(rule.getId() + resolverKey, limiterHandle)
+        return isAllowed(resolveKey(exchange, rule, limiterHandle), limiterHandle)
                 .flatMap(response -> {
                     if (!response.isAllowed()) {
                         exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
                         Object error = ShenyuResultWrap.error(ShenyuResultEnum.TOO_MANY_REQUESTS.getCode(), ShenyuResultEnum.TOO_MANY_REQUESTS.getMsg(), null);
                         return WebFluxResultUtils.result(exchange, error);
                     }
-                    return chain.execute(exchange);
+                    // the permits of the concurrent algorithm are held until the request completes, errors or is cancelled
+                    return chain.execute(exchange).doFinally(signalType -> response.release());
                 });
     }
+
+    private String resolveKey(final ServerWebExchange exchange, final RuleData rule, final RateLimiterHandle limiterHandle) {
+        String keyResolverName = limiterHandle.getKeyResolverName();
+        if (Objects.isNull(keyResolverName)) {
+            return rule.getId();
+        }
+        String resolvedKey = RateLimiterKeyResolverFactory.newInstance(keyResolverName).resolve(exchange, limiterHandle.getKeyResolverArgs());
+        return RatelimiterRuleKeyCache.getInstance().obtainKey(rule.getId(), resolvedKey);
+    }
+
+    private Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        switch (RateLimiterEngineEnum.acquireByName(limiterHandle.getEngine())) {
+            case LOCAL:
+                return localRateLimiter.isAllowed(id, limiterHandle);
+            case HYBRID:
+                return hybridRateLimiter.isAllowed(id, limiterHandle);
+            default:
+                return redisRateLimiter.isAllowed(id, limiterHandle);
+        }
+    }
 }
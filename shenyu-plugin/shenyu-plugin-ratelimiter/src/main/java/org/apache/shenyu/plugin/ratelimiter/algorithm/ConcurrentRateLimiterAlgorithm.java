@@ -20,6 +20,8 @@ package org.apache.shenyu.plugin.ratelimiter.algorithm;
 import org.apache.shenyu.common.enums.RateLimitEnum;
 import org.apache.shenyu.common.utils.UUIDUtils;
 import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.local.ConcurrentLocalState;
+import org.apache.shenyu.plugin.ratelimiter.local.LocalRateLimiterState;
 import org.apache.shenyu.spi.Join;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
@@ -58,4 +60,9 @@ public class ConcurrentRateLimiterAlgorithm extends AbstractRateLimiterAlgorithm
     public void callback(final RedisScript<?> script, final List<String> keys, final List<String> scriptArgs) {
         Singleton.INST.get(ReactiveRedisTemplate.class).opsForZSet().remove(keys.get(0), keys.get(1)).subscribe();
     }
+    
+    @Override
+    public LocalRateLimiterState newLocalState() {
+        return new ConcurrentLocalState();
+    }
 }
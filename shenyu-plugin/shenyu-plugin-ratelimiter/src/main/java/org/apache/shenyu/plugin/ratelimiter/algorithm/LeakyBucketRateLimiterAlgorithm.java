@@ -18,6 +18,8 @@
 package org.apache.shenyu.plugin.ratelimiter.algorithm;
 
 import org.apache.shenyu.common.enums.RateLimitEnum;
+import org.apache.shenyu.plugin.ratelimiter.local.LeakyBucketLocalState;
+import org.apache.shenyu.plugin.ratelimiter.local.LocalRateLimiterState;
 import org.apache.shenyu.spi.Join;
 
 /**
@@ -35,4 +37,9 @@ public class LeakyBucketRateLimiterAlgorithm extends AbstractRateLimiterAlgorith
     protected String getKeyName() {
         return RateLimitEnum.LEAKY_BUCKET.getKeyName();
     }
+    
+    @Override
+    public LocalRateLimiterState newLocalState() {
+        return new LeakyBucketLocalState();
+    }
 }
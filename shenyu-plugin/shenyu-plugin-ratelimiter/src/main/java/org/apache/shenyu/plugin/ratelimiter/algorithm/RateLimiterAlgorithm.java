@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.ratelimiter.algorithm;
 
+import org.apache.shenyu.plugin.ratelimiter.local.LocalRateLimiterState;
 import org.apache.shenyu.spi.SPI;
 import org.springframework.data.redis.core.script.RedisScript;
 
@@ -54,4 +55,13 @@ public interface RateLimiterAlgorithm<T> {
      */
     default void callback(final RedisScript<?> script, final List<String> keys, final List<String> scriptArgs) {
     }
+    
+    /**
+     * New local state of one key, used instead of the script by the local rate limiter.
+     *
+     * @return the local state, null if the algorithm only works with redis
+     */
+    default LocalRateLimiterState newLocalState() {
+        return null;
+    }
 }
@@ -19,6 +19,8 @@ package org.apache.shenyu.plugin.ratelimiter.algorithm;
 
 import org.apache.shenyu.common.enums.RateLimitEnum;
 import org.apache.shenyu.common.utils.UUIDUtils;
+import org.apache.shenyu.plugin.ratelimiter.local.LocalRateLimiterState;
+import org.apache.shenyu.plugin.ratelimiter.local.SlidingWindowLocalState;
 import org.apache.shenyu.spi.Join;
 
 import java.util.Arrays;
@@ -47,4 +49,9 @@ public class SlidingWindowRateLimiterAlgorithm extends AbstractRateLimiterAlgori
         String timestampKey = UUIDUtils.getInstance().generateShortUuid();
         return Arrays.asList(tokenKey, timestampKey);
     }
+    
+    @Override
+    public LocalRateLimiterState newLocalState() {
+        return new SlidingWindowLocalState();
+    }
 }
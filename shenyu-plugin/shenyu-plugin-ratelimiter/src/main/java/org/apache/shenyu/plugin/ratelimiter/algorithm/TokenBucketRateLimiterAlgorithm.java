@@ -18,6 +18,8 @@
 package org.apache.shenyu.plugin.ratelimiter.algorithm;
 
 import org.apache.shenyu.common.enums.RateLimitEnum;
+import org.apache.shenyu.plugin.ratelimiter.local.LocalRateLimiterState;
+import org.apache.shenyu.plugin.ratelimiter.local.TokenBucketLocalState;
 import org.apache.shenyu.spi.Join;
 
 /**
@@ -38,4 +40,9 @@ public class TokenBucketRateLimiterAlgorithm extends AbstractRateLimiterAlgorith
     protected String getKeyName() {
         return RateLimitEnum.TOKEN_BUCKET.getKeyName();
     }
+    
+    @Override
+    public LocalRateLimiterState newLocalState() {
+        return new TokenBucketLocalState();
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rule key cache, the rate limiter keys of a rule are built once for each resolved key instead of each request.
+ */
+public final class RatelimiterRuleKeyCache {
+
+    private static final long MAXIMUM_SIZE = 10000;
+
+    private static final long EXPIRE_AFTER_ACCESS_SECONDS = 300;
+
+    /**
+     * rule id -> (resolved key -> rate limiter key).
+     */
+    private final Map<String, Cache<String, String>> cached = new ConcurrentHashMap<>();
+
+    private RatelimiterRuleKeyCache() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static RatelimiterRuleKeyCache getInstance() {
+        return RatelimiterRuleKeyCacheInstance.INSTANCE;
+    }
+
+    /**
+     * Obtain the rate limiter key of the rule and the resolved key.
+     *
+     * @param ruleId the rule id
+     * @param resolvedKey the key resolved from the request
+     * @return the rate limiter key
+     */
+    public String obtainKey(final String ruleId, final String resolvedKey) {
+        return cached.computeIfAbsent(ruleId, id -> CacheBuilder.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterAccess(EXPIRE_AFTER_ACCESS_SECONDS, TimeUnit.SECONDS)
+                .build())
+                .asMap().computeIfAbsent(resolvedKey, key -> ruleId + "-" + key);
+    }
+
+    /**
+     * Remove the keys of the rule.
+     *
+     * @param ruleId the rule id
+     */
+    public void removeKeys(final String ruleId) {
+        cached.remove(ruleId);
+    }
+
+    /**
+     * The type rule key cache instance.
+     */
+    static class RatelimiterRuleKeyCacheInstance {
+        /**
+         * The Instance.
+         */
+        static final RatelimiterRuleKeyCache INSTANCE = new RatelimiterRuleKeyCache();
+    }
+}
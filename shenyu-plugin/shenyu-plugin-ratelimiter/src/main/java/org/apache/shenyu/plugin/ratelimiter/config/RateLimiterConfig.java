@@ -73,4 +73,15 @@ public class RateLimiterConfig implements Serializable {
      * indefinitely.
      */
     private Duration maxWait = Duration.ofMillis(-1);
+
+    /**
+     * The window the rate limiter scripts of concurrent requests are coalesced within
+     * and pipelined to redis. Zero sends the script of every request on its own.
+     */
+    private long pipelineWindowMillis;
+
+    /**
+     * Maximum number of scripts pipelined at once.
+     */
+    private int pipelineMaxSize = 64;
 }
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.reporter.MetricsRegistration;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
+import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.TokenBucketRateLimiterAlgorithm;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * HybridRateLimiter, serves the requests from tokens leased from the redis token bucket in batches.
+ * Each node holds at most about one lease size more than the bucket would allow, and refills its lease
+ * in the background once half of it is spent, so most requests do not wait for redis.
+ * The algorithms other than the token bucket can not be leased, and go to the redis rate limiter.
+ */
+@Slf4j
+public class HybridRateLimiter {
+    
+    private static final String SCRIPT_PATH = "/META-INF/scripts/request_lease_rate_limiter.lua";
+    
+    private static final long DEFAULT_MAXIMUM_SIZE = 100000;
+    
+    private static final long DEFAULT_EXPIRE_AFTER_ACCESS_SECONDS = 300;
+    
+    /**
+     * The lease size of a handle without one, as a ratio of its burst capacity.
+     */
+    private static final double DEFAULT_LEASE_RATIO = 0.1;
+    
+    private static final String[] LABEL_NAMES = {"event"};
+    
+    private static final MetricsRegistration METRICS = new MetricsRegistration(
+        () -> MetricsReporter.registerCounter(LabelNames.RATE_LIMITER_LEASE_TOTAL, LABEL_NAMES, "shenyu rate limiter lease hits and misses"));
+    
+    private static final String[] HIT = {"hit"};
+    
+    private static final String[] MISS = {"miss"};
+    
+    private final RedisRateLimiter redisRateLimiter;
+    
+    private final RedisScript<List<Long>> script;
+    
+    /**
+     * key -> lease, the idle keys are evicted with the tokens left in their lease.
+     */
+    private final Cache<String, Lease> leases;
+    
+    /**
+     * Instantiates a new Hybrid rate limiter.
+     *
+     * @param redisRateLimiter the redis rate limiter of the algorithms which can not be leased
+     */
+    public HybridRateLimiter(final RedisRateLimiter redisRateLimiter) {
+        this(redisRateLimiter, DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_ACCESS_SECONDS);
+    }
+    
+    /**
+     * Instantiates a new Hybrid rate limiter.
+     *
+     * @param redisRateLimiter the redis rate limiter of the algorithms which can not be leased
+     * @param maximumSize the maximum number of keys
+     * @param expireAfterAccessSeconds the seconds a key is kept after its last request
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HybridRateLimiter(final RedisRateLimiter redisRateLimiter, final long maximumSize, final long expireAfterAccessSeconds) {
+        this.redisRateLimiter = redisRateLimiter;
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(SCRIPT_PATH)));
+        redisScript.setResultType(List.class);
+        this.script = redisScript;
+        this.leases = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccessSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+    
+    /**
+     * Verify using the tokens leased from redis.
+     *
+     * @param id is rule id
+     * @param limiterHandle the limiter handle
+     * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
+     */
+    public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
+        if (!(rateLimiterAlgorithm instanceof TokenBucketRateLimiterAlgorithm)) {
+            return redisRateLimiter.isAllowed(id, limiterHandle);
+        }
+        return Mono.defer(() -> {
+            List<String> keys = rateLimiterAlgorithm.getKeys(id);
+            Lease lease = leases.asMap().computeIfAbsent(keys.get(0), k -> new Lease());
+            long requestCount = Math.max(1, (long) Math.ceil(limiterHandle.getRequestCount()));
+            long leaseSize = leaseSize(limiterHandle);
+            if (lease.tryAcquire(requestCount)) {
+                record(HIT);
+                if (lease.remaining() * 2 < leaseSize) {
+                    lease.refill(() -> lease(keys, limiterHandle, leaseSize));
+                }
+                return Mono.just(new RateLimiterResponse(true, lease.remaining()));
+            }
+            record(MISS);
+            AtomicBoolean started = new AtomicBoolean();
+            Supplier<Mono<Long>> leaser = () -> {
+                started.set(true);
+                return lease(keys, limiterHandle, leaseSize + requestCount);
+            };
+            // a joined refill may be too small for this request, then refill once more
+            return acquire(lease, requestCount, leaser)
+                    .flatMap(allowed -> allowed || started.get() ? Mono.just(allowed) : acquire(lease, requestCount, leaser))
+                    .map(allowed -> new RateLimiterResponse(allowed, lease.remaining()))
+                    // fail open for this request alone, the same as the redis rate limiter, leasing nothing
+                    .onErrorResume(throwable -> Mono.just(new RateLimiterResponse(true, lease.remaining())));
+        });
+    }
+    
+    private static Mono<Boolean> acquire(final Lease lease, final long requestCount, final Supplier<Mono<Long>> leaser) {
+        return Mono.defer(() -> Mono.fromFuture(lease.refill(leaser))).map(leased -> lease.tryAcquire(requestCount));
+    }
+    
+    private Mono<Long> lease(final List<String> keys, final RateLimiterHandle limiterHandle, final long requested) {
+        List<String> scriptArgs = Arrays.asList(String.valueOf(limiterHandle.getReplenishRate()), String.valueOf(limiterHandle.getBurstCapacity()),
+                String.valueOf(Instant.now().getEpochSecond()), String.valueOf(requested));
+        @SuppressWarnings("unchecked")
+        ReactiveRedisTemplate<String, String> redisTemplate = Singleton.INST.get(ReactiveRedisTemplate.class);
+        return Mono.defer(() -> redisTemplate.execute(script, keys, scriptArgs).next())
+                .map(results -> results.get(0))
+                .defaultIfEmpty(0L)
+                .doOnError(throwable -> log.error("Error occurred while leasing tokens by HybridRateLimiter:{}", throwable.getMessage()));
+    }
+    
+    private long leaseSize(final RateLimiterHandle limiterHandle) {
+        double leaseSize = limiterHandle.getLeaseSize() > 0 ? limiterHandle.getLeaseSize() : limiterHandle.getBurstCapacity() * DEFAULT_LEASE_RATIO;
+        return Math.max(1, (long) leaseSize);
+    }
+    
+    private static void record(final String[] event) {
+        METRICS.ensureRegistered();
+        MetricsReporter.counterIncrement(LabelNames.RATE_LIMITER_LEASE_TOTAL, event);
+    }
+    
+    /**
+     * The tokens a node leased for one key.
+     */
+    private static final class Lease {
+        
+        private final AtomicLong tokens = new AtomicLong();
+        
+        private final AtomicReference<CompletableFuture<Long>> refilling = new AtomicReference<>();
+        
+        boolean tryAcquire(final long requestCount) {
+            while (true) {
+                long current = tokens.get();
+                if (current < requestCount) {
+                    return false;
+                }
+                if (tokens.compareAndSet(current, current - requestCount)) {
+                    return true;
+                }
+            }
+        }
+        
+        long remaining() {
+            return tokens.get();
+        }
+        
+        /**
+         * Lease more tokens, or join the lease in flight, completed exceptionally when the lease fails.
+         */
+        CompletableFuture<Long> refill(final Supplier<Mono<Long>> leaser) {
+            while (true) {
+                CompletableFuture<Long> current = refilling.get();
+                if (Objects.nonNull(current)) {
+                    return current;
+                }
+                CompletableFuture<Long> future = new CompletableFuture<>();
+                if (refilling.compareAndSet(null, future)) {
+                    leaser.get().subscribe(leased -> {
+                        tokens.addAndGet(leased);
+                        refilling.compareAndSet(future, null);
+                        future.complete(leased);
+                    }, throwable -> failed(future, throwable));
+                    return future;
+                }
+            }
+        }
+        
+        private void failed(final CompletableFuture<Long> future, final Throwable throwable) {
+            refilling.compareAndSet(future, null);
+            future.completeExceptionally(throwable);
+        }
+    }
+}
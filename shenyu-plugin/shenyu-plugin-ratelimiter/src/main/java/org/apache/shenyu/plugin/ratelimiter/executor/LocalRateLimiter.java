@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.local.LocalRateLimiterState;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LocalRateLimiter, keeps the state of every key in the memory of this node instead of redis.
+ */
+@Slf4j
+public class LocalRateLimiter {
+    
+    private static final long DEFAULT_MAXIMUM_SIZE = 100000;
+    
+    private static final long DEFAULT_EXPIRE_AFTER_ACCESS_SECONDS = 300;
+    
+    /**
+     * key -> local state, the idle keys are evicted like the expired keys of redis.
+     */
+    private final Cache<String, LocalRateLimiterState> states;
+    
+    /**
+     * Instantiates a new Local rate limiter.
+     */
+    public LocalRateLimiter() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_ACCESS_SECONDS);
+    }
+    
+    /**
+     * Instantiates a new Local rate limiter.
+     *
+     * @param maximumSize the maximum number of keys
+     * @param expireAfterAccessSeconds the seconds a key is kept after its last request
+     */
+    public LocalRateLimiter(final long maximumSize, final long expireAfterAccessSeconds) {
+        this.states = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccessSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+    
+    /**
+     * Verify using the local state of different current limiting algorithms.
+     *
+     * @param id is rule id
+     * @param limiterHandle the limiter handle
+     * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
+     */
+    public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        return Mono.defer(() -> {
+            RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
+            String key = rateLimiterAlgorithm.getKeys(id).get(0);
+            LocalRateLimiterState state = states.asMap().computeIfAbsent(key, k -> rateLimiterAlgorithm.newLocalState());
+            if (Objects.isNull(state)) {
+                log.warn("rate limiter algorithm {} does not support local engine, request is allowed", limiterHandle.getAlgorithmName());
+                return Mono.just(new RateLimiterResponse(true, -1L));
+            }
+            RateLimiterResponse response = state.tryAcquire(limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity(),
+                    limiterHandle.getRequestCount(), System.nanoTime());
+            if (response.isAllowed()) {
+                response.setReleaser(state::release);
+            }
+            return Mono.just(response);
+        });
+    }
+    
+    /**
+     * Size of the keys in memory.
+     *
+     * @return the size
+     */
+    public long size() {
+        states.cleanUp();
+        return states.size();
+    }
+}
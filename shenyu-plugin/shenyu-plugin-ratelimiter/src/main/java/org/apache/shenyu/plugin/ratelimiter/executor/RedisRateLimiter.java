@@ -17,11 +17,16 @@
 
 package org.apache.shenyu.plugin.ratelimiter.executor;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
 import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.ConcurrentRateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
+import org.apache.shenyu.plugin.ratelimiter.local.ConcurrentLocalState;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
@@ -29,9 +34,11 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * RedisRateLimiter.
@@ -39,6 +46,18 @@ import java.util.List;
 @Slf4j
 public class RedisRateLimiter {
     
+    private static final long DEFAULT_MAXIMUM_SIZE = 100000;
+    
+    private static final long DEFAULT_EXPIRE_AFTER_ACCESS_SECONDS = 300;
+    
+    /**
+     * key -> permits of the concurrent algorithm held by this node, a node holding the whole capacity rejects without asking redis.
+     */
+    private final Cache<String, ConcurrentLocalState> inFlights = CacheBuilder.newBuilder()
+            .maximumSize(DEFAULT_MAXIMUM_SIZE)
+            .expireAfterAccess(DEFAULT_EXPIRE_AFTER_ACCESS_SECONDS, TimeUnit.SECONDS)
+            .build();
+    
     /**
      * Verify using different current limiting algorithm scripts. 
      *
@@ -46,27 +65,65 @@ public class RedisRateLimiter {
      * @param limiterHandle the limiter handle
      * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
      */
-    @SuppressWarnings("unchecked")
     public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
+        if (!(rateLimiterAlgorithm instanceof ConcurrentRateLimiterAlgorithm)) {
+            return isAllowed(id, limiterHandle, rateLimiterAlgorithm, () -> { });
+        }
+        return Mono.defer(() -> {
+            ConcurrentLocalState inFlight = inFlights.asMap().computeIfAbsent(rateLimiterAlgorithm.getKeys(id).get(0), k -> new ConcurrentLocalState());
+            RateLimiterResponse local = inFlight.tryAcquire(limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity(),
+                    limiterHandle.getRequestCount(), System.nanoTime());
+            if (!local.isAllowed()) {
+                return Mono.just(local);
+            }
+            return isAllowed(id, limiterHandle, rateLimiterAlgorithm, inFlight::release);
+        });
+    }
+    
+    private Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle,
+                                                final RateLimiterAlgorithm<?> rateLimiterAlgorithm, final Runnable localRelease) {
         double replenishRate = limiterHandle.getReplenishRate();
         double burstCapacity = limiterHandle.getBurstCapacity();
         double requestCount = limiterHandle.getRequestCount();
-        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
         RedisScript<?> script = rateLimiterAlgorithm.getScript();
         List<String> keys = rateLimiterAlgorithm.getKeys(id);
-        List<String> scriptArgs = Arrays.asList(doubleToString(replenishRate), doubleToString(burstCapacity), doubleToString(Instant.now().getEpochSecond()), doubleToString(requestCount));
-        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
-        return resultFlux.onErrorResume(throwable -> Flux.just(Arrays.asList(1L, -1L)))
-                .reduce(new ArrayList<Long>(), (longs, l) -> {
-                    longs.addAll(l);
-                    return longs;
-                }).map(results -> {
+        List<String> scriptArgs = Arrays.asList(doubleToString(replenishRate), doubleToString(burstCapacity), doubleToString(Instant.now().getEpochSecond()),
+                doubleToString(requestCount), String.valueOf(limiterHandle.getPermitTtl()));
+        // a cancel may still reach here after the response, the permits are released only once
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                localRelease.run();
+                rateLimiterAlgorithm.callback(script, keys, scriptArgs);
+            }
+        };
+        return execute(script, keys, scriptArgs)
+                .onErrorResume(throwable -> Mono.just(Arrays.asList(1L, -1L)))
+                .map(results -> {
                     boolean allowed = results.get(0) == 1L;
                     Long tokensLeft = results.get(1);
-                    return new RateLimiterResponse(allowed, tokensLeft);
+                    RateLimiterResponse response = new RateLimiterResponse(allowed, tokensLeft);
+                    if (allowed) {
+                        response.setReleaser(release);
+                    } else if (released.compareAndSet(false, true)) {
+                        localRelease.run();
+                    }
+                    return response;
                 })
                 .doOnError(throwable -> log.error("Error occurred while judging if user is allowed by RedisRateLimiter:{}", throwable.getMessage()))
-                .doFinally(signalType -> rateLimiterAlgorithm.callback(script, keys, scriptArgs));
+                .doOnCancel(release);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Mono<List<Long>> execute(final RedisScript<?> script, final List<String> keys, final List<String> scriptArgs) {
+        RateLimiterConfig rateLimiterConfig = Singleton.INST.get(RateLimiterConfig.class);
+        if (Objects.nonNull(rateLimiterConfig) && rateLimiterConfig.getPipelineWindowMillis() > 0) {
+            return Singleton.INST.get(RedisRateLimiterPipeline.class).execute(script, keys, scriptArgs);
+        }
+        // the script returns a single list
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
+        return resultFlux.next();
     }
     
     private String doubleToString(final double param) {
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.output.NestedMultiOutput;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.RedisCommand;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.util.concurrent.Queues;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * RedisRateLimiterPipeline, coalesces the scripts of the requests arriving within a window
+ * and dispatches them to the shared redis connection in one write, the replies are handed back to each request.
+ * In cluster mode lettuce routes every script by the slot of its {@code {id}} hash tag.
+ */
+@Slf4j
+public class RedisRateLimiterPipeline {
+    
+    private static final String NO_SCRIPT = "NOSCRIPT";
+    
+    private static final String CLOSED = "the rate limiter pipeline is closed";
+    
+    private static final RedisCodec<ByteBuffer, ByteBuffer> CODEC = new ByteBufferCodec();
+    
+    private final Supplier<StatefulConnection<ByteBuffer, ByteBuffer>> connectionSupplier;
+    
+    private final FluxSink<PendingScript> sink;
+    
+    private volatile boolean closed;
+    
+    /**
+     * Instantiates a new Redis rate limiter pipeline.
+     *
+     * @param connectionSupplier the supplier of the shared connection
+     * @param window the window the scripts are coalesced within
+     * @param maxSize the maximum number of scripts written at once
+     */
+    public RedisRateLimiterPipeline(final Supplier<StatefulConnection<ByteBuffer, ByteBuffer>> connectionSupplier, final Duration window, final int maxSize) {
+        this.connectionSupplier = connectionSupplier;
+        UnicastProcessor<PendingScript> processor = UnicastProcessor.create(Queues.<PendingScript>unboundedMultiproducer().get());
+        this.sink = processor.sink();
+        processor.bufferTimeout(maxSize, window).subscribe(this::flush);
+    }
+    
+    /**
+     * Execute the script in the next batch.
+     *
+     * @param script the script
+     * @param keys the keys, sharing one hash tag
+     * @param scriptArgs the script args
+     * @return the script results, an error once the pipeline is closed
+     */
+    public Mono<List<Long>> execute(final RedisScript<?> script, final List<String> keys, final List<String> scriptArgs) {
+        return Mono.defer(() -> {
+            if (closed) {
+                return Mono.error(new IllegalStateException(CLOSED));
+            }
+            PendingScript command = new PendingScript(script, keys, scriptArgs);
+            sink.next(command);
+            // a script queued while the pipeline closed may never be flushed
+            if (closed) {
+                command.complete(null, new IllegalStateException(CLOSED));
+            }
+            return command.result;
+        });
+    }
+    
+    /**
+     * Stop coalescing, the scripts still buffered are flushed and the later ones fail.
+     */
+    public void close() {
+        closed = true;
+        sink.complete();
+    }
+    
+    private void flush(final List<PendingScript> batch) {
+        StatefulConnection<ByteBuffer, ByteBuffer> connection;
+        try {
+            connection = connectionSupplier.get();
+        } catch (RuntimeException e) {
+            batch.forEach(command -> command.complete(null, e));
+            return;
+        }
+        List<RedisCommand<ByteBuffer, ByteBuffer, ?>> evalShas = new ArrayList<>(batch.size());
+        for (PendingScript command : batch) {
+            AsyncCommand<ByteBuffer, ByteBuffer, List<Object>> evalSha = command.newCommand(CommandType.EVALSHA);
+            evalSha.whenComplete((results, throwable) -> {
+                if (throwable != null && isNoScript(throwable)) {
+                    // the script is cached by redis on the first eval, the next batches go with its sha
+                    AsyncCommand<ByteBuffer, ByteBuffer, List<Object>> eval = command.newCommand(CommandType.EVAL);
+                    eval.whenComplete(command::complete);
+                    connection.dispatch(eval);
+                    return;
+                }
+                command.complete(results, throwable);
+            });
+            evalShas.add(evalSha);
+        }
+        connection.dispatch(evalShas);
+    }
+    
+    private static boolean isNoScript(final Throwable throwable) {
+        return throwable.getMessage() != null && throwable.getMessage().startsWith(NO_SCRIPT);
+    }
+    
+    /**
+     * The script of one request, with its keys and args serialized once.
+     */
+    private static final class PendingScript {
+        
+        private final RedisScript<?> script;
+        
+        private final List<ByteBuffer> keys;
+        
+        private final List<ByteBuffer> scriptArgs;
+        
+        private final MonoProcessor<List<Long>> result = MonoProcessor.create();
+        
+        private final AtomicBoolean completed = new AtomicBoolean();
+        
+        PendingScript(final RedisScript<?> script, final List<String> keys, final List<String> scriptArgs) {
+            this.script = script;
+            this.keys = encode(keys);
+            this.scriptArgs = encode(scriptArgs);
+        }
+        
+        AsyncCommand<ByteBuffer, ByteBuffer, List<Object>> newCommand(final CommandType type) {
+            CommandArgs<ByteBuffer, ByteBuffer> args = new CommandArgs<>(CODEC);
+            if (type == CommandType.EVALSHA) {
+                args.add(script.getSha1());
+            } else {
+                args.add(script.getScriptAsString());
+            }
+            args.add(keys.size());
+            keys.forEach(key -> args.addKey(key.duplicate()));
+            scriptArgs.forEach(arg -> args.addValue(arg.duplicate()));
+            return new AsyncCommand<>(new Command<>(type, new NestedMultiOutput<>(CODEC), args));
+        }
+        
+        void complete(final List<Object> results, final Throwable throwable) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            if (throwable != null) {
+                result.onError(throwable);
+                return;
+            }
+            List<Long> longs = new ArrayList<>(results.size());
+            results.forEach(value -> longs.add((Long) value));
+            result.onNext(longs);
+        }
+        
+        private static List<ByteBuffer> encode(final List<String> values) {
+            List<ByteBuffer> encoded = new ArrayList<>(values.size());
+            values.forEach(value -> encoded.add(ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8))));
+            return encoded;
+        }
+    }
+    
+    /**
+     * The codec of the shared reactive connection, keys and values are already serialized.
+     */
+    private static final class ByteBufferCodec implements RedisCodec<ByteBuffer, ByteBuffer> {
+        
+        @Override
+        public ByteBuffer decodeKey(final ByteBuffer bytes) {
+            return copy(bytes);
+        }
+        
+        @Override
+        public ByteBuffer decodeValue(final ByteBuffer bytes) {
+            return copy(bytes);
+        }
+        
+        @Override
+        public ByteBuffer encodeKey(final ByteBuffer key) {
+            return key.duplicate();
+        }
+        
+        @Override
+        public ByteBuffer encodeValue(final ByteBuffer value) {
+            return value.duplicate();
+        }
+        
+        private static ByteBuffer copy(final ByteBuffer source) {
+            ByteBuffer copy = ByteBuffer.allocate(source.remaining());
+            copy.put(source);
+            copy.flip();
+            return copy;
+        }
+    }
+}
@@ -30,14 +30,15 @@ import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.base.utils.Singleton;
 import org.apache.shenyu.plugin.ratelimiter.cache.RatelimiterRuleHandleCache;
+import org.apache.shenyu.plugin.ratelimiter.cache.RatelimiterRuleKeyCache;
 import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
+import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiterPipeline;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisNode;
 import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
-import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
@@ -46,6 +47,7 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -65,7 +67,7 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
             if (Objects.isNull(Singleton.INST.get(ReactiveRedisTemplate.class))
                     || Objects.isNull(Singleton.INST.get(RateLimiterConfig.class))
                     || !rateLimiterConfig.equals(Singleton.INST.get(RateLimiterConfig.class))) {
-                LettuceConnectionFactory lettuceConnectionFactory = createLettuceConnectionFactory(rateLimiterConfig);
+                ShenyuLettuceConnectionFactory lettuceConnectionFactory = createLettuceConnectionFactory(rateLimiterConfig);
                 lettuceConnectionFactory.afterPropertiesSet();
                 RedisSerializer<String> serializer = new StringRedisSerializer();
                 RedisSerializationContext<String, String> serializationContext =
@@ -73,6 +75,11 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
                 ReactiveRedisTemplate<String, String> reactiveRedisTemplate = new ShenyuReactiveRedisTemplate<>(lettuceConnectionFactory, serializationContext);
                 Singleton.INST.single(ReactiveRedisTemplate.class, reactiveRedisTemplate);
                 Singleton.INST.single(RateLimiterConfig.class, rateLimiterConfig);
+                Optional.ofNullable(Singleton.INST.get(RedisRateLimiterPipeline.class)).ifPresent(RedisRateLimiterPipeline::close);
+                if (rateLimiterConfig.getPipelineWindowMillis() > 0) {
+                    Singleton.INST.single(RedisRateLimiterPipeline.class, new RedisRateLimiterPipeline(lettuceConnectionFactory::getSharedReactiveConnection,
+                            Duration.ofMillis(rateLimiterConfig.getPipelineWindowMillis()), rateLimiterConfig.getPipelineMaxSize()));
+                }
             }
         }
     }
@@ -82,12 +89,16 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             final RateLimiterHandle rateLimiterHandle = GsonUtils.getInstance().fromJson(s, RateLimiterHandle.class);
             RatelimiterRuleHandleCache.getInstance().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), rateLimiterHandle);
+            RatelimiterRuleKeyCache.getInstance().removeKeys(ruleData.getId());
         });
     }
 
     @Override
     public void removeRule(final RuleData ruleData) {
-        Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> RatelimiterRuleHandleCache.getInstance().removeHandle(CacheKeyUtils.INST.getKey(ruleData)));
+        Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
+            RatelimiterRuleHandleCache.getInstance().removeHandle(CacheKeyUtils.INST.getKey(ruleData));
+            RatelimiterRuleKeyCache.getInstance().removeKeys(ruleData.getId());
+        });
     }
 
     @Override
@@ -95,15 +106,15 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
         return PluginEnum.RATE_LIMITER.getName();
     }
 
-    private LettuceConnectionFactory createLettuceConnectionFactory(final RateLimiterConfig rateLimiterConfig) {
+    private ShenyuLettuceConnectionFactory createLettuceConnectionFactory(final RateLimiterConfig rateLimiterConfig) {
         LettuceClientConfiguration lettuceClientConfiguration = getLettuceClientConfiguration(rateLimiterConfig);
         if (RedisModeEnum.SENTINEL.getName().equals(rateLimiterConfig.getMode())) {
-            return new LettuceConnectionFactory(redisSentinelConfiguration(rateLimiterConfig), lettuceClientConfiguration);
+            return new ShenyuLettuceConnectionFactory(redisSentinelConfiguration(rateLimiterConfig), lettuceClientConfiguration);
         }
         if (RedisModeEnum.CLUSTER.getName().equals(rateLimiterConfig.getMode())) {
-            return new LettuceConnectionFactory(redisClusterConfiguration(rateLimiterConfig), lettuceClientConfiguration);
+            return new ShenyuLettuceConnectionFactory(redisClusterConfiguration(rateLimiterConfig), lettuceClientConfiguration);
         }
-        return new LettuceConnectionFactory(redisStandaloneConfiguration(rateLimiterConfig), lettuceClientConfiguration);
+        return new ShenyuLettuceConnectionFactory(redisStandaloneConfiguration(rateLimiterConfig), lettuceClientConfiguration);
     }
 
     private LettuceClientConfiguration getLettuceClientConfiguration(final RateLimiterConfig rateLimiterConfig) {
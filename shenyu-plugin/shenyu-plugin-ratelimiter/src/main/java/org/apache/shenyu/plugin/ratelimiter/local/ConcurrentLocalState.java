@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The concurrent local state, same as concurrent_request_rate_limiter.lua.
+ */
+public class ConcurrentLocalState implements LocalRateLimiterState {
+    
+    private final AtomicLong count = new AtomicLong();
+    
+    @Override
+    public RateLimiterResponse tryAcquire(final double replenishRate, final double burstCapacity, final double requestCount, final long now) {
+        while (true) {
+            long current = count.get();
+            if (current >= burstCapacity) {
+                return new RateLimiterResponse(false, current);
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return new RateLimiterResponse(true, current + 1);
+            }
+        }
+    }
+    
+    @Override
+    public void release() {
+        count.updateAndGet(current -> Math.max(0, current - 1));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The leaky bucket local state, same as request_leaky_rate_limiter.lua.
+ */
+public class LeakyBucketLocalState implements LocalRateLimiterState {
+    
+    private final AtomicReference<Bucket> bucket = new AtomicReference<>();
+    
+    @Override
+    public RateLimiterResponse tryAcquire(final double replenishRate, final double burstCapacity, final double requestCount, final long now) {
+        while (true) {
+            Bucket current = bucket.get();
+            double water = 0;
+            long leaked = now;
+            if (Objects.nonNull(current)) {
+                double leaks = Math.max(0, now - current.leaked) / (double) TimeUnit.SECONDS.toNanos(1) * replenishRate;
+                water = Math.max(0, current.water - leaks);
+                leaked = Math.max(current.leaked, now);
+            }
+            double newWater = water + requestCount;
+            if (newWater > burstCapacity) {
+                return new RateLimiterResponse(false, (long) newWater);
+            }
+            if (bucket.compareAndSet(current, new Bucket(newWater, leaked))) {
+                return new RateLimiterResponse(true, (long) newWater);
+            }
+        }
+    }
+    
+    private static final class Bucket {
+        
+        private final double water;
+        
+        private final long leaked;
+        
+        Bucket(final double water, final long leaked) {
+            this.water = water;
+            this.leaked = leaked;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+
+/**
+ * The in-process state of one rate limiter key, the local counterpart of a redis script.
+ */
+public interface LocalRateLimiterState {
+    
+    /**
+     * Try to acquire permits from the state.
+     *
+     * @param replenishRate the replenish rate per second
+     * @param burstCapacity the burst capacity
+     * @param requestCount the request count
+     * @param now the current time in nanos
+     * @return the rate limiter response
+     */
+    RateLimiterResponse tryAcquire(double replenishRate, double burstCapacity, double requestCount, long now);
+    
+    /**
+     * Release the permits of an allowed request.
+     */
+    default void release() {
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The sliding window local state of sliding_window_request_rate_limiter.lua.
+ * The requests of the last window are weighted by the part of it still inside the sliding window,
+ * instead of remembering the time of every request.
+ */
+public class SlidingWindowLocalState implements LocalRateLimiterState {
+    
+    private final AtomicReference<Window> window = new AtomicReference<>();
+    
+    @Override
+    public RateLimiterResponse tryAcquire(final double replenishRate, final double burstCapacity, final double requestCount, final long now) {
+        long windowSize = (long) (burstCapacity / replenishRate * TimeUnit.SECONDS.toNanos(1));
+        while (true) {
+            Window current = window.get();
+            Window slid = slide(current, windowSize, now);
+            double weight = 1 - Math.min(1, Math.max(0, now - slid.start) / (double) windowSize);
+            double requested = slid.previous * weight + slid.current;
+            long remainRequest = (long) (burstCapacity - requested);
+            if (requested >= burstCapacity) {
+                window.compareAndSet(current, slid);
+                return new RateLimiterResponse(false, remainRequest);
+            }
+            if (window.compareAndSet(current, new Window(slid.start, slid.current + 1, slid.previous))) {
+                return new RateLimiterResponse(true, remainRequest);
+            }
+        }
+    }
+    
+    private static Window slide(final Window current, final long windowSize, final long now) {
+        if (Objects.isNull(current)) {
+            return new Window(now, 0, 0);
+        }
+        long elapsed = now - current.start;
+        if (elapsed < windowSize) {
+            return current;
+        }
+        if (elapsed < windowSize * 2) {
+            return new Window(current.start + windowSize, 0, current.current);
+        }
+        return new Window(now, 0, 0);
+    }
+    
+    private static final class Window {
+        
+        private final long start;
+        
+        private final long current;
+        
+        private final long previous;
+        
+        Window(final long start, final long current, final long previous) {
+            this.start = start;
+            this.current = current;
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The token bucket local state, same as request_rate_limiter.lua.
+ */
+public class TokenBucketLocalState implements LocalRateLimiterState {
+    
+    private final AtomicReference<Bucket> bucket = new AtomicReference<>();
+    
+    @Override
+    public RateLimiterResponse tryAcquire(final double replenishRate, final double burstCapacity, final double requestCount, final long now) {
+        while (true) {
+            Bucket current = bucket.get();
+            double filledTokens = Objects.isNull(current) ? burstCapacity
+                    : Math.min(burstCapacity, current.tokens + elapsedSeconds(current.refreshed, now) * replenishRate);
+            boolean allowed = filledTokens >= requestCount;
+            double newTokens = allowed ? filledTokens - requestCount : filledTokens;
+            long refreshed = Objects.isNull(current) ? now : Math.max(current.refreshed, now);
+            if (bucket.compareAndSet(current, new Bucket(newTokens, refreshed))) {
+                return new RateLimiterResponse(allowed, (long) newTokens);
+            }
+        }
+    }
+    
+    private static double elapsedSeconds(final long from, final long to) {
+        return Math.max(0, to - from) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+    
+    private static final class Bucket {
+        
+        private final double tokens;
+        
+        private final long refreshed;
+        
+        Bucket(final double tokens, final long refreshed) {
+            this.tokens = tokens;
+            this.refreshed = refreshed;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.resolver;
+
+import com.google.common.base.Splitter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.spi.Join;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rate limit by the keys of several resolvers, the args list them with their own args,
+ * e.g. HEADER_KEY_RESOLVER:X-Tenant,REMOTE_ADDRESS_KEY_RESOLVER, an unknown resolver is left out.
+ */
+@Slf4j
+@Join
+public class CompositeKeyResolver implements RateLimiterKeyResolver {
+
+    /**
+     * composite args -> resolvers with their args.
+     */
+    private final Map<String, List<Part>> composites = new ConcurrentHashMap<>();
+
+    @Override
+    public String getKeyResolverName() {
+        return "COMPOSITE_KEY_RESOLVER";
+    }
+
+    @Override
+    public String resolve(final ServerWebExchange exchange) {
+        return resolve(exchange, null);
+    }
+
+    @Override
+    public String resolve(final ServerWebExchange exchange, final String args) {
+        if (Objects.isNull(args)) {
+            return "";
+        }
+        StringJoiner key = new StringJoiner(":");
+        for (Part part : composites.computeIfAbsent(args, this::parse)) {
+            key.add(part.resolver.resolve(exchange, part.args));
+        }
+        return key.toString();
+    }
+
+    private List<Part> parse(final String args) {
+        List<Part> parts = new ArrayList<>();
+        for (String part : Splitter.on(",").trimResults().omitEmptyStrings().split(args)) {
+            List<String> nameAndArgs = Splitter.on(":").limit(2).trimResults().splitToList(part);
+            String partArgs = nameAndArgs.size() > 1 ? nameAndArgs.get(1) : null;
+            try {
+                parts.add(new Part(RateLimiterKeyResolverFactory.newInstance(nameAndArgs.get(0)), partArgs));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                log.error("rate limiter key resolver {} in {} is unknown, leave it out", nameAndArgs.get(0), args);
+            }
+        }
+        return parts;
+    }
+
+    private static final class Part {
+
+        private final RateLimiterKeyResolver resolver;
+
+        private final String args;
+
+        Part(final RateLimiterKeyResolver resolver, final String args) {
+            this.resolver = resolver;
+            this.args = args;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.resolver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.spi.Join;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit by the jwt claim named by the args, sub without args.
+ * The token is read like the jwt plugin does, its signature is verified by the jwt plugin, not here.
+ */
+@Slf4j
+@Join
+public class JwtClaimKeyResolver implements RateLimiterKeyResolver {
+
+    private static final String TOKEN = "token";
+
+    private static final String AUTH2_TOKEN = "Bearer ";
+
+    private static final String DEFAULT_CLAIM = "sub";
+
+    private static final JsonObject EMPTY_CLAIMS = new JsonObject();
+
+    /**
+     * token -> claims, a client sends the same token with all its requests.
+     */
+    private final Cache<String, JsonObject> claims = CacheBuilder.newBuilder()
+            .maximumSize(10000)
+            .expireAfterWrite(300, TimeUnit.SECONDS)
+            .build();
+
+    @Override
+    public String getKeyResolverName() {
+        return "JWT_CLAIM_KEY_RESOLVER";
+    }
+
+    @Override
+    public String resolve(final ServerWebExchange exchange) {
+        return resolve(exchange, null);
+    }
+
+    @Override
+    public String resolve(final ServerWebExchange exchange, final String args) {
+        String token = token(exchange.getRequest().getHeaders());
+        if (Objects.isNull(token)) {
+            return "";
+        }
+        JsonElement claim = claims.asMap().computeIfAbsent(token, this::decode).get(Objects.isNull(args) ? DEFAULT_CLAIM : args);
+        if (Objects.isNull(claim) || claim.isJsonNull()) {
+            return "";
+        }
+        return claim.isJsonPrimitive() ? claim.getAsString() : claim.toString();
+    }
+
+    private String token(final HttpHeaders headers) {
+        String token = headers.getFirst(TOKEN);
+        if (Objects.isNull(token)) {
+            token = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        }
+        if (Objects.nonNull(token) && token.startsWith(AUTH2_TOKEN)) {
+            return token.substring(AUTH2_TOKEN.length());
+        }
+        return token;
+    }
+
+    private JsonObject decode(final String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return EMPTY_CLAIMS;
+        }
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+            // a null payload has no claims, the cache does not take null
+            JsonObject decoded = GsonUtils.getInstance().fromJson(payload, JsonObject.class);
+            return Objects.isNull(decoded) ? EMPTY_CLAIMS : decoded;
+        } catch (RuntimeException e) {
+            log.warn("rate limiter can not decode the jwt claims: {}", e.getMessage());
+            return EMPTY_CLAIMS;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.resolver;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.spi.Join;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rate limit by the variables of the path template in the args, e.g. /order/{tenant}/**, joined in the order of their names,
+ * or by the whole path without args, with an invalid template or when the path does not match.
+ */
+@Slf4j
+@Join
+public class PathKeyResolver implements RateLimiterKeyResolver {
+
+    private final PathPatternParser parser = new PathPatternParser();
+
+    /**
+     * path template -> parsed pattern, empty for an invalid template.
+     */
+    private final Map<String, Optional<PathPattern>> patterns = new ConcurrentHashMap<>();
+
+    @Override
+    public String getKeyResolverName() {
+        return "PATH_KEY_RESOLVER";
+    }
+
+    @Override
+    public String resolve(final ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().pathWithinApplication().value();
+    }
+
+    @Override
+    public String resolve(final ServerWebExchange exchange, final String args) {
+        if (Objects.isNull(args)) {
+            return resolve(exchange);
+        }
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        PathPattern.PathMatchInfo matchInfo = patterns.computeIfAbsent(args, this::parse).map(pattern -> pattern.matchAndExtract(path)).orElse(null);
+        if (Objects.isNull(matchInfo)) {
+            return path.value();
+        }
+        return String.join(":", new TreeMap<>(matchInfo.getUriVariables()).values());
+    }
+
+    private Optional<PathPattern> parse(final String template) {
+        try {
+            return Optional.of(parser.parse(template));
+        } catch (PatternParseException e) {
+            log.error("rate limiter path template {} is invalid, limit by the whole path: {}", template, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
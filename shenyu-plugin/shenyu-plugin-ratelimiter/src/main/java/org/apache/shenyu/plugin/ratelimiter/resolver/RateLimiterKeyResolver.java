@@ -40,4 +40,15 @@ public interface RateLimiterKeyResolver {
      * @return rate limiter key
      */
     String resolve(ServerWebExchange exchange);
+
+    /**
+     * resolve with the args of the rule, e.g. the header name of the header key resolver.
+     *
+     * @param exchange exchange the current server exchange {@linkplain ServerWebExchange}
+     * @param args the key resolver args of the rule
+     * @return rate limiter key
+     */
+    default String resolve(final ServerWebExchange exchange, final String args) {
+        return resolve(exchange);
+    }
 }
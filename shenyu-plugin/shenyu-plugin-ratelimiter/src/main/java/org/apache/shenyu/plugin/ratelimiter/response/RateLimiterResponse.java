@@ -21,6 +21,7 @@ import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * rateLimiter response.
@@ -36,6 +37,20 @@ public class RateLimiterResponse implements Serializable {
 
     private final long tokensRemaining;
 
+    /**
+     * releases the permit held by an allowed request, run once the request completes.
+     */
+    private transient Runnable releaser;
+
+    /**
+     * Release the permit held by the request.
+     */
+    public void release() {
+        if (Objects.nonNull(releaser)) {
+            releaser.run();
+        }
+    }
+
     @Override
     public String toString() {
         return "Response{" + "allowed=" + allowed + ", tokensRemaining=" + tokensRemaining + '}';
@@ -21,6 +21,10 @@ local capacity = tonumber(ARGV[2])
 local timestamp = tonumber(ARGV[3])
 local id = KEYS[2]
 
+-- the permits of the requests which never released them, e.g. a crashed node, expire after ttl seconds
+local ttl = tonumber(ARGV[5]) or 60
+redis.call("zremrangebyscore", key, "-inf", timestamp - ttl)
+
 local count = redis.call("zcard", key)
 local allowed = 0
 
@@ -29,5 +33,5 @@ if count < capacity then
   allowed = 1
   count = count + 1
 end
--- redis.call("setex", key, timestamp)
+redis.call("expire", key, ttl)
 return { allowed, count }
\ No newline at end of file
@@ -27,6 +27,8 @@ import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.ratelimiter.cache.RatelimiterRuleHandleCache;
+import org.apache.shenyu.plugin.ratelimiter.executor.HybridRateLimiter;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.junit.Assert;
@@ -45,6 +47,8 @@ import reactor.test.StepVerifier;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -57,6 +61,10 @@ public final class RateLimiterPluginTest {
 
     private RedisRateLimiter redisRateLimiter;
 
+    private LocalRateLimiter localRateLimiter;
+
+    private HybridRateLimiter hybridRateLimiter;
+
     private RuleData ruleData;
 
     private SelectorData selectorData;
@@ -68,11 +76,13 @@ public final class RateLimiterPluginTest {
     @Before
     public void setup() {
         this.redisRateLimiter = mock(RedisRateLimiter.class);
+        this.localRateLimiter = mock(LocalRateLimiter.class);
+        this.hybridRateLimiter = mock(HybridRateLimiter.class);
         this.exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build());
         this.chain = mock(ShenyuPluginChain.class);
         this.ruleData = mock(RuleData.class);
         this.selectorData = mock(SelectorData.class);
-        this.rateLimiterPlugin = new RateLimiterPlugin(redisRateLimiter);
+        this.rateLimiterPlugin = new RateLimiterPlugin(redisRateLimiter, localRateLimiter, hybridRateLimiter);
     }
 
     /**
@@ -103,6 +113,40 @@ public final class RateLimiterPluginTest {
         Assert.assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
     }
 
+    /**
+     * rateLimiterPlugin doExecute , local engine case.
+     */
+    @Test
+    public void doExecuteLocalEngineTest() {
+        RateLimiterHandle rateLimiterHandle = mockRateLimiterHandler();
+        rateLimiterHandle.setEngine("local");
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        when(ruleData.getId()).thenReturn("ruleId");
+        RatelimiterRuleHandleCache.getInstance().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), rateLimiterHandle);
+        when(localRateLimiter.isAllowed(anyString(), any(RateLimiterHandle.class))).thenReturn(
+                Mono.just(new RateLimiterResponse(true, 1)));
+        Mono<Void> result = rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData);
+        StepVerifier.create(result).expectSubscription().verifyComplete();
+        verify(redisRateLimiter, never()).isAllowed(anyString(), any(RateLimiterHandle.class));
+    }
+
+    /**
+     * rateLimiterPlugin doExecute , hybrid engine case.
+     */
+    @Test
+    public void doExecuteHybridEngineTest() {
+        RateLimiterHandle rateLimiterHandle = mockRateLimiterHandler();
+        rateLimiterHandle.setEngine("hybrid");
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        when(ruleData.getId()).thenReturn("ruleId");
+        RatelimiterRuleHandleCache.getInstance().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), rateLimiterHandle);
+        when(hybridRateLimiter.isAllowed(anyString(), any(RateLimiterHandle.class))).thenReturn(
+                Mono.just(new RateLimiterResponse(true, 1)));
+        Mono<Void> result = rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData);
+        StepVerifier.create(result).expectSubscription().verifyComplete();
+        verify(redisRateLimiter, never()).isAllowed(anyString(), any(RateLimiterHandle.class));
+    }
+
     /**
      * named default value test case.
      */
@@ -125,6 +169,7 @@ public final class RateLimiterPluginTest {
     private void doExecutePreInit() {
         RateLimiterHandle rateLimiterHandle = mockRateLimiterHandler();
         when(chain.execute(any())).thenReturn(Mono.empty());
+        when(ruleData.getId()).thenReturn("ruleId");
         RatelimiterRuleHandleCache.getInstance().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), rateLimiterHandle);
     }
 
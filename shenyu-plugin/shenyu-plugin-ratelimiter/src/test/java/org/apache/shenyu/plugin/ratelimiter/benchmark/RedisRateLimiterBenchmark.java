@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.benchmark;
+
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
+import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
+import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiterPipeline;
+import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import redis.embedded.RedisServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket requests per second of the redis rate limiter against an embedded redis,
+ * sending the script of every request on its own and pipelining the scripts of a window.
+ * A proxy delaying every write by {@code latencyMillis} stands in for the round trip to a remote redis.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+public class RedisRateLimiterBenchmark {
+
+    private static final int PORT = 63794;
+
+    @Param({"0", "1"})
+    private long pipelineWindowMillis;
+
+    @Param({"0", "1"})
+    private long latencyMillis;
+
+    private RedisServer redisServer;
+
+    private LatencyProxy latencyProxy;
+
+    private RedisRateLimiter redisRateLimiter;
+
+    private RateLimiterHandle limiterHandle;
+
+    /**
+     * Start the embedded redis and connect the rate limiter to it.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        redisServer = RedisServer.builder().port(PORT).setting("maxmemory 64m").build();
+        redisServer.start();
+        int port = PORT;
+        if (latencyMillis > 0) {
+            latencyProxy = new LatencyProxy(PORT, latencyMillis);
+            port = latencyProxy.getPort();
+        }
+        RateLimiterConfig config = new RateLimiterConfig();
+        config.setUrl("127.0.0.1:" + port);
+        config.setPipelineWindowMillis(pipelineWindowMillis);
+        new RateLimiterPluginDataHandler().handlerPlugin(PluginData.builder().enabled(true).config(GsonUtils.getInstance().toJson(config)).build());
+        redisRateLimiter = new RedisRateLimiter();
+        limiterHandle = new RateLimiterHandle();
+        limiterHandle.setAlgorithmName("tokenBucket");
+        limiterHandle.setReplenishRate(1000000);
+        limiterHandle.setBurstCapacity(1000000);
+    }
+
+    /**
+     * Stop the embedded redis.
+     *
+     * @throws IOException the io exception
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Optional.ofNullable(Singleton.INST.get(RedisRateLimiterPipeline.class)).ifPresent(RedisRateLimiterPipeline::close);
+        if (Objects.nonNull(latencyProxy)) {
+            latencyProxy.close();
+        }
+        redisServer.stop();
+    }
+
+    /**
+     * Judge a request of one of a hundred keys.
+     *
+     * @return the rate limiter response
+     */
+    @Benchmark
+    public RateLimiterResponse isAllowed() {
+        return redisRateLimiter.isAllowed("benchmark" + ThreadLocalRandom.current().nextInt(100), limiterHandle).block();
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RedisRateLimiterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Forwards the bytes between the rate limiter and redis, each chunk once the latency passed.
+     */
+    private static final class LatencyProxy implements Closeable {
+
+        private final ServerSocket serverSocket;
+
+        private final ExecutorService pumps = Executors.newCachedThreadPool();
+
+        LatencyProxy(final int targetPort, final long latencyMillis) throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            pumps.execute(() -> {
+                while (!serverSocket.isClosed()) {
+                    try {
+                        Socket client = serverSocket.accept();
+                        Socket target = new Socket(InetAddress.getLoopbackAddress(), targetPort);
+                        client.setTcpNoDelay(true);
+                        target.setTcpNoDelay(true);
+                        pumps.execute(() -> pump(client, target, latencyMillis));
+                        pumps.execute(() -> pump(target, client, latencyMillis));
+                    } catch (IOException ignored) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void pump(final Socket from, final Socket to, final long latencyMillis) {
+            // one writer per direction keeps the chunks in order
+            ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor();
+            byte[] buffer = new byte[64 * 1024];
+            try {
+                InputStream input = from.getInputStream();
+                OutputStream output = to.getOutputStream();
+                int read;
+                while ((read = input.read(buffer)) >= 0) {
+                    byte[] chunk = Arrays.copyOf(buffer, read);
+                    writer.schedule(() -> {
+                        try {
+                            output.write(chunk);
+                        } catch (IOException ignored) {
+                            // the other side is closed
+                        }
+                    }, latencyMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (IOException ignored) {
+                // the connection is closed
+            } finally {
+                writer.shutdown();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            pumps.shutdownNow();
+        }
+    }
+}
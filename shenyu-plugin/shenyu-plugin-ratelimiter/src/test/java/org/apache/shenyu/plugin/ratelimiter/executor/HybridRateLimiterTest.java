@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import com.google.common.collect.Lists;
+import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
+import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * HybridRateLimiter test.
+ */
+@RunWith(MockitoJUnitRunner.class)
+@SuppressWarnings("unchecked")
+public final class HybridRateLimiterTest {
+
+    private static final String DEFAULT_TEST_ID = "testId";
+
+    private RedisRateLimiter redisRateLimiter;
+
+    private HybridRateLimiter hybridRateLimiter;
+
+    private ReactiveRedisTemplate reactiveRedisTemplate;
+
+    private RateLimiterHandle rateLimiterHandle;
+
+    @Before
+    public void setUp() {
+        this.redisRateLimiter = mock(RedisRateLimiter.class);
+        this.hybridRateLimiter = new HybridRateLimiter(redisRateLimiter);
+        this.reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        Singleton.INST.single(ReactiveRedisTemplate.class, reactiveRedisTemplate);
+        rateLimiterHandle = new RateLimiterHandle();
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setReplenishRate(1.0);
+        rateLimiterHandle.setBurstCapacity(100.0);
+        rateLimiterHandle.setLeaseSize(4);
+    }
+
+    /**
+     * the first request leases tokens, the next ones are served from the lease.
+     */
+    @Test
+    public void leaseHitTest() {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(
+                Flux.just(Lists.newArrayList(5L, 95L)));
+        assertAllowed(true, 4L);
+        assertAllowed(true, 3L);
+        assertAllowed(true, 2L);
+        verify(reactiveRedisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    /**
+     * the request is not allowed once redis leases no tokens.
+     */
+    @Test
+    public void leaseMissTest() {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(
+                Flux.just(Lists.newArrayList(0L, 0L)));
+        assertAllowed(false, 0L);
+    }
+
+    /**
+     * the request is allowed when redis fails, the same as the redis rate limiter, and no tokens are leased.
+     */
+    @Test
+    public void leaseErrorTest() {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(
+                Flux.error(Throwable::new));
+        assertAllowed(true, 0L);
+        assertAllowed(true, 0L);
+        verify(reactiveRedisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    /**
+     * a miss joining a background refill too small for it refills once more.
+     */
+    @Test
+    public void joinedRefillTooSmallTest() {
+        MonoProcessor<List<Long>> background = MonoProcessor.create();
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(
+                Flux.just(Lists.newArrayList(5L, 95L)), background.flux(), Flux.just(Lists.newArrayList(7L, 88L)));
+        assertAllowed(true, 4L);
+        assertAllowed(true, 3L);
+        assertAllowed(true, 2L);
+        assertAllowed(true, 1L);
+        rateLimiterHandle.setRequestCount(3);
+        Mono<RateLimiterResponse> joined = hybridRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        StepVerifier.create(joined).then(() -> background.onNext(Lists.newArrayList(1L, 94L))).assertNext(r -> {
+            assertThat(r.isAllowed(), is(true));
+            assertThat(r.getTokensRemaining(), is(6L));
+        }).verifyComplete();
+        verify(reactiveRedisTemplate, times(3)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    /**
+     * the algorithms other than the token bucket go to redis for every request.
+     */
+    @Test
+    public void notLeasedAlgorithmTest() {
+        rateLimiterHandle.setAlgorithmName("slidingWindow");
+        when(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).thenReturn(Mono.just(new RateLimiterResponse(true, 1L)));
+        assertAllowed(true, 1L);
+    }
+
+    private void assertAllowed(final boolean allowed, final long tokensRemaining) {
+        StepVerifier.create(hybridRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).assertNext(r -> {
+            assertThat(r.isAllowed(), is(allowed));
+            assertThat(r.getTokensRemaining(), is(tokensRemaining));
+        }).verifyComplete();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.test.StepVerifier;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * LocalRateLimiter test.
+ */
+public final class LocalRateLimiterTest {
+
+    private static final String DEFAULT_TEST_ID = "testId";
+
+    private LocalRateLimiter localRateLimiter;
+
+    @Before
+    public void setUp() {
+        this.localRateLimiter = new LocalRateLimiter(2, 300);
+    }
+
+    @Test
+    public void tokenBucketNotAllowedTest() {
+        RateLimiterHandle handle = limiterHandle("tokenBucket");
+        StepVerifier.create(localRateLimiter.isAllowed(DEFAULT_TEST_ID, handle))
+                .assertNext(response -> assertThat(response.isAllowed(), is(true))).verifyComplete();
+        StepVerifier.create(localRateLimiter.isAllowed(DEFAULT_TEST_ID, handle))
+                .assertNext(response -> assertThat(response.isAllowed(), is(false))).verifyComplete();
+    }
+
+    @Test
+    public void concurrentReleasedTest() {
+        RateLimiterHandle handle = limiterHandle("concurrent");
+        for (int i = 0; i < 3; i++) {
+            RateLimiterResponse response = localRateLimiter.isAllowed(DEFAULT_TEST_ID, handle).block();
+            assertThat(response.isAllowed(), is(true));
+            StepVerifier.create(localRateLimiter.isAllowed(DEFAULT_TEST_ID, handle))
+                    .assertNext(r -> assertThat(r.isAllowed(), is(false))).verifyComplete();
+            response.release();
+        }
+    }
+
+    @Test
+    public void evictTest() {
+        RateLimiterHandle handle = limiterHandle("leakyBucket");
+        for (int i = 0; i < 5; i++) {
+            RateLimiterResponse response = localRateLimiter.isAllowed(DEFAULT_TEST_ID + i, handle).block();
+            assertThat(response.isAllowed(), is(true));
+        }
+        assertThat(localRateLimiter.size() <= 2, is(true));
+    }
+
+    private RateLimiterHandle limiterHandle(final String algorithmName) {
+        RateLimiterHandle handle = new RateLimiterHandle();
+        handle.setAlgorithmName(algorithmName);
+        handle.setReplenishRate(0.001);
+        handle.setBurstCapacity(1);
+        handle.setEngine("local");
+        return handle;
+    }
+}
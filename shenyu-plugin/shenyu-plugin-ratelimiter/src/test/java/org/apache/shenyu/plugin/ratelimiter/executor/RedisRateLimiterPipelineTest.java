@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
+import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
+import org.apache.shenyu.plugin.ratelimiter.handler.ShenyuLettuceConnectionFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.MonoProcessor;
+import reactor.test.StepVerifier;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test of pipelining rate limiter scripts.
+ */
+public final class RedisRateLimiterPipelineTest {
+
+    private static RedisServer redisServer;
+
+    @BeforeClass
+    public static void startup() {
+        redisServer = RedisServer.builder()
+                .port(63793)
+                .setting("maxmemory 64m")
+                .build();
+        redisServer.start();
+        RateLimiterConfig config = new RateLimiterConfig();
+        config.setUrl("127.0.0.1:63793");
+        config.setPipelineWindowMillis(5);
+        PluginData pluginData = PluginData.builder()
+                .enabled(true)
+                .config(GsonUtils.getInstance().toJson(config))
+                .build();
+        new RateLimiterPluginDataHandler().handlerPlugin(pluginData);
+    }
+
+    @Test
+    public void tokenBucketPipelineTest() {
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("tokenBucket");
+        List<String> scriptArgs = Arrays.asList("0.001", "10", Instant.now().getEpochSecond() + "", "1");
+        RedisRateLimiterPipeline pipeline = Singleton.INST.get(RedisRateLimiterPipeline.class);
+        StepVerifier.create(Flux.range(0, 20)
+                .flatMap(i -> pipeline.execute(rateLimiterAlgorithm.getScript(), rateLimiterAlgorithm.getKeys("pipeline" + i % 2), scriptArgs))
+                .filter(results -> results.get(0) == 1L)
+                .count())
+                .expectNext(20L)
+                .verifyComplete();
+        StepVerifier.create(pipeline.execute(rateLimiterAlgorithm.getScript(), rateLimiterAlgorithm.getKeys("pipeline0"), scriptArgs))
+                .assertNext(results -> assertThat(results, is(Arrays.asList(0L, 0L))))
+                .verifyComplete();
+    }
+
+    @Test
+    public void closePipelineTest() {
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("tokenBucket");
+        List<String> scriptArgs = Arrays.asList("0.001", "10", Instant.now().getEpochSecond() + "", "1");
+        ShenyuLettuceConnectionFactory connectionFactory = (ShenyuLettuceConnectionFactory) Singleton.INST.get(ReactiveRedisTemplate.class).getConnectionFactory();
+        RedisRateLimiterPipeline pipeline = new RedisRateLimiterPipeline(connectionFactory::getSharedReactiveConnection, Duration.ofHours(1), 100);
+        MonoProcessor<List<Long>> buffered = pipeline.execute(rateLimiterAlgorithm.getScript(), rateLimiterAlgorithm.getKeys("close"), scriptArgs).toProcessor();
+        pipeline.close();
+        StepVerifier.create(buffered)
+                .assertNext(results -> assertThat(results.get(0), is(1L)))
+                .verifyComplete();
+        StepVerifier.create(pipeline.execute(rateLimiterAlgorithm.getScript(), rateLimiterAlgorithm.getKeys("close"), scriptArgs))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @AfterClass
+    public static void end() {
+        Singleton.INST.get(RedisRateLimiterPipeline.class).close();
+        RateLimiterConfig config = new RateLimiterConfig();
+        Singleton.INST.single(RateLimiterConfig.class, config);
+        redisServer.stop();
+    }
+}
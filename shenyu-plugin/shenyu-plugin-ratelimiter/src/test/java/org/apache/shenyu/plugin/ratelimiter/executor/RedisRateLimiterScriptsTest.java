@@ -30,8 +30,11 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 import redis.embedded.RedisServer;
@@ -42,6 +45,8 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.Assert.assertTrue;
+
 /**
  * Test of rate limiter Lua scripts.
  */
@@ -101,6 +106,50 @@ public class RedisRateLimiterScriptsTest {
                 .verify();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void concurrentStalePermitLuaTest() {
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("concurrent");
+        RedisScript<List<Long>> script = (RedisScript<List<Long>>) rateLimiterAlgorithm.getScript();
+        long now = Instant.now().getEpochSecond();
+        List<String> staleArgs = Arrays.asList("0", "1", (now - 120) + "", "1");
+        List<String> scriptArgs = Arrays.asList("0", "1", now + "", "1");
+        ReactiveRedisTemplate<String, String> redisTemplate = Singleton.INST.get(ReactiveRedisTemplate.class);
+        StepVerifier.create(redisTemplate.execute(script, Arrays.asList("test-concurrent-stale", "stale"), staleArgs))
+                .expectNext(Arrays.asList(1L, 1L))
+                .verifyComplete();
+        StepVerifier.create(redisTemplate.execute(script, Arrays.asList("test-concurrent-stale", "fresh"), scriptArgs))
+                .expectNext(Arrays.asList(1L, 1L))
+                .verifyComplete();
+        StepVerifier.create(redisTemplate.execute(script, Arrays.asList("test-concurrent-stale", "rejected"), scriptArgs))
+                .expectNext(Arrays.asList(0L, 1L))
+                .verifyComplete();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void concurrentPermitTtlLuaTest() {
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("concurrent");
+        RedisScript<List<Long>> script = (RedisScript<List<Long>>) rateLimiterAlgorithm.getScript();
+        long now = Instant.now().getEpochSecond();
+        List<String> heldArgs = Arrays.asList("0", "1", (now - 10) + "", "1", "30");
+        List<String> ttlArgs = Arrays.asList("0", "1", now + "", "1", "5");
+        ReactiveRedisTemplate<String, String> redisTemplate = Singleton.INST.get(ReactiveRedisTemplate.class);
+        StepVerifier.create(redisTemplate.execute(script, Arrays.asList("test-concurrent-ttl", "held"), heldArgs))
+                .expectNext(Arrays.asList(1L, 1L))
+                .verifyComplete();
+        StepVerifier.create(redisTemplate.execute(script, Arrays.asList("test-concurrent-ttl", "rejected"), heldArgs))
+                .expectNext(Arrays.asList(0L, 1L))
+                .verifyComplete();
+        // the permit held for 10 seconds outlived a 5 seconds ttl
+        StepVerifier.create(redisTemplate.execute(script, Arrays.asList("test-concurrent-ttl", "fresh"), ttlArgs))
+                .expectNext(Arrays.asList(1L, 1L))
+                .verifyComplete();
+        StepVerifier.create(redisTemplate.getExpire("test-concurrent-ttl"))
+                .assertNext(expire -> assertTrue(expire.getSeconds() > 0 && expire.getSeconds() <= 5))
+                .verifyComplete();
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void tokenBucketLuaTest() {
@@ -133,6 +182,23 @@ public class RedisRateLimiterScriptsTest {
                 .verify();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void tokenBucketLeaseLuaTest() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("/META-INF/scripts/request_lease_rate_limiter.lua")));
+        script.setResultType(List.class);
+        List<String> keys = Stream.of("test-tokenBucketLease.tokens", "test-tokenBucketLease.timestamp").collect(Collectors.toList());
+        List<String> scriptArgs = Arrays.asList(10 + "", 100 + "", Instant.now().getEpochSecond() + "", "150");
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
+        StepVerifier
+                .create(resultFlux)
+                .expectSubscription()
+                .expectNext(Arrays.asList(100L, 0L))
+                .expectComplete()
+                .verify();
+    }
+
     @AfterClass
     public static void end() {
         redisServer.stop();
@@ -28,6 +28,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
 import org.springframework.data.redis.core.script.RedisScript;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -40,6 +41,8 @@ import static org.junit.Assert.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -165,6 +168,32 @@ public final class RedisRateLimiterTest {
         }).verifyComplete();
     }
 
+    /**
+     * redisRateLimiter.isAllowed holds the concurrent permit until it is released.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void concurrentReleasedTest() {
+        ReactiveRedisTemplate reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        ReactiveZSetOperations zSetOperations = mock(ReactiveZSetOperations.class);
+        Singleton.INST.single(ReactiveRedisTemplate.class, reactiveRedisTemplate);
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(Lists.newArrayList(1L, 1L)));
+        when(reactiveRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.remove(any(), any())).thenReturn(Mono.just(1L));
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        rateLimiterHandle.setBurstCapacity(1);
+        RateLimiterResponse response = redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).block();
+        assertTrue(response.isAllowed());
+        StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                .assertNext(r -> assertFalse(r.isAllowed())).verifyComplete();
+        verify(reactiveRedisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+        response.release();
+        response.release();
+        verify(zSetOperations, times(1)).remove(any(), any());
+        StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                .assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+    }
+
     /**
      * redisRateLimiter.isAllowed test pre init.
      *
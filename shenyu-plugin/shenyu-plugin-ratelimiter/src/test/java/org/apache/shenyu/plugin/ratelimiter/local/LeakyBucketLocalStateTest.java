@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * test for LeakyBucketLocalState.
+ */
+public final class LeakyBucketLocalStateTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void tryAcquireTest() {
+        LeakyBucketLocalState state = new LeakyBucketLocalState();
+        assertThat(state.tryAcquire(1, 2, 1, 0).isAllowed(), is(true));
+        assertThat(state.tryAcquire(1, 2, 1, 0).isAllowed(), is(true));
+        assertThat(state.tryAcquire(1, 2, 1, 0).isAllowed(), is(false));
+        assertThat(state.tryAcquire(1, 2, 1, SECOND).getTokensRemaining(), is(2L));
+        assertThat(state.tryAcquire(1, 2, 1, SECOND).isAllowed(), is(false));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * test for TokenBucketLocalState.
+ */
+public final class TokenBucketLocalStateTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void tryAcquireTest() {
+        TokenBucketLocalState state = new TokenBucketLocalState();
+        assertResponse(state.tryAcquire(1, 2, 1, 0), true, 1);
+        assertResponse(state.tryAcquire(1, 2, 1, 0), true, 0);
+        assertResponse(state.tryAcquire(1, 2, 1, 0), false, 0);
+        assertResponse(state.tryAcquire(1, 2, 1, SECOND), true, 0);
+        assertResponse(state.tryAcquire(1, 2, 1, SECOND * 10), true, 1);
+    }
+
+    private void assertResponse(final RateLimiterResponse response, final boolean allowed, final long tokensRemaining) {
+        assertThat(response.isAllowed(), is(allowed));
+        assertThat(response.getTokensRemaining(), is(tokensRemaining));
+    }
+}
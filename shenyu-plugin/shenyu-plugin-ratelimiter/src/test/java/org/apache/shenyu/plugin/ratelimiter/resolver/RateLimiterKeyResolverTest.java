@@ -24,6 +24,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
@@ -31,6 +32,8 @@ import org.springframework.web.server.ServerWebExchange;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -84,4 +87,69 @@ public class RateLimiterKeyResolverTest {
         String keyResolverName = new RemoteAddrKeyResolver().getKeyResolverName();
         assertEquals(keyResolverName, "REMOTE_ADDRESS_KEY_RESOLVER");
     }
+
+    @Test
+    public void headerResolveTest() {
+        RateLimiterKeyResolver keyResolver = new HeaderKeyResolver();
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").header("X-Tenant", "tenant").build());
+        assertEquals("tenant", keyResolver.resolve(exchange, "X-Tenant"));
+        assertEquals("", keyResolver.resolve(firstExchange, "X-Tenant"));
+        assertEquals("", keyResolver.resolve(exchange));
+    }
+
+    @Test
+    public void queryResolveTest() {
+        RateLimiterKeyResolver keyResolver = new QueryKeyResolver();
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost/order?tenant=tenant").build());
+        assertEquals("tenant", keyResolver.resolve(exchange, "tenant"));
+        assertEquals("", keyResolver.resolve(exchange, "user"));
+    }
+
+    @Test
+    public void pathResolveTest() {
+        RateLimiterKeyResolver keyResolver = new PathKeyResolver();
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/order/tenant/user/detail").build());
+        assertEquals("tenant:user", keyResolver.resolve(exchange, "/order/{tenant}/{user}/**"));
+        assertEquals("/order/tenant/user/detail", keyResolver.resolve(exchange, "/pay/{tenant}/**"));
+        assertEquals("/order/tenant/user/detail", keyResolver.resolve(exchange));
+        assertEquals("/order/tenant/user/detail", keyResolver.resolve(exchange, "/**/{tenant}"));
+        assertEquals("/order/tenant/user/detail", keyResolver.resolve(exchange, "/**/{tenant}"));
+    }
+
+    @Test
+    public void appKeyResolveTest() {
+        RateLimiterKeyResolver keyResolver = new AppKeyResolver();
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").header("appKey", "app").build());
+        assertEquals("app", keyResolver.resolve(exchange));
+        assertEquals("", keyResolver.resolve(firstExchange));
+    }
+
+    @Test
+    public void jwtClaimResolveTest() {
+        RateLimiterKeyResolver keyResolver = new JwtClaimKeyResolver();
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString("{\"sub\":\"user\",\"tenant\":7}".getBytes(StandardCharsets.UTF_8));
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer header." + payload + ".signature").build());
+        assertEquals("user", keyResolver.resolve(exchange));
+        assertEquals("7", keyResolver.resolve(exchange, "tenant"));
+        assertEquals("", keyResolver.resolve(exchange, "role"));
+        ServerWebExchange invalidExchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").header("token", "invalid").build());
+        assertEquals("", keyResolver.resolve(invalidExchange));
+        String nullPayload = Base64.getUrlEncoder().withoutPadding().encodeToString("null".getBytes(StandardCharsets.UTF_8));
+        ServerWebExchange nullExchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").header("token", "header." + nullPayload + ".signature").build());
+        assertEquals("", keyResolver.resolve(nullExchange));
+        assertEquals("", keyResolver.resolve(nullExchange, "tenant"));
+    }
+
+    @Test
+    public void compositeResolveTest() throws UnknownHostException {
+        RateLimiterKeyResolver keyResolver = new CompositeKeyResolver();
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                .header("X-Tenant", "tenant")
+                .remoteAddress(new InetSocketAddress(InetAddress.getByAddress(new byte[]{1, 1, 1, 1}), 8080))
+                .build());
+        assertEquals("tenant:1.1.1.1", keyResolver.resolve(exchange, "HEADER_KEY_RESOLVER:X-Tenant, REMOTE_ADDRESS_KEY_RESOLVER"));
+        assertEquals("tenant", keyResolver.resolve(exchange, "HEADER_KEY_RESOLVER:X-Tenant, UNKNOWN_KEY_RESOLVER"));
+        assertEquals("", keyResolver.resolve(exchange));
+    }
 }
@@ -23,9 +23,13 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -33,6 +37,12 @@ import java.util.Objects;
  */
 public class RPCMessageWriter implements MessageWriter {
 
+    private static final String SSE_DATA = "data:";
+
+    private static final String SSE_END = "\n\n";
+
+    private static final String NEW_LINE = "\n";
+
     @Override
     public Mono<Void> writeWith(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
         return chain.execute(exchange).then(Mono.defer(() -> {
@@ -41,8 +51,41 @@ public class RPCMessageWriter implements MessageWriter {
                 Object error = ShenyuResultWrap.error(ShenyuResultEnum.SERVICE_RESULT_ERROR.getCode(), ShenyuResultEnum.SERVICE_RESULT_ERROR.getMsg(), null);
                 return WebFluxResultUtils.result(exchange, error);
             }
+            if (result instanceof Flux) {
+                return writeStream(exchange, (Flux<?>) result);
+            }
+            if (result instanceof byte[]) {
+                return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap((byte[]) result)));
+            }
             Object success = ShenyuResultWrap.success(ShenyuResultEnum.SUCCESS.getCode(), ShenyuResultEnum.SUCCESS.getMsg(), JsonUtils.removeClass(result));
             return WebFluxResultUtils.result(exchange, success);
         }));
     }
+
+    /**
+     * Write each element of a streamed rpc result and flush it at once. Byte elements are written as they are,
+     * in the content type the rpc plugin chose. Other elements are written as json: server sent events when the client
+     * accepts them, otherwise newline delimited json in a chunked response.
+     *
+     * @param exchange the exchange
+     * @param result   the streamed result
+     * @return the mono
+     */
+    private Mono<Void> writeStream(final ServerWebExchange exchange, final Flux<?> result) {
+        ServerHttpResponse response = exchange.getResponse();
+        boolean eventStream = exchange.getRequest().getHeaders().getAccept().stream().anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+        if (Objects.isNull(response.getHeaders().getContentType())) {
+            response.getHeaders().setContentType(eventStream ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_STREAM_JSON);
+        }
+        return response.writeAndFlushWith(result.map(item -> Mono.just(response.bufferFactory().wrap(toBytes(item, eventStream)))));
+    }
+
+    private static byte[] toBytes(final Object item, final boolean eventStream) {
+        if (item instanceof byte[]) {
+            return (byte[]) item;
+        }
+        String json = item instanceof String ? (String) item : JsonUtils.toJson(JsonUtils.removeClass(item));
+        String message = eventStream ? SSE_DATA + json.replace(NEW_LINE, NEW_LINE + SSE_DATA) + SSE_END : json + NEW_LINE;
+        return message.getBytes(StandardCharsets.UTF_8);
+    }
 }
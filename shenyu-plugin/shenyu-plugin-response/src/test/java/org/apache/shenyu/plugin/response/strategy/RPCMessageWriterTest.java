@@ -28,12 +28,18 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -72,4 +78,34 @@ public class RPCMessageWriterTest {
     public void testExecuteWithNoResult() {
         StepVerifier.create(rpcMessageWriter.writeWith(exchange, chain)).expectSubscription().verifyComplete();
     }
+
+    @Test
+    public void testExecuteWithStreamResult() {
+        exchange.getAttributes().put(Constants.RPC_RESULT, Flux.just("{\"id\":1}", "{\"id\":2}"));
+        StepVerifier.create(rpcMessageWriter.writeWith(exchange, chain)).expectSubscription().verifyComplete();
+        MockServerHttpResponse response = (MockServerHttpResponse) exchange.getResponse();
+        assertEquals(MediaType.APPLICATION_STREAM_JSON, response.getHeaders().getContentType());
+        StepVerifier.create(response.getBodyAsString()).expectNext("{\"id\":1}\n{\"id\":2}\n").verifyComplete();
+    }
+
+    @Test
+    public void testExecuteWithEventStreamResult() {
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").accept(MediaType.TEXT_EVENT_STREAM).build());
+        Mockito.when(chain.execute(exchange)).thenReturn(Mono.empty());
+        exchange.getAttributes().put(Constants.RPC_RESULT, Flux.just("{\"id\":1}", "{\n\"id\":2}"));
+        StepVerifier.create(rpcMessageWriter.writeWith(exchange, chain)).expectSubscription().verifyComplete();
+        MockServerHttpResponse response = (MockServerHttpResponse) exchange.getResponse();
+        assertEquals(MediaType.TEXT_EVENT_STREAM, response.getHeaders().getContentType());
+        StepVerifier.create(response.getBodyAsString()).expectNext("data:{\"id\":1}\n\ndata:{\ndata:\"id\":2}\n\n").verifyComplete();
+    }
+
+    @Test
+    public void testExecuteWithBytesResult() {
+        exchange.getResponse().getHeaders().setContentType(MediaType.valueOf("application/x-protobuf"));
+        exchange.getAttributes().put(Constants.RPC_RESULT, new byte[]{8, 1});
+        StepVerifier.create(rpcMessageWriter.writeWith(exchange, chain)).expectSubscription().verifyComplete();
+        MockServerHttpResponse response = (MockServerHttpResponse) exchange.getResponse();
+        assertEquals(MediaType.valueOf("application/x-protobuf"), response.getHeaders().getContentType());
+        StepVerifier.create(DataBufferUtils.join(response.getBody()).map(DataBuffer::readableByteCount)).expectNext(2).verifyComplete();
+    }
 }
@@ -65,6 +65,11 @@ public class RewritePlugin extends AbstractShenyuPlugin {
         return Objects.equals(Objects.requireNonNull(body).getRpcType(), RpcTypeEnum.DUBBO.getName());
     }
 
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType == RpcTypeEnum.DUBBO;
+    }
+
     @Override
     public String named() {
         return PluginEnum.REWRITE.getName();
@@ -100,6 +100,11 @@ public class SofaPlugin extends AbstractShenyuPlugin {
         return !Objects.equals(shenyuContext.getRpcType(), RpcTypeEnum.SOFA.getName());
     }
 
+    @Override
+    public Boolean skip(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.SOFA;
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.SOFA.getCode();
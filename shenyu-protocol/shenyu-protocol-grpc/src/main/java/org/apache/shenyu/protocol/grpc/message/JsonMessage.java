@@ -44,6 +44,11 @@ public class JsonMessage {
      */
     private static Map<String, MethodDescriptor<DynamicMessage, DynamicMessage>> methodDescriptorCache = Maps.newConcurrentMap();
 
+    /**
+     * The descriptor of the json message, the same for every message so built once.
+     */
+    private static final Descriptors.Descriptor JSON_DESCRIPTOR = buildJsonMarshallerDescriptor();
+
     /**
      * Dynamic build JsonMarshaller Descriptor.
      *
@@ -97,10 +102,9 @@ public class JsonMessage {
      * @return DynamicMessage
      */
     public static DynamicMessage buildJsonMessage(final String jsonParam) {
-        // build Descriptor and set request param
-        Descriptors.Descriptor jsonDescriptor = buildJsonMarshallerDescriptor();
-        DynamicMessage.Builder jsonDynamicMessage = DynamicMessage.newBuilder(jsonDescriptor);
-        jsonDynamicMessage.setField(jsonDescriptor.findFieldByName(GrpcConstants.JSON_DESCRIPTOR_PROTO_FIELD_NAME), jsonParam);
+        // set request param
+        DynamicMessage.Builder jsonDynamicMessage = DynamicMessage.newBuilder(JSON_DESCRIPTOR);
+        jsonDynamicMessage.setField(JSON_DESCRIPTOR.findFieldByName(GrpcConstants.JSON_DESCRIPTOR_PROTO_FIELD_NAME), jsonParam);
         return jsonDynamicMessage.build();
     }
 
@@ -110,9 +114,7 @@ public class JsonMessage {
      * @return DynamicMessage
      */
     public static DynamicMessage buildJsonMessage() {
-        Descriptors.Descriptor jsonDescriptor = buildJsonMarshallerDescriptor();
-        DynamicMessage.Builder jsonDynamicMessage = DynamicMessage.newBuilder(jsonDescriptor);
-        return jsonDynamicMessage.build();
+        return DynamicMessage.getDefaultInstance(JSON_DESCRIPTOR);
     }
 
     /**
@@ -26,6 +26,7 @@ import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.httpclient.NettyHttpClientPlugin;
 import org.apache.shenyu.plugin.httpclient.WebClientPlugin;
 import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties;
+import org.apache.shenyu.plugin.httpclient.pool.UpstreamConnectionProvider;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -36,7 +37,6 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
-import reactor.netty.resources.ConnectionProvider;
 import reactor.netty.tcp.ProxyProvider;
 
 import java.security.cert.X509Certificate;
@@ -60,26 +60,30 @@ public class HttpClientPluginConfiguration {
         return new HttpClientProperties();
     }
 
+    /**
+     * The connection provider keeping the upstream connection pools apart.
+     *
+     * @param properties the properties
+     * @return the upstream connection provider
+     */
+    @Bean(destroyMethod = "dispose")
+    public UpstreamConnectionProvider upstreamConnectionProvider(final HttpClientProperties properties) {
+        return new UpstreamConnectionProvider(properties.getPool());
+    }
+
     /**
      * Gateway http client http client.
      *
      * @param properties the properties
+     * @param connectionProvider the connection provider
      * @return the http client
      */
     @Bean
-    public HttpClient httpClient(final HttpClientProperties properties) {
-        // configure pool resources
-        HttpClientProperties.Pool pool = properties.getPool();
-        ConnectionProvider connectionProvider;
-        if (pool.getType() == HttpClientProperties.Pool.PoolType.DISABLED) {
-            connectionProvider = ConnectionProvider.newConnection();
-        } else if (pool.getType() == HttpClientProperties.Pool.PoolType.FIXED) {
-            connectionProvider = ConnectionProvider.fixed(pool.getName(),
-                    pool.getMaxConnections(), pool.getAcquireTimeout());
-        } else {
-            connectionProvider = ConnectionProvider.elastic(pool.getName());
-        }
+    public HttpClient httpClient(final HttpClientProperties properties, final UpstreamConnectionProvider connectionProvider) {
+        // configure pool resources, the provider learns the released connections by observing them
         HttpClient httpClient = HttpClient.create(connectionProvider)
+                .observe(connectionProvider)
+                .keepAlive(properties.isKeepAlive())
                 .tcpConfiguration(tcpClient -> {
                     if (properties.getConnectTimeout() != null) {
                         tcpClient = tcpClient.option(
@@ -148,14 +152,15 @@ public class HttpClientPluginConfiguration {
          * Web client plugin shenyu plugin.
          *
          * @param httpClient the http client
+         * @param connectionProvider the connection provider
          * @return the shenyu plugin
          */
         @Bean
-        public ShenyuPlugin webClientPlugin(final ObjectProvider<HttpClient> httpClient) {
+        public ShenyuPlugin webClientPlugin(final ObjectProvider<HttpClient> httpClient, final ObjectProvider<UpstreamConnectionProvider> connectionProvider) {
             WebClient webClient = WebClient.builder()
                     .clientConnector(new ReactorClientHttpConnector(Objects.requireNonNull(httpClient.getIfAvailable())))
                     .build();
-            return new WebClientPlugin(webClient);
+            return new WebClientPlugin(webClient, connectionProvider.getIfAvailable());
         }
     }
 
@@ -170,11 +175,12 @@ public class HttpClientPluginConfiguration {
          * Netty http client plugin shenyu plugin.
          *
          * @param httpClient the http client
+         * @param connectionProvider the connection provider
          * @return the shenyu plugin
          */
         @Bean
-        public ShenyuPlugin nettyHttpClientPlugin(final ObjectProvider<HttpClient> httpClient) {
-            return new NettyHttpClientPlugin(httpClient.getIfAvailable());
+        public ShenyuPlugin nettyHttpClientPlugin(final ObjectProvider<HttpClient> httpClient, final ObjectProvider<UpstreamConnectionProvider> connectionProvider) {
+            return new NettyHttpClientPlugin(httpClient.getIfAvailable(), connectionProvider.getIfAvailable());
         }
     }
 }
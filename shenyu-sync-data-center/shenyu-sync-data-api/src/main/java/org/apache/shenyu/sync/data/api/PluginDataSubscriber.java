@@ -35,6 +35,15 @@ public interface PluginDataSubscriber {
     default void onSubscribe(PluginData pluginData) {
     }
     
+    /**
+     * On subscribe the plugin data list as one change.
+     *
+     * @param pluginDataList the plugin data list
+     */
+    default void onSubscribeList(final List<PluginData> pluginDataList) {
+        pluginDataList.forEach(this::onSubscribe);
+    }
+    
     /**
      * Un subscribe plugin data.
      *
@@ -49,6 +58,16 @@ public interface PluginDataSubscriber {
     default void refreshPluginDataAll() {
     }
     
+    /**
+     * Refresh all plugin data with the full plugin data list in one step.
+     *
+     * @param pluginDataList the full plugin data list
+     */
+    default void refreshPluginDataAll(final List<PluginData> pluginDataList) {
+        refreshPluginDataAll();
+        pluginDataList.forEach(this::onSubscribe);
+    }
+    
     /**
      * Refresh plugin data self.
      *
@@ -65,6 +84,15 @@ public interface PluginDataSubscriber {
     default void onSelectorSubscribe(SelectorData selectorData) {
     }
     
+    /**
+     * On selector subscribe the selector data list as one change.
+     *
+     * @param selectorDataList the selector data list
+     */
+    default void onSelectorSubscribeList(final List<SelectorData> selectorDataList) {
+        selectorDataList.forEach(this::onSelectorSubscribe);
+    }
+    
     /**
      * Un selector subscribe.
      *
@@ -79,6 +107,16 @@ public interface PluginDataSubscriber {
     default void refreshSelectorDataAll() {
     }
     
+    /**
+     * Refresh all selector data with the full selector data list in one step.
+     *
+     * @param selectorDataList the full selector data list
+     */
+    default void refreshSelectorDataAll(final List<SelectorData> selectorDataList) {
+        refreshSelectorDataAll();
+        selectorDataList.forEach(this::onSelectorSubscribe);
+    }
+    
     /**
      * Refresh selector data.
      *
@@ -95,6 +133,15 @@ public interface PluginDataSubscriber {
     default void onRuleSubscribe(RuleData ruleData) {
     }
     
+    /**
+     * On rule subscribe the rule data list as one change.
+     *
+     * @param ruleDataList the rule data list
+     */
+    default void onRuleSubscribeList(final List<RuleData> ruleDataList) {
+        ruleDataList.forEach(this::onRuleSubscribe);
+    }
+    
     /**
      * On rule subscribe.
      *
@@ -109,6 +156,16 @@ public interface PluginDataSubscriber {
     default void refreshRuleDataAll() {
     }
     
+    /**
+     * Refresh all rule data with the full rule data list in one step.
+     *
+     * @param ruleDataList the full rule data list
+     */
+    default void refreshRuleDataAll(final List<RuleData> ruleDataList) {
+        refreshRuleDataAll();
+        ruleDataList.forEach(this::onRuleSubscribe);
+    }
+    
     /**
      * Refresh rule data self.
      *
@@ -116,4 +173,23 @@ public interface PluginDataSubscriber {
      */
     default void refreshRuleDataSelf(List<RuleData> ruleDataList) {
     }
+    
+    /**
+     * Refresh all plugin, selector and rule data in one step, a null list means the data of that kind is not changed.
+     *
+     * @param pluginDataList the full plugin data list, or null
+     * @param selectorDataList the full selector data list, or null
+     * @param ruleDataList the full rule data list, or null
+     */
+    default void refreshAll(final List<PluginData> pluginDataList, final List<SelectorData> selectorDataList, final List<RuleData> ruleDataList) {
+        if (null != pluginDataList) {
+            refreshPluginDataAll(pluginDataList);
+        }
+        if (null != selectorDataList) {
+            refreshSelectorDataAll(selectorDataList);
+        }
+        if (null != ruleDataList) {
+            refreshRuleDataAll(ruleDataList);
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -71,16 +72,30 @@ public abstract class AbstractDataRefresh<T> implements DataRefresh {
 
     @Override
     public Boolean refresh(final JsonObject data) {
-        boolean updated = false;
+        List<T> changed = changedData(data);
+        if (null == changed) {
+            return false;
+        }
+        refresh(changed);
+        return true;
+    }
+
+    /**
+     * Update the group cache with the data and take out the changed data list without refreshing the subscribers.
+     *
+     * @param data the data
+     * @return the changed data list, or null if the group is not changed
+     */
+    protected List<T> changedData(final JsonObject data) {
         JsonObject jsonObject = convert(data);
-        if (null != jsonObject) {
-            ConfigData<T> result = fromJson(jsonObject);
-            if (this.updateCacheIfNeed(result)) {
-                updated = true;
-                refresh(result.getData());
-            }
+        if (null == jsonObject) {
+            return null;
+        }
+        ConfigData<T> result = fromJson(jsonObject);
+        if (!this.updateCacheIfNeed(result)) {
+            return null;
         }
-        return updated;
+        return null == result.getData() ? Collections.emptyList() : result.getData();
     }
 
     /**
@@ -20,9 +20,14 @@ package org.apache.shenyu.sync.data.http.refresh;
 import com.google.gson.JsonObject;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
@@ -35,6 +40,14 @@ public final class DataRefreshFactory {
 
     private static final EnumMap<ConfigGroupEnum, DataRefresh> ENUM_MAP = new EnumMap<>(ConfigGroupEnum.class);
 
+    private final PluginDataSubscriber pluginDataSubscriber;
+
+    private final PluginDataRefresh pluginDataRefresh;
+
+    private final SelectorDataRefresh selectorDataRefresh;
+
+    private final RuleDataRefresh ruleDataRefresh;
+
     /**
      * Instantiates a new Data refresh factory.
      *
@@ -45,9 +58,13 @@ public final class DataRefreshFactory {
     public DataRefreshFactory(final PluginDataSubscriber pluginDataSubscriber,
                               final List<MetaDataSubscriber> metaDataSubscribers,
                               final List<AuthDataSubscriber> authDataSubscribers) {
-        ENUM_MAP.put(ConfigGroupEnum.PLUGIN, new PluginDataRefresh(pluginDataSubscriber));
-        ENUM_MAP.put(ConfigGroupEnum.SELECTOR, new SelectorDataRefresh(pluginDataSubscriber));
-        ENUM_MAP.put(ConfigGroupEnum.RULE, new RuleDataRefresh(pluginDataSubscriber));
+        this.pluginDataSubscriber = pluginDataSubscriber;
+        this.pluginDataRefresh = new PluginDataRefresh(pluginDataSubscriber);
+        this.selectorDataRefresh = new SelectorDataRefresh(pluginDataSubscriber);
+        this.ruleDataRefresh = new RuleDataRefresh(pluginDataSubscriber);
+        ENUM_MAP.put(ConfigGroupEnum.PLUGIN, pluginDataRefresh);
+        ENUM_MAP.put(ConfigGroupEnum.SELECTOR, selectorDataRefresh);
+        ENUM_MAP.put(ConfigGroupEnum.RULE, ruleDataRefresh);
         ENUM_MAP.put(ConfigGroupEnum.APP_AUTH, new AppAuthDataRefresh(authDataSubscribers));
         ENUM_MAP.put(ConfigGroupEnum.META_DATA, new MetaDataRefresh(metaDataSubscribers));
     }
@@ -59,10 +76,18 @@ public final class DataRefreshFactory {
      * @return the boolean
      */
     public boolean executor(final JsonObject data) {
-        List<Boolean> result = ENUM_MAP.values().parallelStream()
-                .map(dataRefresh -> dataRefresh.refresh(data))
+        List<PluginData> pluginDataList = pluginDataRefresh.changedData(data);
+        List<SelectorData> selectorDataList = selectorDataRefresh.changedData(data);
+        List<RuleData> ruleDataList = ruleDataRefresh.changedData(data);
+        boolean updated = Objects.nonNull(pluginDataList) || Objects.nonNull(selectorDataList) || Objects.nonNull(ruleDataList);
+        if (updated) {
+            // the plugin, selector and rule data are published as one snapshot
+            pluginDataSubscriber.refreshAll(pluginDataList, selectorDataList, ruleDataList);
+        }
+        List<Boolean> result = Stream.of(ConfigGroupEnum.APP_AUTH, ConfigGroupEnum.META_DATA).parallel()
+                .map(group -> ENUM_MAP.get(group).refresh(data))
                 .collect(Collectors.toList());
-        return result.stream().anyMatch(Boolean.TRUE::equals);
+        return updated || result.stream().anyMatch(Boolean.TRUE::equals);
     }
 
     /**
@@ -60,11 +60,11 @@ public class PluginDataRefresh extends AbstractDataRefresh<PluginData> {
 
     @Override
     protected void refresh(final List<PluginData> data) {
-        pluginDataSubscriber.refreshPluginDataAll();
         if (CollectionUtils.isEmpty(data)) {
             log.info("clear all plugin data cache");
+            pluginDataSubscriber.refreshPluginDataAll();
             return;
         }
-        data.forEach(pluginDataSubscriber::onSubscribe);
+        pluginDataSubscriber.refreshPluginDataAll(data);
     }
 }
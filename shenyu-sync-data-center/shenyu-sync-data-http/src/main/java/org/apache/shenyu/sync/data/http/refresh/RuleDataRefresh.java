@@ -65,9 +65,8 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
             data.forEach(pluginDataSubscriber::unRuleSubscribe);
             pluginDataSubscriber.refreshRuleDataAll();
         } else {
-            // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshRuleDataAll();
-            data.forEach(pluginDataSubscriber::onRuleSubscribe);
+            // update cache for UpstreamCacheManager, the whole list is published at once
+            pluginDataSubscriber.refreshRuleDataAll(data);
         }
     }
 }
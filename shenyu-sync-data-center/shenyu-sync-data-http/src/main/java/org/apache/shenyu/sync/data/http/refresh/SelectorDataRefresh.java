@@ -65,9 +65,8 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
             data.forEach(pluginDataSubscriber::unSelectorSubscribe);
             pluginDataSubscriber.refreshSelectorDataAll();
         } else {
-            // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshSelectorDataAll();
-            data.forEach(pluginDataSubscriber::onSelectorSubscribe);
+            // update cache for UpstreamCacheManager, the whole list is published at once
+            pluginDataSubscriber.refreshSelectorDataAll(data);
         }
     }
 }
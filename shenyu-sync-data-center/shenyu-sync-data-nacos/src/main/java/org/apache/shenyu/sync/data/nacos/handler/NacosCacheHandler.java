@@ -73,10 +73,8 @@ public class NacosCacheHandler {
         try {
             // Fix bug #656(https://github.com/dromara/shenyu/issues/656)
             List<PluginData> pluginDataList = new ArrayList<>(GsonUtils.getInstance().toObjectMap(configInfo, PluginData.class).values());
-            pluginDataList.forEach(pluginData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> {
-                subscriber.unSubscribe(pluginData);
-                subscriber.onSubscribe(pluginData);
-            }));
+            // the config holds the whole map, publish it at once
+            Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> subscriber.refreshAll(pluginDataList, null, null));
         } catch (JsonParseException e) {
             log.error("sync plugin data have error:", e);
         }
@@ -85,10 +83,8 @@ public class NacosCacheHandler {
     protected void updateSelectorMap(final String configInfo) {
         try {
             List<SelectorData> selectorDataList = GsonUtils.getInstance().toObjectMapList(configInfo, SelectorData.class).values().stream().flatMap(Collection::stream).collect(Collectors.toList());
-            selectorDataList.forEach(selectorData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> {
-                subscriber.unSelectorSubscribe(selectorData);
-                subscriber.onSelectorSubscribe(selectorData);
-            }));
+            // the config holds the whole map, publish it at once
+            Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> subscriber.refreshAll(null, selectorDataList, null));
         } catch (JsonParseException e) {
             log.error("sync selector data have error:", e);
         }
@@ -99,10 +95,8 @@ public class NacosCacheHandler {
             List<RuleData> ruleDataList = GsonUtils.getInstance().toObjectMapList(configInfo, RuleData.class).values()
                     .stream().flatMap(Collection::stream)
                     .collect(Collectors.toList());
-            ruleDataList.forEach(ruleData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> {
-                subscriber.unRuleSubscribe(ruleData);
-                subscriber.onRuleSubscribe(ruleData);
-            }));
+            // the config holds the whole map, publish it at once
+            Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> subscriber.refreshAll(null, null, ruleDataList));
         } catch (JsonParseException e) {
             log.error("sync rule data have error:", e);
         }
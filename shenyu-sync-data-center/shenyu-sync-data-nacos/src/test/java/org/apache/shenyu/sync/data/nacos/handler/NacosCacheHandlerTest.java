@@ -49,6 +49,7 @@ import java.util.Map;
 import java.util.HashSet;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -108,7 +109,7 @@ public final class NacosCacheHandlerTest {
 
         final CountDownLatch latch = new CountDownLatch(2);
         final List<PluginData> onSubscribeList = new ArrayList<>();
-        final List<PluginData> unsubscribeList = new ArrayList<>();
+        final AtomicInteger refreshCount = new AtomicInteger();
         nacosCacheHandlerService = new NacosCacheHandler(configService, new PluginDataSubscriber() {
             @Override
             public void onSubscribe(final PluginData pluginData) {
@@ -117,14 +118,13 @@ public final class NacosCacheHandlerTest {
             }
 
             @Override
-            public void unSubscribe(final PluginData pluginData) {
-                unsubscribeList.add(pluginData);
-                latch.countDown();
+            public void refreshPluginDataAll() {
+                refreshCount.incrementAndGet();
             }
         }, Collections.emptyList(), Collections.emptyList());
         nacosCacheHandlerService.updatePluginMap(pluginData);
         Assert.assertEquals(2, onSubscribeList.size());
-        Assert.assertEquals(2, unsubscribeList.size());
+        Assert.assertEquals(1, refreshCount.get());
         Assert.assertEquals(
                 configService.getConfig(PLUGIN_DATA_ID, GROUP, 1),
                 GsonUtils.getInstance()
@@ -156,7 +156,7 @@ public final class NacosCacheHandlerTest {
                         selectorDataPluginName1, ImmutableList.of(selectorData1)));
         final CountDownLatch latch = new CountDownLatch(2);
         final List<SelectorData> subscribeList = new ArrayList<>();
-        final List<SelectorData> unsubscribeList = new ArrayList<>();
+        final AtomicInteger refreshCount = new AtomicInteger();
         nacosCacheHandlerService = new NacosCacheHandler(configService, new PluginDataSubscriber() {
             @Override
             public void onSelectorSubscribe(final SelectorData selectorData) {
@@ -165,14 +165,13 @@ public final class NacosCacheHandlerTest {
             }
 
             @Override
-            public void unSelectorSubscribe(final SelectorData selectorData) {
-                unsubscribeList.add(selectorData);
-                latch.countDown();
+            public void refreshSelectorDataAll() {
+                refreshCount.incrementAndGet();
             }
         }, Collections.emptyList(), Collections.emptyList());
         nacosCacheHandlerService.updateSelectorMap(selectorDataParam);
         Assert.assertEquals(2, subscribeList.size());
-        Assert.assertEquals(2, unsubscribeList.size());
+        Assert.assertEquals(1, refreshCount.get());
         Assert.assertEquals(
                 configService.getConfig(SELECTOR_DATA_ID, GROUP, 1),
                 GsonUtils.getInstance()
@@ -203,7 +202,7 @@ public final class NacosCacheHandlerTest {
         changeRuleData(ImmutableList.of(ruleData1, ruleData2));
         final CountDownLatch latch = new CountDownLatch(2);
         final List<RuleData> subscribeList = new ArrayList<>();
-        final List<RuleData> unsubscribeList = new ArrayList<>();
+        final AtomicInteger refreshCount = new AtomicInteger();
         nacosCacheHandlerService = new NacosCacheHandler(configService, new PluginDataSubscriber() {
             @Override
             public void onRuleSubscribe(final RuleData ruleData) {
@@ -212,14 +211,13 @@ public final class NacosCacheHandlerTest {
             }
 
             @Override
-            public void unRuleSubscribe(final RuleData ruleData) {
-                unsubscribeList.add(ruleData);
-                latch.countDown();
+            public void refreshRuleDataAll() {
+                refreshCount.incrementAndGet();
             }
         }, Collections.emptyList(), Collections.emptyList());
         nacosCacheHandlerService.updateRuleMap(ruleDataParam);
         Assert.assertEquals(2, subscribeList.size());
-        Assert.assertEquals(2, unsubscribeList.size());
+        Assert.assertEquals(1, refreshCount.get());
         Assert.assertEquals(
                 configService.getConfig(RULE_DATA_ID, GROUP, 1),
                 GsonUtils.getInstance()
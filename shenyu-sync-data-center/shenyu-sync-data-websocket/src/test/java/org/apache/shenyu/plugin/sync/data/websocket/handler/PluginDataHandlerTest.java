@@ -56,8 +56,7 @@ public final class PluginDataHandlerTest {
     public void testDoRefresh() {
         List<PluginData> pluginDataList = createFakePluginDataObjects(3);
         pluginDataHandler.doRefresh(pluginDataList);
-        verify(subscriber).refreshPluginDataSelf(pluginDataList);
-        pluginDataList.forEach(verify(subscriber)::onSubscribe);
+        verify(subscriber).onSubscribeList(pluginDataList);
     }
 
     @Test
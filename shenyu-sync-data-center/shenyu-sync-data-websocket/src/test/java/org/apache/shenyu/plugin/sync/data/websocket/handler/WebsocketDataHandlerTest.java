@@ -53,7 +53,7 @@ public final class WebsocketDataHandlerTest {
         String json = getJson();
         websocketDataHandler.executor(ConfigGroupEnum.PLUGIN, json, DataEventTypeEnum.REFRESH.name());
         List<PluginData> pluginDataList = new PluginDataHandler(pluginDataSubscriber).convert(json);
-        Mockito.verify(pluginDataSubscriber).refreshPluginDataSelf(pluginDataList);
+        Mockito.verify(pluginDataSubscriber).onSubscribeList(pluginDataList);
     }
 
     @Test
@@ -61,7 +61,7 @@ public final class WebsocketDataHandlerTest {
         String json = getJson();
         websocketDataHandler.executor(ConfigGroupEnum.PLUGIN, json, DataEventTypeEnum.MYSELF.name());
         List<PluginData> pluginDataList = new PluginDataHandler(pluginDataSubscriber).convert(json);
-        Mockito.verify(pluginDataSubscriber).refreshPluginDataSelf(pluginDataList);
+        Mockito.verify(pluginDataSubscriber).onSubscribeList(pluginDataList);
     }
 
     @Test
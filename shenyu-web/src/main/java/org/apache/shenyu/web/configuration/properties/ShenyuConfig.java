@@ -18,6 +18,10 @@
 package org.apache.shenyu.web.configuration.properties;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * The type shenyu config.
@@ -32,4 +36,51 @@ public class ShenyuConfig {
     private Integer upstreamScheduledTime = 30;
 
     private Integer fileMaxSize = 10;
+
+    private SchedulerConfig scheduler = new SchedulerConfig();
+
+    /**
+     * The scheduler config, the defaults keep the former shenyu.scheduler.* system properties working.
+     */
+    @Data
+    public static class SchedulerConfig {
+
+        /**
+         * whether the plugin chain of every request is subscribed on the scheduler.
+         */
+        private Boolean enabled = Boolean.parseBoolean(System.getProperty("shenyu.scheduler.enabled", "false"));
+
+        /**
+         * the scheduler strategy: fixed, elastic, boundedElastic, workStealing or virtual.
+         */
+        private String type = System.getProperty("shenyu.scheduler.type", "fixed");
+
+        /**
+         * the thread count of the fixed, boundedElastic and workStealing strategies.
+         */
+        private Integer threads = Integer.parseInt(System.getProperty("shenyu.work.threads",
+                String.valueOf(Math.max((Runtime.getRuntime().availableProcessors() << 1) + 1, 16))));
+
+        /**
+         * the max queued tasks of the boundedElastic strategy.
+         */
+        private Integer queueCapacity = 100000;
+
+        /**
+         * rpcType -> the scheduler the rest of the chain of the rpc type is isolated on, once the rpc type is known.
+         */
+        private Map<String, RpcTypeSchedulerConfig> rpcTypes = new LinkedHashMap<>();
+    }
+
+    /**
+     * The scheduler config of a rpc type, enabled once it is configured unless enabled is set to false.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class RpcTypeSchedulerConfig extends SchedulerConfig {
+
+        public RpcTypeSchedulerConfig() {
+            setEnabled(true);
+        }
+    }
 }
@@ -17,28 +17,52 @@
 
 package org.apache.shenyu.web.handler;
 
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.BaseDataSnapshot;
+import org.apache.shenyu.spi.ExtensionLoader;
+import org.apache.shenyu.web.configuration.properties.ShenyuConfig;
+import org.apache.shenyu.web.configuration.properties.ShenyuConfig.SchedulerConfig;
+import org.apache.shenyu.web.scheduler.QueueDepthScheduler;
+import org.apache.shenyu.web.scheduler.SchedulerStrategy;
 import org.springframework.lang.NonNull;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
  * This is web handler request starter.
  */
+@Slf4j
 public final class ShenyuWebHandler implements WebHandler {
 
+    private static final String DEFAULT_SCHEDULER_TYPE = "elastic";
+
     private final List<ShenyuPlugin> plugins;
     
-    private final boolean scheduled;
+    private final Scheduler scheduler;
+
+    /**
+     * rpcType name -> the scheduler isolating the plugins after the rpc type is known.
+     */
+    private final Map<String, Scheduler> rpcTypeSchedulers;
 
-    private Scheduler scheduler;
+    private volatile PluginPipelines pipelines;
     
     /**
      * Instantiates a new shenyu web handler.
@@ -46,19 +70,37 @@ public final class ShenyuWebHandler implements WebHandler {
      * @param plugins the plugins
      */
     public ShenyuWebHandler(final List<ShenyuPlugin> plugins) {
+        this(plugins, new ShenyuConfig());
+    }
+
+    /**
+     * Instantiates a new shenyu web handler.
+     *
+     * @param plugins      the plugins
+     * @param shenyuConfig the shenyu config
+     */
+    public ShenyuWebHandler(final List<ShenyuPlugin> plugins, final ShenyuConfig shenyuConfig) {
         this.plugins = plugins;
-        String enabled = System.getProperty("shenyu.scheduler.enabled", "false");
-        this.scheduled = Boolean.parseBoolean(enabled);
-        if (scheduled) {
-            String schedulerType = System.getProperty("shenyu.scheduler.type", "fixed");
-            if (Objects.equals(schedulerType, "fixed")) {
-                int threads = Integer.parseInt(System.getProperty(
-                        "shenyu.work.threads", "" + Math.max((Runtime.getRuntime().availableProcessors() << 1) + 1, 16)));
-                scheduler = Schedulers.newParallel("shenyu-work-threads", threads);
-            } else {
-                scheduler = Schedulers.elastic();
+        SchedulerConfig config = shenyuConfig.getScheduler();
+        this.scheduler = Boolean.TRUE.equals(config.getEnabled()) ? buildScheduler("shenyu-work-threads", config) : null;
+        Map<String, Scheduler> schedulers = new HashMap<>(config.getRpcTypes().size());
+        config.getRpcTypes().forEach((rpcType, rpcTypeConfig) -> {
+            if (Boolean.TRUE.equals(rpcTypeConfig.getEnabled())) {
+                schedulers.put(rpcType, buildScheduler("shenyu-" + rpcType + "-threads", rpcTypeConfig));
             }
+        });
+        this.rpcTypeSchedulers = Collections.unmodifiableMap(schedulers);
+    }
+
+    private static Scheduler buildScheduler(final String name, final SchedulerConfig config) {
+        SchedulerStrategy strategy;
+        try {
+            strategy = ExtensionLoader.getExtensionLoader(SchedulerStrategy.class).getJoin(config.getType());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("unknown scheduler type {} of {}, fall back to {}", config.getType(), name, DEFAULT_SCHEDULER_TYPE);
+            strategy = ExtensionLoader.getExtensionLoader(SchedulerStrategy.class).getJoin(DEFAULT_SCHEDULER_TYPE);
         }
+        return new QueueDepthScheduler(name, strategy.build(name, config));
     }
 
     /**
@@ -69,26 +111,120 @@ public final class ShenyuWebHandler implements WebHandler {
      */
     @Override
     public Mono<Void> handle(@NonNull final ServerWebExchange exchange) {
-        Mono<Void> execute = new DefaultShenyuPluginChain(plugins).execute(exchange);
-        if (scheduled) {
+        Mono<Void> execute = new DefaultShenyuPluginChain(obtainPipelines(), rpcTypeSchedulers).execute(exchange);
+        if (Objects.nonNull(scheduler)) {
             return execute.subscribeOn(scheduler);
         }
         return execute;
     }
 
+    private PluginPipelines obtainPipelines() {
+        BaseDataSnapshot snapshot = BaseDataCache.getInstance().obtainSnapshot();
+        PluginPipelines current = pipelines;
+        if (Objects.isNull(current) || current.version != snapshot.getVersion()) {
+            current = new PluginPipelines(snapshot, plugins);
+            pipelines = current;
+        }
+        return current;
+    }
+
+    /**
+     * The plugin pipelines built for one version of the plugin data.
+     */
+    private static final class PluginPipelines {
+
+        private final long version;
+
+        private final PluginPipeline all;
+
+        /**
+         * rpcType name -> the plugins not skipped by the rpc type.
+         */
+        private final Map<String, PluginPipeline> rpcTypePipelines;
+
+        PluginPipelines(final BaseDataSnapshot snapshot, final List<ShenyuPlugin> plugins) {
+            this.version = snapshot.getVersion();
+            List<ShenyuPlugin> enabledPlugins = new ArrayList<>(plugins.size());
+            for (ShenyuPlugin plugin : plugins) {
+                // a disabled AbstractShenyuPlugin only calls chain.execute, leave it out
+                if (plugin instanceof AbstractShenyuPlugin) {
+                    PluginData pluginData = snapshot.obtainPluginData(plugin.named());
+                    if (Objects.isNull(pluginData) || !Boolean.TRUE.equals(pluginData.getEnabled())) {
+                        continue;
+                    }
+                }
+                enabledPlugins.add(plugin);
+            }
+            this.all = new PluginPipeline(enabledPlugins, null);
+            this.rpcTypePipelines = new HashMap<>(RpcTypeEnum.values().length);
+            for (RpcTypeEnum rpcType : RpcTypeEnum.values()) {
+                rpcTypePipelines.put(rpcType.getName(), new PluginPipeline(enabledPlugins, rpcType));
+            }
+        }
+    }
+
+    /**
+     * The sorted plugins of a pipeline.
+     */
+    private static final class PluginPipeline {
+
+        private final ShenyuPlugin[] plugins;
+
+        /**
+         * whether plugin.skip(exchange) must be asked per request.
+         */
+        private final boolean[] dynamicSkips;
+
+        /**
+         * position in all enabled plugins -> the first position of this pipeline at or after it.
+         */
+        private final int[] positions;
+
+        PluginPipeline(final List<ShenyuPlugin> enabledPlugins, final RpcTypeEnum rpcType) {
+            List<ShenyuPlugin> pipelinePlugins = new ArrayList<>(enabledPlugins.size());
+            List<Boolean> dynamicSkipList = new ArrayList<>(enabledPlugins.size());
+            this.positions = new int[enabledPlugins.size() + 1];
+            for (int i = 0; i < enabledPlugins.size(); i++) {
+                positions[i] = pipelinePlugins.size();
+                ShenyuPlugin plugin = enabledPlugins.get(i);
+                Boolean skip = Objects.isNull(rpcType) ? null : plugin.skip(rpcType);
+                if (Boolean.TRUE.equals(skip)) {
+                    continue;
+                }
+                pipelinePlugins.add(plugin);
+                dynamicSkipList.add(Objects.isNull(skip));
+            }
+            positions[enabledPlugins.size()] = pipelinePlugins.size();
+            this.plugins = pipelinePlugins.toArray(new ShenyuPlugin[0]);
+            this.dynamicSkips = new boolean[dynamicSkipList.size()];
+            for (int i = 0; i < dynamicSkips.length; i++) {
+                dynamicSkips[i] = dynamicSkipList.get(i);
+            }
+        }
+    }
+
     private static class DefaultShenyuPluginChain implements ShenyuPluginChain {
 
         private int index;
 
-        private final List<ShenyuPlugin> plugins;
+        private PluginPipeline pipeline;
+
+        private boolean resolved;
+
+        private final PluginPipelines pipelines;
+
+        private final Map<String, Scheduler> rpcTypeSchedulers;
 
         /**
          * Instantiates a new Default shenyu plugin chain.
          *
-         * @param plugins the plugins
+         * @param pipelines         the plugin pipelines
+         * @param rpcTypeSchedulers the schedulers isolating the rpc types
          */
-        DefaultShenyuPluginChain(final List<ShenyuPlugin> plugins) {
-            this.plugins = plugins;
+        DefaultShenyuPluginChain(final PluginPipelines pipelines, final Map<String, Scheduler> rpcTypeSchedulers) {
+            this.pipelines = pipelines;
+            this.rpcTypeSchedulers = rpcTypeSchedulers;
+            this.pipeline = pipelines.all;
         }
 
         /**
@@ -100,16 +236,44 @@ public final class ShenyuWebHandler implements WebHandler {
         @Override
         public Mono<Void> execute(final ServerWebExchange exchange) {
             return Mono.defer(() -> {
-                if (this.index < plugins.size()) {
-                    ShenyuPlugin plugin = plugins.get(this.index++);
-                    Boolean skip = plugin.skip(exchange);
-                    if (skip) {
-                        return this.execute(exchange);
+                while (true) {
+                    Scheduler rpcTypeScheduler = resolvePipeline(exchange);
+                    if (Objects.nonNull(rpcTypeScheduler)) {
+                        return execute(exchange).subscribeOn(rpcTypeScheduler);
+                    }
+                    if (this.index >= pipeline.plugins.length) {
+                        return Mono.empty();
+                    }
+                    int current = this.index++;
+                    ShenyuPlugin plugin = pipeline.plugins[current];
+                    if (pipeline.dynamicSkips[current] && plugin.skip(exchange)) {
+                        continue;
                     }
                     return plugin.execute(exchange, this);
                 }
-                return Mono.empty();
             });
         }
+
+        /**
+         * Switch to the pipeline of the rpc type once the global plugin has built the shenyu context.
+         *
+         * @return the scheduler the rest of the chain is isolated on, or null to stay on the current thread
+         */
+        private Scheduler resolvePipeline(final ServerWebExchange exchange) {
+            if (resolved) {
+                return null;
+            }
+            ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
+            if (Objects.isNull(shenyuContext)) {
+                return null;
+            }
+            resolved = true;
+            PluginPipeline rpcTypePipeline = pipelines.rpcTypePipelines.get(shenyuContext.getRpcType());
+            if (Objects.nonNull(rpcTypePipeline)) {
+                this.index = rpcTypePipeline.positions[this.index];
+                this.pipeline = rpcTypePipeline;
+            }
+            return rpcTypeSchedulers.get(shenyuContext.getRpcType());
+        }
     }
 }
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.scheduler;
+
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.reporter.MetricsRegistration;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The scheduler counting the tasks scheduled but not yet started, reported as the
+ * {@value LabelNames#SCHEDULER_QUEUE_DEPTH} gauge labeled by the scheduler name.
+ */
+public final class QueueDepthScheduler implements Scheduler {
+
+    private static final String[] LABEL_NAMES = {"scheduler"};
+
+    private static final MetricsRegistration METRICS = new MetricsRegistration(
+        () -> MetricsReporter.registerGauge(LabelNames.SCHEDULER_QUEUE_DEPTH, LABEL_NAMES, "shenyu scheduler queued task count"));
+
+    private final Scheduler delegate;
+
+    private final String[] labelValues;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    /**
+     * Instantiates a new queue depth scheduler.
+     *
+     * @param name     the scheduler name
+     * @param delegate the scheduler running the tasks
+     */
+    public QueueDepthScheduler(final String name, final Scheduler delegate) {
+        this.delegate = delegate;
+        this.labelValues = new String[]{name};
+    }
+
+    /**
+     * Get the count of the tasks scheduled but not yet started.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    @Override
+    public Disposable schedule(final Runnable task) {
+        QueuedTask queuedTask = new QueuedTask(task);
+        try {
+            return queuedTask.scheduled(delegate.schedule(queuedTask));
+        } catch (RuntimeException e) {
+            queuedTask.dequeue();
+            throw e;
+        }
+    }
+
+    @Override
+    public Disposable schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        return delegate.schedule(task, delay, unit);
+    }
+
+    @Override
+    public Disposable schedulePeriodically(final Runnable task, final long initialDelay, final long period, final TimeUnit unit) {
+        return delegate.schedulePeriodically(task, initialDelay, period, unit);
+    }
+
+    @Override
+    public long now(final TimeUnit unit) {
+        return delegate.now(unit);
+    }
+
+    @Override
+    public Worker createWorker() {
+        return new QueueDepthWorker(delegate.createWorker());
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate.isDisposed();
+    }
+
+    @Override
+    public void start() {
+        delegate.start();
+    }
+
+    private final class QueueDepthWorker implements Worker {
+
+        private final Worker worker;
+
+        QueueDepthWorker(final Worker worker) {
+            this.worker = worker;
+        }
+
+        @Override
+        public Disposable schedule(final Runnable task) {
+            QueuedTask queuedTask = new QueuedTask(task);
+            try {
+                return queuedTask.scheduled(worker.schedule(queuedTask));
+            } catch (RuntimeException e) {
+                queuedTask.dequeue();
+                throw e;
+            }
+        }
+
+        @Override
+        public Disposable schedule(final Runnable task, final long delay, final TimeUnit unit) {
+            return worker.schedule(task, delay, unit);
+        }
+
+        @Override
+        public Disposable schedulePeriodically(final Runnable task, final long initialDelay, final long period, final TimeUnit unit) {
+            return worker.schedulePeriodically(task, initialDelay, period, unit);
+        }
+
+        @Override
+        public void dispose() {
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return worker.isDisposed();
+        }
+    }
+
+    /**
+     * The task counted as queued until it starts or is disposed.
+     */
+    private final class QueuedTask extends AtomicBoolean implements Runnable, Disposable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Runnable task;
+
+        private transient Disposable disposable;
+
+        QueuedTask(final Runnable task) {
+            this.task = task;
+            queueDepth.incrementAndGet();
+            METRICS.ensureRegistered();
+            MetricsReporter.gaugeIncrement(LabelNames.SCHEDULER_QUEUE_DEPTH, labelValues);
+        }
+
+        Disposable scheduled(final Disposable disposable) {
+            this.disposable = disposable;
+            return this;
+        }
+
+        void dequeue() {
+            if (compareAndSet(false, true)) {
+                queueDepth.decrementAndGet();
+                METRICS.ensureRegistered();
+                MetricsReporter.gaugeDecrement(LabelNames.SCHEDULER_QUEUE_DEPTH, labelValues);
+            }
+        }
+
+        @Override
+        public void run() {
+            dequeue();
+            task.run();
+        }
+
+        @Override
+        public void dispose() {
+            dequeue();
+            disposable.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposable.isDisposed();
+        }
+    }
+}
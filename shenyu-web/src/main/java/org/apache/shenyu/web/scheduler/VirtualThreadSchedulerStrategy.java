@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.spi.Join;
+import org.apache.shenyu.web.configuration.properties.ShenyuConfig.SchedulerConfig;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * One virtual thread per task where the runtime supports it, the boundedElastic scheduler otherwise.
+ */
+@Slf4j
+@Join
+public class VirtualThreadSchedulerStrategy implements SchedulerStrategy {
+
+    @Override
+    public Scheduler build(final String name, final SchedulerConfig config) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Schedulers.fromExecutorService((ExecutorService) method.invoke(null), name);
+        } catch (ReflectiveOperationException e) {
+            log.warn("virtual threads are not supported by java {}, {} falls back to the boundedElastic scheduler", System.getProperty("java.version"), name);
+            return new BoundedElasticSchedulerStrategy().build(name, config);
+        }
+    }
+}
@@ -18,8 +18,17 @@
 package org.apache.shenyu.web.handler;
 
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.web.configuration.properties.ShenyuConfig;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -27,10 +36,14 @@ import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.Mockito.mock;
 
@@ -63,4 +76,185 @@ public class ShenyuWebHandlerTest {
         Mono<Void> handle = shenyuWebHandler.handle(exchange);
         Assert.assertNotNull(handle);
     }
+
+    @Test
+    public void testRpcTypePipeline() {
+        List<String> executed = new ArrayList<>();
+        ShenyuPlugin global = new TestPlugin("global", 0, executed, null) {
+            @Override
+            public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+                ShenyuContext context = new ShenyuContext();
+                context.setRpcType(RpcTypeEnum.HTTP.getName());
+                exchange.getAttributes().put(Constants.CONTEXT, context);
+                return super.execute(exchange, chain);
+            }
+        };
+        TestPlugin divide = new TestPlugin("divide", 1, executed, RpcTypeEnum.HTTP);
+        TestPlugin dubbo = new TestPlugin("dubbo", 2, executed, RpcTypeEnum.DUBBO);
+        TestPlugin dynamic = new TestPlugin("dynamic", 3, executed, null);
+        ShenyuWebHandler handler = new ShenyuWebHandler(Arrays.asList(global, divide, dubbo, dynamic));
+        StepVerifier.create(handler.handle(MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build()))).verifyComplete();
+        Assert.assertEquals(Arrays.asList("global", "divide", "dynamic"), executed);
+        Assert.assertEquals(0, dubbo.dynamicSkipCount);
+        Assert.assertEquals(0, divide.dynamicSkipCount);
+        Assert.assertEquals(1, dynamic.dynamicSkipCount);
+    }
+
+    @Test
+    public void testRpcTypeSchedulerIsolation() {
+        ShenyuConfig.RpcTypeSchedulerConfig httpConfig = new ShenyuConfig.RpcTypeSchedulerConfig();
+        httpConfig.setType("boundedElastic");
+        httpConfig.setThreads(2);
+        final ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getScheduler().getRpcTypes().put(RpcTypeEnum.HTTP.getName(), httpConfig);
+        AtomicReference<String> globalThread = new AtomicReference<>();
+        AtomicReference<String> divideThread = new AtomicReference<>();
+        List<String> executed = new ArrayList<>();
+        ShenyuPlugin global = new TestPlugin("global", 0, executed, null) {
+            @Override
+            public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+                globalThread.set(Thread.currentThread().getName());
+                ShenyuContext context = new ShenyuContext();
+                context.setRpcType(RpcTypeEnum.HTTP.getName());
+                exchange.getAttributes().put(Constants.CONTEXT, context);
+                return super.execute(exchange, chain);
+            }
+        };
+        ShenyuPlugin divide = new TestPlugin("divide", 1, executed, RpcTypeEnum.HTTP) {
+            @Override
+            public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+                divideThread.set(Thread.currentThread().getName());
+                return super.execute(exchange, chain);
+            }
+        };
+        ShenyuWebHandler handler = new ShenyuWebHandler(Arrays.asList(global, divide), shenyuConfig);
+        StepVerifier.create(handler.handle(MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build()))).verifyComplete();
+        Assert.assertEquals(Arrays.asList("global", "divide"), executed);
+        Assert.assertFalse(globalThread.get().startsWith("shenyu-http-threads"));
+        Assert.assertTrue(divideThread.get().startsWith("shenyu-http-threads"));
+    }
+
+    @Test
+    public void testUnknownSchedulerTypeFallback() {
+        ShenyuConfig.RpcTypeSchedulerConfig httpConfig = new ShenyuConfig.RpcTypeSchedulerConfig();
+        httpConfig.setType("unknown");
+        final ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getScheduler().getRpcTypes().put(RpcTypeEnum.HTTP.getName(), httpConfig);
+        AtomicReference<String> divideThread = new AtomicReference<>();
+        List<String> executed = new ArrayList<>();
+        ShenyuPlugin global = new TestPlugin("global", 0, executed, null) {
+            @Override
+            public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+                ShenyuContext context = new ShenyuContext();
+                context.setRpcType(RpcTypeEnum.HTTP.getName());
+                exchange.getAttributes().put(Constants.CONTEXT, context);
+                return super.execute(exchange, chain);
+            }
+        };
+        ShenyuPlugin divide = new TestPlugin("divide", 1, executed, RpcTypeEnum.HTTP) {
+            @Override
+            public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+                divideThread.set(Thread.currentThread().getName());
+                return super.execute(exchange, chain);
+            }
+        };
+        ShenyuWebHandler handler = new ShenyuWebHandler(Arrays.asList(global, divide), shenyuConfig);
+        StepVerifier.create(handler.handle(MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build()))).verifyComplete();
+        Assert.assertEquals(Arrays.asList("global", "divide"), executed);
+        Assert.assertTrue(divideThread.get().startsWith("shenyu-http-threads"));
+    }
+
+    @Test
+    public void testDisabledPluginLeftOut() {
+        List<String> executed = new ArrayList<>();
+        DisabledAwarePlugin plugin = new DisabledAwarePlugin(executed);
+        ShenyuWebHandler handler = new ShenyuWebHandler(Arrays.asList(plugin, new TestPlugin("last", 1, executed, null)));
+        StepVerifier.create(handler.handle(MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build()))).verifyComplete();
+        Assert.assertEquals(Arrays.asList("last"), executed);
+        Assert.assertEquals(0, plugin.skipCount);
+        BaseDataCache.getInstance().cachePluginData(PluginData.builder().name("test").enabled(true).build());
+        StepVerifier.create(handler.handle(MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build()))).verifyComplete();
+        Assert.assertEquals(1, plugin.skipCount);
+    }
+
+    @After
+    public void tearDown() {
+        BaseDataCache.getInstance().cleanPluginData();
+    }
+
+    private static class TestPlugin implements ShenyuPlugin {
+
+        private final String name;
+
+        private final int order;
+
+        private final List<String> executed;
+
+        private final RpcTypeEnum rpcType;
+
+        private int dynamicSkipCount;
+
+        TestPlugin(final String name, final int order, final List<String> executed, final RpcTypeEnum rpcType) {
+            this.name = name;
+            this.order = order;
+            this.executed = executed;
+            this.rpcType = rpcType;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            executed.add(name);
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+
+        @Override
+        public Boolean skip(final ServerWebExchange exchange) {
+            dynamicSkipCount++;
+            ShenyuContext context = exchange.getAttribute(Constants.CONTEXT);
+            return Objects.nonNull(rpcType) && !Objects.equals(rpcType.getName(), Objects.requireNonNull(context).getRpcType());
+        }
+
+        @Override
+        public Boolean skip(final RpcTypeEnum rpcType) {
+            return Objects.isNull(this.rpcType) ? null : rpcType != this.rpcType;
+        }
+    }
+
+    private static class DisabledAwarePlugin extends AbstractShenyuPlugin {
+
+        private final List<String> executed;
+
+        private int skipCount;
+
+        DisabledAwarePlugin(final List<String> executed) {
+            this.executed = executed;
+        }
+
+        @Override
+        protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+            executed.add(named());
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return "test";
+        }
+
+        @Override
+        public Boolean skip(final ServerWebExchange exchange) {
+            skipCount++;
+            return false;
+        }
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.scheduler;
+
+import org.apache.shenyu.spi.ExtensionLoader;
+import org.apache.shenyu.web.configuration.properties.ShenyuConfig.SchedulerConfig;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for QueueDepthScheduler.
+ */
+public final class QueueDepthSchedulerTest {
+
+    @Test
+    public void testQueueDepth() throws InterruptedException {
+        QueueDepthScheduler scheduler = new QueueDepthScheduler("test", Schedulers.newSingle("test-queue-depth"));
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.schedule(() -> {
+            started.countDown();
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CountDownLatch finished = new CountDownLatch(1);
+        scheduler.schedule(finished::countDown);
+        Disposable cancelled = scheduler.schedule(() -> { });
+        assertEquals(2, scheduler.getQueueDepth());
+        cancelled.dispose();
+        assertEquals(1, scheduler.getQueueDepth());
+        blocked.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getQueueDepth());
+        scheduler.dispose();
+    }
+
+    @Test
+    public void testBuildStrategies() throws InterruptedException {
+        SchedulerConfig config = new SchedulerConfig();
+        config.setThreads(2);
+        for (String type : new String[]{"fixed", "elastic", "boundedElastic", "workStealing", "virtual"}) {
+            Scheduler scheduler = ExtensionLoader.getExtensionLoader(SchedulerStrategy.class).getJoin(type).build("test-" + type, config);
+            CountDownLatch latch = new CountDownLatch(1);
+            scheduler.schedule(latch::countDown);
+            assertTrue(type, latch.await(5, TimeUnit.SECONDS));
+            scheduler.dispose();
+        }
+    }
+}